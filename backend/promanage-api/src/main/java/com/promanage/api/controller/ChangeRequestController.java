@@ -2,6 +2,7 @@ package com.promanage.api.controller;
 
 import com.promanage.api.dto.request.ApproveChangeRequestRequest;
 import com.promanage.api.dto.request.CreateChangeRequestRequest;
+import com.promanage.api.dto.request.SubmitChangeRequestRequest;
 import com.promanage.api.dto.request.UpdateChangeRequestRequest;
 import com.promanage.api.dto.response.ChangeRequestResponse;
 import com.promanage.api.dto.response.ChangeRequestImpactResponse;
@@ -10,6 +11,7 @@ import com.promanage.common.result.PageResult;
 import com.promanage.common.domain.Result;
 import com.promanage.common.exception.BusinessException;
 import com.promanage.infrastructure.utils.SecurityUtils;
+import com.promanage.service.approval.ApprovalStageSpec;
 import com.promanage.service.entity.ChangeRequest;
 import com.promanage.service.entity.ChangeRequestImpact;
 import com.promanage.service.entity.ChangeRequestApproval;
@@ -264,11 +266,14 @@ public class ChangeRequestController {
      * 提交变更请求
      *
      * @param changeRequestId 变更请求ID
+     * @param request 审批阶段定义（可选）
      * @return 操作结果
      */
     @PostMapping("/change-requests/{changeRequestId}/submit")
-    @Operation(summary = "提交变更请求", description = "将草稿状态的变更请求提交审批")
-    public Result<Void> submitChangeRequest(@PathVariable Long changeRequestId) {
+    @Operation(summary = "提交变更请求", description = "将草稿状态的变更请求提交审批，可指定多阶段、多人审批流程")
+    public Result<Void> submitChangeRequest(
+            @PathVariable Long changeRequestId,
+            @Valid @RequestBody(required = false) SubmitChangeRequestRequest request) {
         Long userId = SecurityUtils.getCurrentUserId()
                 .orElseThrow(() -> new BusinessException("请先登录"));
 
@@ -279,7 +284,12 @@ public class ChangeRequestController {
             throw new BusinessException("没有权限提交此变更请求");
         }
 
-        changeRequestService.submitChangeRequest(changeRequestId, userId);
+        List<ApprovalStageSpec> stages = request == null || request.getStages() == null ? null
+                : request.getStages().stream()
+                        .map(stage -> new ApprovalStageSpec(stage.getName(), stage.getApproverIds(),
+                                stage.getRequiredApprovals(), stage.getTimeoutHours()))
+                        .collect(Collectors.toList());
+        changeRequestService.submitChangeRequest(changeRequestId, stages, userId);
 
         log.info("提交变更请求成功, changeRequestId={}", changeRequestId);
         return Result.success();
@@ -314,6 +324,37 @@ public class ChangeRequestController {
         return Result.success();
     }
 
+    /**
+     * 获取当前用户待审批的变更请求
+     *
+     * @param page 页码
+     * @param size 每页大小
+     * @return 待审批的变更请求列表
+     */
+    @GetMapping("/change-requests/pending-approvals")
+    @Operation(summary = "获取我的待审批", description = "获取当前审批阶段中等待当前用户审批的变更请求")
+    public Result<PageResult<ChangeRequestResponse>> getPendingApprovals(
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) {
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        PageResult<ChangeRequest> changeRequestPage =
+                changeRequestService.listPendingApprovalChangeRequests(userId, page, Math.min(size, 100));
+
+        List<ChangeRequestResponse> changeRequestResponses = changeRequestPage.getList().stream()
+                .map(this::convertToChangeRequestResponse)
+                .collect(Collectors.toList());
+
+        PageResult<ChangeRequestResponse> response = PageResult.of(
+                changeRequestResponses,
+                changeRequestPage.getTotal(),
+                changeRequestPage.getPage(),
+                changeRequestPage.getPageSize()
+        );
+        return Result.success(response);
+    }
+
     /**
      * 获取变更请求影响分析结果
      *
@@ -324,6 +324,31 @@ public class DocumentController {
         return ResponseEntity.ok(Result.success(response));
     }
 
+    @GetMapping("/projects/{projectId}/documents/cursor")
+    @Operation(summary = "游标分页获取项目文档列表", description = "基于游标的项目文档列表，按创建时间倒序，适用于深度翻页")
+    @RequirePermission("document:list")
+    public ResponseEntity<Result<PageResult<DocumentResponse>>> listDocumentsByProjectCursor(@PathVariable Long projectId,
+                                                                                            @RequestParam(required = false) String cursor,
+                                                                                            @RequestParam(defaultValue = "20") Integer size,
+                                                                                            @RequestParam(required = false) String type,
+                                                                                            @RequestParam(required = false) Integer status,
+                                                                                            @RequestParam(defaultValue = "false") boolean withTotal) {
+        log.info("游标分页获取项目文档列表请求, projectId={}, cursor={}, size={}, type={}, status={}",
+                projectId, cursor, size, type, status);
+
+        Long currentUserId = currentUserId();
+        PageResult<Document> documents = documentService.listDocumentsByCursor(projectId, type, status,
+                cursor, size, withTotal, currentUserId);
+        List<DocumentResponse> responseList = documents.getList().stream()
+                .map(DocumentResponse::fromEntity)
+                .collect(Collectors.toList());
+
+        populateDocumentResponses(responseList, currentUserId);
+
+        return ResponseEntity.ok(Result.success(PageResult.ofCursor(responseList, documents.getTotal(),
+                documents.getPageSize(), documents.getNextCursor(), documents.getPrevCursor())));
+    }
+
     @GetMapping("/documents/search")
     @Operation(summary = "高级搜索文档", description = "支持多种过滤条件的文档搜索")
     @RequirePermission("document:search")
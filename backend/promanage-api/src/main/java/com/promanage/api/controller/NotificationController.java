@@ -2,6 +2,7 @@ package com.promanage.api.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.promanage.common.domain.Result;
+import com.promanage.common.result.PageResult;
 import com.promanage.infrastructure.utils.SecurityUtils;
 import com.promanage.service.dto.request.NotificationActionRequest;
 import com.promanage.service.dto.request.NotificationSendRequest;
@@ -81,6 +82,20 @@ public class NotificationController {
         }
     }
 
+    @Operation(summary = "游标分页获取用户通知列表")
+    @GetMapping("/list/cursor")
+    public Result<PageResult<Notification>> getUserNotificationsByCursor(
+            @Parameter(description = "分页游标，为空表示第一页") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") int size) {
+        try {
+            Long currentUserId = SecurityUtils.getCurrentUserId().orElse(null);
+            return Result.success(notificationService.getUserNotificationsByCursor(currentUserId, cursor, size));
+        } catch (Exception e) {
+            log.error("获取通知列表失败", e);
+            return Result.error("获取通知列表失败: " + e.getMessage());
+        }
+    }
+
     @Operation(summary = "获取未读通知数量")
     @GetMapping("/unread-count")
     public Result<Integer> getUnreadCount() {
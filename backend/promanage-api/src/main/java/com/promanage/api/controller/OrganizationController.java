@@ -207,6 +207,44 @@ public class OrganizationController {
         return Result.success(members);
     }
 
+    /**
+     * 游标分页获取组织成员列表
+     * <p>
+     * 过滤和排序在数据库完成，翻页耗时与页码无关；默认不统计总数。
+     * </p>
+     *
+     * @param id 组织ID
+     * @param cursor 分页游标，为空表示第一页
+     * @param size 每页大小
+     * @param name 姓名或用户名前缀
+     * @param roleCode 角色编码
+     * @param status 账号状态
+     * @param sort 排序方式: NAME、STATUS、JOINED
+     * @param withTotal 是否统计总数
+     * @return 组织成员列表及前后页游标
+     */
+    @GetMapping("/{id}/members/cursor")
+    @Operation(summary = "游标分页获取组织成员", description = "支持按姓名、角色、状态过滤和排序的组织成员列表")
+    @PreAuthorize("hasAuthority('ORGANIZATION_VIEW')")
+    public Result<PageResult<OrganizationMemberDTO>> getOrganizationMembersByCursor(
+            @Parameter(description = "组织ID") @PathVariable @NotNull Long id,
+            @Parameter(description = "分页游标") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "20") Integer size,
+            @Parameter(description = "姓名或用户名前缀") @RequestParam(required = false) String name,
+            @Parameter(description = "角色编码") @RequestParam(required = false) String roleCode,
+            @Parameter(description = "账号状态") @RequestParam(required = false) Integer status,
+            @Parameter(description = "排序方式") @RequestParam(defaultValue = "NAME") String sort,
+            @Parameter(description = "是否统计总数") @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        log.info("游标分页获取组织成员列表, id={}, cursor={}, size={}, sort={}", id, cursor, size, sort);
+
+        Long currentUserId = requireCurrentUserId();
+
+        PageResult<OrganizationMemberDTO> members = organizationService.listOrganizationMembersByCursor(
+                id, currentUserId, cursor, size, name, roleCode, status, sort, withTotal);
+        return Result.success(members);
+    }
+
     /**
      * 激活组织
      *
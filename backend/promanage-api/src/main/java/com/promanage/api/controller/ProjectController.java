@@ -14,8 +14,10 @@ import com.promanage.dto.ProjectMemberDTO;
 import com.promanage.dto.ProjectStatsDTO;
 import com.promanage.dto.UpdateProjectRequestDTO;
 import com.promanage.infrastructure.security.SecurityUtils;
+import com.promanage.service.IProjectActivityService;
 import com.promanage.service.IProjectService;
 import com.promanage.service.entity.Project;
+import com.promanage.service.entity.ProjectActivity;
 import com.promanage.service.mapper.ProjectDtoMapper;
 import com.promanage.service.service.IUserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,6 +48,7 @@ public class ProjectController {
     private final IProjectService projectService;
     private final IUserService userService;
     private final ProjectDtoMapper projectDtoMapper;
+    private final IProjectActivityService projectActivityService;
 
     @GetMapping
     @Operation(summary = "分页查询项目", description = "根据权限返回可访问的项目列表")
@@ -183,4 +186,17 @@ public class ProjectController {
                 .orElseThrow(() -> new BusinessException(ResultCode.UNAUTHORIZED, "请先登录"));
         return Result.success(projectService.getProjectStats(projectId, userId));
     }
+
+    @GetMapping("/{projectId}/activities/cursor")
+    @Operation(summary = "游标分页获取项目活动", description = "基于游标的项目活动列表，按创建时间倒序")
+    public Result<PageResult<ProjectActivity>> listProjectActivitiesByCursor(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer pageSize) {
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException(ResultCode.UNAUTHORIZED, "请先登录"));
+        // 无权访问项目时抛出异常
+        projectService.getProjectById(projectId, userId);
+        return Result.success(projectActivityService.getProjectActivitiesByCursor(projectId, cursor, pageSize));
+    }
 }
@@ -10,19 +10,27 @@ import com.promanage.api.dto.response.TaskCommentResponse;
 import com.promanage.api.dto.response.TaskDetailResponse;
 import com.promanage.api.dto.response.TaskResponse;
 import com.promanage.common.result.PageResult;
+import com.promanage.common.domain.BatchOperationResult;
 import com.promanage.common.domain.Result;
 import com.promanage.common.exception.BusinessException;
 import com.promanage.infrastructure.utils.SecurityUtils;
+import com.promanage.service.IProjectService;
 import com.promanage.api.dto.response.TaskActivityResponse;
 import com.promanage.api.dto.response.TaskAttachmentResponse;
 import com.promanage.api.dto.response.TaskCheckItemResponse;
 import com.promanage.service.entity.Task;
 import com.promanage.service.entity.TaskActivity;
-import com.promanage.service.entity.TaskAttachment;
-import com.promanage.service.entity.TaskCheckItem;
 import com.promanage.service.entity.TaskComment;
 import com.promanage.common.entity.User;
 import com.promanage.service.mapper.TaskCommentMapper;
+import com.promanage.service.dto.TaskDetailBundle;
+import com.promanage.service.dto.response.KanbanBoardDTO;
+import com.promanage.service.dto.response.ProjectScheduleDTO;
+import com.promanage.service.dto.response.TaskTreeNodeDTO;
+import com.promanage.service.service.IKanbanBoardService;
+import com.promanage.service.service.ITaskDetailService;
+import com.promanage.service.service.ITaskScheduleService;
+import com.promanage.service.service.ITaskTreeService;
 import com.promanage.service.service.ITaskService;
 import com.promanage.service.service.IUserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -52,6 +60,11 @@ import java.util.stream.Collectors;
 public class TaskController {
 
     private final ITaskService taskService;
+    private final IProjectService projectService;
+    private final ITaskScheduleService taskScheduleService;
+    private final IKanbanBoardService kanbanBoardService;
+    private final ITaskTreeService taskTreeService;
+    private final ITaskDetailService taskDetailService;
     private final IUserService userService;
     private final TaskCommentMapper taskCommentMapper;
     private final com.promanage.service.mapper.TaskAttachmentMapper taskAttachmentMapper;
@@ -107,6 +120,101 @@ public class TaskController {
         return Result.success(response);
     }
 
+    /**
+     * 游标分页获取项目任务列表
+     * <p>
+     * 适用于无限滚动等深度翻页场景，翻页耗时与页码无关；默认不统计总数。
+     * </p>
+     *
+     * @param projectId 项目ID
+     * @param cursor 分页游标，为空表示第一页
+     * @param size 每页大小
+     * @param status 任务状态
+     * @param priority 任务优先级
+     * @param assigneeId 指派人ID
+     * @param reporterId 报告人ID
+     * @param withTotal 是否统计总数（最多统计到上限值）
+     * @return 任务列表及前后页游标
+     */
+    @GetMapping("/projects/{projectId}/tasks/cursor")
+    @Operation(summary = "游标分页获取项目任务列表", description = "基于游标的项目任务列表，适用于深度翻页")
+    public Result<PageResult<TaskResponse>> getTasksByCursor(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) Integer priority,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) Long reporterId,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.info("游标分页获取项目任务列表请求, projectId={}, userId={}, cursor={}, size={}", projectId, userId, cursor, size);
+
+        if (!projectService.isProjectMember(projectId, userId)) {
+            throw new BusinessException("没有权限查看此项目的任务");
+        }
+
+        PageResult<Task> taskPage = taskService.listTasksByCursor(projectId, cursor, size, status, priority,
+                assigneeId, reporterId, withTotal);
+
+        List<TaskResponse> taskResponses = taskPage.getList().stream()
+                .map(this::convertToTaskResponse)
+                .collect(Collectors.toList());
+
+        return Result.success(PageResult.ofCursor(taskResponses, taskPage.getTotal(), taskPage.getPageSize(),
+                taskPage.getNextCursor(), taskPage.getPrevCursor()));
+    }
+
+    /**
+     * 获取项目看板
+     *
+     * @param projectId 项目ID
+     * @param epoch 客户端持有的看板标识
+     * @param sinceVersion 客户端持有的版本号，为空时返回完整看板
+     * @return 完整看板，或自指定版本以来变更和移除的卡片
+     */
+    @GetMapping("/projects/{projectId}/board")
+    @Operation(summary = "获取项目看板", description = "返回按状态分列的任务卡片，带版本号时返回增量变更")
+    public Result<KanbanBoardDTO> getProjectBoard(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String epoch,
+            @RequestParam(required = false) Long sinceVersion) {
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.debug("获取项目看板请求, projectId={}, userId={}, sinceVersion={}", projectId, userId, sinceVersion);
+
+        if (!projectService.isProjectMember(projectId, userId)) {
+            throw new BusinessException("没有权限查看此项目的任务");
+        }
+
+        return Result.success(kanbanBoardService.getBoard(projectId, epoch, sinceVersion));
+    }
+
+    /**
+     * 获取项目进度计划（关键路径）
+     *
+     * @param projectId 项目ID
+     * @return 各任务的最早/最晚开始与完成日期、浮动时间以及关键路径
+     */
+    @GetMapping("/projects/{projectId}/tasks/schedule")
+    @Operation(summary = "获取项目进度计划", description = "基于任务依赖计算关键路径和各任务浮动时间")
+    public Result<ProjectScheduleDTO> getProjectSchedule(@PathVariable Long projectId) {
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.info("获取项目进度计划请求, projectId={}, userId={}", projectId, userId);
+
+        if (!projectService.isProjectMember(projectId, userId)) {
+            throw new BusinessException("没有权限查看此项目的任务");
+        }
+
+        return Result.success(taskScheduleService.getProjectSchedule(projectId));
+    }
+
     /**
      * 创建任务
      *
@@ -147,8 +255,7 @@ public class TaskController {
 
         Long taskId = taskService.createTask(task);
 
-        Task createdTask = taskService.getTaskById(taskId);
-        TaskDetailResponse response = convertToTaskDetailResponse(createdTask);
+        TaskDetailResponse response = convertToTaskDetailResponse(taskDetailService.getTaskDetail(taskId));
 
         log.info("任务创建成功, taskId={}, title={}", taskId, request.getTitle());
         return Result.success(response);
@@ -173,12 +280,7 @@ public class TaskController {
             throw new BusinessException("没有权限查看此任务");
         }
 
-        Task task = taskService.getTaskById(taskId);
-        if (task == null) {
-            throw new BusinessException("任务不存在");
-        }
-
-        TaskDetailResponse response = convertToTaskDetailResponse(task);
+        TaskDetailResponse response = convertToTaskDetailResponse(taskDetailService.getTaskDetail(taskId));
 
         log.info("获取任务详情成功, taskId={}", taskId);
         return Result.success(response);
@@ -252,8 +354,7 @@ public class TaskController {
 
         taskService.updateTask(task);
 
-        Task updatedTask = taskService.getTaskById(taskId);
-        TaskDetailResponse response = convertToTaskDetailResponse(updatedTask);
+        TaskDetailResponse response = convertToTaskDetailResponse(taskDetailService.getTaskDetail(taskId));
 
         log.info("任务更新成功, taskId={}", taskId);
         return Result.success(response);
@@ -284,6 +385,33 @@ public class TaskController {
         return Result.success();
     }
 
+    /**
+     * 游标分页获取任务活动列表
+     *
+     * @param taskId 任务ID
+     * @param cursor 分页游标，为空表示第一页
+     * @param size 每页大小
+     * @return 活动列表及前后页游标
+     */
+    @GetMapping("/tasks/{taskId}/activities/cursor")
+    @Operation(summary = "游标分页获取任务活动", description = "基于游标的任务活动列表，按创建时间倒序")
+    public Result<PageResult<TaskActivity>> getTaskActivitiesByCursor(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.info("游标分页获取任务活动请求, taskId={}, userId={}, cursor={}, size={}", taskId, userId, cursor, size);
+
+        if (!taskService.hasTaskViewPermission(taskId, userId)) {
+            throw new BusinessException("没有权限查看此任务的活动");
+        }
+
+        return Result.success(taskService.listTaskActivitiesByCursor(taskId, cursor, size));
+    }
+
     /**
      * 获取任务评论列表
      *
@@ -395,6 +523,63 @@ public class TaskController {
         return Result.success();
     }
 
+    /**
+     * 获取任务树
+     *
+     * @param taskId 根任务ID
+     * @param maxDepth 最大层级，默认5
+     * @return 嵌套的子任务树，每个节点带含子任务的汇总工时和进度
+     */
+    @GetMapping("/tasks/{taskId}/tree")
+    @Operation(summary = "获取任务树", description = "一次加载任务的多级子任务，并返回汇总工时和加权进度")
+    public Result<TaskTreeNodeDTO> getTaskTree(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Integer maxDepth) {
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.debug("获取任务树请求, taskId={}, userId={}, maxDepth={}", taskId, userId, maxDepth);
+
+        if (!taskService.hasTaskViewPermission(taskId, userId)) {
+            throw new BusinessException("没有权限查看此任务");
+        }
+
+        return Result.success(taskTreeService.getTaskTree(taskId, maxDepth));
+    }
+
+    /**
+     * 移动任务
+     *
+     * @param taskId 任务ID
+     * @param beforeTaskId 移动后排在其前面的任务ID
+     * @param afterTaskId 移动后排在其后面的任务ID
+     * @param status 新状态（跨列移动时指定）
+     * @return 操作结果
+     */
+    @PutMapping("/tasks/{taskId}/position")
+    @Operation(summary = "移动任务", description = "看板拖拽或子任务排序，将任务移动到两个相邻任务之间")
+    public Result<Void> moveTask(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Long beforeTaskId,
+            @RequestParam(required = false) Long afterTaskId,
+            @RequestParam(required = false) Integer status) {
+
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.info("移动任务请求, taskId={}, userId={}, beforeTaskId={}, afterTaskId={}, status={}",
+                taskId, userId, beforeTaskId, afterTaskId, status);
+
+        // 检查权限
+        if (!taskService.hasTaskPermission(taskId, userId)) {
+            throw new BusinessException("没有权限移动此任务");
+        }
+
+        taskService.moveTask(taskId, beforeTaskId, afterTaskId, status, userId);
+
+        return Result.success();
+    }
+
     /**
      * 分配任务
      *
@@ -547,13 +732,13 @@ public class TaskController {
      */
     @PostMapping("/tasks/batch-update")
     @Operation(summary = "批量更新任务", description = "批量更新任务的状态、优先级、指派人或标签")
-    public Result<Integer> batchUpdateTasks(@Valid @RequestBody BatchUpdateTasksRequest request) {
+    public Result<BatchOperationResult<Long>> batchUpdateTasks(@Valid @RequestBody BatchUpdateTasksRequest request) {
         Long userId = SecurityUtils.getCurrentUserId()
                 .orElseThrow(() -> new BusinessException("请先登录"));
 
         log.info("批量更新任务请求, taskIds={}, userId={}", request.getTaskIds(), userId);
 
-        int successCount = taskService.batchUpdateTasks(
+        BatchOperationResult<Long> result = taskService.batchUpdateTasks(
                 request.getTaskIds(),
                 request.getStatus(),
                 request.getPriority(),
@@ -562,8 +747,9 @@ public class TaskController {
                 userId
         );
 
-        log.info("批量更新任务完成, 总数={}, 成功={}", request.getTaskIds().size(), successCount);
-        return Result.success(successCount);
+        log.info("批量更新任务完成, 总数={}, 成功={}, 失败={}", result.getTotal(), result.getSuccessCount(),
+                result.getFailureCount());
+        return Result.success(result);
     }
 
     /**
@@ -574,16 +760,17 @@ public class TaskController {
      */
     @PostMapping("/tasks/batch-delete")
     @Operation(summary = "批量删除任务", description = "批量软删除任务")
-    public Result<Integer> batchDeleteTasks(@Valid @RequestBody BatchDeleteTasksRequest request) {
+    public Result<BatchOperationResult<Long>> batchDeleteTasks(@Valid @RequestBody BatchDeleteTasksRequest request) {
         Long userId = SecurityUtils.getCurrentUserId()
                 .orElseThrow(() -> new BusinessException("请先登录"));
 
         log.info("批量删除任务请求, taskIds={}, userId={}", request.getTaskIds(), userId);
 
-        int successCount = taskService.batchDeleteTasks(request.getTaskIds(), userId);
+        BatchOperationResult<Long> result = taskService.batchDeleteTasks(request.getTaskIds(), userId);
 
-        log.info("批量删除任务完成, 总数={}, 成功={}", request.getTaskIds().size(), successCount);
-        return Result.success(successCount);
+        log.info("批量删除任务完成, 总数={}, 成功={}, 失败={}", result.getTotal(), result.getSuccessCount(),
+                result.getFailureCount());
+        return Result.success(result);
     }
 
     /**
@@ -594,21 +781,22 @@ public class TaskController {
      */
     @PostMapping("/tasks/batch-assign")
     @Operation(summary = "批量分配任务", description = "批量为任务分配执行人")
-    public Result<Integer> batchAssignTasks(@Valid @RequestBody BatchAssignTasksRequest request) {
+    public Result<BatchOperationResult<Long>> batchAssignTasks(@Valid @RequestBody BatchAssignTasksRequest request) {
         Long userId = SecurityUtils.getCurrentUserId()
                 .orElseThrow(() -> new BusinessException("请先登录"));
 
         log.info("批量分配任务请求, taskIds={}, assigneeId={}, userId={}",
                 request.getTaskIds(), request.getAssigneeId(), userId);
 
-        int successCount = taskService.batchAssignTasks(
+        BatchOperationResult<Long> result = taskService.batchAssignTasks(
                 request.getTaskIds(),
                 request.getAssigneeId(),
                 userId
         );
 
-        log.info("批量分配任务完成, 总数={}, 成功={}", request.getTaskIds().size(), successCount);
-        return Result.success(successCount);
+        log.info("批量分配任务完成, 总数={}, 成功={}, 失败={}", result.getTotal(), result.getSuccessCount(),
+                result.getFailureCount());
+        return Result.success(result);
     }
 
     // 辅助方法
@@ -617,6 +805,26 @@ public class TaskController {
         User assignee = task.getAssigneeId() != null ? userService.getById(task.getAssigneeId()) : null;
         User reporter = task.getReporterId() != null ? userService.getById(task.getReporterId()) : null;
 
+        return buildTaskResponse(task, assignee, reporter,
+                taskService.listTaskComments(task.getId(), 1, 1).getTotal().intValue(),
+                taskAttachmentMapper.countByTaskId(task.getId()),
+                taskService.listSubtasks(task.getId()).size());
+    }
+
+    /**
+     * 使用任务详情中预先加载的用户和计数转换任务，不再查询
+     */
+    private TaskResponse convertToTaskResponse(Task task, TaskDetailBundle detail) {
+        return buildTaskResponse(task,
+                detail.getUsers().get(task.getAssigneeId()),
+                detail.getUsers().get(task.getReporterId()),
+                detail.getCommentCounts().getOrDefault(task.getId(), 0),
+                detail.getAttachmentCounts().getOrDefault(task.getId(), 0),
+                detail.getSubtaskCounts().getOrDefault(task.getId(), 0));
+    }
+
+    private TaskResponse buildTaskResponse(Task task, User assignee, User reporter,
+                                           int commentCount, int attachmentCount, int subtaskCount) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -638,16 +846,17 @@ public class TaskController {
                 .dueDate(task.getDueDate())
                 .completedDate(task.getCompletedDate())
                 .tags(task.getTags())
-                .commentCount(taskService.listTaskComments(task.getId(), 1, 1).getTotal().intValue())
-                .attachmentCount(taskAttachmentMapper.countByTaskId(task.getId()))
-                .subtaskCount(taskService.listSubtasks(task.getId()).size())
+                .commentCount(commentCount)
+                .attachmentCount(attachmentCount)
+                .subtaskCount(subtaskCount)
                 .createTime(task.getCreateTime())
                 .updateTime(task.getUpdateTime())
                 .build();
     }
 
-    private TaskDetailResponse convertToTaskDetailResponse(Task task) {
-        TaskResponse basicInfo = convertToTaskResponse(task);
+    private TaskDetailResponse convertToTaskDetailResponse(TaskDetailBundle detail) {
+        Task task = detail.getTask();
+        TaskResponse basicInfo = convertToTaskResponse(task, detail);
 
         TaskDetailResponse detailResponse = new TaskDetailResponse();
         // 复制基础信息
@@ -678,24 +887,30 @@ public class TaskController {
         detailResponse.setUpdateTime(basicInfo.getUpdateTime());
 
         // 设置详情信息
-        detailResponse.setSubtasks(taskService.listSubtasks(task.getId()).stream()
-                .map(this::convertToTaskResponse)
+        detailResponse.setSubtasks(detail.getSubtasks().stream()
+                .map(subtask -> convertToTaskResponse(subtask, detail))
                 .collect(Collectors.toList()));
-        detailResponse.setDependencies(taskService.listTaskDependencies(task.getId()).stream()
-                .map(this::convertToTaskResponse)
+        detailResponse.setDependencies(detail.getDependencies().stream()
+                .map(dependency -> convertToTaskResponse(dependency, detail))
                 .collect(Collectors.toList()));
 
-        // 获取最近的评论（最多5条）
-        PageResult<TaskComment> recentCommentsPage = taskService.listTaskComments(task.getId(), 1, 5);
-        detailResponse.setRecentComments(recentCommentsPage.getList().stream()
-                .map(this::convertToTaskCommentResponse)
+        // 最近的评论（最多5条）
+        detailResponse.setRecentComments(detail.getRecentComments().stream()
+                .map(comment -> {
+                    TaskComment parentComment = comment.getParentCommentId() != null
+                            ? detail.getParentComments().get(comment.getParentCommentId()) : null;
+                    TaskCommentResponse parentCommentResponse = parentComment != null
+                            ? buildParentCommentResponse(parentComment, detail.getUsers().get(parentComment.getAuthorId()))
+                            : null;
+                    return buildTaskCommentResponse(comment, detail.getUsers().get(comment.getAuthorId()),
+                            parentCommentResponse, detail.getReplyCounts().getOrDefault(comment.getId(), 0));
+                })
                 .collect(Collectors.toList()));
 
-        // 获取最近活动（最多10条）
-        PageResult<TaskActivity> recentActivitiesPage = taskService.listTaskActivities(task.getId(), 1, 10);
-        detailResponse.setRecentActivities(recentActivitiesPage.getList().stream()
+        // 最近活动（最多10条）
+        detailResponse.setRecentActivities(detail.getRecentActivities().stream()
                 .map(activity -> {
-                    User activityUser = activity.getUserId() != null ? userService.getById(activity.getUserId()) : null;
+                    User activityUser = activity.getUserId() != null ? detail.getUsers().get(activity.getUserId()) : null;
                     return TaskActivityResponse.builder()
                             .id(activity.getId())
                             .activityType(activity.getActivityType())
@@ -712,9 +927,8 @@ public class TaskController {
 
         detailResponse.setFullDescription(task.getDescription()); // 完整描述
 
-        // 获取附件列表
-        List<TaskAttachment> attachments = taskService.listTaskAttachments(task.getId());
-        detailResponse.setAttachments(attachments.stream()
+        // 附件列表
+        detailResponse.setAttachments(detail.getAttachments().stream()
                 .map(attachment -> TaskAttachmentResponse.builder()
                         .id(attachment.getId())
                         .fileName(attachment.getFileName())
@@ -727,9 +941,8 @@ public class TaskController {
                         .build())
                 .collect(Collectors.toList()));
 
-        // 获取检查项列表
-        List<TaskCheckItem> checkItems = taskService.listTaskCheckItems(task.getId());
-        detailResponse.setCheckItems(checkItems.stream()
+        // 检查项列表
+        detailResponse.setCheckItems(detail.getCheckItems().stream()
                 .map(checkItem -> TaskCheckItemResponse.builder()
                         .id(checkItem.getId())
                         .content(checkItem.getContent())
@@ -757,17 +970,26 @@ public class TaskController {
             if (parentComment != null) {
                 User parentAuthor = parentComment.getAuthorId() != null ?
                         userService.getById(parentComment.getAuthorId()) : null;
-                parentCommentResponse = TaskCommentResponse.builder()
-                        .id(parentComment.getId())
-                        .content(parentComment.getContent())
-                        .authorId(parentComment.getAuthorId())
-                        .authorName(parentAuthor != null ? parentAuthor.getRealName() : null)
-                        .authorAvatar(parentAuthor != null ? parentAuthor.getAvatar() : null)
-                        .createTime(parentComment.getCreateTime())
-                        .build();
+                parentCommentResponse = buildParentCommentResponse(parentComment, parentAuthor);
             }
         }
 
+        return buildTaskCommentResponse(comment, author, parentCommentResponse, replyCount);
+    }
+
+    private TaskCommentResponse buildParentCommentResponse(TaskComment parentComment, User parentAuthor) {
+        return TaskCommentResponse.builder()
+                .id(parentComment.getId())
+                .content(parentComment.getContent())
+                .authorId(parentComment.getAuthorId())
+                .authorName(parentAuthor != null ? parentAuthor.getRealName() : null)
+                .authorAvatar(parentAuthor != null ? parentAuthor.getAvatar() : null)
+                .createTime(parentComment.getCreateTime())
+                .build();
+    }
+
+    private TaskCommentResponse buildTaskCommentResponse(TaskComment comment, User author,
+                                                         TaskCommentResponse parentCommentResponse, int replyCount) {
         return TaskCommentResponse.builder()
                 .id(comment.getId())
                 .content(comment.getContent())
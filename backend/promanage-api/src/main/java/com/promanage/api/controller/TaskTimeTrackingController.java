@@ -7,7 +7,12 @@ import com.promanage.common.domain.Result;
 import com.promanage.common.exception.BusinessException;
 import com.promanage.infrastructure.utils.SecurityUtils;
 import com.promanage.dto.TaskTimeTrackingDTO;
+import com.promanage.service.IProjectService;
 import com.promanage.service.ITaskTimeTrackingService;
+import com.promanage.service.dto.response.ActiveTimerDTO;
+import com.promanage.service.dto.response.TimesheetDTO;
+import com.promanage.service.service.ITaskService;
+import com.promanage.service.timesheet.TimeBucket;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -38,6 +43,8 @@ import java.util.List;
 public class TaskTimeTrackingController {
 
     private final ITaskTimeTrackingService timeTrackingService;
+    private final IProjectService projectService;
+    private final ITaskService taskService;
 
     /**
      * 分页查询时间追踪记录
@@ -438,4 +445,142 @@ public class TaskTimeTrackingController {
         log.info("获取项目总工时成功, projectId={}, totalHours={}", projectId, totalHours);
         return Result.success(totalHours);
     }
+
+    /**
+     * 按条件获取总工时
+     *
+     * @param userId 用户ID
+     * @param taskId 任务ID
+     * @param projectId 项目ID
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 总工时
+     */
+    @GetMapping("/total-hours")
+    @Operation(summary = "按条件获取总工时", description = "按用户、任务、项目和日期范围统计总工时，未指定用户、任务和项目时统计当前用户")
+    public Result<Double> getTotalHours(
+            @Parameter(description = "用户ID") @RequestParam(required = false) Long userId,
+            @Parameter(description = "任务ID") @RequestParam(required = false) Long taskId,
+            @Parameter(description = "项目ID") @RequestParam(required = false) Long projectId,
+            @Parameter(description = "开始日期") @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @Parameter(description = "结束日期") @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+
+        Long currentUserId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.info("按条件获取总工时, userId={}, taskId={}, projectId={}, startDate={}, endDate={}, currentUserId={}",
+                userId, taskId, projectId, startDate, endDate, currentUserId);
+
+        // 普通用户只能查询自己的记录
+        if (userId != null && !currentUserId.equals(userId)) {
+            throw new BusinessException("没有权限查询其他用户的记录");
+        }
+        if (userId == null && taskId == null && projectId == null) {
+            userId = currentUserId;
+        }
+        // 未指定用户时统计所有成员的工时，需要能查看对应的任务或项目
+        if (userId == null) {
+            checkScopePermission(taskId, projectId, currentUserId);
+        }
+
+        Double totalHours = timeTrackingService.getTotalHours(userId, taskId, projectId, startDate, endDate);
+
+        log.info("按条件获取总工时成功, totalHours={}", totalHours);
+        return Result.success(totalHours);
+    }
+
+    /**
+     * 获取工时表
+     *
+     * @param userId 用户ID
+     * @param projectId 项目ID
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param bucket 统计周期
+     * @return 工时表
+     */
+    @GetMapping("/timesheet")
+    @Operation(summary = "获取工时表", description = "按用户和任务分行、按日/周/月分列统计工时，未指定用户和项目时统计当前用户")
+    public Result<TimesheetDTO> getTimesheet(
+            @Parameter(description = "用户ID") @RequestParam(required = false) Long userId,
+            @Parameter(description = "项目ID") @RequestParam(required = false) Long projectId,
+            @Parameter(description = "开始日期") @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @Parameter(description = "结束日期") @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @Parameter(description = "统计周期: day/week/month") @RequestParam(defaultValue = "day") String bucket) {
+
+        Long currentUserId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.info("获取工时表, userId={}, projectId={}, startDate={}, endDate={}, bucket={}, currentUserId={}",
+                userId, projectId, startDate, endDate, bucket, currentUserId);
+
+        // 普通用户只能查询自己的记录
+        if (userId != null && !currentUserId.equals(userId)) {
+            throw new BusinessException("没有权限查询其他用户的记录");
+        }
+        if (userId == null && projectId == null) {
+            userId = currentUserId;
+        }
+        if (userId == null) {
+            checkScopePermission(null, projectId, currentUserId);
+        }
+        TimeBucket timeBucket = TimeBucket.fromUnit(bucket);
+        if (timeBucket == null) {
+            throw new BusinessException("不支持的统计周期: " + bucket);
+        }
+
+        TimesheetDTO timesheet = timeTrackingService.getTimesheet(userId, projectId, startDate, endDate, timeBucket);
+
+        log.info("获取工时表成功, rows={}, totalHours={}", timesheet.getRows().size(), timesheet.getTotalHours());
+        return Result.success(timesheet);
+    }
+
+    /**
+     * 获取当前用户的计时
+     *
+     * @return 进行中和已暂停的计时
+     */
+    @GetMapping("/active")
+    @Operation(summary = "获取当前用户的计时", description = "获取当前用户进行中和已暂停的计时，计时变化通过WebSocket推送")
+    public Result<List<ActiveTimerDTO>> listActiveTimers() {
+        Long currentUserId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        return Result.success(timeTrackingService.listActiveTimers(currentUserId));
+    }
+
+    /**
+     * 获取项目成员的计时
+     *
+     * @param projectId 项目ID
+     * @return 进行中和已暂停的计时
+     */
+    @GetMapping("/active/project/{projectId}")
+    @Operation(summary = "获取项目成员的计时", description = "获取项目成员进行中和已暂停的计时，计时变化通过WebSocket推送")
+    public Result<List<ActiveTimerDTO>> listActiveTimersByProject(
+            @Parameter(description = "项目ID") @PathVariable Long projectId) {
+        Long currentUserId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.debug("获取项目成员的计时, projectId={}, currentUserId={}", projectId, currentUserId);
+        checkScopePermission(null, projectId, currentUserId);
+
+        return Result.success(timeTrackingService.listActiveTimersByProject(projectId));
+    }
+
+    /**
+     * 检查当前用户能否查看任务或项目下所有成员的工时
+     */
+    private void checkScopePermission(Long taskId, Long projectId, Long currentUserId) {
+        if (projectId != null && !projectService.isProjectMember(projectId, currentUserId)) {
+            throw new BusinessException("没有权限查看此项目的工时");
+        }
+        if (taskId != null && !taskService.hasTaskViewPermission(taskId, currentUserId)) {
+            throw new BusinessException("没有权限查看此任务的工时");
+        }
+    }
 }
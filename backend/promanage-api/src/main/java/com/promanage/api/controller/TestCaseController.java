@@ -9,18 +9,32 @@ import com.promanage.common.result.PageResult;
 import com.promanage.common.domain.Result;
 import com.promanage.common.exception.BusinessException;
 import com.promanage.infrastructure.utils.SecurityUtils;
+import com.promanage.service.dto.response.TestCaseImportJobDTO;
 import com.promanage.service.entity.TestCase;
 import com.promanage.common.entity.User;
 import com.promanage.service.service.ITestCaseService;
 import com.promanage.service.service.IUserService;
+import com.promanage.service.testcase.TestCaseExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +54,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TestCaseController {
 
+    /**
+     * 支持导入的文件扩展名
+     */
+    private static final Set<String> IMPORT_EXTENSIONS = Set.of("csv", "txt", "tsv", "xls", "xlsx");
+
     private final ITestCaseService testCaseService;
     private final IUserService userService;
 
@@ -481,6 +500,124 @@ public class TestCaseController {
         return Result.success(statistics);
     }
 
+    /**
+     * 导入测试用例
+     * <p>
+     * 上传文件保存为临时文件后在后台流式导入，立即返回任务ID，通过任务进度接口查询结果。
+     * </p>
+     *
+     * @param projectId 项目ID
+     * @param file 导入文件（CSV/TSV/XLS/XLSX）
+     * @return 导入任务进度
+     */
+    @PostMapping(value = "/projects/{projectId}/test-cases/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "导入测试用例", description = "上传CSV/TSV/XLS/XLSX文件，后台分批导入，返回导入任务ID")
+    public Result<TestCaseImportJobDTO> importTestCases(
+            @PathVariable Long projectId,
+            @RequestParam("file") MultipartFile file) {
+
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        log.info("导入测试用例请求, projectId={}, userId={}, fileName={}, size={}",
+                projectId, userId, file.getOriginalFilename(), file.getSize());
+
+        // 检查权限
+        if (!testCaseService.hasProjectTestCaseCreatePermission(projectId, userId)) {
+            throw new BusinessException("没有权限在此项目中创建测试用例");
+        }
+        if (file.isEmpty()) {
+            throw new BusinessException("导入文件不能为空");
+        }
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "";
+        String extension = fileName.contains(".")
+                ? fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT) : "";
+        if (!IMPORT_EXTENSIONS.contains(extension)) {
+            throw new BusinessException("不支持的文件格式: " + fileName);
+        }
+
+        // 请求结束后上传文件会被清理，先转存为临时文件，由导入任务结束后删除
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("test-case-import-", "." + extension);
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            log.error("保存导入文件失败, projectId={}", projectId, e);
+            throw new BusinessException("保存导入文件失败");
+        }
+
+        TestCaseImportJobDTO job = testCaseService.submitImport(projectId, tempFile, userId);
+
+        log.info("测试用例导入任务已提交, projectId={}, jobId={}", projectId, job.getJobId());
+        return Result.success(job);
+    }
+
+    /**
+     * 查询测试用例导入任务进度
+     *
+     * @param jobId 任务ID
+     * @return 导入任务进度
+     */
+    @GetMapping("/test-cases/import-jobs/{jobId}")
+    @Operation(summary = "查询导入任务进度", description = "查询测试用例导入任务的进度和错误信息")
+    public Result<TestCaseImportJobDTO> getImportJob(@PathVariable String jobId) {
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        return Result.success(testCaseService.getImportJob(jobId, userId));
+    }
+
+    /**
+     * 导出测试用例
+     * <p>
+     * 以数据库游标逐行读取并直接写入响应，不在内存或磁盘上生成完整文件。
+     * </p>
+     *
+     * @param projectId 项目ID
+     * @param format 导出格式（CSV/EXCEL/XLSX）
+     * @param ids 测试用例ID列表（可选，为空则导出所有）
+     * @param gzip 是否 gzip 压缩
+     * @return 导出文件流
+     */
+    @GetMapping("/projects/{projectId}/test-cases/export")
+    @Operation(summary = "导出测试用例", description = "流式导出项目测试用例为CSV/EXCEL/XLSX文件，可选gzip压缩")
+    public ResponseEntity<StreamingResponseBody> exportTestCases(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "CSV") String format,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException("请先登录"));
+
+        // 检查权限
+        if (!testCaseService.hasProjectTestCaseViewPermission(projectId, userId)) {
+            throw new BusinessException("没有权限查看此项目的测试用例");
+        }
+        TestCaseExportFormat exportFormat = TestCaseExportFormat.fromName(format);
+        if (exportFormat == null) {
+            throw new BusinessException("不支持的导出格式: " + format);
+        }
+        // 响应开始写出后无法再返回错误，先在请求线程中校验
+        long total = testCaseService.countExportableTestCases(projectId, ids);
+        if (total == 0) {
+            throw new BusinessException("没有找到需要导出的测试用例");
+        }
+
+        log.info("导出测试用例请求, projectId={}, userId={}, format={}, gzip={}, total={}",
+                projectId, userId, exportFormat, gzip, total);
+
+        String fileName = "test_cases_" + projectId + "_" + System.currentTimeMillis()
+                + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> testCaseService.exportTestCases(projectId, ids, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName, StandardCharsets.UTF_8).build().toString())
+                .header("X-Total-Count", String.valueOf(total))
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .body(body);
+    }
+
     // 辅助方法
 
     private TestCaseResponse convertToTestCaseResponse(TestCase testCase) {
@@ -551,6 +688,11 @@ public class TestCaseController {
                 .averageExecutionTime(executionStatistics.getAverageExecutionTime())
                 .lastExecutionTime(executionStatistics.getLastExecutionTime())
                 .lastExecutionResult(executionStatistics.getLastExecutionResult())
+                .flakinessScore(executionStatistics.getFlakinessScore())
+                .last7DaysExecutions(executionStatistics.getLast7Days().getTotalExecutions())
+                .last7DaysPassRate(executionStatistics.getLast7Days().getPassRate())
+                .last30DaysExecutions(executionStatistics.getLast30Days().getTotalExecutions())
+                .last30DaysPassRate(executionStatistics.getLast30Days().getPassRate())
                 .build();
         
         // 转换执行历史
@@ -0,0 +1,38 @@
+package com.promanage.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 审批阶段请求DTO
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Schema(description = "审批阶段")
+public class ApprovalStageRequest {
+
+    @Size(max = 100, message = "阶段名称长度不能超过100个字符")
+    @Schema(description = "阶段名称", example = "技术评审")
+    private String name;
+
+    @NotEmpty(message = "审批人不能为空")
+    @Schema(description = "审批人ID列表", example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<Long> approverIds;
+
+    @Min(value = 1, message = "通过人数不能小于1")
+    @Schema(description = "通过所需的同意人数，为空表示全部审批人同意", example = "2")
+    private Integer requiredApprovals;
+
+    @Min(value = 0, message = "审批时限不能小于0")
+    @Max(value = 720, message = "审批时限不能超过720小时")
+    @Schema(description = "审批时限（小时），为空使用默认时限，0表示不限", example = "48")
+    private Integer timeoutHours;
+}
@@ -0,0 +1,22 @@
+package com.promanage.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 提交变更请求请求DTO
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Schema(description = "提交变更请求请求")
+public class SubmitChangeRequestRequest {
+
+    @Valid
+    @Schema(description = "审批阶段，按顺序执行；为空时由审核人（未指定时为项目负责人）单人审批")
+    private List<ApprovalStageRequest> stages;
+}
@@ -161,5 +161,20 @@ public class TestCaseDetailResponse extends TestCaseResponse {
 
         @Schema(description = "最后执行结果", example = "PASS")
         private String lastExecutionResult;
+
+        @Schema(description = "不稳定度（0-1，相邻通过/失败结果翻转的比例）", example = "0.25")
+        private Double flakinessScore;
+
+        @Schema(description = "近7天执行次数", example = "2")
+        private Integer last7DaysExecutions;
+
+        @Schema(description = "近7天通过率（百分比）", example = "50.0")
+        private Double last7DaysPassRate;
+
+        @Schema(description = "近30天执行次数", example = "5")
+        private Integer last30DaysExecutions;
+
+        @Schema(description = "近30天通过率（百分比）", example = "60.0")
+        private Double last30DaysPassRate;
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.promanage.api.endpoint;
+
+import com.promanage.infrastructure.monitor.SlowSqlRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 慢SQL监控端点
+ * <p>
+ * GET /actuator/slowsql 返回最近的慢查询及按SQL指纹聚合的统计，DELETE 清空缓冲区。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Component
+@Endpoint(id = "slowsql")
+@RequiredArgsConstructor
+public class SlowSqlEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final SlowSqlRecorder recorder;
+
+    @ReadOperation
+    public Map<String, Object> slowQueries(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("fingerprints", recorder.summarize());
+        result.put("recent", recorder.recent(limit == null ? DEFAULT_LIMIT : limit));
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        recorder.clear();
+    }
+}
@@ -62,4 +62,16 @@ public class WebSocketMessageService implements IWebSocketMessageService {
         sessionManager.broadcastMessage(message);
         log.info("发送项目通知: 项目ID={}, 标题={}", projectId, title);
     }
+
+    @Override
+    public boolean sendMessageToUser(Long userId, String type, Object content) {
+        WebSocketMessage message = WebSocketMessage.builder().type(type).content(content).build();
+        return sessionManager.sendMessageToUser(userId, message);
+    }
+
+    @Override
+    public void sendMessageToUsers(Collection<Long> userIds, String type, Object content) {
+        WebSocketMessage message = WebSocketMessage.builder().type(type).content(content).build();
+        sessionManager.sendMessageToUsers(userIds, message);
+    }
 }
\ No newline at end of file
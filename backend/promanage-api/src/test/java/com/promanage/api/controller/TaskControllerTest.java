@@ -0,0 +1,117 @@
+package com.promanage.api.controller;
+
+import com.promanage.common.domain.Result;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.infrastructure.security.CustomUserDetails;
+import com.promanage.service.IProjectService;
+import com.promanage.service.dto.response.KanbanBoardDTO;
+import com.promanage.service.mapper.TaskAttachmentMapper;
+import com.promanage.service.mapper.TaskCommentMapper;
+import com.promanage.service.service.IKanbanBoardService;
+import com.promanage.service.service.ITaskDetailService;
+import com.promanage.service.service.ITaskScheduleService;
+import com.promanage.service.service.ITaskService;
+import com.promanage.service.service.ITaskTreeService;
+import com.promanage.service.service.IUserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskControllerTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Long PROJECT_ID = 100L;
+
+    @Mock
+    private ITaskService taskService;
+    @Mock
+    private IProjectService projectService;
+    @Mock
+    private ITaskScheduleService taskScheduleService;
+    @Mock
+    private IKanbanBoardService kanbanBoardService;
+    @Mock
+    private ITaskTreeService taskTreeService;
+    @Mock
+    private ITaskDetailService taskDetailService;
+    @Mock
+    private IUserService userService;
+    @Mock
+    private TaskCommentMapper taskCommentMapper;
+    @Mock
+    private TaskAttachmentMapper taskAttachmentMapper;
+
+    @InjectMocks
+    private TaskController taskController;
+
+    @BeforeEach
+    void setUp() {
+        CustomUserDetails principal = new CustomUserDetails(USER_ID, "member", "password", 1L, true,
+                Collections.emptyList());
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getProjectBoard_shouldAuthorizeByProjectMembership() {
+        KanbanBoardDTO board = new KanbanBoardDTO();
+        when(projectService.isProjectMember(PROJECT_ID, USER_ID)).thenReturn(true);
+        when(kanbanBoardService.getBoard(PROJECT_ID, null, null)).thenReturn(board);
+
+        Result<KanbanBoardDTO> result = taskController.getProjectBoard(PROJECT_ID, null, null);
+
+        assertSame(board, result.getData());
+        verify(taskService, never()).hasTaskViewPermission(anyLong(), anyLong());
+    }
+
+    @Test
+    void getProjectBoard_shouldRejectNonMemberEvenIfTaskWithSameIdIsVisible() {
+        // 与项目ID相同的任务对当前用户可见，不能因此放行项目看板
+        lenient().when(taskService.hasTaskViewPermission(PROJECT_ID, USER_ID)).thenReturn(true);
+        when(projectService.isProjectMember(PROJECT_ID, USER_ID)).thenReturn(false);
+
+        assertThrows(BusinessException.class, () -> taskController.getProjectBoard(PROJECT_ID, null, null));
+
+        verify(kanbanBoardService, never()).getBoard(any(), any(), any());
+    }
+
+    @Test
+    void getProjectSchedule_shouldRejectNonMember() {
+        lenient().when(taskService.hasTaskViewPermission(PROJECT_ID, USER_ID)).thenReturn(true);
+        when(projectService.isProjectMember(PROJECT_ID, USER_ID)).thenReturn(false);
+
+        assertThrows(BusinessException.class, () -> taskController.getProjectSchedule(PROJECT_ID));
+
+        verify(taskScheduleService, never()).getProjectSchedule(any());
+    }
+
+    @Test
+    void getTasksByCursor_shouldRejectNonMember() {
+        lenient().when(taskService.hasTaskViewPermission(PROJECT_ID, USER_ID)).thenReturn(true);
+        when(projectService.isProjectMember(PROJECT_ID, USER_ID)).thenReturn(false);
+
+        assertThrows(BusinessException.class,
+                () -> taskController.getTasksByCursor(PROJECT_ID, null, 20, null, null, null, null, false));
+
+        verify(taskService, never()).listTasksByCursor(any(), any(), any(), any(), any(), any(), any(), anyBoolean());
+    }
+}
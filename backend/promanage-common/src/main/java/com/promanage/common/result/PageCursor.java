@@ -0,0 +1,62 @@
+package com.promanage.common.result;
+
+import com.promanage.common.domain.ResultCode;
+import com.promanage.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页的游标
+ * <p>
+ * 由排序键和主键ID组成，对客户端以不透明的 Base64URL 字符串形式传递。
+ * {@code forward} 为 true 表示查询该位置之后（下一页），为 false 表示查询该位置之前（上一页）。
+ * </p>
+ *
+ * @param sortValue 排序键
+ * @param id        主键ID，排序键相同时的次级排序
+ * @param forward   翻页方向
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record PageCursor(LocalDateTime sortValue, Long id, boolean forward) {
+
+    private static final String SEPARATOR = "|";
+    private static final String FORWARD = "n";
+    private static final String BACKWARD = "p";
+
+    /**
+     * 编码为不透明字符串
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        String raw = (forward ? FORWARD : BACKWARD) + SEPARATOR + sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @param cursor 游标字符串，为空时返回 null（表示第一页）
+     * @return 游标
+     * @throws BusinessException 游标格式不合法时抛出
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3 || !(FORWARD.equals(parts[0]) || BACKWARD.equals(parts[0]))) {
+                throw new BusinessException(ResultCode.PARAM_ERROR, "分页游标不合法");
+            }
+            return new PageCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]), FORWARD.equals(parts[0]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "分页游标不合法");
+        }
+    }
+}
@@ -72,6 +72,18 @@ public class PageResult<T> implements Serializable {
     @Schema(description = "是否有上一页", example = "false")
     private Boolean hasPrevious;
 
+    /**
+     * 下一页游标（仅游标分页模式）
+     */
+    @Schema(description = "下一页游标，仅游标分页模式返回", example = "bnwyMDI1LTEwLTIwVDEwOjAwfDQy")
+    private String nextCursor;
+
+    /**
+     * 上一页游标（仅游标分页模式）
+     */
+    @Schema(description = "上一页游标，仅游标分页模式返回")
+    private String prevCursor;
+
     /**
      * 构建分页结果
      *
@@ -96,6 +108,33 @@ public class PageResult<T> implements Serializable {
                 .build();
     }
 
+    /**
+     * 构建游标分页结果
+     * <p>
+     * 游标分页不计算页码；total 为 null 表示未统计总数。
+     * </p>
+     *
+     * @param list       数据列表
+     * @param total      总记录数，可为 null
+     * @param pageSize   每页记录数
+     * @param nextCursor 下一页游标，没有下一页时为 null
+     * @param prevCursor 上一页游标，没有上一页时为 null
+     * @param <T>        数据类型
+     * @return PageResult
+     */
+    public static <T> PageResult<T> ofCursor(List<T> list, Long total, Integer pageSize,
+                                             String nextCursor, String prevCursor) {
+        return PageResult.<T>builder()
+                .list(list)
+                .total(total)
+                .pageSize(pageSize)
+                .hasNext(nextCursor != null)
+                .hasPrevious(prevCursor != null)
+                .nextCursor(nextCursor)
+                .prevCursor(prevCursor)
+                .build();
+    }
+
     /**
      * 空分页结果
      *
@@ -1,13 +1,17 @@
 package com.promanage.infrastructure.config;
 
+import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.promanage.infrastructure.interceptor.SlowSqlInterceptor;
+import com.promanage.infrastructure.monitor.SlowSqlRecorder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
- * MyBatis Plus 配置类 (基本配置)
+ * MyBatis Plus 配置类
  *
  * @author ProManage Team
  * @version 1.0
@@ -19,15 +23,40 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 public class MyBatisPlusConfig {
 
     /**
-     * MyBatis Plus 拦截器配置 (基本配置)
+     * MyBatis Plus 拦截器配置
+     * <p>
+     * 分页插件使用 PostgreSQL 方言生成 LIMIT/OFFSET；COUNT 查询会去掉 ORDER BY
+     * 以及不影响结果行数的 LEFT JOIN；单页记录数超过上限时截断。
+     * </p>
      *
+     * @param properties SQL 监控配置
      * @return MybatisPlusInterceptor 拦截器实例
      */
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
-        log.info("Initializing MyBatis Plus interceptor (basic configuration)");
+    public MybatisPlusInterceptor mybatisPlusInterceptor(SqlMonitorProperties properties) {
+        log.info("Initializing MyBatis Plus interceptor, maxLimit={}", properties.getMaxLimit());
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+
+        PaginationInnerInterceptor pagination = new PaginationInnerInterceptor(DbType.POSTGRE_SQL);
+        pagination.setOptimizeJoin(true);
+        pagination.setMaxLimit(properties.getMaxLimit());
+        pagination.setOverflow(false);
+        interceptor.addInnerInterceptor(pagination);
+
         log.info("MyBatis Plus interceptor initialized successfully");
         return interceptor;
     }
-}
\ No newline at end of file
+
+    /**
+     * 慢SQL拦截器
+     *
+     * @param properties SQL 监控配置
+     * @param recorder 慢查询记录器
+     * @return SlowSqlInterceptor 拦截器实例
+     */
+    @Bean
+    public SlowSqlInterceptor slowSqlInterceptor(SqlMonitorProperties properties, SlowSqlRecorder recorder) {
+        log.info("Initializing slow SQL interceptor, threshold={}ms", properties.getSlowThresholdMs());
+        return new SlowSqlInterceptor(properties, recorder);
+    }
+}
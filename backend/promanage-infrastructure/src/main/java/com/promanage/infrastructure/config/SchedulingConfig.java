@@ -0,0 +1,18 @@
+package com.promanage.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置
+ * <p>
+ * 启用 {@code @Scheduled} 注解，用于通知摘要刷新等后台周期性任务
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
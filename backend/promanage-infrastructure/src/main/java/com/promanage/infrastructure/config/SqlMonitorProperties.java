@@ -0,0 +1,37 @@
+package com.promanage.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * SQL 分页与慢查询监控配置
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.sql")
+public class SqlMonitorProperties {
+
+    /**
+     * 单页最大记录数，超过时按该值截断，防止一次性拉取全表
+     */
+    private long maxLimit = 500;
+
+    /**
+     * 是否记录慢查询
+     */
+    private boolean slowCaptureEnabled = true;
+
+    /**
+     * 慢查询阈值（毫秒）
+     */
+    private long slowThresholdMs = 500;
+
+    /**
+     * 慢查询环形缓冲区容量
+     */
+    private int slowLogCapacity = 200;
+}
@@ -0,0 +1,76 @@
+package com.promanage.infrastructure.interceptor;
+
+import com.promanage.infrastructure.config.SqlMonitorProperties;
+import com.promanage.infrastructure.monitor.SlowSqlRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Collection;
+
+/**
+ * 慢SQL拦截器
+ * <p>
+ * 拦截 Executor 的查询和更新，耗时超过阈值时记录 SQL 指纹、耗时和行数。
+ * 由 {@link com.promanage.infrastructure.config.MyBatisPlusConfig} 注册，MyBatis-Plus 会自动加入插件链。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class SlowSqlInterceptor implements Interceptor {
+
+    private final SqlMonitorProperties properties;
+    private final SlowSqlRecorder recorder;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!properties.isSlowCaptureEnabled()) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        Object result = invocation.proceed();
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+
+        if (durationMs >= properties.getSlowThresholdMs()) {
+            Object[] args = invocation.getArgs();
+            MappedStatement statement = (MappedStatement) args[0];
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(args[1]);
+            long rows = rowCount(result);
+            recorder.record(statement.getId(), boundSql.getSql(), durationMs, rows);
+            log.warn("慢SQL: {} 耗时 {}ms, 行数 {}", statement.getId(), durationMs, rows);
+        }
+        return result;
+    }
+
+    private static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,138 @@
+package com.promanage.infrastructure.monitor;
+
+import com.promanage.infrastructure.config.SqlMonitorProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 慢查询记录器
+ * <p>
+ * 最近的慢查询保存在固定容量的环形缓冲区中，写入无锁、旧记录自动覆盖；
+ * 同时按 Mapper 语句ID上报 Micrometer 指标（语句ID数量有限，不会造成标签膨胀）。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Component
+public class SlowSqlRecorder {
+
+    private static final String TIMER_NAME = "promanage.sql.slow";
+    private static final String ROWS_NAME = "promanage.sql.slow.rows";
+
+    private final AtomicReferenceArray<SlowQuery> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+
+    public SlowSqlRecorder(SqlMonitorProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.buffer = new AtomicReferenceArray<>(Math.max(1, properties.getSlowLogCapacity()));
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
+    /**
+     * 记录一次慢查询
+     *
+     * @param statementId Mapper 语句ID
+     * @param sql 执行的 SQL
+     * @param durationMs 耗时（毫秒）
+     * @param rows 返回行数或影响行数，未知时为 -1
+     */
+    public void record(String statementId, String sql, long durationMs, long rows) {
+        SlowQuery query = new SlowQuery(statementId, SqlFingerprint.of(sql), durationMs, rows, LocalDateTime.now());
+        long index = sequence.getAndIncrement();
+        buffer.set((int) (index % buffer.length()), query);
+
+        if (meterRegistry != null) {
+            Timer.builder(TIMER_NAME)
+                    .description("超过阈值的SQL执行耗时")
+                    .tag("statement", statementId)
+                    .register(meterRegistry)
+                    .record(durationMs, TimeUnit.MILLISECONDS);
+            if (rows >= 0) {
+                DistributionSummary.builder(ROWS_NAME)
+                        .description("慢SQL返回或影响的行数")
+                        .tag("statement", statementId)
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+        }
+    }
+
+    /**
+     * 最近的慢查询，按时间从新到旧
+     *
+     * @param limit 最大条数，超出缓冲区容量时按容量处理，小于等于0时返回空列表
+     * @return 慢查询列表
+     */
+    public List<SlowQuery> recent(int limit) {
+        long end = sequence.get();
+        long start = Math.max(0, end - Math.max(0, Math.min(limit, buffer.length())));
+        List<SlowQuery> result = new ArrayList<>((int) (end - start));
+        for (long i = end - 1; i >= start; i--) {
+            SlowQuery query = buffer.get((int) (i % buffer.length()));
+            if (query != null) {
+                result.add(query);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按指纹聚合缓冲区中的慢查询，按总耗时倒序
+     *
+     * @return 指纹统计列表
+     */
+    public List<FingerprintStats> summarize() {
+        Map<String, FingerprintStats> stats = new LinkedHashMap<>();
+        for (SlowQuery query : recent(buffer.length())) {
+            stats.merge(query.fingerprint(),
+                    new FingerprintStats(query.fingerprint(), query.statementId(), 1, query.durationMs(),
+                            query.durationMs(), query.rows()),
+                    FingerprintStats::merge);
+        }
+        return stats.values().stream()
+                .sorted(Comparator.comparingLong(FingerprintStats::totalMs).reversed())
+                .toList();
+    }
+
+    /**
+     * 清空缓冲区
+     */
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+    }
+
+    /**
+     * 单条慢查询
+     */
+    public record SlowQuery(String statementId, String fingerprint, long durationMs, long rows,
+                            LocalDateTime executedAt) {
+    }
+
+    /**
+     * 同一指纹的慢查询统计
+     */
+    public record FingerprintStats(String fingerprint, String statementId, long count, long totalMs,
+                                   long maxMs, long maxRows) {
+
+        FingerprintStats merge(FingerprintStats other) {
+            return new FingerprintStats(fingerprint, statementId, count + other.count, totalMs + other.totalMs,
+                    Math.max(maxMs, other.maxMs), Math.max(maxRows, other.maxRows));
+        }
+    }
+}
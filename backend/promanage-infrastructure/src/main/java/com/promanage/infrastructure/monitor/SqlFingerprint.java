@@ -0,0 +1,43 @@
+package com.promanage.infrastructure.monitor;
+
+import java.util.regex.Pattern;
+
+/**
+ * SQL 指纹
+ * <p>
+ * 把字面量替换为 ?、IN 列表折叠为 (?+)、空白合并并转小写，
+ * 使只有参数不同的语句得到相同指纹，便于聚合统计 N+1 和全表扫描等问题。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public final class SqlFingerprint {
+
+    private static final int MAX_LENGTH = 2000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    /**
+     * 计算 SQL 指纹
+     *
+     * @param sql 原始 SQL
+     * @return 归一化后的 SQL
+     */
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ").toLowerCase();
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?+)");
+        return normalized.length() > MAX_LENGTH ? normalized.substring(0, MAX_LENGTH) : normalized;
+    }
+}
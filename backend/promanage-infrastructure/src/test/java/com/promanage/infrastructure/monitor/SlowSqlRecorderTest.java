@@ -0,0 +1,85 @@
+package com.promanage.infrastructure.monitor;
+
+import com.promanage.infrastructure.config.SqlMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SlowSqlRecorder 测试")
+class SlowSqlRecorderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowSqlRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        SqlMonitorProperties properties = new SqlMonitorProperties();
+        properties.setSlowLogCapacity(3);
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        ObjectProvider<MeterRegistry> provider = beanFactory.getBeanProvider(MeterRegistry.class);
+        recorder = new SlowSqlRecorder(properties, provider);
+    }
+
+    @Test
+    @DisplayName("指纹应忽略字面量和IN列表长度")
+    void fingerprintShouldNormalizeLiteralsAndInLists() {
+        String a = SqlFingerprint.of("SELECT * FROM tb_task  WHERE id IN (?, ?, ?) AND name = 'x' LIMIT 21");
+        String b = SqlFingerprint.of("select *\n from tb_task where id in (?) and name = 'it''s' limit 3");
+
+        assertEquals(a, b);
+        assertEquals("select * from tb_task where id in (?+) and name = ? limit ?", a);
+        assertTrue(SqlFingerprint.of("select t1.id from tb_task t1").contains("t1.id"));
+    }
+
+    @Test
+    @DisplayName("环形缓冲区应覆盖最旧的记录")
+    void shouldOverwriteOldestEntries() {
+        for (int i = 1; i <= 5; i++) {
+            recorder.record("TaskMapper.selectList", "select * from tb_task where id = " + i, i * 100L, i);
+        }
+
+        List<SlowSqlRecorder.SlowQuery> recent = recorder.recent(10);
+
+        assertEquals(3, recent.size());
+        assertEquals(List.of(500L, 400L, 300L), recent.stream().map(SlowSqlRecorder.SlowQuery::durationMs).toList());
+    }
+
+    @Test
+    @DisplayName("条数为负数时应返回空列表")
+    void shouldReturnEmptyForNegativeLimit() {
+        recorder.record("TaskMapper.selectList", "select * from tb_task", 500L, 1);
+
+        assertTrue(recorder.recent(-1).isEmpty());
+        assertTrue(recorder.recent(0).isEmpty());
+        assertEquals(1, recorder.recent(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    @DisplayName("应按指纹聚合并上报指标")
+    void shouldSummarizeByFingerprintAndPublishMetrics() {
+        recorder.record("TaskMapper.selectById", "select * from tb_task where id = ?", 600, 1);
+        recorder.record("TaskMapper.selectById", "select * from tb_task where id = ?", 700, 1);
+        recorder.record("UserMapper.selectList", "select * from tb_user", 900, 5000);
+
+        List<SlowSqlRecorder.FingerprintStats> stats = recorder.summarize();
+
+        assertEquals(2, stats.size());
+        assertEquals("TaskMapper.selectById", stats.get(0).statementId());
+        assertEquals(2, stats.get(0).count());
+        assertEquals(1300, stats.get(0).totalMs());
+        assertEquals(2, meterRegistry.get("promanage.sql.slow").tag("statement", "TaskMapper.selectById")
+                .timer().count());
+        assertEquals(5000, meterRegistry.get("promanage.sql.slow.rows").tag("statement", "UserMapper.selectList")
+                .summary().totalAmount());
+    }
+}
@@ -2,6 +2,7 @@ package com.promanage.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.promanage.common.result.PageResult;
 import com.promanage.service.entity.Notification;
 
 import java.util.List;
@@ -38,6 +39,11 @@ public interface INotificationService extends IService<Notification> {
      */
     Page<Notification> getUserNotifications(Long userId, int page, int size);
 
+    /**
+     * 游标分页获取用户通知列表（按创建时间倒序）
+     */
+    PageResult<Notification> getUserNotificationsByCursor(Long userId, String cursor, int size);
+
     /**
      * 获取用户未读通知数量
      */
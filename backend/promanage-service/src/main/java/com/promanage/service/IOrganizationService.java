@@ -90,7 +90,7 @@ public interface IOrganizationService {
     List<Organization> listUserOrganizations(Long userId);
 
     /**
-     * 获取组织成员列表
+     * 获取组织成员列表（按姓名升序，页码分页）
      *
      * @param organizationId 组织ID
      * @param requesterId    请求用户ID
@@ -98,6 +98,24 @@ public interface IOrganizationService {
      */
     PageResult<OrganizationMemberDTO> listOrganizationMembers(Long organizationId, Long requesterId, Integer page, Integer pageSize);
 
+    /**
+     * 游标分页获取组织成员列表
+     *
+     * @param organizationId 组织ID
+     * @param requesterId    请求用户ID
+     * @param cursor         分页游标，为空表示第一页
+     * @param size           每页大小
+     * @param name           姓名或用户名前缀（可选）
+     * @param roleCode       角色编码（可选）
+     * @param status         账号状态（可选）
+     * @param sort           排序方式: NAME（默认）、STATUS、JOINED
+     * @param withTotal      是否统计总数
+     * @return 分页结果，包含前后页游标
+     */
+    PageResult<OrganizationMemberDTO> listOrganizationMembersByCursor(Long organizationId, Long requesterId, String cursor,
+                                                                      Integer size, String name, String roleCode,
+                                                                      Integer status, String sort, boolean withTotal);
+
     /**
      * 激活组织
      *
@@ -25,5 +25,15 @@ public interface IProjectActivityService extends IService<ProjectActivity> {
      * @return 分页的活动列表
      */
     PageResult<ProjectActivity> getProjectActivities(Long projectId, Integer page, Integer pageSize);
+
+    /**
+     * 游标分页获取项目活动（按创建时间倒序）
+     *
+     * @param projectId 项目ID
+     * @param cursor    分页游标，为空表示第一页
+     * @param pageSize  每页数量
+     * @return 分页的活动列表，包含前后页游标
+     */
+    PageResult<ProjectActivity> getProjectActivitiesByCursor(Long projectId, String cursor, Integer pageSize);
 }
 
@@ -3,7 +3,10 @@ package com.promanage.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.promanage.common.result.PageResult;
 import com.promanage.dto.TaskTimeTrackingDTO;
+import com.promanage.service.dto.response.ActiveTimerDTO;
+import com.promanage.service.dto.response.TimesheetDTO;
 import com.promanage.service.entity.TaskTimeTracking;
+import com.promanage.service.timesheet.TimeBucket;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -145,4 +148,44 @@ public interface ITaskTimeTrackingService extends IService<TaskTimeTracking> {
      * @return 总工时
      */
     Double getTotalHoursByProject(Long projectId);
+
+    /**
+     * 按条件获取总工时，所有条件均可为空
+     *
+     * @param userId 用户ID
+     * @param taskId 任务ID
+     * @param projectId 项目ID
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 总工时
+     */
+    Double getTotalHours(Long userId, Long taskId, Long projectId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 获取工时表
+     *
+     * @param userId 用户ID，可为空
+     * @param projectId 项目ID，可为空
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param bucket 统计周期
+     * @return 按 (用户, 任务) 分行、按周期分列的工时表
+     */
+    TimesheetDTO getTimesheet(Long userId, Long projectId, LocalDate startDate, LocalDate endDate, TimeBucket bucket);
+
+    /**
+     * 获取用户进行中和已暂停的计时
+     *
+     * @param userId 用户ID
+     * @return 计时列表，计时秒数按当前时间计算
+     */
+    List<ActiveTimerDTO> listActiveTimers(Long userId);
+
+    /**
+     * 获取项目成员进行中和已暂停的计时
+     *
+     * @param projectId 项目ID
+     * @return 计时列表，计时秒数按当前时间计算
+     */
+    List<ActiveTimerDTO> listActiveTimersByProject(Long projectId);
 }
@@ -42,4 +42,14 @@ public interface IWebSocketMessageService {
      * 向项目成员发送消息
      */
     void sendProjectNotification(Long projectId, String title, String content);
+
+    /**
+     * 向指定用户发送指定类型的数据消息
+     */
+    boolean sendMessageToUser(Long userId, String type, Object content);
+
+    /**
+     * 向多个用户发送指定类型的数据消息
+     */
+    void sendMessageToUsers(Collection<Long> userIds, String type, Object content);
 }
\ No newline at end of file
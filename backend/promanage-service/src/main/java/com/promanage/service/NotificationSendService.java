@@ -1,5 +1,8 @@
 package com.promanage.service;
 
+import com.promanage.service.enums.NotificationType;
+import com.promanage.service.notification.NotificationCoalescer;
+import com.promanage.service.strategy.NotificationEvent;
 import com.promanage.service.strategy.NotificationStrategy;
 import com.promanage.service.strategy.NotificationStrategyFactory;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 通知发送服务
@@ -18,9 +22,13 @@ public class NotificationSendService {
 
     private final INotificationService notificationService;
     private final NotificationStrategyFactory strategyFactory;
+    private final NotificationCoalescer notificationCoalescer;
 
     /**
      * 发送策略通知
+     * <p>
+     * 启用通知合并时，接收者的首个事件立即发送，窗口内的后续事件在窗口关闭后以摘要通知的形式发送
+     * </p>
      */
     public boolean sendStrategyNotification(Long relatedId, String relatedType, Long operatorId) {
         try {
@@ -31,19 +39,27 @@ public class NotificationSendService {
             }
 
             // 获取接收者列表
-            List<Long> recipients = strategy.getRecipients(relatedId, relatedType, operatorId);
+            List<Long> recipients = strategyFactory.resolveRecipients(relatedId, relatedType, operatorId);
             if (recipients.isEmpty()) {
                 log.info("没有找到通知接收者, 相关ID: {}, 相关类型: {}", relatedId, relatedType);
                 return true;
             }
 
             // 生成标题和内容
+            String type = notificationType(relatedType);
             String title = strategy.generateTitle(relatedId, relatedType, operatorId);
             String content = strategy.generateContent(relatedId, relatedType, operatorId);
 
+            if (notificationCoalescer.isEnabled()) {
+                notificationCoalescer.submit(recipients, type, title, content, relatedId, relatedType, operatorId);
+                log.debug("策略通知已加入合并窗口, 相关ID: {}, 相关类型: {}, 接收者数量: {}",
+                    relatedId, relatedType, recipients.size());
+                return true;
+            }
+
             // 批量发送通知
             boolean result = notificationService.sendNotificationBatch(
-                recipients, relatedType, title, content, relatedId, relatedType, operatorId
+                recipients, type, title, content, relatedId, relatedType, operatorId
             );
 
             if (result) {
@@ -58,6 +74,48 @@ public class NotificationSendService {
         }
     }
 
+    /**
+     * 批量发送策略通知
+     * <p>
+     * 一次性解析整批事件的接收者，再逐个事件生成标题和内容并发送；用于批量操作产生的大量同类事件
+     * </p>
+     *
+     * @param events 通知事件列表
+     * @return 成功发送（或加入合并窗口）的事件数量
+     */
+    public int sendStrategyNotifications(List<NotificationEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        int sent = 0;
+        Map<NotificationEvent, List<Long>> recipientsByEvent = strategyFactory.resolveRecipients(events);
+        for (Map.Entry<NotificationEvent, List<Long>> entry : recipientsByEvent.entrySet()) {
+            NotificationEvent event = entry.getKey();
+            List<Long> recipients = entry.getValue();
+            if (recipients.isEmpty()) {
+                continue;
+            }
+            try {
+                NotificationStrategy strategy = strategyFactory.getStrategy(event.relatedType());
+                String type = notificationType(event.relatedType());
+                String title = strategy.generateTitle(event.relatedId(), event.relatedType(), event.operatorId());
+                String content = strategy.generateContent(event.relatedId(), event.relatedType(), event.operatorId());
+                if (notificationCoalescer.isEnabled()) {
+                    notificationCoalescer.submit(recipients, type, title, content,
+                        event.relatedId(), event.relatedType(), event.operatorId());
+                    sent++;
+                } else if (notificationService.sendNotificationBatch(recipients, type, title, content,
+                        event.relatedId(), event.relatedType(), event.operatorId())) {
+                    sent++;
+                }
+            } catch (Exception e) {
+                log.error("发送策略通知失败, 相关ID: {}, 相关类型: {}", event.relatedId(), event.relatedType(), e);
+            }
+        }
+        log.info("批量策略通知发送完成, 事件数量: {}, 成功: {}", events.size(), sent);
+        return sent;
+    }
+
     /**
      * 发送自定义通知
      */
@@ -72,4 +130,13 @@ public class NotificationSendService {
             return false;
         }
     }
+
+    /**
+     * 策略通知的相关类型是事件类型，转换为对应的通知类型编码
+     *
+     * @throws IllegalArgumentException 没有对应的通知类型时
+     */
+    private static String notificationType(String relatedType) {
+        return NotificationType.fromCode(relatedType).getCode();
+    }
 }
\ No newline at end of file
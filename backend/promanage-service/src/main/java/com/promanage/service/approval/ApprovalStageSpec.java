@@ -0,0 +1,17 @@
+package com.promanage.service.approval;
+
+import java.util.List;
+
+/**
+ * 审批阶段定义
+ *
+ * @param name              阶段名称，为空时按顺序命名
+ * @param approverIds       审批人ID，去重后为 M
+ * @param requiredApprovals 通过所需的同意数 N，为空表示全部同意
+ * @param timeoutHours      审批时限（小时），为空时使用默认时限，0 表示不限
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record ApprovalStageSpec(String name, List<Long> approverIds, Integer requiredApprovals, Integer timeoutHours) {
+}
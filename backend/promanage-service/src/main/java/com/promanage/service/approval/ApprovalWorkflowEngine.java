@@ -0,0 +1,374 @@
+package com.promanage.service.approval;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.promanage.common.domain.ResultCode;
+import com.promanage.common.enums.ChangeRequestStatus;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.service.INotificationService;
+import com.promanage.service.dependency.AfterCommit;
+import com.promanage.service.dto.ApprovalTally;
+import com.promanage.service.entity.ApprovalInboxItem;
+import com.promanage.service.entity.ApprovalStage;
+import com.promanage.service.entity.ChangeRequest;
+import com.promanage.service.enums.NotificationType;
+import com.promanage.service.event.AggregateType;
+import com.promanage.service.event.DomainEvent;
+import com.promanage.service.mapper.ApprovalInboxMapper;
+import com.promanage.service.mapper.ApprovalStageMapper;
+import com.promanage.service.mapper.ChangeRequestMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 变更请求审批流程引擎
+ * <p>
+ * 提交时按阶段定义生成审批阶段和每个审批人的待办，阶段依次激活，阶段内 M 个审批人中 N 个同意即通过，
+ * 拒绝数使剩余审批人不可能凑够 N 个同意时阶段被拒绝，超过时限的阶段由定时任务按超时拒绝处理。
+ * 每次审批先按版本号更新变更请求行（乐观锁），成功后本事务持有行锁，计票和阶段流转在锁内完成，
+ * 并发审批因版本号变化重新读取后再计票，不会重复推进阶段。
+ * 通知在事务提交后按阶段批量发送。调用方负责事务（超时处理除外）。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApprovalWorkflowEngine {
+
+    private static final String RELATED_TYPE = "CHANGE_REQUEST";
+
+    private final ChangeRequestMapper changeRequestMapper;
+    private final ApprovalStageMapper approvalStageMapper;
+    private final ApprovalInboxMapper approvalInboxMapper;
+    private final INotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApprovalWorkflowProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 阶段计票结果
+     */
+    public enum StageOutcome {
+        PENDING, APPROVED, REJECTED
+    }
+
+    /**
+     * 一次审批决定的结果
+     */
+    public enum ApprovalResult {
+        /**
+         * 当前阶段尚未得出结果
+         */
+        PENDING,
+        /**
+         * 当前阶段通过，已激活下一阶段
+         */
+        NEXT_STAGE,
+        /**
+         * 所有阶段通过，变更请求已批准
+         */
+        APPROVED,
+        /**
+         * 变更请求已被拒绝
+         */
+        REJECTED
+    }
+
+    /**
+     * 为已提交的变更请求启动审批流程，重新提交时取消之前未结束的阶段
+     *
+     * @param changeRequest 变更请求
+     * @param stages        阶段定义，按顺序执行
+     * @param operatorId    提交人ID
+     */
+    public void start(ChangeRequest changeRequest, List<ApprovalStageSpec> stages, Long operatorId) {
+        List<ApprovalStageSpec> normalized = normalize(stages);
+        Long changeRequestId = changeRequest.getId();
+        approvalStageMapper.cancelOpen(changeRequestId);
+        approvalInboxMapper.cancelOpen(changeRequestId);
+
+        List<ApprovalStage> created = new ArrayList<>(normalized.size());
+        List<ApprovalInboxItem> items = new ArrayList<>();
+        int order = 1;
+        for (ApprovalStageSpec spec : normalized) {
+            ApprovalStage stage = new ApprovalStage();
+            stage.setChangeRequestId(changeRequestId);
+            stage.setStageOrder(order++);
+            stage.setName(spec.name());
+            stage.setRequiredApprovals(spec.requiredApprovals());
+            stage.setApproverCount(spec.approverIds().size());
+            stage.setStatus(ApprovalStage.STATUS_WAITING);
+            stage.setTimeoutHours(spec.timeoutHours());
+            approvalStageMapper.insert(stage);
+            created.add(stage);
+
+            for (Long approverId : spec.approverIds()) {
+                ApprovalInboxItem item = new ApprovalInboxItem();
+                item.setChangeRequestId(changeRequestId);
+                item.setStageId(stage.getId());
+                item.setProjectId(changeRequest.getProjectId());
+                item.setApproverId(approverId);
+                item.setStatus(ApprovalInboxItem.STATUS_WAITING);
+                items.add(item);
+            }
+        }
+        approvalInboxMapper.insertBatch(items);
+        activate(changeRequest, created.get(0), operatorId);
+        log.info("审批流程已启动, changeRequestId={}, stages={}, approvers={}", changeRequestId, created.size(), items.size());
+    }
+
+    /**
+     * 变更请求是否由审批流程管理（存在未取消的审批阶段）
+     */
+    public boolean hasWorkflow(Long changeRequestId) {
+        return approvalStageMapper.selectCount(new LambdaQueryWrapper<ApprovalStage>()
+                .eq(ApprovalStage::getChangeRequestId, changeRequestId)
+                .ne(ApprovalStage::getStatus, ApprovalStage.STATUS_CANCELLED)) > 0;
+    }
+
+    /**
+     * 用户是否为变更请求当前阶段的待审批人
+     */
+    public boolean isPendingApprover(Long changeRequestId, Long userId) {
+        return changeRequestId != null && userId != null
+                && approvalInboxMapper.countPendingFor(changeRequestId, userId) > 0;
+    }
+
+    /**
+     * 记录审批人的决定并推进流程
+     *
+     * @param changeRequestId 变更请求ID
+     * @param approverId      审批人ID
+     * @param approve         是否同意
+     * @param comments        审批意见
+     * @return 审批结果
+     */
+    public ApprovalResult decide(Long changeRequestId, Long approverId, boolean approve, String comments) {
+        ChangeRequest changeRequest = lock(changeRequestId);
+        if (!ChangeRequestStatus.UNDER_REVIEW.getCode().equals(changeRequest.getStatus())) {
+            throw new BusinessException(ResultCode.OPERATION_FAILED, "变更请求当前状态不允许审批");
+        }
+
+        int decision = approve ? ApprovalInboxItem.STATUS_APPROVED : ApprovalInboxItem.STATUS_REJECTED;
+        Long stageId = approvalInboxMapper.recordDecision(changeRequestId, approverId, decision, comments);
+        if (stageId == null) {
+            throw new BusinessException(ResultCode.FORBIDDEN, "您不是该变更请求当前审批阶段的审批人");
+        }
+
+        ApprovalStage stage = approvalStageMapper.selectById(stageId);
+        ApprovalTally tally = approvalInboxMapper.tally(stageId);
+        StageOutcome outcome = evaluate(stage.getRequiredApprovals(), stage.getApproverCount(),
+                valueOf(tally.getApproved()), valueOf(tally.getRejected()));
+        log.info("审批决定已记录, changeRequestId={}, stage={}, approverId={}, approve={}, approved={}/{}, rejected={}, outcome={}",
+                changeRequestId, stage.getStageOrder(), approverId, approve, tally.getApproved(),
+                stage.getRequiredApprovals(), tally.getRejected(), outcome);
+        publishEvent(changeRequest, approve ? "CHANGE_REQUEST_APPROVAL_GRANTED" : "CHANGE_REQUEST_APPROVAL_DENIED", approverId,
+                (approve ? "同意" : "拒绝") + "变更请求「" + changeRequest.getTitle() + "」的审批阶段「" + stage.getName() + "」");
+
+        return switch (outcome) {
+            case PENDING -> ApprovalResult.PENDING;
+            case REJECTED -> {
+                reject(changeRequest, stage, ApprovalStage.STATUS_REJECTED, approverId);
+                yield ApprovalResult.REJECTED;
+            }
+            case APPROVED -> advance(changeRequest, stage, approverId);
+        };
+    }
+
+    /**
+     * 定时处理超过审批时限的阶段，每个阶段单独提交事务
+     */
+    @Scheduled(fixedDelayString = "${promanage.change-request.approval.expire-interval-ms:60000}")
+    public void expireOverdueStages() {
+        List<ApprovalStage> overdue = approvalStageMapper.selectOverdue(LocalDateTime.now(), properties.getExpireBatchSize());
+        for (ApprovalStage stage : overdue) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> expire(stage));
+            } catch (Exception e) {
+                log.warn("处理审批超时失败, changeRequestId={}, stageId={}", stage.getChangeRequestId(), stage.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * 阶段计票：同意数达到 N 即通过；剩余可能的同意数不足 N 即拒绝
+     *
+     * @param required      通过所需的同意数 N
+     * @param approverCount 审批人数 M
+     * @param approved      已同意数
+     * @param rejected      已拒绝数
+     * @return 计票结果
+     */
+    static StageOutcome evaluate(int required, int approverCount, int approved, int rejected) {
+        if (approved >= required) {
+            return StageOutcome.APPROVED;
+        }
+        if (approverCount - rejected < required) {
+            return StageOutcome.REJECTED;
+        }
+        return StageOutcome.PENDING;
+    }
+
+    void expire(ApprovalStage overdue) {
+        ChangeRequest changeRequest = lock(overdue.getChangeRequestId());
+        // 加锁后重新读取，阶段可能已被并发的审批决定推进
+        ApprovalStage stage = approvalStageMapper.selectById(overdue.getId());
+        if (stage == null || stage.getStatus() != ApprovalStage.STATUS_ACTIVE
+                || stage.getDueAt() == null || stage.getDueAt().isAfter(LocalDateTime.now())) {
+            return;
+        }
+        log.info("审批阶段超时, changeRequestId={}, stage={}, dueAt={}", stage.getChangeRequestId(), stage.getStageOrder(), stage.getDueAt());
+        reject(changeRequest, stage, ApprovalStage.STATUS_EXPIRED, null);
+    }
+
+    private ApprovalResult advance(ChangeRequest changeRequest, ApprovalStage stage, Long approverId) {
+        approvalStageMapper.complete(stage.getId(), ApprovalStage.STATUS_APPROVED);
+        // 已凑够 N 个同意，其余审批人无需再审批
+        approvalInboxMapper.closePending(stage.getId(), ApprovalInboxItem.STATUS_CANCELLED);
+
+        ApprovalStage next = approvalStageMapper.selectByChangeRequestId(changeRequest.getId()).stream()
+                .filter(candidate -> candidate.getStageOrder() > stage.getStageOrder()
+                        && candidate.getStatus() == ApprovalStage.STATUS_WAITING)
+                .findFirst()
+                .orElse(null);
+        if (next != null) {
+            activate(changeRequest, next, approverId);
+            return ApprovalResult.NEXT_STAGE;
+        }
+
+        updateStatus(changeRequest, ChangeRequestStatus.APPROVED.getCode(), approverId, LocalDateTime.now());
+        notifyAfterCommit(List.of(changeRequest.getRequesterId()), NotificationType.CHANGE_REQUEST_APPROVED,
+                "变更请求已批准", "变更请求「" + changeRequest.getTitle() + "」已通过全部审批", changeRequest.getId(), approverId);
+        publishEvent(changeRequest, "CHANGE_REQUEST_APPROVED", approverId, "变更请求「" + changeRequest.getTitle() + "」通过全部审批");
+        log.info("变更请求审批通过, changeRequestId={}", changeRequest.getId());
+        return ApprovalResult.APPROVED;
+    }
+
+    private void reject(ChangeRequest changeRequest, ApprovalStage stage, int stageStatus, Long operatorId) {
+        boolean expired = stageStatus == ApprovalStage.STATUS_EXPIRED;
+        approvalStageMapper.complete(stage.getId(), stageStatus);
+        approvalInboxMapper.closePending(stage.getId(),
+                expired ? ApprovalInboxItem.STATUS_EXPIRED : ApprovalInboxItem.STATUS_CANCELLED);
+        approvalStageMapper.cancelOpen(changeRequest.getId());
+        approvalInboxMapper.cancelOpen(changeRequest.getId());
+
+        updateStatus(changeRequest, ChangeRequestStatus.REJECTED.getCode(), operatorId, null);
+        String reason = expired ? "审批阶段「" + stage.getName() + "」超过审批时限" : "审批阶段「" + stage.getName() + "」未通过";
+        notifyAfterCommit(List.of(changeRequest.getRequesterId()), NotificationType.CHANGE_REQUEST_REJECTED,
+                "变更请求已拒绝", "变更请求「" + changeRequest.getTitle() + "」" + reason, changeRequest.getId(), operatorId);
+        publishEvent(changeRequest, "CHANGE_REQUEST_REJECTED", operatorId, "变更请求「" + changeRequest.getTitle() + "」" + reason);
+        log.info("变更请求审批未通过, changeRequestId={}, stage={}, expired={}", changeRequest.getId(), stage.getStageOrder(), expired);
+    }
+
+    private void activate(ChangeRequest changeRequest, ApprovalStage stage, Long operatorId) {
+        LocalDateTime dueAt = stage.getTimeoutHours() != null && stage.getTimeoutHours() > 0
+                ? LocalDateTime.now().plusHours(stage.getTimeoutHours()) : null;
+        approvalStageMapper.activate(stage.getId(), dueAt);
+        approvalInboxMapper.activateStage(stage.getId());
+
+        List<Long> approvers = approvalInboxMapper.selectApproverIds(stage.getId());
+        notifyAfterCommit(approvers, NotificationType.CHANGE_REQUEST_PENDING_APPROVAL, "变更请求待审批",
+                "变更请求「" + changeRequest.getTitle() + "」进入审批阶段「" + stage.getName() + "」，需要 "
+                        + stage.getRequiredApprovals() + "/" + stage.getApproverCount() + " 位审批人同意",
+                changeRequest.getId(), operatorId);
+    }
+
+    /**
+     * 按版本号递增变更请求的版本，成功后本事务持有该行的行锁
+     */
+    private ChangeRequest lock(Long changeRequestId) {
+        for (int attempt = 0; attempt <= properties.getMaxVersionRetries(); attempt++) {
+            ChangeRequest changeRequest = changeRequestMapper.selectById(changeRequestId);
+            if (changeRequest == null) {
+                throw new BusinessException(ResultCode.DATA_NOT_FOUND, "变更请求不存在");
+            }
+            long version = changeRequest.getVersion() != null ? changeRequest.getVersion() : 0L;
+            if (changeRequestMapper.updateWithVersion(changeRequestId, version, null, null, null, null) == 1) {
+                changeRequest.setVersion(version + 1);
+                return changeRequest;
+            }
+            log.debug("变更请求版本号冲突, 重新读取, changeRequestId={}, attempt={}", changeRequestId, attempt + 1);
+        }
+        throw new BusinessException(ResultCode.OPERATION_FAILED, "变更请求正在被其他人审批，请稍后重试");
+    }
+
+    private void updateStatus(ChangeRequest changeRequest, String status, Long operatorId, LocalDateTime approvedAt) {
+        long version = changeRequest.getVersion();
+        int updated = changeRequestMapper.updateWithVersion(changeRequest.getId(), version, status, operatorId, approvedAt, operatorId);
+        if (updated != 1) {
+            throw new BusinessException(ResultCode.OPERATION_FAILED, "更新变更请求状态失败");
+        }
+        changeRequest.setVersion(version + 1);
+        changeRequest.setStatus(status);
+    }
+
+    private void publishEvent(ChangeRequest changeRequest, String action, Long operatorId, String summary) {
+        eventPublisher.publishEvent(DomainEvent.of(AggregateType.CHANGE_REQUEST, changeRequest.getId(),
+                changeRequest.getProjectId(), action, operatorId, summary));
+    }
+
+    private void notifyAfterCommit(List<Long> recipients, NotificationType type, String title, String content,
+                                   Long changeRequestId, Long operatorId) {
+        List<Long> userIds = recipients.stream().filter(Objects::nonNull).distinct().toList();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            try {
+                notificationService.sendNotificationBatch(userIds, type.getCode(), title, content,
+                        changeRequestId, RELATED_TYPE, operatorId);
+            } catch (Exception e) {
+                log.warn("发送审批通知失败, changeRequestId={}, type={}", changeRequestId, type, e);
+            }
+        });
+    }
+
+    private List<ApprovalStageSpec> normalize(List<ApprovalStageSpec> stages) {
+        if (stages == null || stages.isEmpty()) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "审批阶段不能为空");
+        }
+        if (stages.size() > properties.getMaxStages()) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "审批阶段数不能超过" + properties.getMaxStages());
+        }
+        List<ApprovalStageSpec> normalized = new ArrayList<>(stages.size());
+        for (int i = 0; i < stages.size(); i++) {
+            ApprovalStageSpec spec = stages.get(i);
+            Set<Long> approvers = new LinkedHashSet<>();
+            if (spec.approverIds() != null) {
+                spec.approverIds().stream().filter(Objects::nonNull).forEach(approvers::add);
+            }
+            if (approvers.isEmpty()) {
+                throw new BusinessException(ResultCode.PARAM_ERROR, "第" + (i + 1) + "个审批阶段没有审批人");
+            }
+            if (approvers.size() > properties.getMaxApproversPerStage()) {
+                throw new BusinessException(ResultCode.PARAM_ERROR, "单个审批阶段的审批人不能超过" + properties.getMaxApproversPerStage());
+            }
+            int required = spec.requiredApprovals() != null ? spec.requiredApprovals() : approvers.size();
+            if (required < 1 || required > approvers.size()) {
+                throw new BusinessException(ResultCode.PARAM_ERROR, "第" + (i + 1) + "个审批阶段的通过人数必须在1到审批人数之间");
+            }
+            int timeoutHours = spec.timeoutHours() != null ? spec.timeoutHours() : properties.getDefaultTimeoutHours();
+            String name = StringUtils.isNotBlank(spec.name()) ? spec.name().trim() : "第" + (i + 1) + "级审批";
+            normalized.add(new ApprovalStageSpec(name, List.copyOf(approvers), required, Math.max(timeoutHours, 0)));
+        }
+        return normalized;
+    }
+
+    private static int valueOf(Integer count) {
+        return count != null ? count : 0;
+    }
+}
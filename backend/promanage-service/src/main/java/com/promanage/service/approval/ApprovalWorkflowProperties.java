@@ -0,0 +1,50 @@
+package com.promanage.service.approval;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 审批流程配置属性
+ * <p>
+ * 从application.yml中读取 promanage.change-request.approval 配置
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.change-request.approval")
+public class ApprovalWorkflowProperties {
+
+    /**
+     * 阶段未指定时限时的默认审批时限（小时），0表示不限
+     */
+    private int defaultTimeoutHours = 72;
+
+    /**
+     * 超时阶段扫描间隔（毫秒），由 @Scheduled 直接读取
+     */
+    private long expireIntervalMs = 60_000;
+
+    /**
+     * 每次扫描处理的超时阶段数
+     */
+    private int expireBatchSize = 100;
+
+    /**
+     * 版本号冲突时的最大重试次数
+     */
+    private int maxVersionRetries = 3;
+
+    /**
+     * 单个变更请求的最大阶段数
+     */
+    private int maxStages = 10;
+
+    /**
+     * 单个阶段的最大审批人数
+     */
+    private int maxApproversPerStage = 50;
+}
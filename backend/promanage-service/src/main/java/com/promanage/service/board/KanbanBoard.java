@@ -0,0 +1,179 @@
+package com.promanage.service.board;
+
+import com.promanage.service.dto.response.KanbanBoardDTO;
+import com.promanage.service.dto.response.KanbanCardDTO;
+import com.promanage.service.dto.response.KanbanColumnDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 项目看板读模型
+ * <p>
+ * 按状态分列保存项目内所有任务卡片。每次卡片变更版本号加一并记录在卡片上，
+ * 移除的卡片保留墓碑记录，因此可以回答"某版本以来的变更"。
+ * 墓碑数量超过上限时丢弃最早的记录，并提高可增量查询的最低版本，更早的版本只能返回完整看板。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public class KanbanBoard {
+
+    /**
+     * 看板列：状态码与名称
+     */
+    static final Map<Integer, String> COLUMNS = columns();
+
+    /**
+     * 列内排序：按排序键升序，没有排序键的排在最后
+     */
+    private static final Comparator<KanbanCardDTO> CARD_ORDER = Comparator
+            .comparing(KanbanCardDTO::getSortRank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(KanbanCardDTO::getTaskId);
+
+    private final Long projectId;
+    private final String epoch = UUID.randomUUID().toString();
+    private final int maxTombstones;
+    private final Map<Long, KanbanCardDTO> cards = new HashMap<>();
+    private final LinkedHashMap<Long, Long> tombstones = new LinkedHashMap<>();
+    private long version;
+    private long deltaFloor;
+
+    public KanbanBoard(Long projectId, Collection<KanbanCardDTO> initialCards, int maxTombstones) {
+        this.projectId = projectId;
+        this.maxTombstones = maxTombstones;
+        for (KanbanCardDTO card : initialCards) {
+            card.setVersion(0L);
+            cards.put(card.getTaskId(), card);
+        }
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized boolean contains(Long taskId) {
+        return cards.containsKey(taskId);
+    }
+
+    /**
+     * 新增或替换卡片，内容未变化时不产生新版本
+     *
+     * @param card 卡片
+     * @return 是否产生了新版本
+     */
+    public synchronized boolean upsert(KanbanCardDTO card) {
+        KanbanCardDTO existing = cards.get(card.getTaskId());
+        if (existing != null) {
+            card.setVersion(existing.getVersion());
+            if (existing.equals(card)) {
+                return false;
+            }
+        }
+        card.setVersion(++version);
+        cards.put(card.getTaskId(), card);
+        tombstones.remove(card.getTaskId());
+        return true;
+    }
+
+    /**
+     * 移除卡片
+     *
+     * @param taskId 任务ID
+     * @return 卡片是否存在
+     */
+    public synchronized boolean remove(Long taskId) {
+        if (cards.remove(taskId) == null) {
+            return false;
+        }
+        tombstones.put(taskId, ++version);
+        Iterator<Map.Entry<Long, Long>> it = tombstones.entrySet().iterator();
+        while (tombstones.size() > maxTombstones && it.hasNext()) {
+            deltaFloor = Math.max(deltaFloor, it.next().getValue());
+            it.remove();
+        }
+        return true;
+    }
+
+    /**
+     * 读取看板
+     *
+     * @param clientEpoch 客户端持有的看板标识
+     * @param sinceVersion 客户端持有的版本号，为空时返回完整看板
+     * @return 与客户端标识一致且版本可增量时返回增量结果，否则返回完整看板
+     */
+    public synchronized KanbanBoardDTO read(String clientEpoch, Long sinceVersion) {
+        if (sinceVersion == null || !epoch.equals(clientEpoch) || sinceVersion < deltaFloor || sinceVersion > version) {
+            return snapshot();
+        }
+        List<KanbanCardDTO> changed = cards.values().stream()
+                .filter(card -> card.getVersion() > sinceVersion)
+                .sorted(CARD_ORDER)
+                .toList();
+        List<Long> removed = tombstones.entrySet().stream()
+                .filter(entry -> entry.getValue() > sinceVersion)
+                .map(Map.Entry::getKey)
+                .toList();
+        return KanbanBoardDTO.builder()
+                .projectId(projectId)
+                .epoch(epoch)
+                .version(version)
+                .full(false)
+                .changedCards(changed)
+                .removedTaskIds(removed)
+                .build();
+    }
+
+    private KanbanBoardDTO snapshot() {
+        Map<Integer, List<KanbanCardDTO>> byStatus = new LinkedHashMap<>();
+        COLUMNS.keySet().forEach(status -> byStatus.put(status, new ArrayList<>()));
+        for (KanbanCardDTO card : cards.values()) {
+            byStatus.computeIfAbsent(Objects.requireNonNullElse(card.getStatus(), 0), k -> new ArrayList<>()).add(card);
+        }
+        List<KanbanColumnDTO> columns = new ArrayList<>(byStatus.size());
+        byStatus.forEach((status, columnCards) -> {
+            columnCards.sort(CARD_ORDER);
+            columns.add(KanbanColumnDTO.builder()
+                    .status(status)
+                    .statusName(COLUMNS.getOrDefault(status, "未知"))
+                    .cards(columnCards)
+                    .build());
+        });
+        return KanbanBoardDTO.builder()
+                .projectId(projectId)
+                .epoch(epoch)
+                .version(version)
+                .full(true)
+                .columns(columns)
+                .build();
+    }
+
+    private static Map<Integer, String> columns() {
+        Map<Integer, String> columns = new LinkedHashMap<>();
+        columns.put(0, "待办");
+        columns.put(1, "进行中");
+        columns.put(2, "审核中");
+        columns.put(5, "已阻塞");
+        columns.put(3, "已完成");
+        columns.put(4, "已取消");
+        return Collections.unmodifiableMap(columns);
+    }
+}
@@ -0,0 +1,404 @@
+package com.promanage.service.dependency;
+
+import com.promanage.service.dto.TaskDependencyEdge;
+import com.promanage.service.entity.Task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 项目进度计划（关键路径法）
+ * <p>
+ * 以天为单位计算每个任务的最早开始/完成、最晚开始/完成和总时差，时差为 0 的任务构成关键路径。
+ * 内部时间为 epochDay，完成时间为开区间（任务占用 [start, finish) 天）。
+ * </p>
+ * <p>
+ * 增量计算：正向计算只依赖前置任务，任务工期、开始约束或依赖变更时只对该任务及其下游子图重新做正向计算；
+ * 反向计算只依赖后置任务和项目完成时间，只在工期或依赖变更时对上游子图重算，
+ * 项目完成时间变化时才需要全量反向计算。每次计算都在受影响子图内做 Kahn 拓扑遍历，
+ * 不维护全局拓扑序。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public class ProjectSchedule {
+
+    private static final int[] EMPTY = new int[0];
+    private static final long NO_CONSTRAINT = Long.MIN_VALUE;
+    private static final double HOURS_PER_DAY = 8.0;
+    private static final int CANCELLED_STATUS = 4;
+
+    private final Map<Long, Integer> indexOf = new HashMap<>();
+    private final long projectStart;
+    private final int nodeCount;
+    private final long[] taskIds;
+    private final int[] duration;
+    private final long[] notBefore;
+    private final int[][] prerequisites;
+    private final int[] prerequisiteCount;
+    private final int[][] dependents;
+    private final int[] dependentCount;
+    private final long[] earliestStart;
+    private final long[] earliestFinish;
+    private final long[] latestStart;
+    private final long[] latestFinish;
+    private long projectFinish;
+
+    private ProjectSchedule(List<Task> tasks, LocalDate projectStartDate) {
+        this.nodeCount = tasks.size();
+        this.taskIds = new long[nodeCount];
+        this.duration = new int[nodeCount];
+        this.notBefore = new long[nodeCount];
+        this.prerequisites = new int[nodeCount][];
+        this.prerequisiteCount = new int[nodeCount];
+        this.dependents = new int[nodeCount][];
+        this.dependentCount = new int[nodeCount];
+        this.earliestStart = new long[nodeCount];
+        this.earliestFinish = new long[nodeCount];
+        this.latestStart = new long[nodeCount];
+        this.latestFinish = new long[nodeCount];
+
+        long start = projectStartDate != null ? projectStartDate.toEpochDay() : Long.MAX_VALUE;
+        for (int i = 0; i < nodeCount; i++) {
+            Task task = tasks.get(i);
+            taskIds[i] = task.getId();
+            indexOf.put(task.getId(), i);
+            prerequisites[i] = EMPTY;
+            dependents[i] = EMPTY;
+            applyTask(i, task);
+            if (projectStartDate == null && notBefore[i] != NO_CONSTRAINT) {
+                start = Math.min(start, notBefore[i]);
+            }
+        }
+        this.projectStart = start == Long.MAX_VALUE ? LocalDate.now().toEpochDay() : start;
+    }
+
+    /**
+     * 全量计算项目进度计划
+     *
+     * @param tasks 项目任务
+     * @param edges 依赖边，端点不在任务集合中的边被忽略
+     * @param projectStartDate 项目开始日期，为空时取任务最早开始日期
+     * @return 进度计划
+     * @throws IllegalStateException 存在循环依赖时抛出
+     */
+    public static ProjectSchedule compute(List<Task> tasks, Collection<TaskDependencyEdge> edges,
+                                          LocalDate projectStartDate) {
+        ProjectSchedule schedule = new ProjectSchedule(tasks, projectStartDate);
+        for (TaskDependencyEdge edge : edges) {
+            schedule.link(edge.getDependentTaskId(), edge.getPrerequisiteTaskId());
+        }
+        BitSet all = new BitSet(schedule.nodeCount);
+        all.set(0, schedule.nodeCount);
+        schedule.forward(all);
+        schedule.projectFinish = schedule.maxFinish();
+        schedule.backward(all);
+        return schedule;
+    }
+
+    /**
+     * 任务日期、工时或状态变更后增量重算
+     *
+     * @param task 变更后的任务
+     * @return 任务不在计划中时返回 false，调用方应重新全量计算
+     */
+    public synchronized boolean updateTask(Task task) {
+        Integer index = indexOf.get(task.getId());
+        if (index == null) {
+            return false;
+        }
+        int oldDuration = duration[index];
+        applyTask(index, task);
+        forward(downstream(index));
+        boolean finishChanged = refreshProjectFinish();
+        if (finishChanged) {
+            backward(all());
+        } else if (oldDuration != duration[index]) {
+            backward(upstream(index));
+        }
+        return true;
+    }
+
+    /**
+     * 依赖添加或删除后增量重算
+     *
+     * @param dependentId 后置任务ID
+     * @param prerequisiteId 前置任务ID
+     * @param added true表示添加，false表示删除
+     * @return 任一任务不在计划中时返回 false，调用方应重新全量计算
+     */
+    public synchronized boolean updateDependency(long dependentId, long prerequisiteId, boolean added) {
+        Integer dependent = indexOf.get(dependentId);
+        Integer prerequisite = indexOf.get(prerequisiteId);
+        if (dependent == null || prerequisite == null) {
+            return false;
+        }
+        if (added) {
+            link(dependentId, prerequisiteId);
+        } else if (TaskDependencyGraph.remove(prerequisites[dependent], prerequisiteCount[dependent], prerequisite)) {
+            prerequisiteCount[dependent]--;
+            TaskDependencyGraph.remove(dependents[prerequisite], dependentCount[prerequisite]--, dependent);
+        }
+        forward(downstream(dependent));
+        if (refreshProjectFinish()) {
+            backward(all());
+        } else {
+            backward(upstream(prerequisite));
+        }
+        return true;
+    }
+
+    /**
+     * 导出每个任务的计划结果
+     */
+    public synchronized List<TaskTiming> timings() {
+        List<TaskTiming> result = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            result.add(timing(i));
+        }
+        return result;
+    }
+
+    /**
+     * 关键路径：从项目开始到项目完成的一条零时差任务链
+     */
+    public synchronized List<Long> criticalPath() {
+        int end = -1;
+        for (int i = 0; i < nodeCount; i++) {
+            if (earliestFinish[i] == projectFinish && slack(i) <= 0) {
+                end = i;
+                break;
+            }
+        }
+        List<Long> path = new ArrayList<>();
+        BitSet visited = new BitSet(nodeCount);
+        int current = end;
+        while (current >= 0 && !visited.get(current)) {
+            visited.set(current);
+            path.add(taskIds[current]);
+            int next = -1;
+            int[] preds = prerequisites[current];
+            for (int i = 0; i < prerequisiteCount[current]; i++) {
+                int pred = preds[i];
+                if (slack(pred) <= 0 && earliestFinish[pred] == earliestStart[current]) {
+                    next = pred;
+                    break;
+                }
+            }
+            current = next;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public LocalDate getProjectStart() {
+        return LocalDate.ofEpochDay(projectStart);
+    }
+
+    public synchronized LocalDate getProjectFinish() {
+        return inclusiveFinish(projectStart, projectFinish);
+    }
+
+    public int size() {
+        return nodeCount;
+    }
+
+    private TaskTiming timing(int i) {
+        return new TaskTiming(taskIds[i], duration[i],
+                LocalDate.ofEpochDay(earliestStart[i]), inclusiveFinish(earliestStart[i], earliestFinish[i]),
+                LocalDate.ofEpochDay(latestStart[i]), inclusiveFinish(latestStart[i], latestFinish[i]),
+                slack(i), slack(i) <= 0);
+    }
+
+    private long slack(int i) {
+        return latestStart[i] - earliestStart[i];
+    }
+
+    private void applyTask(int index, Task task) {
+        duration[index] = durationOf(task);
+        notBefore[index] = task.getStartDate() != null ? task.getStartDate().toEpochDay() : NO_CONSTRAINT;
+    }
+
+    /**
+     * 工期（天）：已取消任务为 0；有开始和截止日期时取日期跨度；否则按预估工时每 8 小时一天；至少 1 天
+     */
+    static int durationOf(Task task) {
+        if (task.getStatus() != null && task.getStatus() == CANCELLED_STATUS) {
+            return 0;
+        }
+        if (task.getStartDate() != null && task.getDueDate() != null) {
+            return (int) Math.max(1, ChronoUnit.DAYS.between(task.getStartDate(), task.getDueDate()) + 1);
+        }
+        if (task.getEstimatedHours() != null && task.getEstimatedHours() > 0) {
+            return (int) Math.max(1, Math.ceil(task.getEstimatedHours() / HOURS_PER_DAY));
+        }
+        return 1;
+    }
+
+    private void link(long dependentId, long prerequisiteId) {
+        Integer dependent = indexOf.get(dependentId);
+        Integer prerequisite = indexOf.get(prerequisiteId);
+        if (dependent == null || prerequisite == null
+                || TaskDependencyGraph.contains(prerequisites[dependent], prerequisiteCount[dependent], prerequisite)) {
+            return;
+        }
+        prerequisites[dependent] = TaskDependencyGraph.append(prerequisites[dependent],
+                prerequisiteCount[dependent]++, prerequisite);
+        dependents[prerequisite] = TaskDependencyGraph.append(dependents[prerequisite],
+                dependentCount[prerequisite]++, dependent);
+    }
+
+    /**
+     * 正向计算：按拓扑序计算受影响节点的最早开始/完成，受影响集合外的前置任务视为已知
+     */
+    private void forward(BitSet affected) {
+        int[] remaining = new int[nodeCount];
+        int[] queue = new int[affected.cardinality()];
+        int tail = 0;
+        for (int i = affected.nextSetBit(0); i >= 0; i = affected.nextSetBit(i + 1)) {
+            int[] preds = prerequisites[i];
+            for (int k = 0; k < prerequisiteCount[i]; k++) {
+                if (affected.get(preds[k])) {
+                    remaining[i]++;
+                }
+            }
+            if (remaining[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+        int head = 0;
+        while (head < tail) {
+            int node = queue[head++];
+            long start = Math.max(projectStart, notBefore[node]);
+            int[] preds = prerequisites[node];
+            for (int k = 0; k < prerequisiteCount[node]; k++) {
+                start = Math.max(start, earliestFinish[preds[k]]);
+            }
+            earliestStart[node] = start;
+            earliestFinish[node] = start + duration[node];
+
+            int[] next = dependents[node];
+            for (int k = 0; k < dependentCount[node]; k++) {
+                int target = next[k];
+                if (affected.get(target) && --remaining[target] == 0) {
+                    queue[tail++] = target;
+                }
+            }
+        }
+        if (tail != queue.length) {
+            throw new IllegalStateException("依赖图中存在循环依赖");
+        }
+    }
+
+    /**
+     * 反向计算：按逆拓扑序计算受影响节点的最晚开始/完成
+     */
+    private void backward(BitSet affected) {
+        int[] remaining = new int[nodeCount];
+        int[] queue = new int[affected.cardinality()];
+        int tail = 0;
+        for (int i = affected.nextSetBit(0); i >= 0; i = affected.nextSetBit(i + 1)) {
+            int[] succs = dependents[i];
+            for (int k = 0; k < dependentCount[i]; k++) {
+                if (affected.get(succs[k])) {
+                    remaining[i]++;
+                }
+            }
+            if (remaining[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+        int head = 0;
+        while (head < tail) {
+            int node = queue[head++];
+            long finish = projectFinish;
+            int[] succs = dependents[node];
+            for (int k = 0; k < dependentCount[node]; k++) {
+                finish = Math.min(finish, latestStart[succs[k]]);
+            }
+            latestFinish[node] = finish;
+            latestStart[node] = finish - duration[node];
+
+            int[] preds = prerequisites[node];
+            for (int k = 0; k < prerequisiteCount[node]; k++) {
+                int target = preds[k];
+                if (affected.get(target) && --remaining[target] == 0) {
+                    queue[tail++] = target;
+                }
+            }
+        }
+        if (tail != queue.length) {
+            throw new IllegalStateException("依赖图中存在循环依赖");
+        }
+    }
+
+    private boolean refreshProjectFinish() {
+        long finish = maxFinish();
+        boolean changed = finish != projectFinish;
+        projectFinish = finish;
+        return changed;
+    }
+
+    private long maxFinish() {
+        long finish = projectStart;
+        for (int i = 0; i < nodeCount; i++) {
+            finish = Math.max(finish, earliestFinish[i]);
+        }
+        return finish;
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet(nodeCount);
+        all.set(0, nodeCount);
+        return all;
+    }
+
+    private BitSet downstream(int start) {
+        return reach(start, dependents, dependentCount);
+    }
+
+    private BitSet upstream(int start) {
+        return reach(start, prerequisites, prerequisiteCount);
+    }
+
+    /**
+     * start 及其沿邻接表可达的所有节点
+     */
+    private BitSet reach(int start, int[][] adjacency, int[] degree) {
+        BitSet visited = new BitSet(nodeCount);
+        int[] stack = new int[nodeCount];
+        int top = 0;
+        visited.set(start);
+        stack[top++] = start;
+        while (top > 0) {
+            int node = stack[--top];
+            int[] next = adjacency[node];
+            for (int k = 0; k < degree[node]; k++) {
+                if (!visited.get(next[k])) {
+                    visited.set(next[k]);
+                    stack[top++] = next[k];
+                }
+            }
+        }
+        return visited;
+    }
+
+    private static LocalDate inclusiveFinish(long start, long exclusiveFinish) {
+        return LocalDate.ofEpochDay(Math.max(start, exclusiveFinish - 1));
+    }
+
+    /**
+     * 单个任务的计划结果，完成日期为包含当天的日期
+     */
+    public record TaskTiming(long taskId, int durationDays, LocalDate earliestStart, LocalDate earliestFinish,
+                             LocalDate latestStart, LocalDate latestFinish, long slackDays, boolean critical) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.promanage.service.dependency;
+
+import com.promanage.service.dto.TaskDependencyEdge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 任务依赖图
+ * <p>
+ * 节点为任务，边由后置任务指向前置任务。邻接表使用 int 数组存储节点下标，
+ * 所有遍历均为迭代实现并使用 BitSet 记录已访问节点，单次查询 O(V+E)，长链不会栈溢出。
+ * 每个节点的传递前置任务集合在首次查询后缓存，图发生变化时清空。
+ * 方法均为同步方法，可在多个请求间共享。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public class TaskDependencyGraph {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Long, Integer> indexOf = new HashMap<>();
+    private long[] taskIds = new long[INITIAL_CAPACITY];
+    private int[][] prerequisites = new int[INITIAL_CAPACITY][];
+    private int[] prerequisiteCount = new int[INITIAL_CAPACITY];
+    private int[][] dependents = new int[INITIAL_CAPACITY][];
+    private int[] dependentCount = new int[INITIAL_CAPACITY];
+    private int nodeCount;
+    private int edgeCount;
+
+    /**
+     * 传递前置任务集合缓存，键为节点下标
+     */
+    private final Map<Integer, BitSet> upstreamMemo = new HashMap<>();
+
+    /**
+     * 由依赖边构建依赖图
+     *
+     * @param edges 依赖边
+     * @return 依赖图
+     */
+    public static TaskDependencyGraph of(Collection<TaskDependencyEdge> edges) {
+        TaskDependencyGraph graph = new TaskDependencyGraph();
+        for (TaskDependencyEdge edge : edges) {
+            graph.addDependency(edge.getDependentTaskId(), edge.getPrerequisiteTaskId());
+        }
+        return graph;
+    }
+
+    /**
+     * 添加依赖边
+     *
+     * @param dependentId 后置任务ID
+     * @param prerequisiteId 前置任务ID
+     * @return 边已存在时返回 false
+     */
+    public synchronized boolean addDependency(long dependentId, long prerequisiteId) {
+        int from = indexFor(dependentId);
+        int to = indexFor(prerequisiteId);
+        if (contains(prerequisites[from], prerequisiteCount[from], to)) {
+            return false;
+        }
+        prerequisites[from] = append(prerequisites[from], prerequisiteCount[from]++, to);
+        dependents[to] = append(dependents[to], dependentCount[to]++, from);
+        edgeCount++;
+        upstreamMemo.clear();
+        return true;
+    }
+
+    /**
+     * 删除依赖边
+     *
+     * @param dependentId 后置任务ID
+     * @param prerequisiteId 前置任务ID
+     * @return 边不存在时返回 false
+     */
+    public synchronized boolean removeDependency(long dependentId, long prerequisiteId) {
+        Integer from = indexOf.get(dependentId);
+        Integer to = indexOf.get(prerequisiteId);
+        if (from == null || to == null || !remove(prerequisites[from], prerequisiteCount[from], to)) {
+            return false;
+        }
+        prerequisiteCount[from]--;
+        remove(dependents[to], dependentCount[to]--, from);
+        edgeCount--;
+        upstreamMemo.clear();
+        return true;
+    }
+
+    /**
+     * fromId 是否直接或间接依赖于 toId
+     */
+    public synchronized boolean dependsOn(long fromId, long toId) {
+        Integer from = indexOf.get(fromId);
+        Integer to = indexOf.get(toId);
+        return from != null && to != null && upstream(from).get(to);
+    }
+
+    /**
+     * 添加 “dependentId 依赖 prerequisiteId” 是否会形成循环
+     */
+    public synchronized boolean wouldCreateCycle(long dependentId, long prerequisiteId) {
+        return dependentId == prerequisiteId || dependsOn(prerequisiteId, dependentId);
+    }
+
+    /**
+     * 传递前置任务集合（不含自身）
+     */
+    public synchronized Set<Long> transitivePrerequisites(long taskId) {
+        Integer index = indexOf.get(taskId);
+        return index == null ? Set.of() : toIds(upstream(index));
+    }
+
+    /**
+     * 传递后置任务集合（不含自身），即该任务延期会影响到的所有任务
+     */
+    public synchronized Set<Long> transitiveDependents(long taskId) {
+        Integer index = indexOf.get(taskId);
+        return index == null ? Set.of() : toIds(reach(index, dependents, dependentCount));
+    }
+
+    /**
+     * 拓扑排序（Kahn 算法），前置任务排在前面
+     *
+     * @return 任务ID列表
+     * @throws IllegalStateException 图中存在循环时抛出
+     */
+    public synchronized List<Long> topologicalOrder() {
+        int[] remaining = Arrays.copyOf(prerequisiteCount, nodeCount);
+        int[] queue = new int[nodeCount];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            if (remaining[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+        List<Long> order = new ArrayList<>(nodeCount);
+        while (head < tail) {
+            int node = queue[head++];
+            order.add(taskIds[node]);
+            int[] next = dependents[node];
+            for (int i = 0; i < dependentCount[node]; i++) {
+                if (--remaining[next[i]] == 0) {
+                    queue[tail++] = next[i];
+                }
+            }
+        }
+        if (order.size() != nodeCount) {
+            throw new IllegalStateException("依赖图中存在循环依赖");
+        }
+        return order;
+    }
+
+    /**
+     * 任务节点数
+     */
+    public synchronized int size() {
+        return nodeCount;
+    }
+
+    /**
+     * 依赖边数
+     */
+    public synchronized int edgeCount() {
+        return edgeCount;
+    }
+
+    private BitSet upstream(int index) {
+        return upstreamMemo.computeIfAbsent(index, i -> reach(i, prerequisites, prerequisiteCount));
+    }
+
+    /**
+     * 迭代 DFS，返回从 start 沿邻接表可达的节点（不含 start，除非存在经过 start 的环）
+     */
+    private BitSet reach(int start, int[][] adjacency, int[] degree) {
+        BitSet visited = new BitSet(nodeCount);
+        int[] stack = new int[Math.max(1, nodeCount)];
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int node = stack[--top];
+            int[] next = adjacency[node];
+            for (int i = 0; i < degree[node]; i++) {
+                int target = next[i];
+                if (!visited.get(target)) {
+                    visited.set(target);
+                    stack[top++] = target;
+                }
+            }
+        }
+        return visited;
+    }
+
+    private Set<Long> toIds(BitSet nodes) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (int i = nodes.nextSetBit(0); i >= 0; i = nodes.nextSetBit(i + 1)) {
+            ids.add(taskIds[i]);
+        }
+        return ids;
+    }
+
+    private int indexFor(long taskId) {
+        Integer existing = indexOf.get(taskId);
+        if (existing != null) {
+            return existing;
+        }
+        if (nodeCount == taskIds.length) {
+            int capacity = taskIds.length * 2;
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            prerequisites = Arrays.copyOf(prerequisites, capacity);
+            prerequisiteCount = Arrays.copyOf(prerequisiteCount, capacity);
+            dependents = Arrays.copyOf(dependents, capacity);
+            dependentCount = Arrays.copyOf(dependentCount, capacity);
+        }
+        int index = nodeCount++;
+        taskIds[index] = taskId;
+        prerequisites[index] = EMPTY;
+        dependents[index] = EMPTY;
+        indexOf.put(taskId, index);
+        return index;
+    }
+
+    static int[] append(int[] values, int size, int value) {
+        int[] target = size == values.length ? Arrays.copyOf(values, Math.max(4, size * 2)) : values;
+        target[size] = value;
+        return target;
+    }
+
+    static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 删除元素（与末尾元素交换），调用方负责减少计数
+     */
+    static boolean remove(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                values[i] = values[size - 1];
+                return true;
+            }
+        }
+        return false;
+    }
+}
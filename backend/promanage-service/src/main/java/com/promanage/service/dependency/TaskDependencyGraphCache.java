@@ -0,0 +1,146 @@
+package com.promanage.service.dependency;
+
+import com.promanage.service.dto.TaskDependencyEdge;
+import com.promanage.service.entity.Task;
+import com.promanage.service.mapper.TaskDependencyMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 项目任务依赖图缓存
+ * <p>
+ * 每个项目的依赖图用一条查询加载到内存，之后由添加/删除依赖增量维护（事务提交后生效）。
+ * 以下情况使用递归CTE查询数据库作为兜底：依赖图尚未加载（冷启动，同时触发加载）、
+ * 两个任务属于不同项目，或项目存在跨项目依赖（内存图不完整）。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+public class TaskDependencyGraphCache {
+
+    private final TaskDependencyMapper taskDependencyMapper;
+
+    /**
+     * 已加载的项目依赖图；跨项目依赖的项目不缓存图，记录为 {@link #OPEN_GRAPH}
+     */
+    private final Map<Long, TaskDependencyGraph> graphs = new ConcurrentHashMap<>();
+
+    private static final TaskDependencyGraph OPEN_GRAPH = new TaskDependencyGraph();
+
+    @Value("${promanage.task.dependency-graph.max-projects:1000}")
+    private int maxProjects = 1000;
+
+    public TaskDependencyGraphCache(TaskDependencyMapper taskDependencyMapper) {
+        this.taskDependencyMapper = taskDependencyMapper;
+    }
+
+    /**
+     * 添加 “dependent 依赖 prerequisite” 是否会形成循环依赖
+     *
+     * @param dependent 后置任务
+     * @param prerequisite 前置任务
+     * @return true表示会形成循环
+     */
+    public boolean wouldCreateCycle(Task dependent, Task prerequisite) {
+        if (Objects.equals(dependent.getId(), prerequisite.getId())) {
+            return true;
+        }
+        Long projectId = dependent.getProjectId();
+        if (projectId == null || !projectId.equals(prerequisite.getProjectId())) {
+            return taskDependencyMapper.existsDependencyPath(prerequisite.getId(), dependent.getId());
+        }
+
+        TaskDependencyGraph graph = graphs.get(projectId);
+        if (graph == null) {
+            // 冷启动：本次用CTE判断，同时加载依赖图供后续使用
+            boolean cycle = taskDependencyMapper.existsDependencyPath(prerequisite.getId(), dependent.getId());
+            load(projectId);
+            return cycle;
+        }
+        if (graph == OPEN_GRAPH) {
+            return taskDependencyMapper.existsDependencyPath(prerequisite.getId(), dependent.getId());
+        }
+        return graph.wouldCreateCycle(dependent.getId(), prerequisite.getId());
+    }
+
+    /**
+     * 获取项目依赖图，未加载时从数据库加载
+     *
+     * @param projectId 项目ID
+     * @return 依赖图；项目存在跨项目依赖时返回 null
+     */
+    public TaskDependencyGraph getGraph(Long projectId) {
+        TaskDependencyGraph graph = load(projectId);
+        return graph == OPEN_GRAPH ? null : graph;
+    }
+
+    /**
+     * 依赖添加后增量更新依赖图
+     */
+    public void onDependencyAdded(Task dependent, Task prerequisite) {
+        AfterCommit.run(() -> {
+            if (!Objects.equals(dependent.getProjectId(), prerequisite.getProjectId())) {
+                // 新增跨项目依赖，相关项目的内存图不再完整
+                invalidate(dependent.getProjectId());
+                invalidate(prerequisite.getProjectId());
+                return;
+            }
+            TaskDependencyGraph graph = graphs.get(dependent.getProjectId());
+            if (graph != null && graph != OPEN_GRAPH) {
+                graph.addDependency(dependent.getId(), prerequisite.getId());
+            }
+        });
+    }
+
+    /**
+     * 依赖删除后增量更新依赖图
+     */
+    public void onDependencyRemoved(Task dependent, Task prerequisite) {
+        AfterCommit.run(() -> {
+            if (!Objects.equals(dependent.getProjectId(), prerequisite.getProjectId())) {
+                invalidate(dependent.getProjectId());
+                invalidate(prerequisite.getProjectId());
+                return;
+            }
+            TaskDependencyGraph graph = graphs.get(dependent.getProjectId());
+            if (graph != null && graph != OPEN_GRAPH) {
+                graph.removeDependency(dependent.getId(), prerequisite.getId());
+            }
+        });
+    }
+
+    /**
+     * 失效项目依赖图
+     */
+    public void invalidate(Long projectId) {
+        if (projectId != null) {
+            graphs.remove(projectId);
+        }
+    }
+
+    private TaskDependencyGraph load(Long projectId) {
+        TaskDependencyGraph cached = graphs.get(projectId);
+        if (cached != null) {
+            return cached;
+        }
+        List<TaskDependencyEdge> edges = taskDependencyMapper.findEdgesByProjectId(projectId);
+        boolean open = edges.stream().anyMatch(edge -> Boolean.TRUE.equals(edge.getCrossProject()));
+        TaskDependencyGraph graph = open ? OPEN_GRAPH : TaskDependencyGraph.of(edges);
+        if (graphs.size() >= maxProjects) {
+            log.debug("任务依赖图缓存达到上限, 清空缓存, size={}", graphs.size());
+            graphs.clear();
+        }
+        TaskDependencyGraph existing = graphs.putIfAbsent(projectId, graph);
+        log.debug("加载项目任务依赖图, projectId={}, edges={}, crossProject={}", projectId, edges.size(), open);
+        return existing != null ? existing : graph;
+    }
+}
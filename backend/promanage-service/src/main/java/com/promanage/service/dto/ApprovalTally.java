@@ -0,0 +1,23 @@
+package com.promanage.service.dto;
+
+import lombok.Data;
+
+/**
+ * 审批阶段计票
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+public class ApprovalTally {
+
+    /**
+     * 同意数
+     */
+    private Integer approved;
+
+    /**
+     * 拒绝数
+     */
+    private Integer rejected;
+}
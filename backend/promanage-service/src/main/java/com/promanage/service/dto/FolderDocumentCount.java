@@ -0,0 +1,26 @@
+package com.promanage.service.dto;
+
+import lombok.Data;
+
+/**
+ * 文件夹文档计数
+ * <p>
+ * 按文件夹分组统计未删除的文档数量，用于构建文件夹树。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+public class FolderDocumentCount {
+
+    /**
+     * 文件夹ID，0表示根目录
+     */
+    private Long folderId;
+
+    /**
+     * 文档数
+     */
+    private Integer total;
+}
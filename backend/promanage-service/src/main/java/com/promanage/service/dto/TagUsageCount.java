@@ -0,0 +1,26 @@
+package com.promanage.service.dto;
+
+import lombok.Data;
+
+/**
+ * 标签使用次数
+ * <p>
+ * 按标签分组统计关联的未删除文档数量，用于热门标签排行的对账。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+public class TagUsageCount {
+
+    /**
+     * 标签ID
+     */
+    private Long tagId;
+
+    /**
+     * 关联文档数
+     */
+    private Long usageCount;
+}
@@ -0,0 +1,31 @@
+package com.promanage.service.dto;
+
+import lombok.Data;
+
+/**
+ * 任务子项计数
+ * <p>
+ * 按任务分组统计检查项或评论数量，completed 仅对检查项有意义。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+public class TaskChildCount {
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 总数
+     */
+    private Integer total;
+
+    /**
+     * 已完成数
+     */
+    private Integer completed;
+}
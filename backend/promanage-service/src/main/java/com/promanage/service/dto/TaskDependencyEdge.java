@@ -0,0 +1,31 @@
+package com.promanage.service.dto;
+
+import lombok.Data;
+
+/**
+ * 任务依赖边
+ * <p>
+ * 用于一次性加载项目依赖图，crossProject 表示依赖边的另一端属于其他项目。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+public class TaskDependencyEdge {
+
+    /**
+     * 依赖任务ID（后置任务）
+     */
+    private Long dependentTaskId;
+
+    /**
+     * 前置任务ID
+     */
+    private Long prerequisiteTaskId;
+
+    /**
+     * 是否跨项目依赖
+     */
+    private Boolean crossProject;
+}
@@ -0,0 +1,97 @@
+package com.promanage.service.dto;
+
+import com.promanage.common.entity.User;
+import com.promanage.service.entity.Task;
+import com.promanage.service.entity.TaskActivity;
+import com.promanage.service.entity.TaskAttachment;
+import com.promanage.service.entity.TaskCheckItem;
+import com.promanage.service.entity.TaskComment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 任务详情数据
+ * <p>
+ * 组装任务详情所需的全部数据，包括关联任务的计数和所有被引用的用户，
+ * 调用方据此转换响应时不再需要额外查询。实例可能被缓存共享，调用方不应修改。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDetailBundle {
+
+    /**
+     * 任务
+     */
+    private Task task;
+
+    /**
+     * 直接子任务，按排序键排列
+     */
+    private List<Task> subtasks;
+
+    /**
+     * 前置依赖任务
+     */
+    private List<Task> dependencies;
+
+    /**
+     * 最近评论
+     */
+    private List<TaskComment> recentComments;
+
+    /**
+     * 最近评论引用的父评论，按评论ID索引
+     */
+    private Map<Long, TaskComment> parentComments;
+
+    /**
+     * 最近评论的回复数量，按评论ID索引，没有回复的评论不在其中
+     */
+    private Map<Long, Integer> replyCounts;
+
+    /**
+     * 最近活动
+     */
+    private List<TaskActivity> recentActivities;
+
+    /**
+     * 附件
+     */
+    private List<TaskAttachment> attachments;
+
+    /**
+     * 检查项
+     */
+    private List<TaskCheckItem> checkItems;
+
+    /**
+     * 任务、子任务和依赖任务的评论数量，按任务ID索引
+     */
+    private Map<Long, Integer> commentCounts;
+
+    /**
+     * 任务、子任务和依赖任务的附件数量，按任务ID索引
+     */
+    private Map<Long, Integer> attachmentCounts;
+
+    /**
+     * 任务、子任务和依赖任务的子任务数量，按任务ID索引
+     */
+    private Map<Long, Integer> subtaskCounts;
+
+    /**
+     * 所有被引用的用户，按用户ID索引
+     */
+    private Map<Long, User> users;
+}
@@ -0,0 +1,95 @@
+package com.promanage.service.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 测试执行计数
+ * <p>
+ * 测试用例执行统计表的一行，或执行日统计表在某个时间窗口内的求和结果。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+public class TestExecutionCounts {
+
+    /**
+     * 执行次数
+     */
+    private int totalCount;
+
+    /**
+     * 通过次数
+     */
+    private int passCount;
+
+    /**
+     * 失败次数
+     */
+    private int failCount;
+
+    /**
+     * 阻塞次数
+     */
+    private int blockCount;
+
+    /**
+     * 跳过次数
+     */
+    private int skipCount;
+
+    /**
+     * 通过与失败之间的翻转次数
+     */
+    private int transitionCount;
+
+    /**
+     * 有通过/失败结果的测试用例数
+     */
+    private int verdictCaseCount;
+
+    /**
+     * 累计执行时长（分钟），仅单个测试用例的累计统计有值
+     */
+    private long totalExecutionTime;
+
+    /**
+     * 最近一次通过/失败结果，仅单个测试用例的累计统计有值
+     */
+    private Integer lastVerdict;
+
+    /**
+     * 最近一次执行结果，仅单个测试用例的累计统计有值
+     */
+    private Integer lastResult;
+
+    /**
+     * 最近一次执行时间
+     */
+    private LocalDateTime lastExecutionTime;
+
+    /**
+     * 通过率（百分比）
+     */
+    public double passRate() {
+        return totalCount > 0 ? (double) passCount / totalCount * 100 : 0.0;
+    }
+
+    /**
+     * 不稳定度
+     * <p>
+     * 相邻两次通过/失败结果不同的比例，取值 0 到 1：一直通过或一直失败为 0，每次都在通过和失败之间翻转为 1。
+     * 多个测试用例时按各用例相邻结果对的总数计算。窗口统计中窗口内第一次结果可能与窗口前的结果构成翻转，因此截断到 1。
+     * </p>
+     */
+    public double flakinessScore() {
+        int pairs = passCount + failCount - verdictCaseCount;
+        if (pairs <= 0) {
+            return 0.0;
+        }
+        return Math.min(1.0, (double) transitionCount / pairs);
+    }
+}
@@ -0,0 +1,43 @@
+package com.promanage.service.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 工时表单元格
+ * <p>
+ * 日汇总表按 (用户, 任务, 周期) 分组求和的一行结果。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+public class TimesheetCell {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 周期开始日期
+     */
+    private LocalDate periodStart;
+
+    /**
+     * 工时合计（小时）
+     */
+    private Double hours;
+}
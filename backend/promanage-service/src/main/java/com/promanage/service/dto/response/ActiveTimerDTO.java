@@ -0,0 +1,74 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 计时器DTO（服务层）
+ * <p>
+ * elapsedSeconds 为 serverTime 时的计时秒数，running 为 true 时客户端可据此自行累加显示。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveTimerDTO {
+
+    /**
+     * 时间追踪记录ID
+     */
+    private Long recordId;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 状态（1-进行中，2-已完成，3-已暂停）
+     */
+    private Integer status;
+
+    /**
+     * 是否正在计时
+     */
+    private Boolean running;
+
+    /**
+     * 截至 serverTime 的计时秒数
+     */
+    private Long elapsedSeconds;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 计算计时秒数的服务器时间
+     */
+    private LocalDateTime serverTime;
+
+    /**
+     * 触发推送的动作：start/pause/resume/end/remove/tick
+     */
+    private String action;
+}
@@ -0,0 +1,60 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 项目看板DTO（服务层）
+ * <p>
+ * full 为 true 时 columns 为完整看板；否则为增量结果，只包含 changedCards 和 removedTaskIds。
+ * 客户端保存 epoch 和 version，下次请求时带上以获取增量。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KanbanBoardDTO {
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 看板实例标识，看板重建后变化，变化时客户端需使用完整结果
+     */
+    private String epoch;
+
+    /**
+     * 当前版本号
+     */
+    private Long version;
+
+    /**
+     * 是否为完整看板
+     */
+    private Boolean full;
+
+    /**
+     * 看板列（完整结果）
+     */
+    private List<KanbanColumnDTO> columns;
+
+    /**
+     * 自指定版本以来新增或变更的卡片（增量结果）
+     */
+    private List<KanbanCardDTO> changedCards;
+
+    /**
+     * 自指定版本以来移除的任务ID（增量结果）
+     */
+    private List<Long> removedTaskIds;
+}
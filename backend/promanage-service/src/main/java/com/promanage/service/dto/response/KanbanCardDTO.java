@@ -0,0 +1,101 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 看板卡片DTO（服务层）
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KanbanCardDTO {
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 任务标题
+     */
+    private String title;
+
+    /**
+     * 任务状态
+     */
+    private Integer status;
+
+    /**
+     * 优先级
+     */
+    private Integer priority;
+
+    /**
+     * 排序键，列内按此升序排列
+     */
+    private String sortRank;
+
+    /**
+     * 父任务ID
+     */
+    private Long parentTaskId;
+
+    /**
+     * 指派人ID
+     */
+    private Long assigneeId;
+
+    /**
+     * 指派人姓名
+     */
+    private String assigneeName;
+
+    /**
+     * 指派人头像
+     */
+    private String assigneeAvatar;
+
+    /**
+     * 截止日期
+     */
+    private LocalDate dueDate;
+
+    /**
+     * 进度百分比
+     */
+    private Integer progressPercentage;
+
+    /**
+     * 标签
+     */
+    private String tags;
+
+    /**
+     * 检查项总数
+     */
+    private Integer checkItemCount;
+
+    /**
+     * 已完成检查项数
+     */
+    private Integer checkItemCompletedCount;
+
+    /**
+     * 评论数
+     */
+    private Integer commentCount;
+
+    /**
+     * 卡片最后变更时的看板版本号
+     */
+    private Long version;
+}
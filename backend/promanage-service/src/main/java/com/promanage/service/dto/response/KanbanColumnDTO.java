@@ -0,0 +1,36 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 看板列DTO（服务层）
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KanbanColumnDTO {
+
+    /**
+     * 任务状态
+     */
+    private Integer status;
+
+    /**
+     * 状态名称
+     */
+    private String statusName;
+
+    /**
+     * 列内卡片，按排序顺序排列
+     */
+    private List<KanbanCardDTO> cards;
+}
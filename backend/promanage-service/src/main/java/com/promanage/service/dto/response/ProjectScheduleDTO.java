@@ -0,0 +1,47 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 项目进度计划DTO（服务层）
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectScheduleDTO {
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 计划开始日期
+     */
+    private LocalDate projectStart;
+
+    /**
+     * 计划完成日期（最早）
+     */
+    private LocalDate projectFinish;
+
+    /**
+     * 关键路径任务ID，按执行顺序排列
+     */
+    private List<Long> criticalPath;
+
+    /**
+     * 各任务的计划结果
+     */
+    private List<TaskScheduleDTO> tasks;
+}
@@ -0,0 +1,61 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 任务计划结果DTO（服务层）
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskScheduleDTO {
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 工期（天）
+     */
+    private Integer durationDays;
+
+    /**
+     * 最早开始日期
+     */
+    private LocalDate earliestStart;
+
+    /**
+     * 最早完成日期
+     */
+    private LocalDate earliestFinish;
+
+    /**
+     * 最晚开始日期
+     */
+    private LocalDate latestStart;
+
+    /**
+     * 最晚完成日期
+     */
+    private LocalDate latestFinish;
+
+    /**
+     * 总时差（天）
+     */
+    private Long slackDays;
+
+    /**
+     * 是否在关键路径上
+     */
+    private Boolean critical;
+}
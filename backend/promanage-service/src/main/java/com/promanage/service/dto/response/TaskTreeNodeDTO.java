@@ -0,0 +1,109 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 任务树节点DTO（服务层）
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTreeNodeDTO {
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 父任务ID
+     */
+    private Long parentTaskId;
+
+    /**
+     * 任务标题
+     */
+    private String title;
+
+    /**
+     * 任务状态
+     */
+    private Integer status;
+
+    /**
+     * 优先级
+     */
+    private Integer priority;
+
+    /**
+     * 指派人ID
+     */
+    private Long assigneeId;
+
+    /**
+     * 截止日期
+     */
+    private LocalDate dueDate;
+
+    /**
+     * 排序键
+     */
+    private String sortRank;
+
+    /**
+     * 层级（根节点为0）
+     */
+    private Integer depth;
+
+    /**
+     * 自身预估工时（小时）
+     */
+    private Double estimatedHours;
+
+    /**
+     * 自身实际工时（小时）
+     */
+    private Double actualHours;
+
+    /**
+     * 自身进度（0-100）
+     */
+    private Integer progressPercentage;
+
+    /**
+     * 含子任务的汇总预估工时（小时）
+     */
+    private Double rollupEstimatedHours;
+
+    /**
+     * 含子任务的汇总实际工时（小时）
+     */
+    private Double rollupActualHours;
+
+    /**
+     * 含子任务的加权汇总进度（0-100）
+     */
+    private Double rollupProgress;
+
+    /**
+     * 子任务是否因深度限制未加载
+     */
+    private Boolean truncated;
+
+    /**
+     * 子任务，按排序键排列
+     */
+    @Builder.Default
+    private List<TaskTreeNodeDTO> children = new ArrayList<>();
+}
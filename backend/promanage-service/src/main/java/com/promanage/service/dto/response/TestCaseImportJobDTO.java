@@ -0,0 +1,87 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 测试用例导入任务DTO（服务层）
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestCaseImportJobDTO {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 状态：QUEUED/RUNNING/COMPLETED/FAILED
+     */
+    private String status;
+
+    /**
+     * 已处理行数（不含表头）
+     */
+    private Integer processedCount;
+
+    /**
+     * 导入成功行数
+     */
+    private Integer successCount;
+
+    /**
+     * 导入失败行数
+     */
+    private Integer failureCount;
+
+    /**
+     * 已读取字节数
+     */
+    private Long bytesRead;
+
+    /**
+     * 文件总字节数
+     */
+    private Long totalBytes;
+
+    /**
+     * 按已读取字节估算的进度（0-100）
+     */
+    private Integer progress;
+
+    /**
+     * 行错误信息，最多保留配置的条数
+     */
+    private List<String> errorMessages;
+
+    /**
+     * 任务失败原因
+     */
+    private String message;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishTime;
+}
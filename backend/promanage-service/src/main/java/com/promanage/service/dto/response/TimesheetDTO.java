@@ -0,0 +1,60 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 工时表DTO（服务层）
+ * <p>
+ * 行为 (用户, 任务)，列为统计周期，只包含有工时的行。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimesheetDTO {
+
+    /**
+     * 统计周期：day/week/month
+     */
+    private String bucket;
+
+    /**
+     * 开始日期（含）
+     */
+    private LocalDate startDate;
+
+    /**
+     * 结束日期（含）
+     */
+    private LocalDate endDate;
+
+    /**
+     * 各周期的起始日期
+     */
+    private List<LocalDate> periods;
+
+    /**
+     * 工时行
+     */
+    private List<TimesheetRowDTO> rows;
+
+    /**
+     * 各周期合计工时
+     */
+    private List<Double> periodTotals;
+
+    /**
+     * 总工时
+     */
+    private Double totalHours;
+}
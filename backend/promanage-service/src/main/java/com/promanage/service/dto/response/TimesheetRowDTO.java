@@ -0,0 +1,46 @@
+package com.promanage.service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 工时表行DTO（服务层）
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimesheetRowDTO {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 各周期工时，与 {@link TimesheetDTO#getPeriods()} 一一对应
+     */
+    private List<Double> hours;
+
+    /**
+     * 行合计工时
+     */
+    private Double totalHours;
+}
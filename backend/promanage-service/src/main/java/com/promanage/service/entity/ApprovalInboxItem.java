@@ -0,0 +1,103 @@
+package com.promanage.service.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 审批人待办实体类
+ * <p>
+ * 每个 (审批阶段, 审批人) 一条，阶段激活时变为待审批，审批人作出决定或阶段结束后关闭
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@TableName("tb_approval_inbox")
+public class ApprovalInboxItem {
+
+    /**
+     * 状态：未开始（所属阶段尚未激活）
+     */
+    public static final int STATUS_WAITING = 0;
+
+    /**
+     * 状态：待审批
+     */
+    public static final int STATUS_PENDING = 1;
+
+    /**
+     * 状态：同意
+     */
+    public static final int STATUS_APPROVED = 2;
+
+    /**
+     * 状态：拒绝
+     */
+    public static final int STATUS_REJECTED = 3;
+
+    /**
+     * 状态：已取消（阶段已有结果，无需再审批）
+     */
+    public static final int STATUS_CANCELLED = 4;
+
+    /**
+     * 状态：已超时
+     */
+    public static final int STATUS_EXPIRED = 5;
+
+    /**
+     * 待办ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 变更请求ID
+     */
+    private Long changeRequestId;
+
+    /**
+     * 审批阶段ID
+     */
+    private Long stageId;
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 审批人ID
+     */
+    private Long approverId;
+
+    /**
+     * 状态
+     */
+    private Integer status;
+
+    /**
+     * 审批意见
+     */
+    private String comments;
+
+    /**
+     * 审批时间
+     */
+    private LocalDateTime decidedAt;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
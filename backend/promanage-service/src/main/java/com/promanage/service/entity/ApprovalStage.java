@@ -0,0 +1,118 @@
+package com.promanage.service.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 变更请求审批阶段实体类
+ * <p>
+ * 阶段按顺序依次激活，需要阶段内 M 个审批人中的 N 个同意才能进入下一阶段
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@TableName("tb_change_request_approval_stage")
+public class ApprovalStage {
+
+    /**
+     * 状态：未开始
+     */
+    public static final int STATUS_WAITING = 0;
+
+    /**
+     * 状态：进行中
+     */
+    public static final int STATUS_ACTIVE = 1;
+
+    /**
+     * 状态：已通过
+     */
+    public static final int STATUS_APPROVED = 2;
+
+    /**
+     * 状态：已拒绝
+     */
+    public static final int STATUS_REJECTED = 3;
+
+    /**
+     * 状态：已超时
+     */
+    public static final int STATUS_EXPIRED = 4;
+
+    /**
+     * 状态：已取消（前序阶段被拒绝或重新提交）
+     */
+    public static final int STATUS_CANCELLED = 5;
+
+    /**
+     * 阶段ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 变更请求ID
+     */
+    private Long changeRequestId;
+
+    /**
+     * 阶段顺序，从1开始
+     */
+    private Integer stageOrder;
+
+    /**
+     * 阶段名称
+     */
+    private String name;
+
+    /**
+     * 通过所需的同意数
+     */
+    private Integer requiredApprovals;
+
+    /**
+     * 审批人数
+     */
+    private Integer approverCount;
+
+    /**
+     * 状态
+     */
+    private Integer status;
+
+    /**
+     * 审批时限（小时），为空表示不限
+     */
+    private Integer timeoutHours;
+
+    /**
+     * 激活时间
+     */
+    private LocalDateTime activatedAt;
+
+    /**
+     * 审批截止时间
+     */
+    private LocalDateTime dueAt;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
@@ -62,4 +62,14 @@ public class DocumentFolder extends BaseEntity {
     @Schema(description = "排序", example = "1", defaultValue = "0")
     private Integer sortOrder;
 
+    /**
+     * 物化路径
+     * <p>
+     * 从根到自身的文件夹ID，如 /3/17/42/，子树查询按路径前缀进行
+     * </p>
+     */
+    @TableField("path")
+    @Schema(description = "物化路径", example = "/3/17/42/")
+    private String path;
+
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.promanage.service.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 邮件队列实体类
+ * <p>
+ * 待发送的邮件持久化到数据库，由调度器批量发送，应用重启后未发送的邮件不会丢失
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@TableName("tb_mail_queue")
+public class MailMessage {
+
+    /**
+     * 状态：待发送
+     */
+    public static final int STATUS_PENDING = 0;
+
+    /**
+     * 状态：发送中
+     */
+    public static final int STATUS_SENDING = 1;
+
+    /**
+     * 状态：已发送
+     */
+    public static final int STATUS_SENT = 2;
+
+    /**
+     * 状态：发送失败（超过最大重试次数）
+     */
+    public static final int STATUS_FAILED = 3;
+
+    /**
+     * 邮件ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 收件人邮箱
+     */
+    @TableField("recipient")
+    private String recipient;
+
+    /**
+     * 收件人邮箱域名
+     */
+    @TableField("recipient_domain")
+    private String recipientDomain;
+
+    /**
+     * 邮件主题
+     */
+    @TableField("subject")
+    private String subject;
+
+    /**
+     * 邮件内容
+     */
+    @TableField("content")
+    private String content;
+
+    /**
+     * 是否为HTML邮件
+     */
+    @TableField("html")
+    private Boolean html;
+
+    /**
+     * 状态: 0-待发送, 1-发送中, 2-已发送, 3-发送失败
+     */
+    @TableField("status")
+    private Integer status;
+
+    /**
+     * 已尝试发送次数
+     */
+    @TableField("attempts")
+    private Integer attempts;
+
+    /**
+     * 下次发送时间
+     */
+    @TableField("next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * 最近一次发送错误
+     */
+    @TableField("last_error")
+    private String lastError;
+
+    /**
+     * 发送成功时间
+     */
+    @TableField("sent_at")
+    private LocalDateTime sentAt;
+
+    /**
+     * 创建时间
+     */
+    @TableField("created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @TableField("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -112,4 +112,28 @@ public class Task extends BaseEntity {
      */
     @Schema(description = "任务标签，多个标签用逗号分隔", example = "前端,登录,UI")
     private String tags;
-}
\ No newline at end of file
+
+    /**
+     * 排序键（项目内分数索引，base36 字符串按字典序比较），看板列和子任务列表按此排序
+     */
+    @Schema(description = "排序键", example = "0f2k1t")
+    private String sortRank;
+
+    /**
+     * 含子任务的汇总预估工时（小时），由子任务变更时沿祖先链增量维护
+     */
+    @Schema(description = "含子任务的汇总预估工时（小时）", example = "40.0")
+    private Double rollupEstimatedHours;
+
+    /**
+     * 含子任务的汇总实际工时（小时）
+     */
+    @Schema(description = "含子任务的汇总实际工时（小时）", example = "12.5")
+    private Double rollupActualHours;
+
+    /**
+     * 含子任务的加权汇总进度（0-100）
+     */
+    @Schema(description = "含子任务的加权汇总进度（0-100）", example = "37.5")
+    private Double rollupProgress;
+}
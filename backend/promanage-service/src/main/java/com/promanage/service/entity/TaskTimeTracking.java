@@ -90,4 +90,18 @@ public class TaskTimeTracking extends BaseEntity {
     @TableField("status")
     @Schema(description = "状态", example = "0")
     private Integer status;
+
+    /**
+     * 已累计计时秒数（不含当前计时段）
+     */
+    @TableField("elapsed_seconds")
+    @Schema(description = "已累计计时秒数", example = "3600")
+    private Long elapsedSeconds;
+
+    /**
+     * 当前计时段开始时间，暂停时为空
+     */
+    @TableField("resumed_at")
+    @Schema(description = "当前计时段开始时间", example = "2025-10-05T13:00:00")
+    private LocalDateTime resumedAt;
 }
\ No newline at end of file
@@ -33,6 +33,7 @@ public enum NotificationType {
      * 变更请求相关
      */
     CHANGE_REQUEST_CREATED("CHANGE_REQUEST_CREATED", "变更请求创建"),
+    CHANGE_REQUEST_PENDING_APPROVAL("CHANGE_REQUEST_PENDING_APPROVAL", "变更请求待审批"),
     CHANGE_REQUEST_APPROVED("CHANGE_REQUEST_APPROVED", "变更请求批准"),
     CHANGE_REQUEST_REJECTED("CHANGE_REQUEST_REJECTED", "变更请求拒绝"),
     
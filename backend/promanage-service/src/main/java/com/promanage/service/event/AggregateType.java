@@ -0,0 +1,14 @@
+package com.promanage.service.event;
+
+/**
+ * 领域事件的聚合类型
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public enum AggregateType {
+    PROJECT,
+    TASK,
+    DOCUMENT,
+    CHANGE_REQUEST
+}
@@ -0,0 +1,32 @@
+package com.promanage.service.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 文档变更事件
+ * <p>
+ * 文档标签等关联关系发生写入时发布，监听方据此更新引用文档的缓存。
+ * </p>
+ *
+ * @param documentIds 受影响的文档ID（已去除空值和重复值）
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record DocumentChangedEvent(List<Long> documentIds) {
+
+    public DocumentChangedEvent {
+        documentIds = documentIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    public static DocumentChangedEvent of(Collection<Long> documentIds) {
+        return new DocumentChangedEvent(new ArrayList<>(documentIds));
+    }
+
+    public static DocumentChangedEvent of(Long... documentIds) {
+        return new DocumentChangedEvent(Arrays.asList(documentIds));
+    }
+}
@@ -0,0 +1,38 @@
+package com.promanage.service.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 领域事件
+ * <p>
+ * 通过 ApplicationEventPublisher 发布，事务提交后由 {@link DomainEventBus} 异步分发给订阅方；
+ * 同一聚合的事件按发布顺序处理。
+ * </p>
+ *
+ * @param aggregateType 聚合类型
+ * @param aggregateId   聚合ID
+ * @param projectId     所属项目ID（可为空）
+ * @param action        动作，如 PROJECT_CREATED
+ * @param actorId       操作人ID（系统触发时为空）
+ * @param summary       活动描述，为空时不记录项目活动
+ * @param occurredAt    发生时间
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record DomainEvent(AggregateType aggregateType,
+                          Long aggregateId,
+                          Long projectId,
+                          String action,
+                          Long actorId,
+                          String summary,
+                          LocalDateTime occurredAt) {
+
+    public static DomainEvent of(AggregateType aggregateType, Long aggregateId, Long projectId,
+                                 String action, Long actorId, String summary) {
+        return new DomainEvent(aggregateType, aggregateId, projectId, action, actorId, summary, LocalDateTime.now());
+    }
+
+    public static DomainEvent project(Long projectId, String action, Long actorId, String summary) {
+        return of(AggregateType.PROJECT, projectId, projectId, action, actorId, summary);
+    }
+}
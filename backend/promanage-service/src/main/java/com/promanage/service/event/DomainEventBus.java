@@ -0,0 +1,253 @@
+package com.promanage.service.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内领域事件总线
+ * <p>
+ * 领域事件通过 ApplicationEventPublisher 发布，事务提交后（无事务时立即）进入每个订阅方的队列，
+ * 写请求只承担入队的开销。每个订阅方的队列按聚合分成若干分区，每个分区同一时刻最多由一个虚拟线程处理，
+ * 同一聚合的事件因此按发布顺序处理，不同分区之间并行。分区处理时一次取出已积压的事件批量交给订阅方。
+ * 每个订阅方的积压数有上限，满时发布方最多等待 {@link DomainEventBusProperties#getPublishTimeoutMs()}，
+ * 仍无空间则丢弃事件并计数。事件只在内存中，进程退出时未处理的事件丢失，订阅方不应依赖其做强一致的更新。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DomainEventBus {
+
+    private final ObjectProvider<DomainEventSubscriber> subscriberProvider;
+    private final DomainEventBusProperties properties;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile List<SubscriberQueue> queues;
+
+    /**
+     * 事务提交后分发领域事件，回滚时不分发；不在事务中发布的事件立即分发
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        dispatch(event);
+    }
+
+    /**
+     * 把事件放入所有支持该事件的订阅方队列
+     *
+     * @param event 领域事件
+     */
+    public void dispatch(DomainEvent event) {
+        for (SubscriberQueue queue : queues()) {
+            try {
+                if (queue.subscriber.supports(event)) {
+                    queue.offer(event);
+                }
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.warn("分发领域事件失败, subscriber={}, action={}, aggregateId={}",
+                        queue.name, event.action(), event.aggregateId(), e);
+            }
+        }
+    }
+
+    /**
+     * 因积压已满丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * 订阅方处理失败的批次数
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * 所有订阅方尚未处理的事件数
+     */
+    public int getPendingCount() {
+        return queues().stream().mapToInt(SubscriberQueue::pending).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 已提交的任务继续执行，处理完当前积压后退出
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(properties.getShutdownTimeoutSeconds(), TimeUnit.SECONDS)) {
+                log.warn("领域事件总线关闭超时, 未处理事件数={}", getPendingCount());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private List<SubscriberQueue> queues() {
+        List<SubscriberQueue> current = queues;
+        if (current == null) {
+            synchronized (this) {
+                current = queues;
+                if (current == null) {
+                    // 订阅方可能依赖发布事件的服务，首次分发时再解析避免循环依赖
+                    current = subscriberProvider.orderedStream().map(SubscriberQueue::new).toList();
+                    queues = current;
+                    log.info("领域事件总线已初始化, subscribers={}",
+                            current.stream().map(queue -> queue.name).toList());
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 单个订阅方的分区队列
+     */
+    private final class SubscriberQueue {
+
+        private final DomainEventSubscriber subscriber;
+        private final String name;
+        private final Lane[] lanes;
+        private final Semaphore capacity;
+
+        SubscriberQueue(DomainEventSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.name = subscriber.getClass().getSimpleName();
+            this.lanes = new Lane[Math.max(1, properties.getLanes())];
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new Lane(this);
+            }
+            this.capacity = new Semaphore(Math.max(1, properties.getMaxPendingPerSubscriber()));
+        }
+
+        void offer(DomainEvent event) {
+            if (!acquire()) {
+                long total = dropped.incrementAndGet();
+                if (total == 1 || total % 1000 == 0) {
+                    log.warn("领域事件积压已满, 丢弃事件, subscriber={}, action={}, aggregateId={}, dropped={}",
+                            name, event.action(), event.aggregateId(), total);
+                }
+                return;
+            }
+            int index = Math.floorMod(Objects.hash(event.aggregateType(), event.aggregateId()), lanes.length);
+            lanes[index].add(event);
+        }
+
+        int pending() {
+            return Math.max(0, properties.getMaxPendingPerSubscriber() - capacity.availablePermits());
+        }
+
+        private boolean acquire() {
+            if (capacity.tryAcquire()) {
+                return true;
+            }
+            try {
+                return capacity.tryAcquire(properties.getPublishTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 分区：事件先进先出，running 保证同一时刻最多一个虚拟线程在处理
+     */
+    private final class Lane {
+
+        private final SubscriberQueue owner;
+        private final Queue<DomainEvent> events = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        Lane(SubscriberQueue owner) {
+            this.owner = owner;
+        }
+
+        void add(DomainEvent event) {
+            events.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!running.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+                int discarded = discardAll();
+                dropped.addAndGet(discarded);
+                log.warn("领域事件总线已关闭, 丢弃事件, subscriber={}, count={}", owner.name, discarded);
+            }
+        }
+
+        private void drain() {
+            try {
+                List<DomainEvent> batch;
+                while (!(batch = poll()).isEmpty()) {
+                    try {
+                        owner.subscriber.handle(batch);
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.warn("领域事件处理失败, subscriber={}, size={}, first={}",
+                                owner.name, batch.size(), batch.get(0).action(), e);
+                    } finally {
+                        owner.capacity.release(batch.size());
+                    }
+                }
+            } finally {
+                running.set(false);
+            }
+            // 最后一次取空后、释放 running 前入队的事件没有线程处理，重新调度
+            if (!events.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private List<DomainEvent> poll() {
+            int max = Math.max(1, properties.getMaxBatchSize());
+            List<DomainEvent> batch = new ArrayList<>(Math.min(max, 16));
+            DomainEvent event;
+            while (batch.size() < max && (event = events.poll()) != null) {
+                batch.add(event);
+            }
+            return batch;
+        }
+
+        private int discardAll() {
+            int count = 0;
+            while (events.poll() != null) {
+                count++;
+            }
+            owner.capacity.release(count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.promanage.service.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 领域事件总线配置属性
+ * <p>
+ * 从application.yml中读取 promanage.event-bus 配置
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.event-bus")
+public class DomainEventBusProperties {
+
+    /**
+     * 每个订阅方的分区数，同一聚合固定落在一个分区，分区间并行处理
+     */
+    private int lanes = 16;
+
+    /**
+     * 单次交给订阅方的最大事件数
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * 每个订阅方最多积压的事件数，超过后发布方等待
+     */
+    private int maxPendingPerSubscriber = 10_000;
+
+    /**
+     * 积压已满时发布方的最长等待时间（毫秒），超时后丢弃事件
+     */
+    private long publishTimeoutMs = 50;
+
+    /**
+     * 应用关闭时等待积压事件处理完成的时间（秒）
+     */
+    private int shutdownTimeoutSeconds = 10;
+}
@@ -0,0 +1,28 @@
+package com.promanage.service.event;
+
+import java.util.List;
+
+/**
+ * 领域事件订阅方
+ * <p>
+ * 实现类注册为 Spring Bean 即被 {@link DomainEventBus} 发现。每个订阅方拥有独立的队列，
+ * 处理慢或失败不影响其他订阅方；同一聚合的事件按发布顺序、在同一时刻最多一个线程中交给 {@link #handle(List)}。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * 是否处理该事件，在发布线程中调用，应只做简单判断
+     */
+    boolean supports(DomainEvent event);
+
+    /**
+     * 批量处理事件，批内按发布顺序排列；抛出的异常只记录日志，事件不重试
+     *
+     * @param events 事件，至少一个
+     */
+    void handle(List<DomainEvent> events);
+}
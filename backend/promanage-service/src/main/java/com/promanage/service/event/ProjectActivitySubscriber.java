@@ -0,0 +1,48 @@
+package com.promanage.service.event;
+
+import com.promanage.service.IProjectActivityService;
+import com.promanage.service.entity.ProjectActivity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 项目活动记录订阅方
+ * <p>
+ * 带项目ID和活动描述的领域事件记录为项目活动，每批一次批量插入，活动时间取事件发生时间。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectActivitySubscriber implements DomainEventSubscriber {
+
+    private final IProjectActivityService projectActivityService;
+
+    @Override
+    public boolean supports(DomainEvent event) {
+        return event.projectId() != null && event.summary() != null;
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        List<ProjectActivity> activities = events.stream().map(ProjectActivitySubscriber::toActivity).toList();
+        projectActivityService.saveBatch(activities);
+        log.debug("记录项目活动, count={}", activities.size());
+    }
+
+    private static ProjectActivity toActivity(DomainEvent event) {
+        ProjectActivity activity = new ProjectActivity();
+        activity.setProjectId(event.projectId());
+        activity.setUserId(event.actorId());
+        activity.setActivityType(event.action());
+        activity.setContent(event.summary());
+        activity.setCreateTime(event.occurredAt());
+        return activity;
+    }
+}
@@ -0,0 +1,33 @@
+package com.promanage.service.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 任务变更事件
+ * <p>
+ * 任务本身或其评论、活动、附件、检查项、依赖、子任务发生写入时发布，
+ * 监听方据此失效按任务缓存的读模型。
+ * </p>
+ *
+ * @param taskIds 受影响的任务ID（已去除空值和重复值）
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record TaskChangedEvent(List<Long> taskIds) {
+
+    public TaskChangedEvent {
+        taskIds = taskIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    public static TaskChangedEvent of(Collection<Long> taskIds) {
+        return new TaskChangedEvent(new ArrayList<>(taskIds));
+    }
+
+    public static TaskChangedEvent of(Long... taskIds) {
+        return new TaskChangedEvent(Arrays.asList(taskIds));
+    }
+}
@@ -0,0 +1,32 @@
+package com.promanage.service.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 测试用例变更事件
+ * <p>
+ * 测试用例创建、修改、指派或删除时发布，监听方据此更新引用测试用例的缓存。
+ * </p>
+ *
+ * @param testCaseIds 受影响的测试用例ID（已去除空值和重复值）
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record TestCaseChangedEvent(List<Long> testCaseIds) {
+
+    public TestCaseChangedEvent {
+        testCaseIds = testCaseIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    public static TestCaseChangedEvent of(Collection<Long> testCaseIds) {
+        return new TestCaseChangedEvent(new ArrayList<>(testCaseIds));
+    }
+
+    public static TestCaseChangedEvent of(Long... testCaseIds) {
+        return new TestCaseChangedEvent(Arrays.asList(testCaseIds));
+    }
+}
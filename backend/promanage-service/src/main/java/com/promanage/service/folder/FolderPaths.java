@@ -0,0 +1,40 @@
+package com.promanage.service.folder;
+
+/**
+ * 文件夹物化路径工具
+ * <p>
+ * 路径为从根到自身的文件夹ID序列，以斜杠分隔并以斜杠结尾，如 /3/17/42/。
+ * 子树即以该路径为前缀的所有路径，结尾的斜杠保证 /1/ 不会匹配 /12/。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public final class FolderPaths {
+
+    /**
+     * 根目录路径，对应 parentId 为 0
+     */
+    public static final String ROOT = "/";
+
+    private FolderPaths() {
+    }
+
+    /**
+     * 子文件夹路径
+     *
+     * @param parentPath 父文件夹路径，根目录为 {@link #ROOT}
+     * @param folderId   子文件夹ID
+     * @return 子文件夹路径
+     */
+    public static String childPath(String parentPath, Long folderId) {
+        return parentPath + folderId + "/";
+    }
+
+    /**
+     * 判断路径是否位于祖先路径的子树内（包括自身）
+     */
+    public static boolean isWithin(String path, String ancestorPath) {
+        return path != null && ancestorPath != null && path.startsWith(ancestorPath);
+    }
+}
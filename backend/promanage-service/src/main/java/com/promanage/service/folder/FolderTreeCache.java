@@ -0,0 +1,132 @@
+package com.promanage.service.folder;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.promanage.service.dependency.AfterCommit;
+import com.promanage.service.dto.FolderDocumentCount;
+import com.promanage.service.entity.DocumentFolder;
+import com.promanage.service.mapper.DocumentFolderMapper;
+import com.promanage.service.service.IDocumentFolderService.DocumentFolderTreeNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 项目文件夹树缓存
+ * <p>
+ * 文件夹树由两条按项目的查询构建：全部文件夹和按文件夹分组的文档数。
+ * 文件夹创建、修改、删除、移动时在事务提交后失效对应项目；文档数量的变化不单独通知，
+ * 超过 {@link FolderTreeProperties#getMaxAgeSeconds()} 后在下次使用时重建。
+ * 返回的树为共享实例，调用方只读。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FolderTreeCache {
+
+    private final DocumentFolderMapper documentFolderMapper;
+    private final FolderTreeProperties properties;
+
+    private final Map<Long, CachedTree> trees = new ConcurrentHashMap<>();
+
+    private record CachedTree(long builtAt, List<DocumentFolderTreeNode> roots) {
+    }
+
+    /**
+     * 获取项目文件夹树，未加载或已过期时重建
+     *
+     * @param projectId 项目ID
+     * @return 根文件夹节点，同级按排序号和ID排列
+     */
+    public List<DocumentFolderTreeNode> getTree(Long projectId) {
+        CachedTree cached = trees.get(projectId);
+        long maxAgeMillis = properties.getMaxAgeSeconds() * 1000L;
+        if (cached != null && System.currentTimeMillis() - cached.builtAt() <= maxAgeMillis) {
+            return cached.roots();
+        }
+        long builtAt = System.currentTimeMillis();
+        List<DocumentFolderTreeNode> roots = Collections.unmodifiableList(build(projectId));
+        if (trees.size() >= properties.getMaxProjects() && !trees.containsKey(projectId)) {
+            log.debug("文件夹树缓存达到上限, 清空缓存, size={}", trees.size());
+            trees.clear();
+        }
+        trees.put(projectId, new CachedTree(builtAt, roots));
+        return roots;
+    }
+
+    /**
+     * 事务提交后失效项目文件夹树，回滚时保留
+     *
+     * @param projectId 项目ID
+     */
+    public void invalidateAfterCommit(Long projectId) {
+        if (projectId != null) {
+            AfterCommit.run(() -> trees.remove(projectId));
+        }
+    }
+
+    List<DocumentFolderTreeNode> build(Long projectId) {
+        long start = System.currentTimeMillis();
+        List<DocumentFolder> folders = documentFolderMapper.selectList(new LambdaQueryWrapper<DocumentFolder>()
+                .eq(DocumentFolder::getProjectId, projectId)
+                .orderByAsc(DocumentFolder::getSortOrder)
+                .orderByAsc(DocumentFolder::getId));
+        if (folders.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> documentCounts = new HashMap<>();
+        for (FolderDocumentCount count : documentFolderMapper.countDocumentsByFolder(projectId)) {
+            if (count.getFolderId() != null && count.getTotal() != null) {
+                documentCounts.put(count.getFolderId(), count.getTotal());
+            }
+        }
+
+        Map<Long, DocumentFolderTreeNode> nodes = new HashMap<>();
+        for (DocumentFolder folder : folders) {
+            nodes.put(folder.getId(), toNode(folder, documentCounts.getOrDefault(folder.getId(), 0)));
+        }
+
+        // 按查询顺序挂接，同级保持排序号顺序；父文件夹已删除的节点不出现在树中
+        List<DocumentFolderTreeNode> roots = new ArrayList<>();
+        for (DocumentFolder folder : folders) {
+            DocumentFolderTreeNode node = nodes.get(folder.getId());
+            Long parentId = folder.getParentId();
+            if (parentId == null || parentId == 0) {
+                roots.add(node);
+            } else {
+                DocumentFolderTreeNode parent = nodes.get(parentId);
+                if (parent != null) {
+                    if (parent.getChildren() == null) {
+                        parent.setChildren(new ArrayList<>());
+                    }
+                    parent.getChildren().add(node);
+                }
+            }
+        }
+        log.debug("构建文件夹树, projectId={}, folders={}, cost={}ms",
+                projectId, folders.size(), System.currentTimeMillis() - start);
+        return roots;
+    }
+
+    private static DocumentFolderTreeNode toNode(DocumentFolder folder, int documentCount) {
+        DocumentFolderTreeNode node = new DocumentFolderTreeNode();
+        node.setId(folder.getId());
+        node.setName(folder.getName());
+        node.setDescription(folder.getDescription());
+        node.setProjectId(folder.getProjectId());
+        node.setParentId(folder.getParentId());
+        node.setDocumentCount(documentCount);
+        return node;
+    }
+}
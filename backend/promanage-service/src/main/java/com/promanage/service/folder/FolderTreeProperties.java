@@ -0,0 +1,30 @@
+package com.promanage.service.folder;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 文件夹树缓存配置属性
+ * <p>
+ * 从application.yml中读取 promanage.document.folder-tree 配置
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.document.folder-tree")
+public class FolderTreeProperties {
+
+    /**
+     * 缓存的文件夹树最长保留时间（秒），文档增删只通过过期反映到文档数量上
+     */
+    private int maxAgeSeconds = 60;
+
+    /**
+     * 缓存文件夹树的项目数上限
+     */
+    private int maxProjects = 500;
+}
@@ -0,0 +1,156 @@
+package com.promanage.service.impact;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promanage.service.entity.ChangeRequest;
+import com.promanage.service.entity.ChangeRequestImpact;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 变更影响分析器
+ * <p>
+ * 以变更请求的已验证影响实体（置信度 1）和与项目标签同名的变更请求标签为起点，
+ * 在项目影响图上做有限深度的广度优先传播，置信度按关系系数逐跳衰减，
+ * 按置信度映射影响程度。起点本身不重复输出。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeImpactAnalyzer {
+
+    /**
+     * 分析算法版本
+     */
+    static final String ANALYSIS_VERSION = "v2.0";
+
+    private final ImpactGraphCache graphCache;
+    private final ImpactAnalysisProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 分析变更请求的影响
+     *
+     * @param changeRequest 变更请求
+     * @param verifiedImpacts 已人工验证的影响结果，作为传播起点
+     * @return 新的影响结果（未持久化），没有可用起点时为空
+     */
+    public List<ChangeRequestImpact> analyze(ChangeRequest changeRequest, List<ChangeRequestImpact> verifiedImpacts) {
+        long start = System.currentTimeMillis();
+        ProjectImpactGraph graph = graphCache.getGraph(changeRequest.getProjectId());
+        Map<ImpactNode, Double> seeds = seeds(changeRequest, verifiedImpacts, graph);
+        if (seeds.isEmpty()) {
+            log.info("变更请求没有可分析的起点（已验证影响或匹配的项目标签）, changeRequestId={}", changeRequest.getId());
+            return List.of();
+        }
+
+        // 已人工验证过的实体（包括被判定无效的）不再作为新的未验证结果输出
+        Set<ImpactNode> verified = verifiedNodes(verifiedImpacts);
+        verified.addAll(seeds.keySet());
+        List<ChangeRequestImpact> impacts = graph.propagate(seeds, properties.getMaxDepth(),
+                        properties.getMinConfidence(), properties.getMaxResults() + verified.size()).stream()
+                .filter(result -> !verified.contains(result.node()))
+                .limit(properties.getMaxResults())
+                .map(result -> toImpact(result, graph))
+                .toList();
+        log.info("变更影响传播完成, changeRequestId={}, seeds={}, impacts={}, cost={}ms",
+                changeRequest.getId(), seeds.size(), impacts.size(), System.currentTimeMillis() - start);
+        return impacts;
+    }
+
+    /**
+     * 传播起点：已验证且有效的影响实体，以及与项目标签同名的变更请求标签
+     */
+    Map<ImpactNode, Double> seeds(ChangeRequest changeRequest, List<ChangeRequestImpact> verifiedImpacts,
+                                  ProjectImpactGraph graph) {
+        Map<ImpactNode, Double> seeds = new LinkedHashMap<>();
+        for (ChangeRequestImpact impact : verifiedImpacts) {
+            ImpactNodeType type = ImpactNodeType.fromName(impact.getEntityType());
+            if (type != null && impact.getEntityId() != null && !Boolean.FALSE.equals(impact.getIsValid())) {
+                seeds.put(new ImpactNode(type, impact.getEntityId()), 1.0);
+            }
+        }
+        Map<String, Long> tagIds = graphCache.tagIdsByName(changeRequest.getProjectId());
+        for (String name : ImpactGraphCache.splitTags(changeRequest.getTags())) {
+            Long tagId = tagIds.get(name);
+            if (tagId != null) {
+                seeds.putIfAbsent(ImpactNode.tag(tagId), properties.getTagSeedConfidence());
+            }
+        }
+        seeds.keySet().removeIf(node -> !graph.contains(node));
+        return seeds;
+    }
+
+    private static Set<ImpactNode> verifiedNodes(List<ChangeRequestImpact> verifiedImpacts) {
+        Set<ImpactNode> nodes = new HashSet<>();
+        for (ChangeRequestImpact impact : verifiedImpacts) {
+            ImpactNodeType type = ImpactNodeType.fromName(impact.getEntityType());
+            if (type != null && impact.getEntityId() != null) {
+                nodes.add(new ImpactNode(type, impact.getEntityId()));
+            }
+        }
+        return nodes;
+    }
+
+    private ChangeRequestImpact toImpact(ProjectImpactGraph.ImpactResult result, ProjectImpactGraph graph) {
+        ChangeRequestImpact impact = new ChangeRequestImpact();
+        impact.setEntityType(result.node().type().name());
+        impact.setEntityId(result.node().id());
+        impact.setEntityTitle(titleOf(result.node(), graph));
+        impact.setImpactLevel(impactLevel(result.confidence()));
+        impact.setConfidenceScore(Math.round(result.confidence() * 10_000) / 10_000.0);
+        impact.setImpactDescription("经「" + titleOf(result.via(), graph) + "」传播（" + result.role()
+                + "），距变更起点「" + titleOf(result.seed(), graph) + "」" + result.depth() + " 跳");
+        impact.setIsVerified(false);
+        impact.setIsValid(true);
+        impact.setAnalysisVersion(ANALYSIS_VERSION);
+        impact.setAnalysisDetails(details(result));
+        return impact;
+    }
+
+    /**
+     * 按置信度映射影响程度
+     */
+    static String impactLevel(double confidence) {
+        if (confidence >= 0.85) {
+            return "CRITICAL";
+        }
+        if (confidence >= 0.65) {
+            return "HIGH";
+        }
+        if (confidence >= 0.4) {
+            return "MEDIUM";
+        }
+        return "LOW";
+    }
+
+    private String details(ProjectImpactGraph.ImpactResult result) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("depth", result.depth());
+        details.put("seed", result.seed().toString());
+        details.put("via", result.via().toString());
+        details.put("role", result.role());
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            log.warn("序列化影响分析详情失败, node={}", result.node(), e);
+            return null;
+        }
+    }
+
+    private static String titleOf(ImpactNode node, ProjectImpactGraph graph) {
+        String title = graph.getTitle(node);
+        return title != null ? title : node.toString();
+    }
+}
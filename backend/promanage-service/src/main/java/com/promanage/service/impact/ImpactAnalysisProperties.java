@@ -0,0 +1,50 @@
+package com.promanage.service.impact;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 变更影响分析配置属性
+ * <p>
+ * 从application.yml中读取 promanage.change-request.impact 配置
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.change-request.impact")
+public class ImpactAnalysisProperties {
+
+    /**
+     * 最大传播深度（跳数）
+     */
+    private int maxDepth = 4;
+
+    /**
+     * 置信度低于该值的节点不再记录和继续传播
+     */
+    private double minConfidence = 0.2;
+
+    /**
+     * 每次分析最多保存的影响结果数
+     */
+    private int maxResults = 200;
+
+    /**
+     * 变更请求标签匹配到项目标签时的初始置信度，人工验证过的影响结果初始置信度为 1
+     */
+    private double tagSeedConfidence = 0.9;
+
+    /**
+     * 影响图最长保留时间（分钟），超过后下次分析时重建，用于纳入未发布变更事件的修改和其他实例的写入
+     */
+    private long graphMaxAgeMinutes = 30;
+
+    /**
+     * 最多缓存的项目影响图数量
+     */
+    private int maxProjects = 200;
+}
@@ -0,0 +1,388 @@
+package com.promanage.service.impact;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.promanage.common.entity.User;
+import com.promanage.service.dto.TaskDependencyEdge;
+import com.promanage.service.entity.Document;
+import com.promanage.service.entity.DocumentTag;
+import com.promanage.service.entity.ProjectMember;
+import com.promanage.service.entity.Tag;
+import com.promanage.service.entity.Task;
+import com.promanage.service.entity.TaskDependency;
+import com.promanage.service.entity.TestCase;
+import com.promanage.service.event.DocumentChangedEvent;
+import com.promanage.service.event.TaskChangedEvent;
+import com.promanage.service.event.TestCaseChangedEvent;
+import com.promanage.service.mapper.DocumentMapper;
+import com.promanage.service.mapper.DocumentTagMapper;
+import com.promanage.service.mapper.ProjectMemberMapper;
+import com.promanage.service.mapper.TagMapper;
+import com.promanage.service.mapper.TaskDependencyMapper;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.mapper.TestCaseMapper;
+import com.promanage.service.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 项目影响图缓存
+ * <p>
+ * 每个项目的影响图用一组按项目的批量查询构建，之后由任务、测试用例、文档变更事件在事务提交后增量维护：
+ * 只重新读取变化的实体及其关系并替换图中该节点的关系。影响图超过
+ * {@link ImpactAnalysisProperties#getGraphMaxAgeMinutes()} 后在下次使用时重建，
+ * 以纳入成员变化、未发布事件的写入和其他实例的修改。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImpactGraphCache {
+
+    private final TaskMapper taskMapper;
+    private final TaskDependencyMapper taskDependencyMapper;
+    private final TestCaseMapper testCaseMapper;
+    private final DocumentMapper documentMapper;
+    private final DocumentTagMapper documentTagMapper;
+    private final TagMapper tagMapper;
+    private final ProjectMemberMapper projectMemberMapper;
+    private final UserMapper userMapper;
+    private final ImpactAnalysisProperties properties;
+
+    private final Map<Long, ProjectImpactGraph> graphs = new ConcurrentHashMap<>();
+
+    /**
+     * 获取项目影响图，未加载或已过期时重建
+     *
+     * @param projectId 项目ID
+     * @return 影响图
+     */
+    public ProjectImpactGraph getGraph(Long projectId) {
+        ProjectImpactGraph graph = graphs.get(projectId);
+        long maxAgeMillis = properties.getGraphMaxAgeMinutes() * 60_000L;
+        if (graph != null && System.currentTimeMillis() - graph.getBuiltAt() <= maxAgeMillis) {
+            return graph;
+        }
+        ProjectImpactGraph built = build(projectId);
+        if (graphs.size() >= properties.getMaxProjects() && !graphs.containsKey(projectId)) {
+            evictOldest();
+        }
+        graphs.put(projectId, built);
+        return built;
+    }
+
+    /**
+     * 失效项目影响图
+     */
+    public void invalidate(Long projectId) {
+        if (projectId != null) {
+            graphs.remove(projectId);
+        }
+    }
+
+    /**
+     * 任务变更后更新任务节点的父子、依赖、标签和负责人关系
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (graphs.isEmpty()) {
+            return;
+        }
+        for (Long taskId : event.taskIds()) {
+            Long projectId = null;
+            try {
+                Task task = taskMapper.selectById(taskId);
+                projectId = task != null ? task.getProjectId() : null;
+                refreshTask(taskId, task);
+            } catch (Exception e) {
+                log.warn("增量更新影响图失败, 失效相关项目, taskId={}", taskId, e);
+                evictAffected(ImpactNode.task(taskId), projectId);
+            }
+        }
+    }
+
+    /**
+     * 测试用例变更后更新测试用例节点的关系
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTestCaseChanged(TestCaseChangedEvent event) {
+        if (graphs.isEmpty()) {
+            return;
+        }
+        for (Long testCaseId : event.testCaseIds()) {
+            Long projectId = null;
+            try {
+                TestCase testCase = testCaseMapper.selectById(testCaseId);
+                projectId = testCase != null ? testCase.getProjectId() : null;
+                refreshTestCase(testCaseId, testCase);
+            } catch (Exception e) {
+                log.warn("增量更新影响图失败, 失效相关项目, testCaseId={}", testCaseId, e);
+                evictAffected(ImpactNode.testCase(testCaseId), projectId);
+            }
+        }
+    }
+
+    /**
+     * 文档变更后更新文档节点的标签、作者和审核人关系
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentChanged(DocumentChangedEvent event) {
+        if (graphs.isEmpty()) {
+            return;
+        }
+        for (Long documentId : event.documentIds()) {
+            Long projectId = null;
+            try {
+                Document document = documentMapper.selectById(documentId);
+                projectId = document != null ? document.getProjectId() : null;
+                refreshDocument(documentId, document);
+            } catch (Exception e) {
+                log.warn("增量更新影响图失败, 失效相关项目, documentId={}", documentId, e);
+                evictAffected(ImpactNode.document(documentId), projectId);
+            }
+        }
+    }
+
+    /**
+     * 从数据库构建项目影响图
+     */
+    ProjectImpactGraph build(Long projectId) {
+        long start = System.currentTimeMillis();
+        Set<Long> memberIds = projectMemberMapper.findByProjectId(projectId).stream()
+                .map(ProjectMember::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        ProjectImpactGraph graph = new ProjectImpactGraph(start, memberIds);
+        if (!memberIds.isEmpty()) {
+            for (User user : userMapper.selectByIds(memberIds)) {
+                graph.putTitle(ImpactNode.user(user.getId()), displayName(user));
+            }
+        }
+        List<Tag> tags = tagMapper.findByProjectId(projectId);
+        Map<String, Long> tagIds = tagIdsByName(tags);
+        tags.forEach(tag -> graph.putTitle(ImpactNode.tag(tag.getId()), tag.getName()));
+
+        List<Task> tasks = taskMapper.selectList(new LambdaQueryWrapper<Task>()
+                .select(Task::getId, Task::getTitle, Task::getParentTaskId, Task::getAssigneeId, Task::getTags)
+                .eq(Task::getProjectId, projectId));
+        for (Task task : tasks) {
+            graph.replaceLinks(ImpactNode.task(task.getId()), task.getTitle(), link -> false,
+                    taskLinks(task, tagIds, memberIds));
+        }
+        for (TaskDependencyEdge edge : taskDependencyMapper.findEdgesByProjectId(projectId)) {
+            if (!Boolean.TRUE.equals(edge.getCrossProject())) {
+                graph.addLink(dependencyLink(edge.getDependentTaskId(), edge.getPrerequisiteTaskId()));
+            }
+        }
+
+        List<Document> documents = documentMapper.selectList(new LambdaQueryWrapper<Document>()
+                .select(Document::getId, Document::getTitle, Document::getReviewerId, Document::getCreatorId)
+                .eq(Document::getProjectId, projectId));
+        Set<Long> projectTagIds = new HashSet<>(tagIds.values());
+        Map<Long, List<Long>> documentTags = documents.isEmpty() ? Map.of()
+                : documentTagMapper.selectList(new LambdaQueryWrapper<DocumentTag>()
+                        .select(DocumentTag::getDocumentId, DocumentTag::getTagId)
+                        .inSql(DocumentTag::getDocumentId, "SELECT id FROM tb_document WHERE project_id = " + projectId))
+                .stream()
+                .filter(documentTag -> projectTagIds.contains(documentTag.getTagId()))
+                .collect(Collectors.groupingBy(DocumentTag::getDocumentId,
+                        Collectors.mapping(DocumentTag::getTagId, Collectors.toList())));
+        for (Document document : documents) {
+            graph.replaceLinks(ImpactNode.document(document.getId()), document.getTitle(), link -> false,
+                    documentLinks(document, documentTags.getOrDefault(document.getId(), List.of()), memberIds));
+        }
+
+        List<TestCase> testCases = testCaseMapper.selectList(new LambdaQueryWrapper<TestCase>()
+                .select(TestCase::getId, TestCase::getTitle, TestCase::getTaskId, TestCase::getRequirementId,
+                        TestCase::getAssigneeId)
+                .eq(TestCase::getProjectId, projectId));
+        for (TestCase testCase : testCases) {
+            graph.replaceLinks(ImpactNode.testCase(testCase.getId()), testCase.getTitle(), link -> false,
+                    testCaseLinks(testCase, memberIds));
+        }
+
+        log.info("构建项目影响图, projectId={}, tasks={}, documents={}, testCases={}, links={}, cost={}ms",
+                projectId, tasks.size(), documents.size(), testCases.size(), graph.linkCount(),
+                System.currentTimeMillis() - start);
+        return graph;
+    }
+
+    private void refreshTask(Long taskId, Task task) {
+        ImpactNode node = ImpactNode.task(taskId);
+        ProjectImpactGraph graph = task != null ? graphs.get(task.getProjectId()) : null;
+        if (graph == null) {
+            graphs.values().forEach(cached -> cached.removeNode(node));
+            return;
+        }
+        Long projectId = task.getProjectId();
+        Set<Long> memberIds = graph.getMemberIds();
+        List<ImpactLink> links = new ArrayList<>(taskLinks(task, tagIdsByName(projectId), memberIds));
+        for (TaskDependency dependency : taskDependencyMapper.selectList(new LambdaQueryWrapper<TaskDependency>()
+                .eq(TaskDependency::getDependentTaskId, taskId)
+                .or()
+                .eq(TaskDependency::getPrerequisiteTaskId, taskId))) {
+            Long otherId = taskId.equals(dependency.getDependentTaskId())
+                    ? dependency.getPrerequisiteTaskId() : dependency.getDependentTaskId();
+            if (graph.contains(ImpactNode.task(otherId))) {
+                links.add(dependencyLink(dependency.getDependentTaskId(), dependency.getPrerequisiteTaskId()));
+            }
+        }
+        // 任务自身的父任务、负责人、标签关系以及与之相连的全部依赖关系由本任务重新生成，子任务指向本任务的关系保留
+        graph.replaceLinks(node, task.getTitle(),
+                link -> link.relation() == ImpactRelation.DEPENDS_ON || link.from().equals(node), links);
+    }
+
+    private void refreshTestCase(Long testCaseId, TestCase testCase) {
+        ImpactNode node = ImpactNode.testCase(testCaseId);
+        ProjectImpactGraph graph = testCase != null && !Boolean.TRUE.equals(testCase.getDeleted())
+                ? graphs.get(testCase.getProjectId()) : null;
+        if (graph == null) {
+            graphs.values().forEach(cached -> cached.removeNode(node));
+            return;
+        }
+        graph.replaceLinks(node, testCase.getTitle(), link -> link.from().equals(node),
+                testCaseLinks(testCase, graph.getMemberIds()));
+    }
+
+    private void refreshDocument(Long documentId, Document document) {
+        ImpactNode node = ImpactNode.document(documentId);
+        ProjectImpactGraph graph = document != null ? graphs.get(document.getProjectId()) : null;
+        if (graph == null) {
+            graphs.values().forEach(cached -> cached.removeNode(node));
+            return;
+        }
+        Set<Long> projectTagIds = new HashSet<>(tagIdsByName(document.getProjectId()).values());
+        List<Long> tagIds = documentTagMapper.findTagIdsByDocumentId(documentId).stream()
+                .filter(projectTagIds::contains)
+                .toList();
+        // 文档自身的关系重新生成，测试用例指向文档的验证关系保留
+        graph.replaceLinks(node, document.getTitle(), link -> link.from().equals(node),
+                documentLinks(document, tagIds, graph.getMemberIds()));
+    }
+
+    /**
+     * 增量更新失败时只失效实体所属项目和已包含该节点的项目，其他项目的影响图保留
+     */
+    private void evictAffected(ImpactNode node, Long projectId) {
+        if (projectId != null) {
+            graphs.remove(projectId);
+        }
+        graphs.entrySet().removeIf(entry -> entry.getValue().contains(node));
+    }
+
+    /**
+     * 缓存达到上限时移除构建时间最早的项目影响图
+     */
+    private void evictOldest() {
+        graphs.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().getBuiltAt()))
+                .ifPresent(oldest -> {
+                    log.debug("项目影响图缓存达到上限, 移除最早构建的项目, projectId={}, size={}", oldest.getKey(), graphs.size());
+                    graphs.remove(oldest.getKey(), oldest.getValue());
+                });
+    }
+
+    private List<ImpactLink> taskLinks(Task task, Map<String, Long> tagIds, Set<Long> memberIds) {
+        ImpactNode node = ImpactNode.task(task.getId());
+        List<ImpactLink> links = new ArrayList<>();
+        if (task.getParentTaskId() != null && !task.getParentTaskId().equals(task.getId())) {
+            links.add(new ImpactLink(node, ImpactNode.task(task.getParentTaskId()), ImpactRelation.SUBTASK_OF));
+        }
+        if (task.getAssigneeId() != null && memberIds.contains(task.getAssigneeId())) {
+            links.add(new ImpactLink(node, ImpactNode.user(task.getAssigneeId()), ImpactRelation.ASSIGNED_TO));
+        }
+        for (String name : splitTags(task.getTags())) {
+            Long tagId = tagIds.get(name);
+            if (tagId != null) {
+                links.add(new ImpactLink(node, ImpactNode.tag(tagId), ImpactRelation.TAGGED));
+            }
+        }
+        return links;
+    }
+
+    private List<ImpactLink> documentLinks(Document document, List<Long> tagIds, Set<Long> memberIds) {
+        ImpactNode node = ImpactNode.document(document.getId());
+        List<ImpactLink> links = new ArrayList<>();
+        tagIds.forEach(tagId -> links.add(new ImpactLink(node, ImpactNode.tag(tagId), ImpactRelation.TAGGED)));
+        if (document.getReviewerId() != null && memberIds.contains(document.getReviewerId())) {
+            links.add(new ImpactLink(node, ImpactNode.user(document.getReviewerId()), ImpactRelation.REVIEWED_BY));
+        }
+        if (document.getCreatorId() != null && memberIds.contains(document.getCreatorId())
+                && !document.getCreatorId().equals(document.getReviewerId())) {
+            links.add(new ImpactLink(node, ImpactNode.user(document.getCreatorId()), ImpactRelation.AUTHORED_BY));
+        }
+        return links;
+    }
+
+    private List<ImpactLink> testCaseLinks(TestCase testCase, Set<Long> memberIds) {
+        ImpactNode node = ImpactNode.testCase(testCase.getId());
+        List<ImpactLink> links = new ArrayList<>();
+        if (testCase.getTaskId() != null) {
+            links.add(new ImpactLink(node, ImpactNode.task(testCase.getTaskId()), ImpactRelation.VERIFIES));
+        }
+        if (testCase.getRequirementId() != null) {
+            links.add(new ImpactLink(node, ImpactNode.document(testCase.getRequirementId()), ImpactRelation.VERIFIES));
+        }
+        if (testCase.getAssigneeId() != null && memberIds.contains(testCase.getAssigneeId())) {
+            links.add(new ImpactLink(node, ImpactNode.user(testCase.getAssigneeId()), ImpactRelation.ASSIGNED_TO));
+        }
+        return links;
+    }
+
+    private static ImpactLink dependencyLink(Long dependentTaskId, Long prerequisiteTaskId) {
+        return new ImpactLink(ImpactNode.task(dependentTaskId), ImpactNode.task(prerequisiteTaskId),
+                ImpactRelation.DEPENDS_ON);
+    }
+
+    /**
+     * 项目标签，按小写名称索引
+     */
+    Map<String, Long> tagIdsByName(Long projectId) {
+        return tagIdsByName(tagMapper.findByProjectId(projectId));
+    }
+
+    private static Map<String, Long> tagIdsByName(List<Tag> tags) {
+        Map<String, Long> tagIds = new HashMap<>();
+        for (Tag tag : tags) {
+            if (tag.getName() != null && tag.getId() != null) {
+                tagIds.putIfAbsent(tag.getName().trim().toLowerCase(Locale.ROOT), tag.getId());
+            }
+        }
+        return tagIds;
+    }
+
+    /**
+     * 拆分逗号分隔的标签，返回小写名称
+     */
+    static List<String> splitTags(String tags) {
+        if (tags == null || tags.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(tags.split("[,，;；]"))
+                .map(tag -> tag.replaceAll("[\\[\\]\"]", "").trim().toLowerCase(Locale.ROOT))
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static String displayName(User user) {
+        return user.getRealName() != null && !user.getRealName().isBlank() ? user.getRealName() : user.getUsername();
+    }
+}
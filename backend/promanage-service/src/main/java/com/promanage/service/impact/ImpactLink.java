@@ -0,0 +1,34 @@
+package com.promanage.service.impact;
+
+/**
+ * 影响图中的一条关系
+ *
+ * @param from 关系起点
+ * @param to 关系终点
+ * @param relation 关系类型
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record ImpactLink(ImpactNode from, ImpactNode to, ImpactRelation relation) {
+
+    /**
+     * 关系另一端的节点
+     */
+    public ImpactNode other(ImpactNode node) {
+        return node.equals(from) ? to : from;
+    }
+
+    /**
+     * 从 node 出发经此关系传播的系数
+     */
+    public double weightFrom(ImpactNode node) {
+        return relation.weight(node.equals(from));
+    }
+
+    /**
+     * 关系另一端相对 node 的角色描述
+     */
+    public String labelFrom(ImpactNode node) {
+        return relation.label(node.equals(from));
+    }
+}
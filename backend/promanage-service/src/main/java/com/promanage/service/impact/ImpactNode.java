@@ -0,0 +1,37 @@
+package com.promanage.service.impact;
+
+/**
+ * 影响图节点
+ *
+ * @param type 节点类型
+ * @param id 实体ID
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record ImpactNode(ImpactNodeType type, Long id) {
+
+    public static ImpactNode task(Long id) {
+        return new ImpactNode(ImpactNodeType.TASK, id);
+    }
+
+    public static ImpactNode document(Long id) {
+        return new ImpactNode(ImpactNodeType.DOCUMENT, id);
+    }
+
+    public static ImpactNode testCase(Long id) {
+        return new ImpactNode(ImpactNodeType.TEST_CASE, id);
+    }
+
+    public static ImpactNode user(Long id) {
+        return new ImpactNode(ImpactNodeType.USER, id);
+    }
+
+    public static ImpactNode tag(Long id) {
+        return new ImpactNode(ImpactNodeType.TAG, id);
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + id;
+    }
+}
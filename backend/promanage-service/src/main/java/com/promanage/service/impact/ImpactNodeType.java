@@ -0,0 +1,43 @@
+package com.promanage.service.impact;
+
+/**
+ * 影响图节点类型
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public enum ImpactNodeType {
+    TASK(true),
+    DOCUMENT(true),
+    TEST_CASE(true),
+    USER(true),
+    /**
+     * 标签只用于连接同标签的文档和任务，不作为影响结果
+     */
+    TAG(false);
+
+    private final boolean reportable;
+
+    ImpactNodeType(boolean reportable) {
+        this.reportable = reportable;
+    }
+
+    public boolean isReportable() {
+        return reportable;
+    }
+
+    /**
+     * 按实体类型名称解析，无法识别时返回 null
+     */
+    public static ImpactNodeType fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (ImpactNodeType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.promanage.service.impact;
+
+/**
+ * 影响图关系
+ * <p>
+ * 每种关系从 from 指向 to，两个方向的传播系数不同：forward 为 from 变化时对 to 的影响，
+ * backward 为 to 变化时对 from 的影响。系数为 0 的方向不传播，人员节点因此只接收影响而不继续扩散。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public enum ImpactRelation {
+
+    /**
+     * 后置任务(from) 依赖 前置任务(to)
+     */
+    DEPENDS_ON(0.4, 0.9, "依赖的前置任务", "依赖此任务的后置任务"),
+
+    /**
+     * 子任务(from) 属于 父任务(to)
+     */
+    SUBTASK_OF(0.7, 0.8, "所属父任务", "子任务"),
+
+    /**
+     * 文档或任务(from) 带有 标签(to)
+     */
+    TAGGED(1.0, 0.6, "标签", "同标签的文档或任务"),
+
+    /**
+     * 测试用例(from) 验证 任务或需求文档(to)
+     */
+    VERIFIES(0.3, 0.9, "被验证的任务或需求", "验证它的测试用例"),
+
+    /**
+     * 任务或测试用例(from) 指派给 项目成员(to)
+     */
+    ASSIGNED_TO(0.7, 0.0, "负责人", null),
+
+    /**
+     * 文档(from) 由 项目成员(to) 审核
+     */
+    REVIEWED_BY(0.5, 0.0, "审核人", null),
+
+    /**
+     * 文档(from) 由 项目成员(to) 创建
+     */
+    AUTHORED_BY(0.4, 0.0, "作者", null);
+
+    private final double forward;
+    private final double backward;
+    private final String forwardLabel;
+    private final String backwardLabel;
+
+    ImpactRelation(double forward, double backward, String forwardLabel, String backwardLabel) {
+        this.forward = forward;
+        this.backward = backward;
+        this.forwardLabel = forwardLabel;
+        this.backwardLabel = backwardLabel;
+    }
+
+    /**
+     * 从 from 传播到 to 时为 true，反向传播时为 false
+     */
+    public double weight(boolean forwardDirection) {
+        return forwardDirection ? forward : backward;
+    }
+
+    /**
+     * 传播目标相对来源的角色描述
+     */
+    public String label(boolean forwardDirection) {
+        return forwardDirection ? forwardLabel : backwardLabel;
+    }
+}
@@ -0,0 +1,267 @@
+package com.promanage.service.impact;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 项目影响图
+ * <p>
+ * 以邻接表保存项目内任务、文档、测试用例、标签和成员之间的关系，每个节点记录与之相连的全部关系，
+ * 实体变化时按节点替换其关系即可增量维护。读写由读写锁保护，传播分析在读锁下进行。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public class ProjectImpactGraph {
+
+    private final Map<ImpactNode, Set<ImpactLink>> adjacency = new HashMap<>();
+    private final Map<ImpactNode, String> titles = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long builtAt;
+    private final Set<Long> memberIds;
+
+    /**
+     * @param builtAt 构建时间（毫秒）
+     * @param memberIds 项目成员ID，只有成员会作为人员节点加入
+     */
+    public ProjectImpactGraph(long builtAt, Set<Long> memberIds) {
+        this.builtAt = builtAt;
+        this.memberIds = Set.copyOf(memberIds);
+    }
+
+    /**
+     * 构建时间（毫秒）
+     */
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * 传播结果
+     *
+     * @param node 受影响节点
+     * @param title 实体标题
+     * @param confidence 置信度
+     * @param depth 距最近分析起点的跳数
+     * @param seed 传播起点
+     * @param via 上一跳节点
+     * @param role 本节点相对上一跳的角色
+     */
+    public record ImpactResult(ImpactNode node, String title, double confidence, int depth,
+                               ImpactNode seed, ImpactNode via, String role) {
+    }
+
+    private record Reach(double confidence, int depth, ImpactNode seed, ImpactNode via, String role) {
+    }
+
+    /**
+     * 构建时的项目成员ID
+     */
+    public Set<Long> getMemberIds() {
+        return memberIds;
+    }
+
+    public void putTitle(ImpactNode node, String title) {
+        lock.writeLock().lock();
+        try {
+            if (title != null) {
+                titles.put(node, title);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addLink(ImpactLink link) {
+        lock.writeLock().lock();
+        try {
+            attach(link);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 替换节点的一部分关系
+     *
+     * @param node 节点
+     * @param title 节点标题，为空时保留原标题
+     * @param owned 需要替换的既有关系
+     * @param links 新关系，须与 node 相连
+     */
+    public void replaceLinks(ImpactNode node, String title, Predicate<ImpactLink> owned, Collection<ImpactLink> links) {
+        lock.writeLock().lock();
+        try {
+            Set<ImpactLink> incident = adjacency.get(node);
+            if (incident != null) {
+                for (ImpactLink link : new ArrayList<>(incident)) {
+                    if (owned.test(link)) {
+                        detach(link);
+                    }
+                }
+            }
+            if (title != null) {
+                titles.put(node, title);
+            }
+            links.forEach(this::attach);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除节点及其全部关系
+     *
+     * @return 节点原本是否存在
+     */
+    public boolean removeNode(ImpactNode node) {
+        lock.writeLock().lock();
+        try {
+            Set<ImpactLink> incident = adjacency.get(node);
+            if (incident != null) {
+                new ArrayList<>(incident).forEach(this::detach);
+            }
+            adjacency.remove(node);
+            return titles.remove(node) != null || incident != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(ImpactNode node) {
+        lock.readLock().lock();
+        try {
+            return titles.containsKey(node) || adjacency.containsKey(node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getTitle(ImpactNode node) {
+        lock.readLock().lock();
+        try {
+            return titles.get(node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 节点的全部关系快照
+     */
+    public Set<ImpactLink> linksOf(ImpactNode node) {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(adjacency.getOrDefault(node, Set.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int linkCount() {
+        lock.readLock().lock();
+        try {
+            return adjacency.values().stream().mapToInt(Set::size).sum() / 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 从起点按层广度优先传播影响
+     * <p>
+     * 每经过一条关系，置信度乘以该方向的传播系数；同一节点保留最高置信度，
+     * 只有置信度提高的节点进入下一层。超过最大深度或低于最小置信度时停止。
+     * 起点本身不出现在结果中。
+     * </p>
+     *
+     * @param seeds 起点及其初始置信度
+     * @param maxDepth 最大传播深度
+     * @param minConfidence 最小置信度
+     * @param maxResults 最多返回的结果数，按置信度从高到低截取
+     * @return 受影响的可报告节点
+     */
+    public List<ImpactResult> propagate(Map<ImpactNode, Double> seeds, int maxDepth, double minConfidence, int maxResults) {
+        lock.readLock().lock();
+        try {
+            Map<ImpactNode, Reach> best = new HashMap<>();
+            Map<ImpactNode, Reach> frontier = new HashMap<>();
+            seeds.forEach((seed, confidence) -> {
+                Reach reach = new Reach(confidence, 0, seed, null, null);
+                best.merge(seed, reach, (a, b) -> a.confidence() >= b.confidence() ? a : b);
+            });
+            frontier.putAll(best);
+
+            for (int depth = 1; depth <= maxDepth && !frontier.isEmpty(); depth++) {
+                Map<ImpactNode, Reach> next = new HashMap<>();
+                for (Map.Entry<ImpactNode, Reach> entry : frontier.entrySet()) {
+                    ImpactNode node = entry.getKey();
+                    Reach from = entry.getValue();
+                    for (ImpactLink link : adjacency.getOrDefault(node, Set.of())) {
+                        double weight = link.weightFrom(node);
+                        if (weight <= 0) {
+                            continue;
+                        }
+                        double confidence = from.confidence() * weight;
+                        if (confidence < minConfidence) {
+                            continue;
+                        }
+                        ImpactNode target = link.other(node);
+                        Reach known = best.get(target);
+                        if (known != null && known.confidence() >= confidence) {
+                            continue;
+                        }
+                        Reach reach = new Reach(confidence, depth, from.seed(), node, link.labelFrom(node));
+                        best.put(target, reach);
+                        next.put(target, reach);
+                    }
+                }
+                frontier = next;
+            }
+
+            return best.entrySet().stream()
+                    .filter(entry -> entry.getValue().depth() > 0 && entry.getKey().type().isReportable())
+                    .map(entry -> new ImpactResult(entry.getKey(), titles.get(entry.getKey()),
+                            entry.getValue().confidence(), entry.getValue().depth(), entry.getValue().seed(),
+                            entry.getValue().via(), entry.getValue().role()))
+                    .sorted(Comparator.comparingDouble(ImpactResult::confidence).reversed()
+                            .thenComparingInt(ImpactResult::depth)
+                            .thenComparing(result -> result.node().type())
+                            .thenComparing(result -> result.node().id()))
+                    .limit(Math.max(0, maxResults))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void attach(ImpactLink link) {
+        adjacency.computeIfAbsent(link.from(), node -> new LinkedHashSet<>()).add(link);
+        adjacency.computeIfAbsent(link.to(), node -> new LinkedHashSet<>()).add(link);
+    }
+
+    private void detach(ImpactLink link) {
+        remove(link.from(), link);
+        remove(link.to(), link);
+    }
+
+    private void remove(ImpactNode node, ImpactLink link) {
+        Set<ImpactLink> incident = adjacency.get(node);
+        if (incident != null) {
+            incident.remove(link);
+            if (incident.isEmpty()) {
+                adjacency.remove(node);
+            }
+        }
+    }
+}
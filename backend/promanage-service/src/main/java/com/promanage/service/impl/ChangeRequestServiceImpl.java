@@ -10,10 +10,16 @@ import com.promanage.common.enums.ChangeRequestStatus;
 import com.promanage.common.enums.Priority;
 import com.promanage.common.exception.BusinessException;
 import com.promanage.infrastructure.security.SecurityUtils;
+import com.promanage.service.approval.ApprovalStageSpec;
+import com.promanage.service.approval.ApprovalWorkflowEngine;
 import com.promanage.service.entity.ChangeRequest;
 import com.promanage.service.entity.ChangeRequestApproval;
 import com.promanage.service.entity.ChangeRequestImpact;
 import com.promanage.service.entity.Project;
+import com.promanage.service.impact.ChangeImpactAnalyzer;
+import com.promanage.service.event.AggregateType;
+import com.promanage.service.event.DomainEvent;
+import com.promanage.service.mapper.ApprovalInboxMapper;
 import com.promanage.service.mapper.ChangeRequestMapper;
 import com.promanage.service.mapper.ChangeRequestApprovalMapper;
 import com.promanage.service.mapper.ChangeRequestImpactMapper;
@@ -23,11 +29,15 @@ import com.promanage.service.IProjectService;
 import com.promanage.service.service.IPermissionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -51,6 +61,10 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
     private final CommentMapper commentMapper;
     private final IProjectService projectService;
     private final IPermissionService permissionService;
+    private final ChangeImpactAnalyzer changeImpactAnalyzer;
+    private final ApprovalWorkflowEngine approvalWorkflowEngine;
+    private final ApprovalInboxMapper approvalInboxMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -98,6 +112,7 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             throw new BusinessException(ResultCode.OPERATION_FAILED, "创建变更请求失败");
         }
 
+        publishEvent(changeRequest, "CHANGE_REQUEST_CREATED", currentUserId, "创建变更请求「" + changeRequest.getTitle() + "」");
         log.info("变更请求创建成功, id={}, title={}", changeRequest.getId(), changeRequest.getTitle());
         return changeRequest.getId();
     }
@@ -179,6 +194,7 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             throw new BusinessException(ResultCode.OPERATION_FAILED, "删除变更请求失败");
         }
 
+        publishEvent(changeRequest, "CHANGE_REQUEST_DELETED", userId, "删除变更请求「" + changeRequest.getTitle() + "」");
         log.info("变更请求删除成功, id={}", changeRequestId);
     }
 
@@ -305,6 +321,18 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             throw new BusinessException(ResultCode.PARAM_ERROR, "审批决定无效");
         }
 
+        // 由审批流程管理的变更请求：当前阶段的待审批人各自审批，按阶段规则推进
+        if (approvalWorkflowEngine.hasWorkflow(changeRequestId)) {
+            // 提交后被移出项目或降级的审批人不能再审批
+            if (!permissionService.canApproveChangeRequest(userId, changeRequestId)) {
+                throw new BusinessException(ResultCode.FORBIDDEN, "您无权审批此变更请求，需要项目管理员权限");
+            }
+            ApprovalWorkflowEngine.ApprovalResult result =
+                    approvalWorkflowEngine.decide(changeRequestId, userId, "APPROVED".equals(decision), comments);
+            log.info("变更请求审批决定已记录, id={}, result={}", changeRequestId, result);
+            return;
+        }
+
         // 权限检查：只有项目管理员可以审批变更请求
         if (!permissionService.canApproveChangeRequest(userId, changeRequestId)) {
             throw new BusinessException(ResultCode.FORBIDDEN, "您无权审批此变更请求，需要项目管理员权限");
@@ -333,6 +361,8 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             throw new BusinessException(ResultCode.OPERATION_FAILED, "审批变更请求失败");
         }
 
+        publishEvent(changeRequest, "CHANGE_REQUEST_" + newStatus, userId,
+                (ChangeRequestStatus.APPROVED.getCode().equals(newStatus) ? "批准" : "拒绝") + "变更请求「" + changeRequest.getTitle() + "」");
         log.info("变更请求审批完成, id={}, status={}", changeRequestId, newStatus);
     }
 
@@ -355,6 +385,7 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public List<ChangeRequestImpact> analyzeChangeRequestImpact(Long changeRequestId, boolean forceRefresh) {
         log.info("执行变更请求影响分析, changeRequestId={}, forceRefresh={}", changeRequestId, forceRefresh);
 
@@ -374,35 +405,33 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             return existingImpacts;
         }
 
-        // 执行智能影响分析
-        // 当前使用基础分析算法，未来可扩展为：
-        // 1. 基于机器学习的影响预测模型
-        // 2. 代码依赖关系分析（AST解析）
-        // 3. 历史变更数据挖掘
-        // 4. 风险评估算法
-        List<ChangeRequestImpact> impacts = performBasicImpactAnalysis(changeRequest);
+        // 已人工验证的结果作为传播起点，重新分析时保留
+        List<ChangeRequestImpact> verifiedImpacts = changeRequestImpactMapper.selectVerified(changeRequestId);
+        List<ChangeRequestImpact> impacts = changeImpactAnalyzer.analyze(changeRequest, verifiedImpacts);
 
-        // 保存分析结果
-        if (forceRefresh) {
-            // 删除旧的分析结果
-            LambdaQueryWrapper<ChangeRequestImpact> deleteWrapper = new LambdaQueryWrapper<ChangeRequestImpact>()
-                    .eq(ChangeRequestImpact::getChangeRequestId, changeRequestId);
-            changeRequestImpactMapper.delete(deleteWrapper);
+        // 删除旧的未验证分析结果
+        if (!existingImpacts.isEmpty()) {
+            changeRequestImpactMapper.deleteUnverified(changeRequestId);
         }
 
-        // 保存新的分析结果
+        // 一条语句批量保存新的分析结果
         if (!impacts.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
             for (ChangeRequestImpact impact : impacts) {
                 impact.setChangeRequestId(changeRequestId);
                 impact.setCreatorId(changeRequest.getRequesterId());
                 impact.setUpdaterId(changeRequest.getRequesterId());
+                impact.setCreateTime(now);
                 impact.setDeleted(false);
-                changeRequestImpactMapper.insert(impact);
             }
+            changeRequestImpactMapper.insertBatch(impacts);
         }
 
-        log.info("变更请求影响分析完成, changeRequestId={}, impactCount={}", changeRequestId, impacts.size());
-        return impacts;
+        log.info("变更请求影响分析完成, changeRequestId={}, verifiedCount={}, impactCount={}",
+                changeRequestId, verifiedImpacts.size(), impacts.size());
+        List<ChangeRequestImpact> result = new ArrayList<>(verifiedImpacts);
+        result.addAll(impacts);
+        return result;
     }
 
     @Override
@@ -420,6 +449,7 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
 
         // 更新验证状态
         impact.setIsValid(isValid);
+        impact.setIsVerified(true);
         impact.setVerifiedBy(userId);
         impact.setVerifiedAt(LocalDateTime.now());
         impact.setUpdaterId(userId);
@@ -439,7 +469,34 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
 
     @Override
     public PageResult<ChangeRequest> listPendingApprovalChangeRequests(Long reviewerId, Integer page, Integer size) {
-        return listChangeRequests(null, page, size, ChangeRequestStatus.UNDER_REVIEW.getCode(), null, null, null, null, reviewerId, null, null);
+        if (page == null || page < 1) {
+            page = 1;
+        }
+        if (size == null || size < 1) {
+            size = 20;
+        }
+        if (reviewerId == null) {
+            return PageResult.of(List.of(), 0L, page, size);
+        }
+
+        // 按审批人待办索引分页，再按ID批量加载，保持待办顺序
+        long total = approvalInboxMapper.countPending(reviewerId);
+        if (total == 0) {
+            return PageResult.of(List.of(), 0L, page, size);
+        }
+        List<Long> ids = approvalInboxMapper.selectPendingChangeRequestIds(reviewerId, (long) (page - 1) * size, size);
+        List<ChangeRequest> list = new ArrayList<>(ids.size());
+        if (!ids.isEmpty()) {
+            Map<Long, ChangeRequest> byId = changeRequestMapper.selectBatchIds(ids).stream()
+                    .collect(Collectors.toMap(ChangeRequest::getId, Function.identity()));
+            for (Long id : ids) {
+                ChangeRequest changeRequest = byId.get(id);
+                if (changeRequest != null) {
+                    list.add(changeRequest);
+                }
+            }
+        }
+        return PageResult.of(list, total, page, size);
     }
 
     @Override
@@ -472,11 +529,7 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
         if (reviewerId == null) {
             return 0;
         }
-        LambdaQueryWrapper<ChangeRequest> wrapper = new LambdaQueryWrapper<ChangeRequest>()
-                .eq(ChangeRequest::getReviewerId, reviewerId)
-                .eq(ChangeRequest::getStatus, ChangeRequestStatus.UNDER_REVIEW.getCode())
-                .eq(ChangeRequest::getDeleted, false);
-        return Math.toIntExact(changeRequestMapper.selectCount(wrapper));
+        return approvalInboxMapper.countPending(reviewerId);
     }
 
     @Override
@@ -515,14 +568,26 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             return false;
         }
 
+        // 由审批流程管理时，当前阶段的待审批人可以审批
+        if (approvalWorkflowEngine.hasWorkflow(changeRequestId)) {
+            return approvalWorkflowEngine.isPendingApprover(changeRequestId, userId);
+        }
+
         // 只有项目负责人可以审批
         Project project = projectService.getById(changeRequest.getProjectId());
         return project != null && project.getOwnerId().equals(userId);
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void submitChangeRequest(Long changeRequestId, Long userId) {
-        log.info("提交变更请求, id={}, userId={}", changeRequestId, userId);
+        submitChangeRequest(changeRequestId, null, userId);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void submitChangeRequest(Long changeRequestId, List<ApprovalStageSpec> stages, Long userId) {
+        log.info("提交变更请求, id={}, userId={}, stages={}", changeRequestId, userId, stages == null ? 0 : stages.size());
 
         if (changeRequestId == null) {
             throw new BusinessException(ResultCode.PARAM_ERROR, "变更请求ID不能为空");
@@ -544,6 +609,14 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             throw new BusinessException(ResultCode.OPERATION_FAILED, "只有草稿状态的变更请求可以提交");
         }
 
+        // 未指定阶段时由审核人（不可用时为项目负责人）单人审批
+        List<ApprovalStageSpec> approvalStages = stages;
+        if (approvalStages == null || approvalStages.isEmpty()) {
+            approvalStages = List.of(defaultApprovalStage(changeRequest));
+        } else {
+            validateApprovers(changeRequest, approvalStages);
+        }
+
         // 更新状态为待审批
         changeRequest.setStatus(ChangeRequestStatus.UNDER_REVIEW.getCode());
         changeRequest.setUpdaterId(userId);
@@ -553,6 +626,9 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             throw new BusinessException(ResultCode.OPERATION_FAILED, "提交变更请求失败");
         }
 
+        approvalWorkflowEngine.start(changeRequest, approvalStages, userId);
+
+        publishEvent(changeRequest, "CHANGE_REQUEST_SUBMITTED", userId, "提交变更请求「" + changeRequest.getTitle() + "」");
         log.info("变更请求提交成功, id={}", changeRequestId);
     }
 
@@ -584,6 +660,7 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             throw new BusinessException(ResultCode.OPERATION_FAILED, "实施变更请求失败");
         }
 
+        publishEvent(changeRequest, "CHANGE_REQUEST_IMPLEMENTED", userId, "实施变更请求「" + changeRequest.getTitle() + "」");
         log.info("变更请求实施成功, id={}", changeRequestId);
     }
 
@@ -620,6 +697,7 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             throw new BusinessException(ResultCode.OPERATION_FAILED, "关闭变更请求失败");
         }
 
+        publishEvent(changeRequest, "CHANGE_REQUEST_CLOSED", userId, "关闭变更请求「" + changeRequest.getTitle() + "」");
         log.info("变更请求关闭成功, id={}", changeRequestId);
     }
 
@@ -656,9 +734,55 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
             throw new BusinessException(ResultCode.OPERATION_FAILED, "重新打开变更请求失败");
         }
 
+        publishEvent(changeRequest, "CHANGE_REQUEST_REOPENED", userId, "重新打开变更请求「" + changeRequest.getTitle() + "」");
         log.info("变更请求重新打开成功, id={}", changeRequestId);
     }
 
+    private void publishEvent(ChangeRequest changeRequest, String action, Long operatorId, String summary) {
+        eventPublisher.publishEvent(DomainEvent.of(AggregateType.CHANGE_REQUEST, changeRequest.getId(),
+                changeRequest.getProjectId(), action, operatorId, summary));
+    }
+
+    /**
+     * 校验提交时指定的审批人：必须是项目中有审批权限的成员，且不能是请求人本人
+     */
+    private void validateApprovers(ChangeRequest changeRequest, List<ApprovalStageSpec> stages) {
+        for (ApprovalStageSpec stage : stages) {
+            if (stage == null || stage.approverIds() == null) {
+                continue;
+            }
+            for (Long approverId : stage.approverIds()) {
+                if (approverId == null) {
+                    continue;
+                }
+                if (approverId.equals(changeRequest.getRequesterId())) {
+                    throw new BusinessException(ResultCode.PARAM_ERROR, "审批人不能包含变更请求人");
+                }
+                if (!permissionService.isProjectAdmin(approverId, changeRequest.getProjectId())) {
+                    throw new BusinessException(ResultCode.PARAM_ERROR,
+                            "审批人[" + approverId + "]没有该项目的审批权限");
+                }
+            }
+        }
+    }
+
+    private ApprovalStageSpec defaultApprovalStage(ChangeRequest changeRequest) {
+        Long approverId = changeRequest.getReviewerId();
+        // 审核人由请求人填写，只有具备审批权限的他人才能作为审批人
+        if (approverId != null && (approverId.equals(changeRequest.getRequesterId())
+                || !permissionService.isProjectAdmin(approverId, changeRequest.getProjectId()))) {
+            approverId = null;
+        }
+        if (approverId == null) {
+            Project project = projectService.getById(changeRequest.getProjectId());
+            approverId = project != null ? project.getOwnerId() : null;
+        }
+        if (approverId == null) {
+            throw new BusinessException(ResultCode.OPERATION_FAILED, "变更请求没有可用的审批人");
+        }
+        return new ApprovalStageSpec(null, List.of(approverId), 1, null);
+    }
+
     @Override
     public List<ChangeRequestApproval> getChangeRequestApprovalHistory(Long changeRequestId) {
         log.debug("查询变更请求审批历史, changeRequestId={}", changeRequestId);
@@ -668,7 +792,9 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
         }
 
         try {
-            List<ChangeRequestApproval> approvals = changeRequestApprovalMapper.findByChangeRequestId(changeRequestId);
+            // 审批流程中的决定与旧的审批记录合并
+            List<ChangeRequestApproval> approvals = new ArrayList<>(approvalInboxMapper.selectDecisions(changeRequestId));
+            approvals.addAll(changeRequestApprovalMapper.findByChangeRequestId(changeRequestId));
             log.debug("查询审批历史成功, changeRequestId={}, count={}", changeRequestId, approvals.size());
             return approvals;
         } catch (Exception e) {
@@ -792,36 +918,4 @@ public class ChangeRequestServiceImpl implements IChangeRequestService {
                 .eq(ChangeRequest::getDeleted, false);
         return Math.toIntExact(changeRequestMapper.selectCount(wrapper));
     }
-
-    /**
-     * 执行基础影响分析（简化版）
-     */
-    private List<ChangeRequestImpact> performBasicImpactAnalysis(ChangeRequest changeRequest) {
-        // 这里应该调用更复杂的智能分析算法
-        // 目前返回一些基础的影响分析结果
-
-        ChangeRequestImpact impact1 = new ChangeRequestImpact();
-        impact1.setEntityType("DOCUMENT");
-        impact1.setEntityTitle("项目文档");
-        impact1.setImpactDescription("可能需要更新相关文档");
-        impact1.setImpactLevel("MEDIUM");
-        impact1.setConfidenceScore(0.85);
-        impact1.setIsVerified(false);
-        impact1.setAnalysisVersion("v1.0");
-        impact1.setAnalysisDetails("{\"type\": \"document_update\", \"effort\": 4}");
-        impact1.setIsValid(true);
-
-        ChangeRequestImpact impact2 = new ChangeRequestImpact();
-        impact2.setEntityType("TASK");
-        impact2.setEntityTitle("项目任务");
-        impact2.setImpactDescription("可能影响相关任务的执行");
-        impact2.setImpactLevel("HIGH");
-        impact2.setConfidenceScore(0.75);
-        impact2.setIsVerified(false);
-        impact2.setAnalysisVersion("v1.0");
-        impact2.setAnalysisDetails("{\"type\": \"task_dependency\", \"effort\": 8}");
-        impact2.setIsValid(true);
-
-        return List.of(impact1, impact2);
-    }
 }
@@ -7,6 +7,8 @@ import com.promanage.common.result.PageResult;
 import com.promanage.common.domain.ResultCode;
 import com.promanage.common.exception.BusinessException;
 import com.promanage.service.entity.DocumentFolder;
+import com.promanage.service.folder.FolderPaths;
+import com.promanage.service.folder.FolderTreeCache;
 import com.promanage.service.mapper.DocumentFolderMapper;
 import com.promanage.service.service.IDocumentFolderService;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +35,7 @@ import java.util.stream.Collectors;
 public class DocumentFolderServiceImpl implements IDocumentFolderService {
 
     private final DocumentFolderMapper documentFolderMapper;
+    private final FolderTreeCache folderTreeCache;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -49,9 +52,13 @@ public class DocumentFolderServiceImpl implements IDocumentFolderService {
         if (folder.getSortOrder() == null) {
             folder.setSortOrder(0);
         }
+        String parentPath = parentPathOf(folder.getParentId(), folder.getProjectId());
 
-        // 保存文件夹
+        // 保存文件夹，路径包含自身ID，插入后补写
         documentFolderMapper.insert(folder);
+        folder.setPath(FolderPaths.childPath(parentPath, folder.getId()));
+        documentFolderMapper.updatePath(folder.getId(), folder.getPath());
+        folderTreeCache.invalidateAfterCommit(folder.getProjectId());
 
         log.info("创建文档文件夹成功, id={}, name={}", folder.getId(), folder.getName());
         return folder.getId();
@@ -89,18 +96,31 @@ public class DocumentFolderServiceImpl implements IDocumentFolderService {
         if (StringUtils.isNotBlank(folder.getDescription())) {
             existingFolder.setDescription(folder.getDescription());
         }
-        if (folder.getProjectId() != null) {
-            existingFolder.setProjectId(folder.getProjectId());
-        }
-        if (folder.getParentId() != null) {
-            existingFolder.setParentId(folder.getParentId());
+        if (folder.getProjectId() != null && !folder.getProjectId().equals(existingFolder.getProjectId())) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "不支持将文件夹移动到其他项目");
         }
         if (folder.getSortOrder() != null) {
             existingFolder.setSortOrder(folder.getSortOrder());
         }
 
-        // 保存更新
+        String oldPath = existingFolder.getPath();
+        boolean moved = folder.getParentId() != null && !folder.getParentId().equals(existingFolder.getParentId());
+        if (moved) {
+            String parentPath = parentPathOf(folder.getParentId(), existingFolder.getProjectId());
+            if (FolderPaths.isWithin(parentPath, oldPath)) {
+                throw new BusinessException(ResultCode.PARAM_ERROR, "不能将文件夹移动到自身或其子文件夹下");
+            }
+            existingFolder.setParentId(folder.getParentId());
+            existingFolder.setPath(FolderPaths.childPath(parentPath, id));
+        }
+
+        // 保存更新，移动时用一条语句替换整个子树的路径前缀
         documentFolderMapper.updateById(existingFolder);
+        if (moved && oldPath != null) {
+            int descendants = documentFolderMapper.replacePathPrefix(existingFolder.getProjectId(), oldPath, existingFolder.getPath());
+            log.info("移动文件夹, id={}, from={}, to={}, descendants={}", id, oldPath, existingFolder.getPath(), descendants);
+        }
+        folderTreeCache.invalidateAfterCommit(existingFolder.getProjectId());
 
         log.info("更新文档文件夹成功, id={}", id);
     }
@@ -111,7 +131,7 @@ public class DocumentFolderServiceImpl implements IDocumentFolderService {
         log.info("删除文档文件夹, id={}", id);
 
         // 检查文件夹是否存在
-        getFolderById(id);
+        DocumentFolder folder = getFolderById(id);
 
         // 检查文件夹下是否有子文件夹
         List<DocumentFolder> childFolders = documentFolderMapper.findByParentId(id);
@@ -127,6 +147,7 @@ public class DocumentFolderServiceImpl implements IDocumentFolderService {
 
         // 逻辑删除文件夹
         documentFolderMapper.deleteById(id);
+        folderTreeCache.invalidateAfterCommit(folder.getProjectId());
 
         log.info("删除文档文件夹成功, id={}", id);
     }
@@ -176,11 +197,29 @@ public class DocumentFolderServiceImpl implements IDocumentFolderService {
             throw new BusinessException(ResultCode.PARAM_ERROR, "项目ID不能为空");
         }
 
-        // 查询项目的所有文件夹
-        List<DocumentFolder> allFolders = listByProjectId(projectId);
+        return folderTreeCache.getTree(projectId);
+    }
 
-        // 构建树形结构
-        return buildFolderTree(allFolders);
+    @Override
+    public List<DocumentFolder> listSubtree(Long folderId) {
+        DocumentFolder folder = getFolderById(folderId);
+        if (folder.getPath() == null) {
+            return List.of(folder);
+        }
+        LambdaQueryWrapper<DocumentFolder> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(DocumentFolder::getProjectId, folder.getProjectId())
+                .likeRight(DocumentFolder::getPath, folder.getPath())
+                .orderByAsc(DocumentFolder::getPath);
+        return documentFolderMapper.selectList(queryWrapper);
+    }
+
+    @Override
+    public int countDocumentsInSubtree(Long folderId) {
+        DocumentFolder folder = getFolderById(folderId);
+        if (folder.getPath() == null) {
+            return documentFolderMapper.countDocumentsInFolder(folderId);
+        }
+        return documentFolderMapper.countDocumentsInSubtree(folder.getProjectId(), folder.getPath());
     }
 
     @Override
@@ -267,66 +306,23 @@ public class DocumentFolderServiceImpl implements IDocumentFolderService {
     }
 
     /**
-     * 构建文件夹树形结构
+     * 父文件夹路径，同时校验父文件夹属于同一项目
      *
-     * @param folders 文件夹列表
-     * @return 树形结构列表
+     * @param parentId  父文件夹ID，0表示根目录
+     * @param projectId 项目ID
+     * @return 父文件夹路径
      */
-    private List<IDocumentFolderService.DocumentFolderTreeNode> buildFolderTree(List<DocumentFolder> folders) {
-        if (folders == null || folders.isEmpty()) {
-            return Collections.emptyList();
+    private String parentPathOf(Long parentId, Long projectId) {
+        if (parentId == null || parentId == 0) {
+            return FolderPaths.ROOT;
         }
-
-        // 转换为TreeNode列表
-        List<IDocumentFolderService.DocumentFolderTreeNode> nodes = folders.stream()
-                .map(this::convertToTreeNode)
-                .collect(Collectors.toList());
-
-        // 构建父子关系
-        Map<Long, IDocumentFolderService.DocumentFolderTreeNode> nodeMap = new HashMap<>();
-        List<IDocumentFolderService.DocumentFolderTreeNode> rootNodes = new ArrayList<>();
-
-        // 建立ID到节点的映射
-        for (IDocumentFolderService.DocumentFolderTreeNode node : nodes) {
-            nodeMap.put(node.getId(), node);
+        DocumentFolder parent = getFolderById(parentId);
+        if (!Objects.equals(parent.getProjectId(), projectId)) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "父文件夹不属于当前项目");
         }
-
-        // 构建树形结构
-        for (IDocumentFolderService.DocumentFolderTreeNode node : nodes) {
-            Long parentId = node.getParentId();
-            if (parentId == null || parentId == 0) {
-                // 根节点
-                rootNodes.add(node);
-            } else {
-                // 子节点
-                IDocumentFolderService.DocumentFolderTreeNode parentNode = nodeMap.get(parentId);
-                if (parentNode != null) {
-                    if (parentNode.getChildren() == null) {
-                        parentNode.setChildren(new ArrayList<>());
-                    }
-                    parentNode.getChildren().add(node);
-                }
-            }
+        if (parent.getPath() == null) {
+            throw new BusinessException(ResultCode.INTERNAL_SERVER_ERROR, "父文件夹缺少路径信息");
         }
-
-        return rootNodes;
-    }
-
-    /**
-     * 将DocumentFolder转换为DocumentFolderTreeNode
-     *
-     * @param folder 文件夹实体
-     * @return 树节点
-     */
-    private IDocumentFolderService.DocumentFolderTreeNode convertToTreeNode(DocumentFolder folder) {
-        IDocumentFolderService.DocumentFolderTreeNode node = new IDocumentFolderService.DocumentFolderTreeNode();
-        node.setId(folder.getId());
-        node.setName(folder.getName());
-        node.setDescription(folder.getDescription());
-        node.setProjectId(folder.getProjectId());
-        node.setParentId(folder.getParentId());
-        // 获取文件夹下的文档数量
-        node.setDocumentCount(documentFolderMapper.countDocumentsInFolder(folder.getId()));
-        return node;
+        return parent.getPath();
     }
 }
@@ -22,6 +22,7 @@ import com.promanage.service.entity.Project;
 import com.promanage.service.entity.Tag;
 import com.promanage.service.mapper.DocumentMapper;
 import com.promanage.service.mapper.DocumentVersionMapper;
+import com.promanage.service.pagination.KeysetPager;
 import com.promanage.service.service.IDocumentFolderService;
 import com.promanage.service.service.IDocumentService;
 import com.promanage.service.service.IDocumentTagService;
@@ -39,6 +40,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -126,6 +128,28 @@ public class DocumentServiceImpl implements IDocumentService {
         return PageResult.of(result.getRecords(), result.getTotal(), page, pageSize);
     }
 
+    @Override
+    public PageResult<Document> listDocumentsByCursor(Long projectId, String type, Integer status,
+                                                      String cursor, Integer pageSize, boolean withTotal,
+                                                      Long userId) {
+        log.info("游标分页查询文档列表, projectId={}, type={}, status={}, cursor={}, pageSize={}, userId={}",
+                projectId, type, status, cursor, pageSize, userId);
+
+        if (projectId == null) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "项目ID不能为空");
+        }
+        validateProjectAccess(projectId, userId);
+
+        // 更新时间会变化，按不变的创建时间定位，文档更新后不会在翻页时重复或遗漏
+        return KeysetPager.page(documentMapper,
+                () -> new LambdaQueryWrapper<Document>()
+                        .eq(Document::getProjectId, projectId)
+                        .isNull(Document::getDeletedAt)
+                        .eq(StringUtils.isNotBlank(type), Document::getType, type)
+                        .eq(status != null, Document::getStatus, status),
+                Document::getCreateTime, Document::getId, cursor, pageSize, withTotal);
+    }
+
     public List<Document> searchByKeyword(String keyword) {
         log.info("搜索文档, keyword={}", keyword);
 
@@ -1060,9 +1084,32 @@ public class DocumentServiceImpl implements IDocumentService {
             validateProjectAccess(projectId, userId);
         }
 
-        // TODO: 实现文件夹树形结构获取逻辑
-        // 需要实现DocumentFolderDTO和相关的转换逻辑
-        return List.of();
+        if (projectId == null) {
+            return List.of();
+        }
+        return convertTreeNodesToDtos(documentFolderService.getFolderTree(projectId));
+    }
+
+    /**
+     * 将缓存的文件夹树复制为DTO，缓存中的节点不暴露给调用方
+     */
+    private List<DocumentFolderDTO> convertTreeNodesToDtos(List<IDocumentFolderService.DocumentFolderTreeNode> treeNodes) {
+        if (treeNodes == null || treeNodes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<DocumentFolderDTO> dtos = new ArrayList<>(treeNodes.size());
+        for (IDocumentFolderService.DocumentFolderTreeNode node : treeNodes) {
+            DocumentFolderDTO dto = new DocumentFolderDTO();
+            dto.setId(node.getId());
+            dto.setName(node.getName());
+            dto.setDescription(node.getDescription());
+            dto.setParentId(node.getParentId());
+            dto.setProjectId(node.getProjectId());
+            dto.setDocumentCount(node.getDocumentCount());
+            dto.setChildren(convertTreeNodesToDtos(node.getChildren()));
+            dtos.add(dto);
+        }
+        return dtos;
     }
 
     @Override
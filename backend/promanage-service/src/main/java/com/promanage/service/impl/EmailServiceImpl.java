@@ -1,19 +1,31 @@
 package com.promanage.service.impl;
 
+import com.promanage.common.domain.ResultCode;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.service.entity.MailMessage;
+import com.promanage.service.mail.MailTemplate;
+import com.promanage.service.mapper.MailQueueMapper;
 import com.promanage.service.service.IEmailService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 邮件服务实现类
+ * <p>
+ * 邮件不在调用线程上直接发送，而是写入持久化邮件队列（tb_mail_queue），
+ * 由 {@link com.promanage.service.mail.MailDispatcher} 复用SMTP连接批量投递，失败时按退避策略重试。
+ * </p>
  *
  * @author ProManage Team
  * @version 1.0
@@ -24,71 +36,10 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class EmailServiceImpl implements IEmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-
-    @Value("${spring.application.name:ProManage}")
-    private String applicationName;
-
-    @Override
-    @Async
-    public void sendSimpleEmail(String to, String subject, String content) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(content);
-
-            mailSender.send(message);
-            log.info("发送简单邮件成功, to={}, subject={}", to, subject);
-        } catch (Exception e) {
-            log.error("发送简单邮件失败, to={}, subject={}", to, subject, e);
-            throw new RuntimeException("邮件发送失败: " + e.getMessage(), e);
-        }
-    }
-
-    @Override
-    @Async
-    public void sendHtmlEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-            log.info("发送HTML邮件成功, to={}, subject={}", to, subject);
-        } catch (MessagingException e) {
-            log.error("发送HTML邮件失败, to={}, subject={}", to, subject, e);
-            throw new RuntimeException("邮件发送失败: " + e.getMessage(), e);
-        }
-    }
-
-    @Override
-    public void sendPasswordResetCode(String to, String code) {
-        String subject = applicationName + " - 密码重置验证码";
-        String htmlContent = buildPasswordResetEmailHtml(code);
-        sendHtmlEmail(to, subject, htmlContent);
-    }
-
-    @Override
-    public void sendWelcomeEmail(String to, String username) {
-        String subject = "欢迎加入 " + applicationName;
-        String htmlContent = buildWelcomeEmailHtml(username);
-        sendHtmlEmail(to, subject, htmlContent);
-    }
-
     /**
-     * 构建密码重置邮件HTML内容
+     * 密码重置邮件模板
      */
-    private String buildPasswordResetEmailHtml(String code) {
-        return """
+    private static final MailTemplate PASSWORD_RESET_TEMPLATE = MailTemplate.compile("""
                 <!DOCTYPE html>
                 <html>
                 <head>
@@ -107,33 +58,31 @@ public class EmailServiceImpl implements IEmailService {
                 <body>
                     <div class="container">
                         <div class="header">
-                            <h1>%s</h1>
+                            <h1>{{appName}}</h1>
                             <p>密码重置验证码</p>
                         </div>
                         <div class="content">
                             <p>您好，</p>
                             <p>您正在进行密码重置操作，您的验证码为：</p>
                             <div class="code-box">
-                                <div class="code">%s</div>
+                                <div class="code">{{code}}</div>
                             </div>
                             <p>此验证码将在 <strong>5分钟</strong> 内有效，请尽快使用。</p>
                             <p class="warning">⚠️ 如果这不是您本人的操作，请忽略此邮件或立即联系管理员。</p>
                         </div>
                         <div class="footer">
                             <p>此邮件由系统自动发送，请勿直接回复。</p>
-                            <p>&copy; 2025 %s. All rights reserved.</p>
+                            <p>&copy; 2025 {{appName}}. All rights reserved.</p>
                         </div>
                     </div>
                 </body>
                 </html>
-                """.formatted(applicationName, code, applicationName);
-    }
+                """);
 
     /**
-     * 构建欢迎邮件HTML内容
+     * 欢迎邮件模板
      */
-    private String buildWelcomeEmailHtml(String username) {
-        return """
+    private static final MailTemplate WELCOME_TEMPLATE = MailTemplate.compile("""
                 <!DOCTYPE html>
                 <html>
                 <head>
@@ -150,11 +99,11 @@ public class EmailServiceImpl implements IEmailService {
                 <body>
                     <div class="container">
                         <div class="header">
-                            <h1>欢迎加入 %s</h1>
+                            <h1>欢迎加入 {{appName}}</h1>
                         </div>
                         <div class="content">
-                            <p>亲爱的 <strong>%s</strong>，</p>
-                            <p>欢迎加入 %s 智能项目管理系统！</p>
+                            <p>亲爱的 <strong>{{username}}</strong>，</p>
+                            <p>欢迎加入 {{appName}} 智能项目管理系统！</p>
                             <p>通过我们的平台，您可以：</p>
                             <ul>
                                 <li>📋 统一知识库管理</li>
@@ -169,11 +118,126 @@ public class EmailServiceImpl implements IEmailService {
                         </div>
                         <div class="footer">
                             <p>如有任何问题，请联系我们的技术支持团队。</p>
+                            <p>&copy; 2025 {{appName}}. All rights reserved.</p>
+                        </div>
+                    </div>
+                </body>
+                </html>
+                """);
+
+    private final MailQueueMapper mailQueueMapper;
+
+    @Value("${spring.application.name:ProManage}")
+    private String applicationName;
+
+    /**
+     * 绑定应用名称后的预编译模板，发送时只需填充验证码或用户名
+     */
+    private MailTemplate passwordResetTemplate;
+    private MailTemplate welcomeTemplate;
+
+    @PostConstruct
+    public void compileTemplates() {
+        Map<String, String> constants = Map.of("appName", applicationName);
+        passwordResetTemplate = PASSWORD_RESET_TEMPLATE.bind(constants);
+        welcomeTemplate = WELCOME_TEMPLATE.bind(constants);
+    }
+
+    @Override
+    public void sendSimpleEmail(String to, String subject, String content) {
+        enqueue(to, subject, content, false);
+    }
+
+    @Override
+    public void sendHtmlEmail(String to, String subject, String htmlContent) {
+        enqueue(to, subject, htmlContent, true);
+    }
+
+    @Override
+    public void sendPasswordResetCode(String to, String code) {
+        String subject = applicationName + " - 密码重置验证码";
+        String htmlContent = passwordResetTemplate.render(Map.of("code", code));
+        sendHtmlEmail(to, subject, htmlContent);
+    }
+
+    @Override
+    public void sendWelcomeEmail(String to, String username) {
+        String subject = "欢迎加入 " + applicationName;
+        String htmlContent = welcomeTemplate.render(Map.of("username", username));
+        sendHtmlEmail(to, subject, htmlContent);
+    }
+
+    @Override
+    public void sendNotificationDigest(String to, String username, List<String> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        String subject = applicationName + " - 您有 " + entries.size() + " 条新通知";
+        String htmlContent = buildNotificationDigestHtml(username, entries);
+        sendHtmlEmail(to, subject, htmlContent);
+    }
+
+    /**
+     * 将邮件写入发送队列
+     */
+    private void enqueue(String to, String subject, String content, boolean html) {
+        if (StringUtils.isBlank(to) || to.indexOf('@') < 0) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "收件人邮箱格式不正确");
+        }
+
+        MailMessage message = new MailMessage();
+        message.setRecipient(to.trim());
+        message.setRecipientDomain(to.substring(to.lastIndexOf('@') + 1).trim().toLowerCase(Locale.ROOT));
+        message.setSubject(subject);
+        message.setContent(content);
+        message.setHtml(html);
+        message.setStatus(MailMessage.STATUS_PENDING);
+        message.setAttempts(0);
+        message.setNextAttemptAt(LocalDateTime.now());
+        mailQueueMapper.insert(message);
+        log.info("邮件已加入发送队列, id={}, to={}, subject={}", message.getId(), to, subject);
+    }
+
+    /**
+     * 构建通知摘要邮件HTML内容
+     */
+    private String buildNotificationDigestHtml(String username, List<String> entries) {
+        String items = entries.stream()
+                .map(entry -> "<li>" + HtmlUtils.htmlEscape(entry) + "</li>")
+                .collect(Collectors.joining("\n"));
+        return """
+                <!DOCTYPE html>
+                <html>
+                <head>
+                    <meta charset="UTF-8">
+                    <style>
+                        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                        .header { background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
+                        .content { background: #f9f9f9; padding: 30px; border-radius: 0 0 10px 10px; }
+                        .footer { text-align: center; color: #888; margin-top: 30px; font-size: 12px; }
+                    </style>
+                </head>
+                <body>
+                    <div class="container">
+                        <div class="header">
+                            <h1>%s</h1>
+                            <p>通知摘要</p>
+                        </div>
+                        <div class="content">
+                            <p>亲爱的 <strong>%s</strong>，</p>
+                            <p>自上次摘要以来，您共有 %d 条新通知：</p>
+                            <ul>
+                %s
+                            </ul>
+                        </div>
+                        <div class="footer">
+                            <p>此邮件由系统自动发送，请勿直接回复。</p>
                             <p>&copy; 2025 %s. All rights reserved.</p>
                         </div>
                     </div>
                 </body>
                 </html>
-                """.formatted(applicationName, username, applicationName, applicationName);
+                """.formatted(applicationName, HtmlUtils.htmlEscape(username != null ? username : ""), entries.size(), items, applicationName);
     }
 }
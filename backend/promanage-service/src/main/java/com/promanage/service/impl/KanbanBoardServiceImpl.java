@@ -0,0 +1,282 @@
+package com.promanage.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.promanage.common.entity.User;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.service.board.KanbanBoard;
+import com.promanage.service.dependency.AfterCommit;
+import com.promanage.service.dto.TaskChildCount;
+import com.promanage.service.dto.response.KanbanBoardDTO;
+import com.promanage.service.dto.response.KanbanCardDTO;
+import com.promanage.service.entity.Project;
+import com.promanage.service.entity.Task;
+import com.promanage.service.mapper.ProjectMapper;
+import com.promanage.service.mapper.TaskCheckItemMapper;
+import com.promanage.service.mapper.TaskCommentMapper;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.mapper.UserMapper;
+import com.promanage.service.service.IKanbanBoardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 项目看板服务实现
+ * <p>
+ * 看板首次访问时用四条查询（任务、指派人、检查项计数、评论计数）构建并缓存，
+ * 之后由写操作在事务提交后按任务ID刷新卡片，读请求直接从内存返回完整看板或增量。
+ * 构建期间提交的变更先记录下来，看板放入缓存后重放；缓存按最近访问保留有限数量的看板。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KanbanBoardServiceImpl implements IKanbanBoardService {
+
+    /**
+     * 每个看板保留的删除记录上限
+     */
+    private static final int MAX_TOMBSTONES = 1000;
+
+    /**
+     * 缓存的看板数量上限
+     */
+    static final int MAX_BOARDS = 200;
+
+    private final TaskMapper taskMapper;
+    private final UserMapper userMapper;
+    private final TaskCheckItemMapper taskCheckItemMapper;
+    private final TaskCommentMapper taskCommentMapper;
+    private final ProjectMapper projectMapper;
+
+    /**
+     * 已缓存的看板，按访问顺序淘汰；与 {@link #builds} 一起由该对象的锁保护
+     */
+    private final Map<Long, KanbanBoard> boards = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, KanbanBoard> eldest) {
+            return size() > MAX_BOARDS;
+        }
+    };
+
+    /**
+     * 正在构建的看板
+     */
+    private final List<PendingBuild> builds = new ArrayList<>();
+
+    /**
+     * 构建中的看板：记录构建期间提交的任务变更，构建完成后重放
+     */
+    private static final class PendingBuild {
+        private final Long projectId;
+        private final Set<Long> changedTaskIds = new HashSet<>();
+        private boolean invalidated;
+
+        private PendingBuild(Long projectId) {
+            this.projectId = projectId;
+        }
+    }
+
+    @Override
+    public KanbanBoardDTO getBoard(Long projectId, String epoch, Long sinceVersion) {
+        KanbanBoard board;
+        synchronized (boards) {
+            board = boards.get(projectId);
+        }
+        if (board == null) {
+            board = loadBoard(projectId);
+        }
+        return board.read(epoch, sinceVersion);
+    }
+
+    @Override
+    public void onTasksChanged(Collection<Long> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(taskIds);
+        AfterCommit.run(() -> refresh(ids));
+    }
+
+    @Override
+    public void invalidate(Long projectId) {
+        if (projectId != null) {
+            synchronized (boards) {
+                boards.remove(projectId);
+                builds.stream()
+                        .filter(build -> build.projectId.equals(projectId))
+                        .forEach(build -> build.invalidated = true);
+            }
+        }
+    }
+
+    /**
+     * 构建看板并放入缓存，重放构建期间提交的变更；构建期间被失效的看板只用于本次请求
+     */
+    private KanbanBoard loadBoard(Long projectId) {
+        PendingBuild build = new PendingBuild(projectId);
+        synchronized (boards) {
+            builds.add(build);
+        }
+        KanbanBoard board;
+        Set<Long> missed;
+        try {
+            board = buildBoard(projectId);
+        } finally {
+            synchronized (boards) {
+                builds.remove(build);
+            }
+        }
+        synchronized (boards) {
+            if (build.invalidated) {
+                return board;
+            }
+            KanbanBoard existing = boards.get(projectId);
+            if (existing != null) {
+                return existing;
+            }
+            boards.put(projectId, board);
+            missed = new HashSet<>(build.changedTaskIds);
+        }
+        if (!missed.isEmpty()) {
+            refresh(missed);
+        }
+        return board;
+    }
+
+    /**
+     * 重新加载指定任务的卡片；已删除的任务从所在看板移除
+     */
+    private void refresh(Set<Long> taskIds) {
+        synchronized (boards) {
+            // 构建中的看板可能读到了提交前的数据，记录变更待放入缓存后重放
+            builds.forEach(build -> build.changedTaskIds.addAll(taskIds));
+            if (boards.isEmpty()) {
+                return;
+            }
+        }
+        try {
+            List<Task> tasks = taskMapper.selectList(cardQuery().in(Task::getId, taskIds));
+            Map<Long, KanbanBoard> cachedBoards = new LinkedHashMap<>();
+            synchronized (boards) {
+                for (Task task : tasks) {
+                    KanbanBoard board = boards.get(task.getProjectId());
+                    if (board != null) {
+                        cachedBoards.put(task.getProjectId(), board);
+                    }
+                }
+            }
+            List<Task> cached = tasks.stream()
+                    .filter(task -> cachedBoards.containsKey(task.getProjectId()))
+                    .toList();
+            if (!cached.isEmpty()) {
+                Map<Long, Long> projectByTask = cached.stream()
+                        .collect(Collectors.toMap(Task::getId, Task::getProjectId));
+                List<KanbanCardDTO> cards = toCards(cached, taskCheckItemMapper.countByTaskIds(projectByTask.keySet()),
+                        taskCommentMapper.countByTaskIds(projectByTask.keySet()));
+                for (KanbanCardDTO card : cards) {
+                    cachedBoards.get(projectByTask.get(card.getTaskId())).upsert(card);
+                }
+            }
+
+            Set<Long> missing = new HashSet<>(taskIds);
+            tasks.forEach(task -> missing.remove(task.getId()));
+            if (!missing.isEmpty()) {
+                List<KanbanBoard> allBoards;
+                synchronized (boards) {
+                    allBoards = new ArrayList<>(boards.values());
+                }
+                for (KanbanBoard board : allBoards) {
+                    missing.forEach(board::remove);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("刷新看板卡片失败, 清空看板缓存, taskIds={}", taskIds, e);
+            synchronized (boards) {
+                boards.clear();
+                builds.forEach(build -> build.invalidated = true);
+            }
+        }
+    }
+
+    private KanbanBoard buildBoard(Long projectId) {
+        long start = System.currentTimeMillis();
+        Project project = projectMapper.selectById(projectId);
+        if (project == null || project.getDeleted()) {
+            throw new BusinessException("项目不存在");
+        }
+
+        List<Task> tasks = taskMapper.selectList(cardQuery().eq(Task::getProjectId, projectId));
+        List<KanbanCardDTO> cards = toCards(tasks,
+                taskCheckItemMapper.countByProjectId(projectId), taskCommentMapper.countByProjectId(projectId));
+
+        log.info("项目看板构建完成, projectId={}, cards={}, 耗时={}ms",
+                projectId, cards.size(), System.currentTimeMillis() - start);
+        return new KanbanBoard(projectId, cards, MAX_TOMBSTONES);
+    }
+
+    /**
+     * 只查询卡片需要的任务列
+     */
+    private LambdaQueryWrapper<Task> cardQuery() {
+        return new LambdaQueryWrapper<Task>()
+                .select(Task::getId, Task::getProjectId, Task::getTitle, Task::getStatus, Task::getPriority,
+                        Task::getSortRank, Task::getParentTaskId, Task::getAssigneeId, Task::getDueDate,
+                        Task::getProgressPercentage, Task::getTags)
+                .isNull(Task::getDeletedAt);
+    }
+
+    private List<KanbanCardDTO> toCards(List<Task> tasks, List<TaskChildCount> checkItemCounts,
+                                        List<TaskChildCount> commentCounts) {
+        Set<Long> assigneeIds = tasks.stream()
+                .map(Task::getAssigneeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> assignees = assigneeIds.isEmpty() ? Map.of()
+                : userMapper.selectByIds(assigneeIds).stream()
+                        .collect(Collectors.toMap(User::getId, Function.identity(), (a, b) -> a));
+        Map<Long, TaskChildCount> checkItems = byTaskId(checkItemCounts);
+        Map<Long, TaskChildCount> comments = byTaskId(commentCounts);
+
+        return tasks.stream().map(task -> {
+            User assignee = task.getAssigneeId() != null ? assignees.get(task.getAssigneeId()) : null;
+            TaskChildCount checkItem = checkItems.get(task.getId());
+            TaskChildCount comment = comments.get(task.getId());
+            return KanbanCardDTO.builder()
+                    .taskId(task.getId())
+                    .title(task.getTitle())
+                    .status(task.getStatus())
+                    .priority(task.getPriority())
+                    .sortRank(task.getSortRank())
+                    .parentTaskId(task.getParentTaskId())
+                    .assigneeId(task.getAssigneeId())
+                    .assigneeName(assignee != null ? assignee.getRealName() : null)
+                    .assigneeAvatar(assignee != null ? assignee.getAvatar() : null)
+                    .dueDate(task.getDueDate())
+                    .progressPercentage(task.getProgressPercentage())
+                    .tags(task.getTags())
+                    .checkItemCount(checkItem != null ? checkItem.getTotal() : 0)
+                    .checkItemCompletedCount(checkItem != null ? checkItem.getCompleted() : 0)
+                    .commentCount(comment != null ? comment.getTotal() : 0)
+                    .build();
+        }).toList();
+    }
+
+    private static Map<Long, TaskChildCount> byTaskId(List<TaskChildCount> counts) {
+        return counts.stream().collect(Collectors.toMap(TaskChildCount::getTaskId, Function.identity(), (a, b) -> a));
+    }
+}
@@ -1,14 +1,17 @@
 package com.promanage.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.promanage.common.domain.ResultCode;
 import com.promanage.common.exception.BusinessException;
+import com.promanage.common.result.PageResult;
 import com.promanage.infrastructure.security.SecurityUtils;
 import com.promanage.service.entity.Notification;
 import com.promanage.service.INotificationService;
 import com.promanage.service.mapper.NotificationMapper;
+import com.promanage.service.pagination.KeysetPager;
 import com.promanage.service.IWebSocketMessageService;
 import com.promanage.service.service.IPermissionService;
 import lombok.RequiredArgsConstructor;
@@ -128,6 +131,20 @@ public class NotificationServiceImpl extends ServiceImpl<NotificationMapper, Not
         return notificationMapper.selectPage(pageParam, queryWrapper);
     }
 
+    @Override
+    public PageResult<Notification> getUserNotificationsByCursor(Long userId, String cursor, int size) {
+        Long currentUserId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new BusinessException(ResultCode.UNAUTHORIZED, "用户未登录"));
+
+        if (!currentUserId.equals(userId)) {
+            throw new BusinessException(ResultCode.FORBIDDEN, "您只能查看自己的通知");
+        }
+
+        return KeysetPager.page(notificationMapper,
+                () -> new LambdaQueryWrapper<Notification>().eq(Notification::getUserId, userId),
+                Notification::getCreateTime, Notification::getId, cursor, size, false);
+    }
+
     @Override
     public int getUnreadCount(Long userId) {
         // 获取当前用户
@@ -13,11 +13,16 @@ import com.promanage.common.exception.BusinessException;
 import com.promanage.common.result.PageResult;
 import com.promanage.dto.OrganizationMemberDTO;
 import com.promanage.dto.OrganizationSettingsDTO;
-import com.promanage.dto.mapper.UserMapper;
 import com.promanage.service.IOrganizationService;
 import com.promanage.service.entity.Project;
 import com.promanage.service.mapper.OrganizationMapper;
+import com.promanage.service.mapper.OrganizationMemberMapper;
 import com.promanage.service.mapper.ProjectMapper;
+import com.promanage.service.organization.OrganizationMemberQuery;
+import com.promanage.service.organization.OrganizationMemberRow;
+import com.promanage.service.organization.OrganizationMemberSort;
+import com.promanage.service.pagination.KeysetPager;
+import com.promanage.service.pagination.SortKeyCursor;
 import com.promanage.service.service.IPermissionService;
 import com.promanage.service.service.IUserService;
 import lombok.RequiredArgsConstructor;
@@ -68,7 +73,7 @@ public class OrganizationServiceImpl extends ServiceImpl<OrganizationMapper, Org
     private final ProjectMapper projectMapper;
     private final IUserService userService;
     private final IPermissionService permissionService;
-    private final UserMapper userMapper;
+    private final OrganizationMemberMapper organizationMemberMapper;
     private final ObjectMapper objectMapper;
     private final Validator validator;
 
@@ -264,24 +269,81 @@ public class OrganizationServiceImpl extends ServiceImpl<OrganizationMapper, Org
         loadActiveOrganizationOrThrow(organizationId);
 
         int currentPage = page == null || page < 1 ? 1 : page;
-        int size = pageSize == null || pageSize < 1 ? 20 : pageSize;
+        int size = pageSize == null || pageSize < 1 ? 20 : Math.min(pageSize, KeysetPager.MAX_PAGE_SIZE);
 
-        List<User> members = userService.listByOrganizationId(organizationId);
-        if (members == null || members.isEmpty()) {
-            return PageResult.of(Collections.emptyList(), 0L, currentPage, size);
-        }
+        // 成员数来自缓存，可能落后于实际成员，始终查询当前页，避免最后一页的成员被丢弃
+        long total = userService.countByOrganizationId(organizationId);
+        long offset = (long) (currentPage - 1) * size;
 
-        List<OrganizationMemberDTO> dtoList = members.stream()
-                .map(userMapper::toOrganizationMember)
+        OrganizationMemberQuery query = OrganizationMemberQuery.of(null, null, null, OrganizationMemberSort.NAME);
+        query.setLimit(size);
+        query.setOffset((int) offset);
+        List<OrganizationMemberDTO> members = organizationMemberMapper.selectMembers(organizationId, query).stream()
+                .map(OrganizationMemberRow::toDto)
                 .collect(Collectors.toList());
+        total = Math.max(total, offset + members.size());
+
+        return PageResult.of(members, total, currentPage, size);
+    }
+
+    @Override
+    public PageResult<OrganizationMemberDTO> listOrganizationMembersByCursor(Long organizationId, Long requesterId, String cursor,
+                                                                             Integer size, String name, String roleCode,
+                                                                             Integer status, String sort, boolean withTotal) {
+        log.debug("游标分页获取组织成员列表, 组织ID: {}, 请求者ID: {}, cursor: {}, size: {}, name: {}, roleCode: {}, status: {}, sort: {}",
+                organizationId, requesterId, cursor, size, name, roleCode, status, sort);
 
-        int total = dtoList.size();
-        int fromIndex = Math.min((currentPage - 1) * size, total);
-        int toIndex = Math.min(fromIndex + size, total);
+        assertOrganizationMember(requesterId, organizationId);
+        loadActiveOrganizationOrThrow(organizationId);
 
-        List<OrganizationMemberDTO> pageData = fromIndex >= toIndex ? Collections.emptyList() : dtoList.subList(fromIndex, toIndex);
+        OrganizationMemberSort memberSort = OrganizationMemberSort.fromName(sort);
+        SortKeyCursor position = SortKeyCursor.decode(cursor, memberSort.name());
+        int limit = size == null ? 20 : Math.max(1, Math.min(size, KeysetPager.MAX_PAGE_SIZE));
+        boolean forward = position == null || position.forward();
+
+        OrganizationMemberQuery query = OrganizationMemberQuery.of(name, roleCode, status, memberSort);
+        query.setForward(forward);
+        if (position != null) {
+            query.setAfterKey(position.sortValue());
+            query.setAfterId(position.id());
+        }
+        // 多取一条用于判断是否还有更多数据
+        query.setLimit(limit + 1);
 
-        return PageResult.of(pageData, (long) total, currentPage, size);
+        List<OrganizationMemberRow> rows = new ArrayList<>(organizationMemberMapper.selectMembers(organizationId, query));
+        boolean more = rows.size() > limit;
+        if (more) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+        }
+        if (!forward) {
+            Collections.reverse(rows);
+        }
+
+        boolean hasNext = forward ? more : true;
+        boolean hasPrevious = forward ? position != null : more;
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!rows.isEmpty()) {
+            OrganizationMemberRow first = rows.get(0);
+            OrganizationMemberRow last = rows.get(rows.size() - 1);
+            if (hasNext) {
+                nextCursor = new SortKeyCursor(memberSort.name(), last.getSortKey(), last.getId(), true).encode();
+            }
+            if (hasPrevious) {
+                prevCursor = new SortKeyCursor(memberSort.name(), first.getSortKey(), first.getId(), false).encode();
+            }
+        }
+
+        Long total = null;
+        if (withTotal) {
+            total = query.hasFilter()
+                    ? organizationMemberMapper.countMembers(organizationId, query, KeysetPager.MAX_COUNT)
+                    : userService.countByOrganizationId(organizationId);
+        }
+        List<OrganizationMemberDTO> members = rows.stream()
+                .map(OrganizationMemberRow::toDto)
+                .collect(Collectors.toList());
+        return PageResult.ofCursor(members, total, limit, nextCursor, prevCursor);
     }
 
     @Override
@@ -353,6 +415,7 @@ public class OrganizationServiceImpl extends ServiceImpl<OrganizationMapper, Org
     public long getMemberCount(Long organizationId) {
         log.debug("获取组织成员数量, 组织ID: {}", organizationId);
 
+        // 成员数由用户服务按组织缓存，成员增删时失效
         return userService.countByOrganizationId(organizationId);
     }
 
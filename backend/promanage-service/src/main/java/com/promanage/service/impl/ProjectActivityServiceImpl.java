@@ -7,6 +7,7 @@ import com.promanage.common.result.PageResult;
 import com.promanage.service.IProjectActivityService;
 import com.promanage.service.entity.ProjectActivity;
 import com.promanage.service.mapper.ProjectActivityMapper;
+import com.promanage.service.pagination.KeysetPager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -33,5 +34,12 @@ public class ProjectActivityServiceImpl extends ServiceImpl<ProjectActivityMappe
         Page<ProjectActivity> pageResult = this.page(pageRequest, queryWrapper);
         return PageResult.of(pageResult.getRecords(), pageResult.getTotal(), (int)pageResult.getCurrent(), (int)pageResult.getSize());
     }
+
+    @Override
+    public PageResult<ProjectActivity> getProjectActivitiesByCursor(Long projectId, String cursor, Integer pageSize) {
+        return KeysetPager.page(this.baseMapper,
+                () -> new LambdaQueryWrapper<ProjectActivity>().eq(ProjectActivity::getProjectId, projectId),
+                ProjectActivity::getCreateTime, ProjectActivity::getId, cursor, pageSize, false);
+    }
 }
 
@@ -14,8 +14,8 @@ import com.promanage.dto.ProjectMemberDTO;
 import com.promanage.dto.ProjectStatsDTO;
 import com.promanage.dto.UpdateProjectRequestDTO;
 import com.promanage.infrastructure.security.SecurityUtils;
-import com.promanage.service.IProjectActivityService;
 import com.promanage.service.IProjectService;
+import com.promanage.service.event.DomainEvent;
 import com.promanage.service.entity.Project;
 import com.promanage.service.entity.ProjectMember;
 import com.promanage.service.entity.Role;
@@ -25,12 +25,14 @@ import com.promanage.service.mapper.ProjectDtoMapper;
 import com.promanage.service.mapper.ProjectMapper;
 import com.promanage.service.mapper.ProjectMemberMapper;
 import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.notification.NotificationRecipientCache;
 import com.promanage.service.service.IPermissionService;
 import com.promanage.service.service.IRoleService;
 import com.promanage.service.service.IUserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -59,7 +61,8 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
     private final TaskMapper taskMapper;
     private final DocumentMapper documentMapper;
     private final ChangeRequestMapper changeRequestMapper;
-    private final IProjectActivityService projectActivityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationRecipientCache recipientCache;
 
     private Project loadActiveProject(Long projectId) {
         Project project = projectMapper.selectById(projectId);
@@ -186,6 +189,7 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
             ownerMember.setCreatorId(operatorId);
             ownerMember.setUpdaterId(operatorId);
             projectMemberMapper.insert(ownerMember);
+            recipientCache.invalidateProject(project.getId());
         }
     }
 
@@ -260,7 +264,7 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
             ensureOwnerMembership(project, operatorId);
         }
 
-        projectActivityService.recordActivity(project.getId(), operatorId, "PROJECT_CREATED", "创建项目");
+        eventPublisher.publishEvent(DomainEvent.project(project.getId(), "PROJECT_CREATED", operatorId, "创建项目"));
         return project;
     }
 
@@ -281,6 +285,7 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         }
         validateDates(request.getStartDate(), request.getEndDate());
 
+        Long previousOwnerId = existing.getOwnerId();
         projectDtoMapper.updateEntity(request, existing);
         if (request.getOrganizationId() != null && !Objects.equals(request.getOrganizationId(), existing.getOrganizationId())) {
             Long scopedOrganizationId = resolveOrganizationId(request.getOrganizationId(), operatorId);
@@ -291,7 +296,11 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         projectMapper.updateById(existing);
 
         ensureOwnerMembership(existing, operatorId);
-        projectActivityService.recordActivity(projectId, operatorId, "PROJECT_UPDATED", "更新项目信息");
+        if (!Objects.equals(previousOwnerId, existing.getOwnerId())) {
+            // 负责人变更影响该项目下所有任务通知的接收者
+            recipientCache.invalidateAll();
+        }
+        eventPublisher.publishEvent(DomainEvent.project(projectId, "PROJECT_UPDATED", operatorId, "更新项目信息"));
         return existing;
     }
 
@@ -309,7 +318,8 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         project.setDeletedBy(operatorId);
         project.setUpdaterId(operatorId);
         projectMapper.updateById(project);
-        projectActivityService.recordActivity(projectId, operatorId, "PROJECT_DELETED", "删除项目");
+        recipientCache.invalidateProject(projectId);
+        eventPublisher.publishEvent(DomainEvent.project(projectId, "PROJECT_DELETED", operatorId, "删除项目"));
     }
 
     @Override
@@ -413,8 +423,9 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         member.setCreatorId(actorId);
         member.setUpdaterId(actorId);
         projectMemberMapper.insert(member);
+        recipientCache.invalidateProject(projectId);
 
-        projectActivityService.recordActivity(projectId, actorId, "MEMBER_ADDED", "添加项目成员");
+        eventPublisher.publishEvent(DomainEvent.project(projectId, "MEMBER_ADDED", actorId, "添加项目成员"));
         return toMemberDto(member);
     }
 
@@ -443,7 +454,8 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         member.setUpdaterId(actorId);
         member.setStatus(0);
         projectMemberMapper.updateById(member);
-        projectActivityService.recordActivity(projectId, actorId, "MEMBER_REMOVED", "移除项目成员");
+        recipientCache.invalidateProject(projectId);
+        eventPublisher.publishEvent(DomainEvent.project(projectId, "MEMBER_REMOVED", actorId, "移除项目成员"));
     }
 
     @Override
@@ -460,7 +472,7 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         project.setUpdaterId(actorId);
         project.setUpdateTime(LocalDateTime.now());
         projectMapper.updateById(project);
-        projectActivityService.recordActivity(projectId, actorId, "PROJECT_ARCHIVED", "归档项目");
+        eventPublisher.publishEvent(DomainEvent.project(projectId, "PROJECT_ARCHIVED", actorId, "归档项目"));
     }
 
     @Override
@@ -480,7 +492,7 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         project.setUpdaterId(actorId);
         project.setUpdateTime(LocalDateTime.now());
         projectMapper.updateById(project);
-        projectActivityService.recordActivity(projectId, actorId, "PROJECT_UNARCHIVED", "取消归档项目");
+        eventPublisher.publishEvent(DomainEvent.project(projectId, "PROJECT_UNARCHIVED", actorId, "取消归档项目"));
     }
 
     @Override
@@ -0,0 +1,265 @@
+package com.promanage.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.promanage.common.entity.User;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.service.dto.TaskChildCount;
+import com.promanage.service.dto.TaskDetailBundle;
+import com.promanage.service.entity.Task;
+import com.promanage.service.entity.TaskActivity;
+import com.promanage.service.entity.TaskAttachment;
+import com.promanage.service.entity.TaskCheckItem;
+import com.promanage.service.entity.TaskComment;
+import com.promanage.service.event.TaskChangedEvent;
+import com.promanage.service.mapper.TaskActivityMapper;
+import com.promanage.service.mapper.TaskAttachmentMapper;
+import com.promanage.service.mapper.TaskCheckItemMapper;
+import com.promanage.service.mapper.TaskCommentMapper;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.mapper.UserMapper;
+import com.promanage.service.service.ITaskDetailService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 任务详情服务实现
+ * <p>
+ * 详情分三轮加载，每轮内的查询互不依赖，在虚拟线程上并发执行：
+ * <ol>
+ *   <li>任务本身、子任务、依赖任务、最近评论、最近活动、附件、检查项</li>
+ *   <li>父评论、评论回复数，以及任务、子任务和依赖任务的评论/附件/子任务计数</li>
+ *   <li>所有被引用用户（负责人、报告人、评论作者、父评论作者、活动用户），一条查询</li>
+ * </ol>
+ * 查询次数固定，不随子任务、评论或活动数量增长。
+ * </p>
+ * <p>
+ * 结果按任务ID缓存（LRU，带过期时间），收到 {@link TaskChangedEvent} 时在事务提交后失效。
+ * 子任务和依赖任务的摘要、用户姓名头像可能滞后，最长不超过过期时间。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskDetailServiceImpl implements ITaskDetailService {
+
+    /**
+     * 最近评论条数
+     */
+    static final int RECENT_COMMENTS = 5;
+
+    /**
+     * 最近活动条数
+     */
+    static final int RECENT_ACTIVITIES = 10;
+
+    /**
+     * 缓存的任务详情数量上限
+     */
+    static final int MAX_CACHED = 1000;
+
+    /**
+     * 缓存过期时间（毫秒）
+     */
+    static final long CACHE_TTL_MILLIS = 60_000;
+
+    private final TaskMapper taskMapper;
+    private final TaskCommentMapper taskCommentMapper;
+    private final TaskActivityMapper taskActivityMapper;
+    private final TaskAttachmentMapper taskAttachmentMapper;
+    private final TaskCheckItemMapper taskCheckItemMapper;
+    private final UserMapper userMapper;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Map<Long, CachedDetail> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedDetail> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    private record CachedDetail(TaskDetailBundle detail, long loadedAt) {
+    }
+
+    @Override
+    public TaskDetailBundle getTaskDetail(Long taskId) {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedDetail cached = cache.get(taskId);
+            if (cached != null && now - cached.loadedAt() < CACHE_TTL_MILLIS) {
+                return cached.detail();
+            }
+        }
+
+        // 加载期间收到失效事件时结果可能已过期，不放入缓存
+        long generation = invalidations.get();
+        TaskDetailBundle detail = load(taskId);
+        synchronized (cache) {
+            if (invalidations.get() == generation) {
+                cache.put(taskId, new CachedDetail(detail, now));
+            }
+        }
+        return detail;
+    }
+
+    /**
+     * 任务变更后失效相关任务的详情缓存
+     * <p>
+     * 在事务提交后执行，避免其他请求在提交前重新加载旧数据；不在事务中发布的事件立即处理。
+     * </p>
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (cache) {
+            invalidations.incrementAndGet();
+            event.taskIds().forEach(cache::remove);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 加载任务详情
+     */
+    TaskDetailBundle load(Long taskId) {
+        log.debug("加载任务详情, taskId={}", taskId);
+
+        // 第一轮：只依赖任务ID的各部分
+        CompletableFuture<Task> task = async(() -> taskMapper.selectById(taskId));
+        CompletableFuture<List<Task>> subtasks = async(() -> taskMapper.selectList(new LambdaQueryWrapper<Task>()
+                .eq(Task::getParentTaskId, taskId)
+                .orderByAsc(Task::getSortRank)
+                .orderByAsc(Task::getId)));
+        CompletableFuture<List<Task>> dependencies = async(() -> taskMapper.selectList(new LambdaQueryWrapper<Task>()
+                .inSql(Task::getId, "SELECT prerequisite_task_id FROM tb_task_dependency WHERE dependent_task_id = "
+                        + taskId)));
+        CompletableFuture<List<TaskComment>> comments = async(() -> taskCommentMapper.selectList(
+                new LambdaQueryWrapper<TaskComment>()
+                        .eq(TaskComment::getTaskId, taskId)
+                        .eq(TaskComment::getStatus, 0) // 正常状态
+                        .orderByDesc(TaskComment::getCreateTime)
+                        .last("LIMIT " + RECENT_COMMENTS)));
+        CompletableFuture<List<TaskActivity>> activities = async(() -> taskActivityMapper.selectList(
+                new LambdaQueryWrapper<TaskActivity>()
+                        .eq(TaskActivity::getTaskId, taskId)
+                        .orderByDesc(TaskActivity::getCreateTime)
+                        .last("LIMIT " + RECENT_ACTIVITIES)));
+        CompletableFuture<List<TaskAttachment>> attachments = async(() -> taskAttachmentMapper.selectList(
+                new LambdaQueryWrapper<TaskAttachment>()
+                        .eq(TaskAttachment::getTaskId, taskId)
+                        .orderByDesc(TaskAttachment::getCreateTime)));
+        CompletableFuture<List<TaskCheckItem>> checkItems = async(() -> taskCheckItemMapper.selectList(
+                new LambdaQueryWrapper<TaskCheckItem>()
+                        .eq(TaskCheckItem::getTaskId, taskId)
+                        .orderByAsc(TaskCheckItem::getSortOrder)));
+
+        Task root = join(task);
+        if (root == null) {
+            throw new BusinessException("任务不存在");
+        }
+
+        // 第二轮：依赖第一轮结果的计数和父评论
+        List<Task> relatedTasks = Stream.of(List.of(root), join(subtasks), join(dependencies))
+                .flatMap(List::stream)
+                .toList();
+        Set<Long> relatedIds = relatedTasks.stream().map(Task::getId).collect(Collectors.toCollection(LinkedHashSet::new));
+        List<TaskComment> recentComments = join(comments);
+        Set<Long> commentIds = recentComments.stream().map(TaskComment::getId).collect(Collectors.toSet());
+        Set<Long> parentCommentIds = recentComments.stream()
+                .map(TaskComment::getParentCommentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        CompletableFuture<Map<Long, Integer>> commentCounts = async(() -> counts(taskCommentMapper.countByTaskIds(relatedIds)));
+        CompletableFuture<Map<Long, Integer>> attachmentCounts = async(() -> counts(taskAttachmentMapper.countByTaskIds(relatedIds)));
+        CompletableFuture<Map<Long, Integer>> subtaskCounts = async(() -> counts(taskMapper.countSubtasksByParentIds(relatedIds)));
+        CompletableFuture<Map<Long, Integer>> replyCounts = async(() -> commentIds.isEmpty() ? Map.of()
+                : counts(taskCommentMapper.countRepliesByParentIds(commentIds)));
+        CompletableFuture<Map<Long, TaskComment>> parentComments = async(() -> parentCommentIds.isEmpty() ? Map.of()
+                : taskCommentMapper.selectByIds(parentCommentIds).stream()
+                        .collect(Collectors.toMap(TaskComment::getId, comment -> comment)));
+
+        // 第三轮：一次解析所有被引用用户
+        List<TaskActivity> recentActivities = join(activities);
+        Map<Long, TaskComment> parents = join(parentComments);
+        Set<Long> userIds = new LinkedHashSet<>();
+        relatedTasks.forEach(related -> {
+            userIds.add(related.getAssigneeId());
+            userIds.add(related.getReporterId());
+        });
+        recentComments.forEach(comment -> userIds.add(comment.getAuthorId()));
+        parents.values().forEach(comment -> userIds.add(comment.getAuthorId()));
+        recentActivities.forEach(activity -> userIds.add(activity.getUserId()));
+        userIds.remove(null);
+        Map<Long, User> users = userIds.isEmpty() ? Map.of() : userMapper.selectByIds(userIds).stream()
+                .filter(user -> !user.getDeleted())
+                .collect(Collectors.toMap(User::getId, user -> user));
+
+        return TaskDetailBundle.builder()
+                .task(root)
+                .subtasks(join(subtasks))
+                .dependencies(join(dependencies))
+                .recentComments(recentComments)
+                .parentComments(parents)
+                .replyCounts(join(replyCounts))
+                .recentActivities(recentActivities)
+                .attachments(join(attachments))
+                .checkItems(join(checkItems))
+                .commentCounts(join(commentCounts))
+                .attachmentCounts(join(attachmentCounts))
+                .subtaskCounts(join(subtaskCounts))
+                .users(users)
+                .build();
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    /**
+     * 等待并取出结果，查询中抛出的异常原样抛出
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Map<Long, Integer> counts(Collection<TaskChildCount> rows) {
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        for (TaskChildCount row : rows) {
+            counts.put(row.getTaskId(), row.getTotal());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,146 @@
+package com.promanage.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.service.dependency.AfterCommit;
+import com.promanage.service.dependency.ProjectSchedule;
+import com.promanage.service.dto.TaskDependencyEdge;
+import com.promanage.service.dto.response.ProjectScheduleDTO;
+import com.promanage.service.dto.response.TaskScheduleDTO;
+import com.promanage.service.entity.Project;
+import com.promanage.service.entity.Task;
+import com.promanage.service.mapper.ProjectMapper;
+import com.promanage.service.mapper.TaskDependencyMapper;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.service.ITaskScheduleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 任务进度计划服务实现
+ * <p>
+ * 项目计划首次访问时用两条查询（任务、依赖边）全量计算并缓存，之后由任务和依赖变更在事务提交后增量更新。
+ * 跨项目依赖不参与计算。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskScheduleServiceImpl implements ITaskScheduleService {
+
+    private final TaskMapper taskMapper;
+    private final TaskDependencyMapper taskDependencyMapper;
+    private final ProjectMapper projectMapper;
+
+    private final Map<Long, ProjectSchedule> schedules = new ConcurrentHashMap<>();
+
+    @Override
+    public ProjectScheduleDTO getProjectSchedule(Long projectId) {
+        ProjectSchedule schedule = schedules.computeIfAbsent(projectId, this::computeSchedule);
+
+        List<TaskScheduleDTO> tasks = schedule.timings().stream()
+                .map(timing -> TaskScheduleDTO.builder()
+                        .taskId(timing.taskId())
+                        .durationDays(timing.durationDays())
+                        .earliestStart(timing.earliestStart())
+                        .earliestFinish(timing.earliestFinish())
+                        .latestStart(timing.latestStart())
+                        .latestFinish(timing.latestFinish())
+                        .slackDays(timing.slackDays())
+                        .critical(timing.critical())
+                        .build())
+                .toList();
+
+        return ProjectScheduleDTO.builder()
+                .projectId(projectId)
+                .projectStart(schedule.getProjectStart())
+                .projectFinish(schedule.getProjectFinish())
+                .criticalPath(schedule.criticalPath())
+                .tasks(tasks)
+                .build();
+    }
+
+    @Override
+    public void onTaskChanged(Task task) {
+        if (task == null || task.getProjectId() == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            ProjectSchedule schedule = schedules.get(task.getProjectId());
+            if (schedule == null) {
+                return;
+            }
+            try {
+                if (!schedule.updateTask(task)) {
+                    invalidate(task.getProjectId());
+                }
+            } catch (IllegalStateException e) {
+                log.warn("增量更新项目计划失败, 重新计算, projectId={}", task.getProjectId(), e);
+                invalidate(task.getProjectId());
+            }
+        });
+    }
+
+    @Override
+    public void onDependencyChanged(Task dependent, Task prerequisite, boolean added) {
+        if (!Objects.equals(dependent.getProjectId(), prerequisite.getProjectId())) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            ProjectSchedule schedule = schedules.get(dependent.getProjectId());
+            if (schedule == null) {
+                return;
+            }
+            try {
+                if (!schedule.updateDependency(dependent.getId(), prerequisite.getId(), added)) {
+                    invalidate(dependent.getProjectId());
+                }
+            } catch (IllegalStateException e) {
+                log.warn("增量更新项目计划失败, 重新计算, projectId={}", dependent.getProjectId(), e);
+                invalidate(dependent.getProjectId());
+            }
+        });
+    }
+
+    @Override
+    public void invalidate(Long projectId) {
+        if (projectId != null) {
+            schedules.remove(projectId);
+        }
+    }
+
+    private ProjectSchedule computeSchedule(Long projectId) {
+        long start = System.currentTimeMillis();
+        Project project = projectMapper.selectById(projectId);
+        if (project == null) {
+            throw new BusinessException("项目不存在");
+        }
+
+        List<Task> tasks = taskMapper.selectList(new LambdaQueryWrapper<Task>()
+                .select(Task::getId, Task::getProjectId, Task::getStatus, Task::getStartDate,
+                        Task::getDueDate, Task::getEstimatedHours)
+                .eq(Task::getProjectId, projectId)
+                .isNull(Task::getDeletedAt));
+        List<TaskDependencyEdge> edges = taskDependencyMapper.findEdgesByProjectId(projectId).stream()
+                .filter(edge -> !Boolean.TRUE.equals(edge.getCrossProject()))
+                .toList();
+
+        try {
+            ProjectSchedule schedule = ProjectSchedule.compute(tasks, edges, project.getStartDate());
+            log.info("项目计划计算完成, projectId={}, tasks={}, edges={}, 耗时={}ms",
+                    projectId, tasks.size(), edges.size(), System.currentTimeMillis() - start);
+            return schedule;
+        } catch (IllegalStateException e) {
+            throw new BusinessException("项目任务存在循环依赖，无法计算进度计划");
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.promanage.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.promanage.common.domain.BatchOperationResult;
 import com.promanage.common.result.PageResult;
 import com.promanage.common.exception.BusinessException;
+import com.promanage.service.NotificationSendService;
+import com.promanage.service.dependency.AfterCommit;
+import com.promanage.service.dependency.TaskDependencyGraphCache;
+import com.promanage.service.event.TaskChangedEvent;
 import com.promanage.service.entity.Project;
 import com.promanage.service.entity.Task;
 import com.promanage.service.entity.TaskActivity;
@@ -21,16 +27,36 @@ import com.promanage.service.mapper.UserMapper;
 import com.promanage.service.mapper.TaskActivityMapper;
 import com.promanage.service.mapper.TaskAttachmentMapper;
 import com.promanage.service.mapper.TaskCheckItemMapper;
+import com.promanage.service.notification.NotificationRecipientCache;
+import com.promanage.service.pagination.KeysetPager;
+import com.promanage.service.rank.FractionalRank;
+import com.promanage.service.rank.TaskRankRebalancer;
+import com.promanage.service.service.IKanbanBoardService;
+import com.promanage.service.service.ITaskScheduleService;
+import com.promanage.service.service.ITaskTreeService;
+import com.promanage.service.strategy.NotificationEvent;
 import com.promanage.service.service.ITaskService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 任务服务实现类
@@ -52,6 +78,14 @@ public class TaskServiceImpl implements ITaskService {
     private final TaskActivityMapper taskActivityMapper;
     private final TaskAttachmentMapper taskAttachmentMapper;
     private final TaskCheckItemMapper taskCheckItemMapper;
+    private final NotificationRecipientCache recipientCache;
+    private final TaskDependencyGraphCache dependencyGraphCache;
+    private final ITaskScheduleService scheduleService;
+    private final IKanbanBoardService boardService;
+    private final TaskRankRebalancer rankRebalancer;
+    private final ITaskTreeService treeService;
+    private final ObjectProvider<NotificationSendService> notificationSendService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -81,8 +115,15 @@ public class TaskServiceImpl implements ITaskService {
         if (task.getProgressPercentage() == null) {
             task.setProgressPercentage(0); // 默认进度：0%
         }
+        if (task.getSortRank() == null) {
+            task.setSortRank(nextRank(task.getProjectId())); // 默认排在项目末尾
+        }
 
         taskMapper.insert(task);
+        treeService.refreshRollups(List.of(task.getId()));
+        AfterCommit.run(() -> scheduleService.invalidate(task.getProjectId()));
+        boardService.onTasksChanged(List.of(task.getId()));
+        eventPublisher.publishEvent(TaskChangedEvent.of(task.getId(), task.getParentTaskId()));
 
         log.info("任务创建成功, taskId={}", task.getId());
         return task.getId();
@@ -112,7 +153,28 @@ public class TaskServiceImpl implements ITaskService {
         // 验证状态转换的合法性
         validateStatusTransition(existingTask.getStatus(), task.getStatus());
 
+        // 更换父任务时不能挂到自身或自己的子孙任务下
+        boolean parentChanged = task.getParentTaskId() != null
+                && !task.getParentTaskId().equals(existingTask.getParentTaskId());
+        if (parentChanged) {
+            validateParentTask(task.getId(), task.getParentTaskId());
+        }
+
         taskMapper.updateById(task);
+        recipientCache.invalidateTask(task.getId());
+        if (affectsRollup(task)) {
+            List<Long> changed = new ArrayList<>(List.of(task.getId()));
+            if (parentChanged && existingTask.getParentTaskId() != null) {
+                changed.add(existingTask.getParentTaskId());
+            }
+            treeService.refreshRollups(changed);
+        }
+        if (affectsSchedule(task)) {
+            scheduleService.onTaskChanged(mergeScheduleFields(existingTask, task));
+        }
+        boardService.onTasksChanged(List.of(task.getId()));
+        eventPublisher.publishEvent(TaskChangedEvent.of(task.getId(), existingTask.getParentTaskId(),
+                task.getParentTaskId()));
 
         log.info("任务更新成功, taskId={}", task.getId());
     }
@@ -123,7 +185,7 @@ public class TaskServiceImpl implements ITaskService {
     public void deleteTask(Long taskId, Long userId) {
         log.info("删除任务, taskId={}, userId={}", taskId, userId);
 
-        validateTaskExists(taskId);
+        Task existingTask = requireTask(taskId);
         validateTaskAccess(taskId, userId);
 
         // 检查是否有子任务
@@ -138,6 +200,16 @@ public class TaskServiceImpl implements ITaskService {
         task.setDeleted(true);
         task.setUpdaterId((long) userId);
         taskMapper.updateById(task);
+        recipientCache.invalidateTask(taskId);
+        if (existingTask.getParentTaskId() != null) {
+            treeService.refreshRollups(List.of(existingTask.getParentTaskId()));
+        }
+        AfterCommit.run(() -> {
+            scheduleService.invalidate(existingTask.getProjectId());
+            dependencyGraphCache.invalidate(existingTask.getProjectId());
+        });
+        boardService.onTasksChanged(List.of(taskId));
+        eventPublisher.publishEvent(TaskChangedEvent.of(taskId, existingTask.getParentTaskId()));
 
         log.info("任务删除成功, taskId={}", taskId);
     }
@@ -150,12 +222,15 @@ public class TaskServiceImpl implements ITaskService {
 
         LambdaQueryWrapper<Task> wrapper = new LambdaQueryWrapper<Task>()
                 .eq(Task::getProjectId, projectId)
-                .eq(Task::getDeleted, false)
-                .orderByDesc(Task::getCreateTime);
+                .eq(Task::getDeleted, false);
 
-        // 添加筛选条件
+        // 按状态查询（看板列）时按排序键排列，可使用 (project_id, status, sort_rank) 索引
         if (status != null) {
-            wrapper.eq(Task::getStatus, status);
+            wrapper.eq(Task::getStatus, status)
+                    .orderByAsc(Task::getSortRank)
+                    .orderByAsc(Task::getId);
+        } else {
+            wrapper.orderByDesc(Task::getCreateTime);
         }
         if (priority != null) {
             wrapper.eq(Task::getPriority, priority);
@@ -172,6 +247,23 @@ public class TaskServiceImpl implements ITaskService {
         return PageResult.of(taskPage.getRecords(), taskPage.getTotal(), page, size);
     }
 
+    @Override
+    public PageResult<Task> listTasksByCursor(Long projectId, String cursor, Integer size, Integer status,
+                                              Integer priority, Long assigneeId, Long reporterId, boolean withTotal) {
+        log.debug("游标分页获取项目任务列表, projectId={}, cursor={}, size={}, status={}, priority={}, assigneeId={}, reporterId={}",
+                projectId, cursor, size, status, priority, assigneeId, reporterId);
+
+        return KeysetPager.page(taskMapper,
+                () -> new LambdaQueryWrapper<Task>()
+                        .eq(Task::getProjectId, projectId)
+                        .isNull(Task::getDeletedAt)
+                        .eq(status != null, Task::getStatus, status)
+                        .eq(priority != null, Task::getPriority, priority)
+                        .eq(assigneeId != null, Task::getAssigneeId, assigneeId)
+                        .eq(reporterId != null, Task::getReporterId, reporterId),
+                Task::getCreateTime, Task::getId, cursor, size, withTotal);
+    }
+
     @Override
     public PageResult<Task> listTasksByAssignee(Long userId, Integer page, Integer size, Integer status) {
         log.debug("获取用户负责的任务列表, userId={}, page={}, size={}, status={}", userId, page, size, status);
@@ -231,6 +323,10 @@ public class TaskServiceImpl implements ITaskService {
         }
 
         taskMapper.updateById(task);
+        treeService.refreshRollups(List.of(taskId));
+        scheduleService.onTaskChanged(mergeScheduleFields(existingTask, task));
+        boardService.onTasksChanged(List.of(taskId));
+        eventPublisher.publishEvent(TaskChangedEvent.of(taskId, existingTask.getParentTaskId()));
 
         log.info("任务状态更新成功, taskId={}, status={}", taskId, status);
     }
@@ -241,7 +337,7 @@ public class TaskServiceImpl implements ITaskService {
     public void assignTask(Long taskId, Long assigneeId, Long userId) {
         log.info("分配任务, taskId={}, assigneeId={}, userId={}", taskId, assigneeId, userId);
 
-        validateTaskExists(taskId);
+        Task existingTask = requireTask(taskId);
         validateTaskAccess(taskId, userId);
         validateUserExists(assigneeId);
 
@@ -251,6 +347,9 @@ public class TaskServiceImpl implements ITaskService {
         task.setUpdaterId((long) userId);
 
         taskMapper.updateById(task);
+        recipientCache.invalidateTask(taskId);
+        boardService.onTasksChanged(List.of(taskId));
+        eventPublisher.publishEvent(TaskChangedEvent.of(taskId, existingTask.getParentTaskId()));
 
         log.info("任务分配成功, taskId={}, assigneeId={}", taskId, assigneeId);
     }
@@ -261,7 +360,7 @@ public class TaskServiceImpl implements ITaskService {
     public void updateTaskProgress(Long taskId, Integer progress, Long userId) {
         log.info("更新任务进度, taskId={}, progress={}, userId={}", taskId, progress, userId);
 
-        validateTaskExists(taskId);
+        Task existingTask = requireTask(taskId);
         validateTaskAccess(taskId, userId);
 
         if (progress < 0 || progress > 100) {
@@ -280,10 +379,94 @@ public class TaskServiceImpl implements ITaskService {
         }
 
         taskMapper.updateById(task);
+        treeService.refreshRollups(List.of(taskId));
+        boardService.onTasksChanged(List.of(taskId));
+        eventPublisher.publishEvent(TaskChangedEvent.of(taskId, existingTask.getParentTaskId()));
 
         log.info("任务进度更新成功, taskId={}, progress={}", taskId, progress);
     }
 
+    @Override
+    @Transactional
+    @CacheEvict(value = "tasks", key = "#taskId")
+    public void moveTask(Long taskId, Long beforeTaskId, Long afterTaskId, Integer status, Long userId) {
+        log.info("移动任务, taskId={}, beforeTaskId={}, afterTaskId={}, status={}, userId={}",
+                taskId, beforeTaskId, afterTaskId, status, userId);
+
+        Task existingTask = requireTask(taskId);
+        validateTaskAccess(taskId, userId);
+        if (taskId.equals(beforeTaskId) || taskId.equals(afterTaskId)) {
+            throw new BusinessException("不能相对任务自身移动");
+        }
+
+        // 对相邻任务加共享锁，避免与后台重新分配排序键并发
+        List<Long> neighbourIds = new ArrayList<>(2);
+        if (beforeTaskId != null) {
+            neighbourIds.add(beforeTaskId);
+        }
+        if (afterTaskId != null) {
+            neighbourIds.add(afterTaskId);
+        }
+        Map<Long, Task> neighbours = neighbourIds.isEmpty() ? Map.of()
+                : taskMapper.selectList(new LambdaQueryWrapper<Task>()
+                        .select(Task::getId, Task::getProjectId, Task::getSortRank)
+                        .in(Task::getId, neighbourIds)
+                        .last("FOR SHARE"))
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        for (Long neighbourId : neighbourIds) {
+            Task neighbour = neighbours.get(neighbourId);
+            if (neighbour == null) {
+                throw new BusinessException("相邻任务不存在");
+            }
+            if (!Objects.equals(neighbour.getProjectId(), existingTask.getProjectId())) {
+                throw new BusinessException("只能在同一项目内移动任务");
+            }
+        }
+
+        String rank;
+        if (neighbourIds.isEmpty()) {
+            rank = nextRank(existingTask.getProjectId());
+        } else {
+            Task before = beforeTaskId != null ? neighbours.get(beforeTaskId) : null;
+            Task after = afterTaskId != null ? neighbours.get(afterTaskId) : null;
+            try {
+                rank = FractionalRank.between(before != null ? before.getSortRank() : null,
+                        after != null ? after.getSortRank() : null);
+            } catch (IllegalArgumentException e) {
+                // 相邻任务缺少排序键或顺序已变化（如客户端数据过期），重新分配后由客户端刷新重试
+                rankRebalancer.request(existingTask.getProjectId());
+                throw new BusinessException("任务顺序已变化，请刷新后重试");
+            }
+        }
+
+        Task task = new Task();
+        task.setId(taskId);
+        task.setSortRank(rank);
+        task.setUpdaterId(userId);
+        boolean statusChanged = status != null && !status.equals(existingTask.getStatus());
+        if (statusChanged) {
+            validateStatusTransition(existingTask.getStatus(), status);
+            task.setStatus(status);
+            if (status == 3) { // 已完成
+                task.setCompletedDate(LocalDate.now());
+            }
+        }
+        taskMapper.updateById(task);
+
+        if (FractionalRank.needsRebalance(rank)) {
+            rankRebalancer.request(existingTask.getProjectId());
+        }
+        if (statusChanged) {
+            treeService.refreshRollups(List.of(taskId));
+            scheduleService.onTaskChanged(mergeScheduleFields(existingTask, task));
+        }
+        boardService.onTasksChanged(List.of(taskId));
+        eventPublisher.publishEvent(TaskChangedEvent.of(taskId, existingTask.getParentTaskId()));
+
+        log.info("任务移动成功, taskId={}, rank={}", taskId, rank);
+    }
+
     @Override
     public List<Task> listSubtasks(Long parentTaskId) {
         log.debug("获取子任务列表, parentTaskId={}", parentTaskId);
@@ -291,7 +474,8 @@ public class TaskServiceImpl implements ITaskService {
         LambdaQueryWrapper<Task> wrapper = new LambdaQueryWrapper<Task>()
                 .eq(Task::getParentTaskId, parentTaskId)
                 .eq(Task::getDeleted, false)
-                .orderByAsc(Task::getCreateTime);
+                .orderByAsc(Task::getSortRank)
+                .orderByAsc(Task::getId);
 
         return taskMapper.selectList(wrapper);
     }
@@ -323,8 +507,8 @@ public class TaskServiceImpl implements ITaskService {
         log.info("添加任务依赖, taskId={}, dependencyTaskId={}", taskId, dependencyTaskId);
 
         // 验证两个任务都存在
-        validateTaskExists(taskId);
-        validateTaskExists(dependencyTaskId);
+        Task task = requireTask(taskId);
+        Task dependencyTask = requireTask(dependencyTaskId);
 
         // 验证不能依赖自己
         if (taskId.equals(dependencyTaskId)) {
@@ -338,7 +522,7 @@ public class TaskServiceImpl implements ITaskService {
         }
 
         // 检查是否会形成循环依赖
-        if (wouldCreateCircularDependency(taskId, dependencyTaskId)) {
+        if (dependencyGraphCache.wouldCreateCycle(task, dependencyTask)) {
             throw new BusinessException("添加此依赖会形成循环依赖");
         }
 
@@ -350,6 +534,9 @@ public class TaskServiceImpl implements ITaskService {
         dependency.setCreateTime(java.time.LocalDateTime.now());
 
         taskDependencyMapper.insert(dependency);
+        dependencyGraphCache.onDependencyAdded(task, dependencyTask);
+        scheduleService.onDependencyChanged(task, dependencyTask, true);
+        eventPublisher.publishEvent(TaskChangedEvent.of(taskId));
 
         log.info("任务依赖添加成功, taskId={}, dependencyTaskId={}", taskId, dependencyTaskId);
     }
@@ -360,8 +547,8 @@ public class TaskServiceImpl implements ITaskService {
         log.info("移除任务依赖, taskId={}, dependencyTaskId={}", taskId, dependencyTaskId);
 
         // 验证两个任务都存在
-        validateTaskExists(taskId);
-        validateTaskExists(dependencyTaskId);
+        Task task = requireTask(taskId);
+        Task dependencyTask = requireTask(dependencyTaskId);
 
         // 删除依赖关系
         int deleted = taskDependencyMapper.deleteDependency(dependencyTaskId, taskId);
@@ -370,6 +557,9 @@ public class TaskServiceImpl implements ITaskService {
             log.warn("任务依赖关系不存在, taskId={}, dependencyTaskId={}", taskId, dependencyTaskId);
             throw new BusinessException("任务依赖关系不存在");
         }
+        dependencyGraphCache.onDependencyRemoved(task, dependencyTask);
+        scheduleService.onDependencyChanged(task, dependencyTask, false);
+        eventPublisher.publishEvent(TaskChangedEvent.of(taskId));
 
         log.info("任务依赖移除成功, taskId={}, dependencyTaskId={}", taskId, dependencyTaskId);
     }
@@ -438,6 +628,8 @@ public class TaskServiceImpl implements ITaskService {
         }
 
         taskCommentMapper.insert(comment);
+        boardService.onTasksChanged(List.of(comment.getTaskId()));
+        eventPublisher.publishEvent(TaskChangedEvent.of(comment.getTaskId()));
 
         log.info("任务评论添加成功, commentId={}", comment.getId());
         return comment.getId();
@@ -462,6 +654,8 @@ public class TaskServiceImpl implements ITaskService {
         comment.setStatus(1); // 已删除状态
         comment.setUpdaterId((long) userId);
         taskCommentMapper.updateById(comment);
+        boardService.onTasksChanged(List.of(comment.getTaskId()));
+        eventPublisher.publishEvent(TaskChangedEvent.of(comment.getTaskId()));
 
         log.info("任务评论删除成功, commentId={}", commentId);
     }
@@ -482,6 +676,7 @@ public class TaskServiceImpl implements ITaskService {
         }
 
         taskCommentMapper.updateById(comment);
+        eventPublisher.publishEvent(TaskChangedEvent.of(existingComment.getTaskId()));
 
         log.info("任务评论更新成功, commentId={}", comment.getId());
     }
@@ -540,10 +735,77 @@ public class TaskServiceImpl implements ITaskService {
      * 验证任务是否存在
      */
     private void validateTaskExists(Long taskId) {
+        requireTask(taskId);
+    }
+
+    /**
+     * 项目末尾的排序键：取项目内最大键之后的位置，使用 (project_id, sort_rank) 索引
+     */
+    private String nextRank(Long projectId) {
+        Task last = taskMapper.selectOne(new LambdaQueryWrapper<Task>()
+                .select(Task::getId, Task::getSortRank)
+                .eq(Task::getProjectId, projectId)
+                .isNotNull(Task::getSortRank)
+                .orderByDesc(Task::getSortRank)
+                .last("LIMIT 1"));
+        String rank = FractionalRank.between(last != null ? last.getSortRank() : null, null);
+        if (FractionalRank.needsRebalance(rank)) {
+            rankRebalancer.request(projectId);
+        }
+        return rank;
+    }
+
+    /**
+     * 更新是否涉及进度计划相关字段
+     */
+    private boolean affectsSchedule(Task update) {
+        return update.getStartDate() != null || update.getDueDate() != null
+                || update.getEstimatedHours() != null || update.getStatus() != null;
+    }
+
+    /**
+     * 更新是否涉及子任务汇总相关字段
+     */
+    private boolean affectsRollup(Task update) {
+        return update.getEstimatedHours() != null || update.getActualHours() != null
+                || update.getProgressPercentage() != null || update.getStatus() != null
+                || update.getParentTaskId() != null;
+    }
+
+    /**
+     * 验证新的父任务存在，且不是任务自身或其子孙任务
+     */
+    private void validateParentTask(Long taskId, Long parentTaskId) {
+        validateTaskExists(parentTaskId);
+        if (taskMapper.selectAncestorIds(parentTaskId).contains(taskId)) {
+            throw new BusinessException("不能将任务移动到自身或其子任务下");
+        }
+    }
+
+    /**
+     * 将更新中的计划相关字段合并到原任务上，得到更新后的完整任务
+     */
+    private Task mergeScheduleFields(Task existing, Task update) {
+        Task merged = new Task();
+        merged.setId(existing.getId());
+        merged.setProjectId(existing.getProjectId());
+        merged.setStatus(update.getStatus() != null ? update.getStatus() : existing.getStatus());
+        merged.setStartDate(update.getStartDate() != null ? update.getStartDate() : existing.getStartDate());
+        merged.setDueDate(update.getDueDate() != null ? update.getDueDate() : existing.getDueDate());
+        merged.setEstimatedHours(update.getEstimatedHours() != null
+                ? update.getEstimatedHours() : existing.getEstimatedHours());
+        return merged;
+    }
+
+    /**
+     * 获取未删除的任务，不存在时抛出异常
+     */
+    private Task requireTask(Long taskId) {
         Task task = taskMapper.selectById(taskId);
         if (task == null || task.getDeleted()) {
             throw new BusinessException("任务不存在");
         }
+        return task;
     }
 
     /**
@@ -593,171 +855,174 @@ public class TaskServiceImpl implements ITaskService {
         log.debug("验证状态转换, oldStatus={}, newStatus={}", oldStatus, newStatus);
     }
 
-    /**
-     * 检查是否会形成循环依赖
-     * 使用深度优先搜索（DFS）检测循环
-     */
-    private boolean wouldCreateCircularDependency(Long taskId, Long dependencyTaskId) {
-        log.debug("检查循环依赖, taskId={}, dependencyTaskId={}", taskId, dependencyTaskId);
-
-        // 如果 dependencyTaskId 依赖于 taskId（直接或间接），则会形成循环
-        return hasTransitiveDependency(dependencyTaskId, taskId);
-    }
-
-    /**
-     * 检查 fromTask 是否（直接或间接）依赖于 toTask
-     * 使用深度优先搜索
-     */
-    private boolean hasTransitiveDependency(Long fromTask, Long toTask) {
-        // 获取 fromTask 的所有前置任务
-        List<Long> prerequisites = taskDependencyMapper.findPrerequisiteTaskIds(fromTask);
-
-        // 如果直接依赖，返回 true
-        if (prerequisites.contains(toTask)) {
-            return true;
-        }
-
-        // 递归检查间接依赖
-        for (Long prerequisite : prerequisites) {
-            if (hasTransitiveDependency(prerequisite, toTask)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     @Override
     @Transactional
-    public int batchUpdateTasks(List<Long> taskIds, Integer status, Integer priority,
-                               Long assigneeId, String tags, Long userId) {
-        log.info("批量更新任务, taskIds={}, status={}, priority={}, assigneeId={}, tags={}, userId={}",
-                taskIds, status, priority, assigneeId, tags, userId);
+    public BatchOperationResult<Long> batchUpdateTasks(List<Long> taskIds, Integer status, Integer priority,
+                                                       Long assigneeId, String tags, Long userId) {
+        log.info("批量更新任务, count={}, status={}, priority={}, assigneeId={}, tags={}, userId={}",
+                taskIds == null ? 0 : taskIds.size(), status, priority, assigneeId, tags, userId);
 
         if (taskIds == null || taskIds.isEmpty()) {
             throw new BusinessException("任务ID列表不能为空");
         }
+        if (status == null && priority == null && assigneeId == null && tags == null) {
+            throw new BusinessException("至少需要指定一个更新字段");
+        }
 
         // 验证指派人是否存在
         if (assigneeId != null) {
             validateUserExists(assigneeId);
         }
 
-        int successCount = 0;
-        for (Long taskId : taskIds) {
-            try {
-                // 验证任务存在
-                Task task = taskMapper.selectById(taskId);
-                if (task == null || task.getDeleted()) {
-                    log.warn("任务不存在, taskId={}", taskId);
-                    continue;
-                }
+        BatchOperationResult<Long> result = BatchOperationResult.create(0);
+        Map<Long, Task> targets = loadBatchTargets(taskIds, userId, result);
 
-                // 检查权限
-                if (!hasTaskPermission(taskId, userId)) {
-                    log.warn("没有权限操作任务, taskId={}, userId={}", taskId, userId);
-                    continue;
-                }
-
-                // 构建更新对象
-                Task updateTask = new Task();
-                updateTask.setId(taskId);
-                updateTask.setUpdaterId((long) userId);
-
-                boolean needUpdate = false;
-
-                if (status != null) {
+        // 在内存中校验状态转换
+        List<Task> updatable = new ArrayList<>(targets.size());
+        for (Task task : targets.values()) {
+            if (status != null) {
+                try {
                     validateStatusTransition(task.getStatus(), status);
-                    updateTask.setStatus(status);
-                    needUpdate = true;
-
-                    // 如果状态变为已完成，设置完成日期
-                    if (status == 3) {
-                        updateTask.setCompletedDate(java.time.LocalDate.now());
-                    }
-                }
-
-                if (priority != null) {
-                    updateTask.setPriority(priority);
-                    needUpdate = true;
-                }
-
-                if (assigneeId != null) {
-                    updateTask.setAssigneeId(assigneeId);
-                    needUpdate = true;
+                } catch (BusinessException e) {
+                    result.addFailure(task.getId(), e.getMessage());
+                    continue;
                 }
+            }
+            updatable.add(task);
+        }
+        if (updatable.isEmpty()) {
+            return finishBatch("批量更新任务", result);
+        }
 
-                if (tags != null) {
-                    updateTask.setTags(tags);
-                    needUpdate = true;
-                }
+        Task patch = new Task();
+        patch.setStatus(status);
+        patch.setPriority(priority);
+        patch.setAssigneeId(assigneeId);
+        patch.setTags(tags);
+        patch.setUpdaterId(userId);
+        List<Long> ids = updatable.stream().map(Task::getId).toList();
+        taskMapper.update(patch, new LambdaUpdateWrapper<Task>().in(Task::getId, ids));
+        // 状态变为已完成时设置完成日期，原本已完成的任务保留原完成日期
+        if (status != null && status == 3) {
+            List<Long> completed = updatable.stream()
+                    .filter(task -> !Integer.valueOf(3).equals(task.getStatus()))
+                    .map(Task::getId)
+                    .toList();
+            if (!completed.isEmpty()) {
+                taskMapper.update(null, new LambdaUpdateWrapper<Task>()
+                        .set(Task::getCompletedDate, LocalDate.now())
+                        .in(Task::getId, completed));
+            }
+        }
 
-                if (needUpdate) {
-                    taskMapper.updateById(updateTask);
-                    successCount++;
+        List<TaskActivity> activities = new ArrayList<>();
+        List<NotificationEvent> events = new ArrayList<>();
+        for (Task task : updatable) {
+            result.addSuccess(task.getId());
+            if (status != null && !status.equals(task.getStatus())) {
+                activities.add(batchActivity(task, userId, "STATUS_CHANGE", "批量变更任务状态",
+                        task.getStatus(), status));
+                if (status == 3) {
+                    events.add(new NotificationEvent(task.getId(), "TASK_COMPLETED", userId));
                 }
-            } catch (Exception e) {
-                log.error("批量更新任务失败, taskId={}", taskId, e);
+            }
+            if (priority != null && !priority.equals(task.getPriority())) {
+                activities.add(batchActivity(task, userId, "UPDATE", "批量变更任务优先级",
+                        task.getPriority(), priority));
+            }
+            if (assigneeId != null && !assigneeId.equals(task.getAssigneeId())) {
+                activities.add(batchActivity(task, userId, "ASSIGN", "批量分配任务",
+                        task.getAssigneeId(), assigneeId));
+                events.add(new NotificationEvent(task.getId(), "TASK_ASSIGNED", userId));
+            }
+            if (tags != null && !tags.equals(task.getTags())) {
+                activities.add(batchActivity(task, userId, "UPDATE", "批量更新任务标签", task.getTags(), tags));
             }
         }
+        recordBatchEffects(activities, events);
 
-        log.info("批量更新任务完成, 总数={}, 成功={}", taskIds.size(), successCount);
-        return successCount;
+        if (assigneeId != null) {
+            AfterCommit.run(() -> recipientCache.invalidateTasks(ids));
+        }
+        if (status != null) {
+            treeService.refreshRollups(ids);
+            invalidateSchedules(updatable);
+        }
+        boardService.onTasksChanged(ids);
+        publishBatchChanged(updatable);
+        return finishBatch("批量更新任务", result);
     }
 
     @Override
     @Transactional
-    public int batchDeleteTasks(List<Long> taskIds, Long userId) {
-        log.info("批量删除任务, taskIds={}, userId={}", taskIds, userId);
+    public BatchOperationResult<Long> batchDeleteTasks(List<Long> taskIds, Long userId) {
+        log.info("批量删除任务, count={}, userId={}", taskIds == null ? 0 : taskIds.size(), userId);
 
         if (taskIds == null || taskIds.isEmpty()) {
             throw new BusinessException("任务ID列表不能为空");
         }
 
-        int successCount = 0;
-        for (Long taskId : taskIds) {
-            try {
-                // 验证任务存在
-                Task task = taskMapper.selectById(taskId);
-                if (task == null || task.getDeleted()) {
-                    log.warn("任务不存在或已删除, taskId={}", taskId);
-                    continue;
-                }
-
-                // 检查权限
-                if (!hasTaskPermission(taskId, userId)) {
-                    log.warn("没有权限删除任务, taskId={}, userId={}", taskId, userId);
-                    continue;
-                }
-
-                // 检查是否有子任务
-                List<Task> subtasks = listSubtasks(taskId);
-                if (!subtasks.isEmpty()) {
-                    log.warn("任务存在子任务，无法删除, taskId={}", taskId);
-                    continue;
-                }
-
-                // 软删除
-                Task deleteTask = new Task();
-                deleteTask.setId(taskId);
-                deleteTask.setDeleted(true);
-                deleteTask.setUpdaterId((long) userId);
-                taskMapper.updateById(deleteTask);
+        BatchOperationResult<Long> result = BatchOperationResult.create(0);
+        Map<Long, Task> targets = loadBatchTargets(taskIds, userId, result);
+        if (targets.isEmpty()) {
+            return finishBatch("批量删除任务", result);
+        }
 
-                successCount++;
-            } catch (Exception e) {
-                log.error("批量删除任务失败, taskId={}", taskId, e);
+        // 一次查询所有未删除的子任务；子任务同时被删除时不阻止父任务删除
+        Map<Long, List<Long>> childrenByParent = taskMapper.selectList(new LambdaQueryWrapper<Task>()
+                        .select(Task::getId, Task::getParentTaskId)
+                        .in(Task::getParentTaskId, targets.keySet()))
+                .stream()
+                .collect(Collectors.groupingBy(Task::getParentTaskId,
+                        Collectors.mapping(Task::getId, Collectors.toList())));
+        Set<Long> deletable = new LinkedHashSet<>(targets.keySet());
+        boolean changed = true;
+        while (changed) {
+            changed = deletable.removeIf(id -> !deletable.containsAll(childrenByParent.getOrDefault(id, List.of())));
+        }
+        for (Long id : targets.keySet()) {
+            if (!deletable.contains(id)) {
+                result.addFailure(id, "任务存在子任务，无法删除");
             }
         }
+        if (deletable.isEmpty()) {
+            return finishBatch("批量删除任务", result);
+        }
 
-        log.info("批量删除任务完成, 总数={}, 成功={}", taskIds.size(), successCount);
-        return successCount;
+        Task patch = new Task();
+        patch.setUpdaterId(userId);
+        taskMapper.update(patch, new LambdaUpdateWrapper<Task>()
+                .set(Task::getDeletedAt, LocalDateTime.now())
+                .set(Task::getDeletedBy, userId)
+                .in(Task::getId, deletable));
+
+        List<TaskActivity> activities = new ArrayList<>(deletable.size());
+        for (Long id : deletable) {
+            result.addSuccess(id);
+            activities.add(batchActivity(targets.get(id), userId, "DELETE", "批量删除任务", null, null));
+        }
+        recordBatchEffects(activities, List.of());
+
+        AfterCommit.run(() -> recipientCache.invalidateTasks(deletable));
+        treeService.refreshRollups(deletable.stream()
+                .map(id -> targets.get(id).getParentTaskId())
+                .filter(parentId -> parentId != null && !deletable.contains(parentId))
+                .toList());
+        boardService.onTasksChanged(deletable);
+        List<Task> deleted = deletable.stream().map(targets::get).toList();
+        publishBatchChanged(deleted);
+        invalidateSchedules(deleted);
+        // 已删除任务的依赖边不再参与环检测
+        AfterCommit.run(() -> deleted.stream().map(Task::getProjectId).distinct()
+                .forEach(dependencyGraphCache::invalidate));
+        return finishBatch("批量删除任务", result);
     }
 
     @Override
     @Transactional
-    public int batchAssignTasks(List<Long> taskIds, Long assigneeId, Long userId) {
-        log.info("批量分配任务, taskIds={}, assigneeId={}, userId={}", taskIds, assigneeId, userId);
+    public BatchOperationResult<Long> batchAssignTasks(List<Long> taskIds, Long assigneeId, Long userId) {
+        log.info("批量分配任务, count={}, assigneeId={}, userId={}",
+                taskIds == null ? 0 : taskIds.size(), assigneeId, userId);
 
         if (taskIds == null || taskIds.isEmpty()) {
             throw new BusinessException("任务ID列表不能为空");
@@ -770,33 +1035,120 @@ public class TaskServiceImpl implements ITaskService {
         // 验证指派人是否存在
         validateUserExists(assigneeId);
 
-        int successCount = 0;
-        for (Long taskId : taskIds) {
-            try {
-                // 验证任务存在
-                validateTaskExists(taskId);
+        BatchOperationResult<Long> result = BatchOperationResult.create(0);
+        Map<Long, Task> targets = loadBatchTargets(taskIds, userId, result);
+        if (targets.isEmpty()) {
+            return finishBatch("批量分配任务", result);
+        }
 
-                // 检查权限
-                if (!hasTaskPermission(taskId, userId)) {
-                    log.warn("没有权限分配任务, taskId={}, userId={}", taskId, userId);
-                    continue;
-                }
+        Task patch = new Task();
+        patch.setAssigneeId(assigneeId);
+        patch.setUpdaterId(userId);
+        taskMapper.update(patch, new LambdaUpdateWrapper<Task>().in(Task::getId, targets.keySet()));
+
+        List<TaskActivity> activities = new ArrayList<>();
+        List<NotificationEvent> events = new ArrayList<>();
+        for (Task task : targets.values()) {
+            result.addSuccess(task.getId());
+            if (!assigneeId.equals(task.getAssigneeId())) {
+                activities.add(batchActivity(task, userId, "ASSIGN", "批量分配任务", task.getAssigneeId(), assigneeId));
+                events.add(new NotificationEvent(task.getId(), "TASK_ASSIGNED", userId));
+            }
+        }
+        recordBatchEffects(activities, events);
+
+        Set<Long> assigned = targets.keySet();
+        AfterCommit.run(() -> recipientCache.invalidateTasks(assigned));
+        boardService.onTasksChanged(assigned);
+        publishBatchChanged(targets.values());
+        return finishBatch("批量分配任务", result);
+    }
 
-                // 更新指派人
-                Task task = new Task();
-                task.setId(taskId);
-                task.setAssigneeId(assigneeId);
-                task.setUpdaterId((long) userId);
-                taskMapper.updateById(task);
+    /**
+     * 事务提交后失效批量操作涉及项目的进度计划
+     */
+    private void invalidateSchedules(Collection<Task> tasks) {
+        List<Long> projectIds = tasks.stream().map(Task::getProjectId).distinct().toList();
+        AfterCommit.run(() -> projectIds.forEach(scheduleService::invalidate));
+    }
 
-                successCount++;
-            } catch (Exception e) {
-                log.error("批量分配任务失败, taskId={}", taskId, e);
+    /**
+     * 发布批量操作的任务变更事件，包含各任务的父任务
+     */
+    private void publishBatchChanged(Collection<Task> tasks) {
+        List<Long> taskIds = new ArrayList<>(tasks.size() * 2);
+        for (Task task : tasks) {
+            taskIds.add(task.getId());
+            taskIds.add(task.getParentTaskId());
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.of(taskIds));
+    }
+
+    /**
+     * 一次性加载批量操作的目标任务并校验权限
+     * <p>
+     * 任务通过一条查询加载，权限规则与单个任务操作一致：只有任务的创建者或被指派人可以操作；
+     * 不存在或无权限的任务记为失败，不在返回结果中
+     * </p>
+     *
+     * @param taskIds 任务ID列表，重复的ID只处理一次
+     * @param userId 操作人ID
+     * @param result 批量操作结果，设置总数并记录失败项
+     * @return 通过校验的任务，按请求顺序排列
+     */
+    private Map<Long, Task> loadBatchTargets(List<Long> taskIds, Long userId, BatchOperationResult<Long> result) {
+        Set<Long> requested = new LinkedHashSet<>(taskIds);
+        requested.remove(null);
+        result.setTotal(requested.size());
+
+        Map<Long, Task> loaded = taskMapper.selectByIds(requested).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity(), (a, b) -> a));
+
+        Map<Long, Task> targets = new LinkedHashMap<>();
+        for (Long taskId : requested) {
+            Task task = loaded.get(taskId);
+            if (task == null) {
+                result.addFailure(taskId, "任务不存在");
+            } else if (!userId.equals(task.getReporterId()) && !userId.equals(task.getAssigneeId())) {
+                result.addFailure(taskId, "没有权限操作此任务");
+            } else {
+                targets.put(taskId, task);
             }
         }
+        return targets;
+    }
+
+    /**
+     * 批量写入活动记录，并在事务提交后批量发送通知
+     */
+    private void recordBatchEffects(List<TaskActivity> activities, List<NotificationEvent> events) {
+        if (!activities.isEmpty()) {
+            taskActivityMapper.insert(activities);
+        }
+        NotificationSendService sender = notificationSendService.getIfAvailable();
+        if (sender != null && !events.isEmpty()) {
+            List<NotificationEvent> pending = List.copyOf(events);
+            AfterCommit.run(() -> sender.sendStrategyNotifications(pending));
+        }
+    }
 
-        log.info("批量分配任务完成, 总数={}, 成功={}", taskIds.size(), successCount);
-        return successCount;
+    private TaskActivity batchActivity(Task task, Long userId, String type, String content,
+                                       Object oldValue, Object newValue) {
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(task.getId());
+        activity.setProjectId(task.getProjectId());
+        activity.setUserId(userId);
+        activity.setActivityType(type);
+        activity.setContent(content);
+        activity.setOldValue(oldValue == null ? null : String.valueOf(oldValue));
+        activity.setNewValue(newValue == null ? null : String.valueOf(newValue));
+        return activity;
+    }
+
+    private BatchOperationResult<Long> finishBatch(String operation, BatchOperationResult<Long> result) {
+        log.info("{}完成, 总数={}, 成功={}, 失败={}", operation,
+                result.getTotal(), result.getSuccessCount(), result.getFailureCount());
+        return result;
     }
 
     @Override
@@ -814,6 +1166,17 @@ public class TaskServiceImpl implements ITaskService {
         return PageResult.of(activityPage.getRecords(), activityPage.getTotal(), page, size);
     }
 
+    @Override
+    public PageResult<TaskActivity> listTaskActivitiesByCursor(Long taskId, String cursor, Integer size) {
+        log.debug("游标分页获取任务活动列表, taskId={}, cursor={}, size={}", taskId, cursor, size);
+
+        validateTaskExists(taskId);
+
+        return KeysetPager.page(taskActivityMapper,
+                () -> new LambdaQueryWrapper<TaskActivity>().eq(TaskActivity::getTaskId, taskId),
+                TaskActivity::getCreateTime, TaskActivity::getId, cursor, size, false);
+    }
+
     @Override
     @Transactional
     public Long addTaskActivity(TaskActivity activity) {
@@ -822,6 +1185,7 @@ public class TaskServiceImpl implements ITaskService {
         validateTaskExists(activity.getTaskId());
         
         taskActivityMapper.insert(activity);
+        eventPublisher.publishEvent(TaskChangedEvent.of(activity.getTaskId()));
         
         log.info("任务活动添加成功, activityId={}", activity.getId());
         return activity.getId();
@@ -849,6 +1213,7 @@ public class TaskServiceImpl implements ITaskService {
         validateTaskExists(attachment.getTaskId());
         
         taskAttachmentMapper.insert(attachment);
+        eventPublisher.publishEvent(TaskChangedEvent.of(attachment.getTaskId()));
         
         log.info("任务附件添加成功, attachmentId={}", attachment.getId());
         return attachment.getId();
@@ -869,6 +1234,7 @@ public class TaskServiceImpl implements ITaskService {
         attachment.setDeleted(true);
         attachment.setUpdaterId(userId);
         taskAttachmentMapper.updateById(attachment);
+        eventPublisher.publishEvent(TaskChangedEvent.of(attachment.getTaskId()));
         
         log.info("任务附件删除成功, attachmentId={}", attachmentId);
     }
@@ -894,6 +1260,8 @@ public class TaskServiceImpl implements ITaskService {
         validateTaskExists(checkItem.getTaskId());
         
         taskCheckItemMapper.insert(checkItem);
+        boardService.onTasksChanged(List.of(checkItem.getTaskId()));
+        eventPublisher.publishEvent(TaskChangedEvent.of(checkItem.getTaskId()));
         
         log.info("任务检查项添加成功, checkItemId={}", checkItem.getId());
         return checkItem.getId();
@@ -912,6 +1280,8 @@ public class TaskServiceImpl implements ITaskService {
         validateTaskAccess(existingCheckItem.getTaskId(), checkItem.getUpdaterId());
         
         taskCheckItemMapper.updateById(checkItem);
+        boardService.onTasksChanged(List.of(existingCheckItem.getTaskId()));
+        eventPublisher.publishEvent(TaskChangedEvent.of(existingCheckItem.getTaskId()));
         
         log.info("任务检查项更新成功, checkItemId={}", checkItem.getId());
     }
@@ -929,6 +1299,8 @@ public class TaskServiceImpl implements ITaskService {
         validateTaskAccess(checkItem.getTaskId(), userId);
         
         taskCheckItemMapper.deleteById(checkItemId);
+        boardService.onTasksChanged(List.of(checkItem.getTaskId()));
+        eventPublisher.publishEvent(TaskChangedEvent.of(checkItem.getTaskId()));
         
         log.info("任务检查项删除成功, checkItemId={}", checkItemId);
     }
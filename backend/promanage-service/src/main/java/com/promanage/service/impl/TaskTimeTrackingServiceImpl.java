@@ -9,10 +9,18 @@ import com.promanage.common.domain.ResultCode;
 import com.promanage.common.exception.BusinessException;
 import com.promanage.dto.TaskTimeTrackingDTO;
 import com.promanage.service.ITaskTimeTrackingService;
+import com.promanage.service.dependency.AfterCommit;
+import com.promanage.service.dto.response.ActiveTimerDTO;
+import com.promanage.service.dto.response.TimesheetDTO;
 import com.promanage.service.service.ITaskService;
 import com.promanage.service.entity.Task;
 import com.promanage.service.entity.TaskTimeTracking;
 import com.promanage.service.mapper.TaskTimeTrackingMapper;
+import com.promanage.service.mapper.TimeTrackingDailyMapper;
+import com.promanage.service.timer.ActiveTimer;
+import com.promanage.service.timer.ActiveTimerRegistry;
+import com.promanage.service.timesheet.TimeBucket;
+import com.promanage.service.timesheet.TimesheetGrid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -28,6 +36,15 @@ import java.util.stream.Collectors;
  * <p>
  * 任务时间追踪服务实现类
  * </p>
+ * <p>
+ * 已完成记录的工时按 (用户, 任务, 工作日期) 汇总到日汇总表，结束、更新、删除记录时在同一事务中增量维护：
+ * 先减去记录修改前的贡献，再加上修改后的贡献。修改前的记录以 FOR UPDATE 读取，避免并发修改重复计入。
+ * 总工时和工时表只查询汇总表。
+ * </p>
+ * <p>
+ * 计时只在开始、暂停、恢复、结束时写库：暂停时把当前计时段累加到已计时秒数，恢复时记录新计时段开始时间，
+ * 暂停期间不计入工时。状态变化在事务提交后同步到 {@link ActiveTimerRegistry}。
+ * </p>
  *
  * @author ProManage Team
  * @since 2025-10-05
@@ -39,6 +56,8 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
         implements ITaskTimeTrackingService {
 
     private final ITaskService taskService;
+    private final TimeTrackingDailyMapper dailyMapper;
+    private final ActiveTimerRegistry timerRegistry;
 
     @Override
     public PageResult<TaskTimeTrackingDTO> listTimeTracking(Long taskId, Long userId, Long projectId, 
@@ -162,16 +181,24 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
     public boolean updateTimeTracking(Long id, TaskTimeTrackingDTO timeTrackingDTO) {
         log.info("更新时间追踪记录: id={}", id);
         
-        TaskTimeTracking existing = getById(id);
+        TaskTimeTracking existing = lockById(id);
         if (existing == null) {
             throw new BusinessException(ResultCode.NOT_FOUND, "时间追踪记录不存在");
         }
+        TaskTimeTracking before = new TaskTimeTracking();
+        BeanUtils.copyProperties(existing, before);
         
         BeanUtils.copyProperties(timeTrackingDTO, existing);
         existing.setId(id);
         existing.setUpdateTime(LocalDateTime.now());
         
-        return updateById(existing);
+        boolean updated = updateById(existing);
+        if (updated) {
+            applyRollup(before, -1);
+            applyRollup(existing, 1);
+            AfterCommit.run(() -> timerRegistry.apply(existing, "update"));
+        }
+        return updated;
     }
 
     @Override
@@ -179,7 +206,7 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
     public boolean deleteTimeTracking(Long id) {
         log.info("删除时间追踪记录: id={}", id);
         
-        TaskTimeTracking existing = getById(id);
+        TaskTimeTracking existing = lockById(id);
         if (existing == null) {
             throw new BusinessException(ResultCode.NOT_FOUND, "时间追踪记录不存在");
         }
@@ -189,7 +216,12 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
             throw new BusinessException(ResultCode.PARAM_ERROR, "进行中的时间追踪记录不能删除");
         }
         
-        return removeById(id);
+        boolean removed = removeById(id);
+        if (removed) {
+            applyRollup(existing, -1);
+            AfterCommit.run(() -> timerRegistry.remove(existing, "remove"));
+        }
+        return removed;
     }
 
     @Override
@@ -218,13 +250,17 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
         timeTracking.setTaskId(taskId);
         timeTracking.setUserId(userId);
         timeTracking.setWorkDescription(workDescription);
-        timeTracking.setWorkDate(LocalDate.now());
-        timeTracking.setStartTime(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        timeTracking.setWorkDate(now.toLocalDate());
+        timeTracking.setStartTime(now);
+        timeTracking.setResumedAt(now);
+        timeTracking.setElapsedSeconds(0L);
         timeTracking.setStatus(1); // 进行中
-        timeTracking.setCreateTime(LocalDateTime.now());
-        timeTracking.setUpdateTime(LocalDateTime.now());
+        timeTracking.setCreateTime(now);
+        timeTracking.setUpdateTime(now);
         
         save(timeTracking);
+        AfterCommit.run(() -> timerRegistry.apply(timeTracking, "start"));
         return timeTracking.getId();
     }
 
@@ -233,7 +269,7 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
     public boolean endTimeTracking(Long id) {
         log.info("结束任务计时: id={}", id);
         
-        TaskTimeTracking timeTracking = getById(id);
+        TaskTimeTracking timeTracking = lockById(id);
         if (timeTracking == null) {
             throw new BusinessException(ResultCode.NOT_FOUND, "时间追踪记录不存在");
         }
@@ -243,17 +279,21 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
         }
         
         LocalDateTime endTime = LocalDateTime.now();
+        // 计算实际工时，不含暂停时间
+        long elapsedSeconds = ActiveTimer.elapsedSeconds(timeTracking, endTime);
+        timeTracking.setElapsedSeconds(elapsedSeconds);
+        timeTracking.setResumedAt(null);
+        timeTracking.setActualHours(elapsedSeconds / 3600.0);
         timeTracking.setEndTime(endTime);
         timeTracking.setStatus(2); // 已完成
         timeTracking.setUpdateTime(endTime);
         
-        // 计算实际工时
-        if (timeTracking.getStartTime() != null) {
-            long minutes = java.time.Duration.between(timeTracking.getStartTime(), endTime).toMinutes();
-            timeTracking.setActualHours(minutes / 60.0);
+        boolean updated = updateById(timeTracking);
+        if (updated) {
+            applyRollup(timeTracking, 1);
+            AfterCommit.run(() -> timerRegistry.remove(timeTracking, "end"));
         }
-        
-        return updateById(timeTracking);
+        return updated;
     }
 
     @Override
@@ -261,7 +301,7 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
     public boolean pauseTimeTracking(Long id) {
         log.info("暂停任务计时: id={}", id);
         
-        TaskTimeTracking timeTracking = getById(id);
+        TaskTimeTracking timeTracking = lockById(id);
         if (timeTracking == null) {
             throw new BusinessException(ResultCode.NOT_FOUND, "时间追踪记录不存在");
         }
@@ -270,10 +310,17 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
             throw new BusinessException(ResultCode.PARAM_ERROR, "只能暂停进行中的计时");
         }
         
+        LocalDateTime now = LocalDateTime.now();
+        timeTracking.setElapsedSeconds(ActiveTimer.elapsedSeconds(timeTracking, now));
+        timeTracking.setResumedAt(null);
         timeTracking.setStatus(3); // 已暂停
-        timeTracking.setUpdateTime(LocalDateTime.now());
+        timeTracking.setUpdateTime(now);
         
-        return updateById(timeTracking);
+        boolean updated = updateById(timeTracking);
+        if (updated) {
+            AfterCommit.run(() -> timerRegistry.apply(timeTracking, "pause"));
+        }
+        return updated;
     }
 
     @Override
@@ -281,7 +328,7 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
     public boolean resumeTimeTracking(Long id) {
         log.info("恢复任务计时: id={}", id);
         
-        TaskTimeTracking timeTracking = getById(id);
+        TaskTimeTracking timeTracking = lockById(id);
         if (timeTracking == null) {
             throw new BusinessException(ResultCode.NOT_FOUND, "时间追踪记录不存在");
         }
@@ -290,68 +337,106 @@ public class TaskTimeTrackingServiceImpl extends ServiceImpl<TaskTimeTrackingMap
             throw new BusinessException(ResultCode.PARAM_ERROR, "只能恢复已暂停的计时");
         }
         
+        LocalDateTime now = LocalDateTime.now();
+        timeTracking.setResumedAt(now);
         timeTracking.setStatus(1); // 进行中
-        timeTracking.setUpdateTime(LocalDateTime.now());
+        timeTracking.setUpdateTime(now);
         
-        return updateById(timeTracking);
+        boolean updated = updateById(timeTracking);
+        if (updated) {
+            AfterCommit.run(() -> timerRegistry.apply(timeTracking, "resume"));
+        }
+        return updated;
     }
 
     @Override
     public Double getTotalHoursByTask(Long taskId) {
         log.info("获取任务总工时: taskId={}", taskId);
-        
-        LambdaQueryWrapper<TaskTimeTracking> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(TaskTimeTracking::getTaskId, taskId);
-        wrapper.eq(TaskTimeTracking::getStatus, 2); // 只统计已完成的记录
-        
-        List<TaskTimeTracking> list = list(wrapper);
-        return list.stream()
-                .mapToDouble(t -> t.getActualHours() != null ? t.getActualHours() : 0.0)
-                .sum();
+        return dailyMapper.sumHours(null, taskId, null, null, null);
     }
 
     @Override
     public Double getTotalHoursByUser(Long userId, LocalDate startDate, LocalDate endDate) {
         log.info("获取用户在指定时间范围内的总工时: userId={}, startDate={}, endDate={}", userId, startDate, endDate);
-        
-        LambdaQueryWrapper<TaskTimeTracking> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(TaskTimeTracking::getUserId, userId);
-        wrapper.eq(TaskTimeTracking::getStatus, 2); // 只统计已完成的记录
-        
-        if (startDate != null) {
-            wrapper.ge(TaskTimeTracking::getWorkDate, startDate);
-        }
-        if (endDate != null) {
-            wrapper.le(TaskTimeTracking::getWorkDate, endDate);
-        }
-        
-        List<TaskTimeTracking> list = list(wrapper);
-        return list.stream()
-                .mapToDouble(t -> t.getActualHours() != null ? t.getActualHours() : 0.0)
-                .sum();
+        return dailyMapper.sumHours(userId, null, null, startDate, endDate);
     }
 
     @Override
     public Double getTotalHoursByProject(Long projectId) {
         log.info("获取项目总工时: projectId={}", projectId);
-        
-        // 获取项目下的所有任务
-        // 由于没有直接的方法获取项目下的所有任务，暂时返回空列表
-        List<Long> taskIds = java.util.List.of();
-        
-        if (taskIds.isEmpty()) {
-            return 0.0;
+        return dailyMapper.sumHours(null, null, projectId, null, null);
+    }
+
+    @Override
+    public Double getTotalHours(Long userId, Long taskId, Long projectId, LocalDate startDate, LocalDate endDate) {
+        log.info("获取总工时: userId={}, taskId={}, projectId={}, startDate={}, endDate={}",
+                userId, taskId, projectId, startDate, endDate);
+        return dailyMapper.sumHours(userId, taskId, projectId, startDate, endDate);
+    }
+
+    @Override
+    public TimesheetDTO getTimesheet(Long userId, Long projectId, LocalDate startDate, LocalDate endDate,
+                                     TimeBucket bucket) {
+        log.info("获取工时表: userId={}, projectId={}, startDate={}, endDate={}, bucket={}",
+                userId, projectId, startDate, endDate, bucket);
+
+        if (startDate == null || endDate == null) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "开始日期和结束日期不能为空");
+        }
+        TimeBucket effectiveBucket = bucket != null ? bucket : TimeBucket.DAY;
+        try {
+            // 先校验周期数，避免范围过大时查询大量数据
+            TimesheetGrid.periods(effectiveBucket, startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, e.getMessage());
+        }
+
+        return TimesheetGrid.build(
+                dailyMapper.selectTimesheet(userId, projectId, startDate, endDate, effectiveBucket.getUnit()),
+                effectiveBucket, startDate, endDate);
+    }
+
+    @Override
+    public List<ActiveTimerDTO> listActiveTimers(Long userId) {
+        return timerRegistry.listByUser(userId);
+    }
+
+    @Override
+    public List<ActiveTimerDTO> listActiveTimersByProject(Long projectId) {
+        return timerRegistry.listByProject(projectId);
+    }
+
+    /**
+     * 读取记录并加行锁
+     */
+    private TaskTimeTracking lockById(Long id) {
+        return getOne(new LambdaQueryWrapper<TaskTimeTracking>()
+                .eq(TaskTimeTracking::getId, id)
+                .last("FOR UPDATE"));
+    }
+
+    /**
+     * 把记录对日汇总表的贡献按 sign 计入或扣除
+     * <p>
+     * 只有已完成的记录计入汇总，其他状态的记录没有贡献。
+     * </p>
+     *
+     * @param timeTracking 时间追踪记录
+     * @param sign 1 计入，-1 扣除
+     */
+    void applyRollup(TaskTimeTracking timeTracking, int sign) {
+        if (timeTracking.getStatus() == null || timeTracking.getStatus() != 2
+                || timeTracking.getUserId() == null || timeTracking.getTaskId() == null
+                || timeTracking.getWorkDate() == null) {
+            return;
+        }
+        double hours = timeTracking.getActualHours() != null ? timeTracking.getActualHours() : 0.0;
+        Task task = taskService.getTaskById(timeTracking.getTaskId());
+        dailyMapper.addHours(timeTracking.getUserId(), timeTracking.getTaskId(),
+                task != null ? task.getProjectId() : null, timeTracking.getWorkDate(), sign * hours, sign);
+        if (sign < 0) {
+            dailyMapper.deleteIfEmpty(timeTracking.getUserId(), timeTracking.getTaskId(), timeTracking.getWorkDate());
         }
-        
-        // 获取这些任务的时间追踪记录
-        LambdaQueryWrapper<TaskTimeTracking> wrapper = new LambdaQueryWrapper<>();
-        wrapper.in(TaskTimeTracking::getTaskId, taskIds);
-        wrapper.eq(TaskTimeTracking::getStatus, 2); // 只统计已完成的记录
-        
-        List<TaskTimeTracking> list = list(wrapper);
-        return list.stream()
-                .mapToDouble(t -> t.getActualHours() != null ? t.getActualHours() : 0.0)
-                .sum();
     }
 
     /**
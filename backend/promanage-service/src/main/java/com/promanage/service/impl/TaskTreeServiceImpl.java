@@ -0,0 +1,176 @@
+package com.promanage.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.service.dependency.AfterCommit;
+import com.promanage.service.dto.response.TaskTreeNodeDTO;
+import com.promanage.service.entity.Task;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.service.ITaskTreeService;
+import com.promanage.service.subtask.TaskRollup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 任务树服务实现
+ * <p>
+ * 子树通过一条递归 CTE 查询加载。汇总值保存在任务表上：任务变更时从该任务开始沿父任务逐级重算，
+ * 每一级只读取该节点和它的直接子任务；某一级汇总值不变时停止，更上层不受影响。
+ * 重算前锁定当前节点行，同一父任务下并发变更的子任务会依次重算父任务，不会丢失更新。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskTreeServiceImpl implements ITaskTreeService {
+
+    /**
+     * 默认加载层级
+     */
+    static final int DEFAULT_DEPTH = 5;
+
+    /**
+     * 最大加载层级，也是沿祖先链重算的层数上限（防止错误数据形成环）
+     */
+    static final int MAX_DEPTH = 32;
+
+    private final TaskMapper taskMapper;
+    private final CacheManager cacheManager;
+
+    @Override
+    public TaskTreeNodeDTO getTaskTree(Long taskId, Integer maxDepth) {
+        int depth = maxDepth == null ? DEFAULT_DEPTH : maxDepth;
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new BusinessException("层级必须在0-" + MAX_DEPTH + "之间");
+        }
+        log.debug("获取任务树, taskId={}, maxDepth={}", taskId, depth);
+
+        // 多加载一层，只用来判断边界节点是否还有子任务
+        List<Task> rows = taskMapper.selectSubtree(taskId, depth + 1);
+        if (rows.isEmpty()) {
+            throw new BusinessException("任务不存在");
+        }
+        return buildTree(rows, depth);
+    }
+
+    /**
+     * 将按层级排列的子树行组装为嵌套结构
+     *
+     * @param rows 子树任务，第一行为根，父任务总在子任务之前
+     * @param maxDepth 最大层级，更深的行只用于标记父节点被截断
+     * @return 根节点
+     */
+    static TaskTreeNodeDTO buildTree(List<Task> rows, int maxDepth) {
+        Map<Long, TaskTreeNodeDTO> nodes = new HashMap<>();
+        TaskTreeNodeDTO root = null;
+        for (Task task : rows) {
+            TaskTreeNodeDTO parent = root == null ? null : nodes.get(task.getParentTaskId());
+            if (root != null && parent == null) {
+                continue;
+            }
+            int depth = parent == null ? 0 : parent.getDepth() + 1;
+            if (depth > maxDepth) {
+                parent.setTruncated(true);
+                continue;
+            }
+            TaskTreeNodeDTO node = toNode(task, depth);
+            nodes.put(task.getId(), node);
+            if (parent == null) {
+                root = node;
+            } else {
+                parent.getChildren().add(node);
+            }
+        }
+        return root;
+    }
+
+    @Override
+    public void refreshRollups(Collection<Long> taskIds) {
+        Set<Long> updated = new LinkedHashSet<>();
+        for (Long taskId : new LinkedHashSet<>(taskIds)) {
+            Long current = taskId;
+            for (int level = 0; current != null && level <= MAX_DEPTH; level++) {
+                Task task = taskMapper.selectOne(new LambdaQueryWrapper<Task>()
+                        .eq(Task::getId, current)
+                        .last("FOR UPDATE"));
+                if (task == null) {
+                    break;
+                }
+                List<Task> children = taskMapper.selectList(new LambdaQueryWrapper<Task>()
+                        .select(Task::getId, Task::getStatus, Task::getEstimatedHours, Task::getActualHours,
+                                Task::getProgressPercentage, Task::getRollupEstimatedHours,
+                                Task::getRollupActualHours, Task::getRollupProgress)
+                        .eq(Task::getParentTaskId, current));
+                TaskRollup rollup = TaskRollup.of(task, children);
+                if (!rollup.matches(task)) {
+                    taskMapper.update(null, new LambdaUpdateWrapper<Task>()
+                            .set(Task::getRollupEstimatedHours, rollup.estimatedHours())
+                            .set(Task::getRollupActualHours, rollup.actualHours())
+                            .set(Task::getRollupProgress, rollup.progress())
+                            .eq(Task::getId, current));
+                    updated.add(current);
+                } else if (level > 0) {
+                    break;
+                }
+                // 变更的任务自身汇总值不变时（如移动、取消叶子任务），父任务仍可能变化，继续向上
+                current = task.getParentTaskId();
+            }
+        }
+        if (!updated.isEmpty()) {
+            log.debug("任务汇总值已更新, taskIds={}", updated);
+            AfterCommit.run(() -> evictTasks(updated));
+        }
+    }
+
+    private static TaskTreeNodeDTO toNode(Task task, int depth) {
+        TaskRollup rollup = TaskRollup.stored(task);
+        return TaskTreeNodeDTO.builder()
+                .taskId(task.getId())
+                .parentTaskId(task.getParentTaskId())
+                .title(task.getTitle())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .assigneeId(task.getAssigneeId())
+                .dueDate(task.getDueDate())
+                .sortRank(task.getSortRank())
+                .depth(depth)
+                .estimatedHours(task.getEstimatedHours())
+                .actualHours(task.getActualHours())
+                .progressPercentage(task.getProgressPercentage())
+                .rollupEstimatedHours(rollup.estimatedHours())
+                .rollupActualHours(rollup.actualHours())
+                .rollupProgress(rollup.progress())
+                .truncated(false)
+                .children(new ArrayList<>())
+                .build();
+    }
+
+    /**
+     * 汇总值变化的任务从任务缓存中移除
+     */
+    private void evictTasks(Collection<Long> taskIds) {
+        try {
+            Cache cache = cacheManager.getCache("tasks");
+            if (cache != null) {
+                taskIds.forEach(cache::evict);
+            }
+        } catch (Exception e) {
+            log.warn("清除任务缓存失败: taskIds={}, error={}", taskIds, e.getMessage());
+        }
+    }
+}
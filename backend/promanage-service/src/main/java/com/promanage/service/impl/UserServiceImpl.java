@@ -7,6 +7,7 @@ import com.promanage.common.config.UserProperties;
 import com.promanage.common.result.PageResult;
 import com.promanage.common.domain.ResultCode;
 import com.promanage.common.exception.BusinessException;
+import com.promanage.service.dependency.AfterCommit;
 import com.promanage.service.entity.Permission;
 import com.promanage.service.entity.Role;
 import com.promanage.common.entity.User;
@@ -196,6 +197,7 @@ public class UserServiceImpl implements IUserService, UserDetailsService {
     }
 
     @Override
+    @Cacheable(value = "organizations:memberCount", key = "#organizationId")
     public long countByOrganizationId(Long organizationId) {
         log.debug("统计组织成员数量, organizationId={}", organizationId);
         return userMapper.selectCount(new LambdaQueryWrapper<User>()
@@ -246,6 +248,7 @@ public class UserServiceImpl implements IUserService, UserDetailsService {
 
         // 保存用户
         userMapper.insert(user);
+        AfterCommit.run(() -> evictMemberCount(user.getOrganizationId()));
 
         log.info("创建用户成功, id={}, username={}", user.getId(), user.getUsername());
         return user.getId();
@@ -356,6 +359,15 @@ public class UserServiceImpl implements IUserService, UserDetailsService {
         evictCacheByKey("userPermissions", userId);
     }
 
+    /**
+     * 清除组织成员数缓存
+     */
+    private void evictMemberCount(Long organizationId) {
+        if (organizationId != null) {
+            evictCacheByKey("organizations:memberCount", organizationId);
+        }
+    }
+
     /**
      * 清除指定缓存键
      */
@@ -509,6 +521,7 @@ public class UserServiceImpl implements IUserService, UserDetailsService {
 
         // 清除缓存
         evictUserCache(id, user.getUsername(), user.getEmail());
+        AfterCommit.run(() -> evictMemberCount(user.getOrganizationId()));
 
         log.info("删除用户成功, id={}", id);
     }
@@ -540,6 +553,10 @@ public class UserServiceImpl implements IUserService, UserDetailsService {
         users.values().forEach(user ->
             evictUserCache(user.getId(), user.getUsername(), user.getEmail())
         );
+        AfterCommit.run(() -> users.values().stream()
+            .map(User::getOrganizationId)
+            .distinct()
+            .forEach(this::evictMemberCount));
 
         log.info("批量删除用户成功, count={}", count);
         return count;
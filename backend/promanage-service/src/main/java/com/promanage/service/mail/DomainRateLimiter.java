@@ -0,0 +1,60 @@
+package com.promanage.service.mail;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按收件域名的令牌桶限流器
+ * <p>
+ * 每个域名每分钟补充固定数量的令牌，避免短时间内向同一邮件服务商大量投递而被限流或拒收
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public class DomainRateLimiter {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final int permitsPerMinute;
+
+    /**
+     * @param permitsPerMinute 每个域名每分钟允许的发送数，小于等于 0 表示不限流
+     */
+    public DomainRateLimiter(int permitsPerMinute) {
+        this.permitsPerMinute = permitsPerMinute;
+    }
+
+    /**
+     * 尝试获取一个发送许可
+     *
+     * @param domain 收件域名
+     * @param nowMillis 当前时间戳（毫秒）
+     * @return true 表示允许发送
+     */
+    public boolean tryAcquire(String domain, long nowMillis) {
+        if (permitsPerMinute <= 0) {
+            return true;
+        }
+        Bucket bucket = buckets.computeIfAbsent(domain, d -> new Bucket(permitsPerMinute, nowMillis));
+        synchronized (bucket) {
+            double refill = (nowMillis - bucket.lastRefill) * permitsPerMinute / 60_000.0;
+            bucket.tokens = Math.min(permitsPerMinute, bucket.tokens + refill);
+            bucket.lastRefill = nowMillis;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.promanage.service.mail;
+
+import com.promanage.service.entity.MailMessage;
+import com.promanage.service.mapper.MailQueueMapper;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 邮件队列调度器
+ * <p>
+ * 定时从 tb_mail_queue 认领到期邮件，按收件域名限流后分批发送。
+ * 每批邮件通过 {@link JavaMailSender#send(MimeMessage...)} 在同一个SMTP连接上连续发送，
+ * 避免逐封建立连接；发送失败的邮件按指数退避重试，超过最大次数后标记为失败。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    private static final long RATE_LIMIT_DEFER_MILLIS = 60_000L;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailQueueMapper mailQueueMapper;
+    private final JavaMailSender mailSender;
+    private final MailQueueProperties properties;
+    private final DomainRateLimiter rateLimiter;
+
+    @Value("${spring.mail.username:}")
+    private String fromEmail;
+
+    public MailDispatcher(MailQueueMapper mailQueueMapper, JavaMailSender mailSender, MailQueueProperties properties) {
+        this.mailQueueMapper = mailQueueMapper;
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.rateLimiter = new DomainRateLimiter(properties.getPerDomainPerMinute());
+    }
+
+    /**
+     * 定时发送到期邮件
+     */
+    @Scheduled(fixedDelayString = "${promanage.mail.queue.poll-interval-ms:5000}")
+    public void dispatch() {
+        if (!properties.isDispatcherEnabled()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            int released = mailQueueMapper.releaseStale(toDateTime(now - properties.getSendingLeaseSeconds() * 1000L));
+            if (released > 0) {
+                log.warn("回收中断的发送中邮件, 数量: {}", released);
+            }
+
+            List<MailMessage> claimed = mailQueueMapper.claimDue(properties.getBatchSize());
+            if (!claimed.isEmpty()) {
+                dispatchBatch(claimed, now);
+            }
+        } catch (Exception e) {
+            log.error("邮件队列调度失败", e);
+        }
+    }
+
+    /**
+     * 发送一批已认领的邮件
+     *
+     * @param claimed 已认领的邮件
+     * @param now 当前时间戳（毫秒）
+     * @return 发送成功的数量
+     */
+    int dispatchBatch(List<MailMessage> claimed, long now) {
+        List<MailMessage> sendable = new ArrayList<>(claimed.size());
+        List<Long> deferred = new ArrayList<>();
+        for (MailMessage message : claimed) {
+            if (rateLimiter.tryAcquire(message.getRecipientDomain(), now)) {
+                sendable.add(message);
+            } else {
+                deferred.add(message.getId());
+            }
+        }
+        if (!deferred.isEmpty()) {
+            mailQueueMapper.defer(deferred, toDateTime(now + RATE_LIMIT_DEFER_MILLIS));
+            log.info("邮件触发域名限流, 延后发送数量: {}", deferred.size());
+        }
+
+        int chunkSize = Math.max(1, properties.getMessagesPerConnection());
+        int sent = 0;
+        for (int from = 0; from < sendable.size(); from += chunkSize) {
+            sent += sendOverSingleConnection(sendable.subList(from, Math.min(from + chunkSize, sendable.size())), now);
+        }
+        return sent;
+    }
+
+    private int sendOverSingleConnection(List<MailMessage> chunk, long now) {
+        Map<MimeMessage, MailMessage> byMime = new IdentityHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>(chunk.size());
+        for (MailMessage message : chunk) {
+            try {
+                MimeMessage mime = toMimeMessage(message);
+                byMime.put(mime, message);
+                mimeMessages.add(mime);
+            } catch (MessagingException | RuntimeException e) {
+                recordFailure(message, e, now);
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return 0;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // 连接失败时所有邮件都会出现在 failedMessages 中；为空说明邮件已投递，仅关闭连接出错
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                log.warn("邮件已发送但关闭SMTP连接失败: {}", e.getMessage());
+            }
+        } catch (MailException e) {
+            failures = allFailed(mimeMessages, e);
+        }
+
+        List<Long> sentIds = new ArrayList<>(mimeMessages.size());
+        for (MimeMessage mime : mimeMessages) {
+            MailMessage message = byMime.get(mime);
+            Exception failure = failures.get(mime);
+            if (failure != null) {
+                recordFailure(message, failure, now);
+            } else {
+                sentIds.add(message.getId());
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            mailQueueMapper.markSent(sentIds);
+            log.info("邮件批量发送成功, 数量: {}", sentIds.size());
+        }
+        return sentIds.size();
+    }
+
+    private MimeMessage toMimeMessage(MailMessage message) throws MessagingException {
+        MimeMessage mime = mailSender.createMimeMessage();
+        boolean html = Boolean.TRUE.equals(message.getHtml());
+        MimeMessageHelper helper = new MimeMessageHelper(mime, html, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getContent(), html);
+        return mime;
+    }
+
+    private void recordFailure(MailMessage message, Exception e, long now) {
+        int attempts = (message.getAttempts() == null ? 0 : message.getAttempts()) + 1;
+        boolean exhausted = attempts >= properties.getMaxAttempts();
+        int status = exhausted ? MailMessage.STATUS_FAILED : MailMessage.STATUS_PENDING;
+        LocalDateTime nextAttemptAt = toDateTime(now + backoffMillis(attempts));
+        String error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        mailQueueMapper.markFailedAttempt(message.getId(), status, nextAttemptAt, error);
+        if (exhausted) {
+            log.error("邮件发送失败且超过最大重试次数, id={}, to={}, error={}", message.getId(), message.getRecipient(), error);
+        } else {
+            log.warn("邮件发送失败, 稍后重试, id={}, to={}, attempts={}, error={}",
+                    message.getId(), message.getRecipient(), attempts, error);
+        }
+    }
+
+    /**
+     * 第 n 次失败后的退避时间：initial * 2^(n-1)，不超过最大退避时间
+     */
+    long backoffMillis(int attempts) {
+        long initial = properties.getInitialBackoffSeconds() * 1000L;
+        long max = properties.getMaxBackoffSeconds() * 1000L;
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(max, initial << shift);
+    }
+
+    private static Map<Object, Exception> allFailed(List<MimeMessage> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.forEach(mime -> failures.put(mime, e));
+        return failures;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,60 @@
+package com.promanage.service.mail;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 邮件队列配置属性
+ * <p>
+ * 从application.yml中读取 promanage.mail.queue 配置
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.mail.queue")
+public class MailQueueProperties {
+
+    /**
+     * 是否启用调度器发送
+     */
+    private boolean dispatcherEnabled = true;
+
+    /**
+     * 每次轮询认领的最大邮件数
+     */
+    private int batchSize = 100;
+
+    /**
+     * 单个SMTP连接上连续发送的最大邮件数
+     */
+    private int messagesPerConnection = 50;
+
+    /**
+     * 每个收件域名每分钟最多发送的邮件数，0 表示不限
+     */
+    private int perDomainPerMinute = 60;
+
+    /**
+     * 最大发送尝试次数
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * 首次重试的退避时间（秒），之后按指数增长
+     */
+    private long initialBackoffSeconds = 30;
+
+    /**
+     * 最大退避时间（秒）
+     */
+    private long maxBackoffSeconds = 3600;
+
+    /**
+     * 发送中状态超过该时长（秒）视为中断，重新放回队列
+     */
+    private long sendingLeaseSeconds = 300;
+}
@@ -0,0 +1,87 @@
+package com.promanage.service.mail;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译邮件模板
+ * <p>
+ * 模板中的 {@code {{name}}} 占位符在编译时一次性切分为静态片段和变量，
+ * 渲染时只做字符串拼接，变量值统一进行HTML转义。
+ * 相比每次调用 {@code String.formatted}，既避免重复解析，也不会被样式中的 {@code %} 干扰。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public final class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] variables;
+    private final int estimatedLength;
+
+    private MailTemplate(String[] literals, String[] variables, int estimatedLength) {
+        this.literals = literals;
+        this.variables = variables;
+        this.estimatedLength = estimatedLength;
+    }
+
+    /**
+     * 编译模板
+     *
+     * @param template 模板文本
+     * @return 预编译模板
+     */
+    public static MailTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int start = template.indexOf(OPEN, pos);
+            int end = start < 0 ? -1 : template.indexOf(CLOSE, start + OPEN.length());
+            if (start < 0 || end < 0) {
+                literals.add(template.substring(pos));
+                break;
+            }
+            literals.add(template.substring(pos, start));
+            variables.add(template.substring(start + OPEN.length(), end).trim());
+            pos = end + CLOSE.length();
+        }
+        return new MailTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]), template.length());
+    }
+
+    /**
+     * 用常量预先替换部分变量（如应用名称），返回新的预编译模板
+     */
+    public MailTemplate bind(Map<String, String> constants) {
+        return compile(render(constants, true));
+    }
+
+    /**
+     * 渲染模板，变量值进行HTML转义，缺失的变量渲染为空字符串
+     */
+    public String render(Map<String, String> values) {
+        return render(values, false);
+    }
+
+    private String render(Map<String, String> values, boolean keepMissing) {
+        StringBuilder sb = new StringBuilder(estimatedLength + 64);
+        for (int i = 0; i < variables.length; i++) {
+            sb.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value != null) {
+                sb.append(HtmlUtils.htmlEscape(value));
+            } else if (keepMissing) {
+                sb.append(OPEN).append(variables[i]).append(CLOSE);
+            }
+        }
+        sb.append(literals[literals.length - 1]);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,156 @@
+package com.promanage.service.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.promanage.service.dto.ApprovalTally;
+import com.promanage.service.entity.ApprovalInboxItem;
+import com.promanage.service.entity.ChangeRequestApproval;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * 审批人待办Mapper接口
+ * <p>
+ * “我的待审批”查询走部分索引 idx_approval_inbox_pending (approver_id, updated_at, id) WHERE status = 1
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Mapper
+public interface ApprovalInboxMapper extends BaseMapper<ApprovalInboxItem> {
+
+    /**
+     * 批量插入待办
+     *
+     * @param items 待办列表，不能为空
+     * @return 影响行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO tb_approval_inbox (change_request_id, stage_id, project_id, approver_id, status) VALUES " +
+            "<foreach collection='items' item='item' separator=','>" +
+            "(#{item.changeRequestId}, #{item.stageId}, #{item.projectId}, #{item.approverId}, #{item.status})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("items") List<ApprovalInboxItem> items);
+
+    /**
+     * 激活阶段的全部待办
+     *
+     * @param stageId 阶段ID
+     * @return 影响行数
+     */
+    @Update("UPDATE tb_approval_inbox SET status = 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE stage_id = #{stageId} AND status = 0")
+    int activateStage(@Param("stageId") Long stageId);
+
+    /**
+     * 记录审批人在当前阶段的决定
+     *
+     * @param changeRequestId 变更请求ID
+     * @param approverId      审批人ID
+     * @param status          同意或拒绝
+     * @param comments        审批意见
+     * @return 待办所属阶段ID，审批人没有待审批的待办时为null
+     */
+    @Select("UPDATE tb_approval_inbox SET status = #{status}, comments = #{comments}, " +
+            "decided_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE change_request_id = #{changeRequestId} AND approver_id = #{approverId} AND status = 1 " +
+            "RETURNING stage_id")
+    Long recordDecision(@Param("changeRequestId") Long changeRequestId,
+                        @Param("approverId") Long approverId,
+                        @Param("status") int status,
+                        @Param("comments") String comments);
+
+    /**
+     * 统计阶段的同意数和拒绝数
+     *
+     * @param stageId 阶段ID
+     * @return 计票结果
+     */
+    @Select("SELECT COUNT(*) FILTER (WHERE status = 2) AS approved, COUNT(*) FILTER (WHERE status = 3) AS rejected " +
+            "FROM tb_approval_inbox WHERE stage_id = #{stageId}")
+    ApprovalTally tally(@Param("stageId") Long stageId);
+
+    /**
+     * 关闭阶段中仍待审批的待办
+     *
+     * @param stageId 阶段ID
+     * @param status  关闭状态：已取消或已超时
+     * @return 被关闭待办的审批人ID
+     */
+    @Select("UPDATE tb_approval_inbox SET status = #{status}, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE stage_id = #{stageId} AND status = 1 RETURNING approver_id")
+    List<Long> closePending(@Param("stageId") Long stageId, @Param("status") int status);
+
+    /**
+     * 取消变更请求中未开始和待审批的待办
+     *
+     * @param changeRequestId 变更请求ID
+     * @return 影响行数
+     */
+    @Update("UPDATE tb_approval_inbox SET status = 4, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE change_request_id = #{changeRequestId} AND status IN (0, 1)")
+    int cancelOpen(@Param("changeRequestId") Long changeRequestId);
+
+    /**
+     * 查询阶段的审批人
+     *
+     * @param stageId 阶段ID
+     * @return 审批人ID
+     */
+    @Select("SELECT approver_id FROM tb_approval_inbox WHERE stage_id = #{stageId} ORDER BY id")
+    List<Long> selectApproverIds(@Param("stageId") Long stageId);
+
+    /**
+     * 判断用户是否为变更请求当前阶段的待审批人
+     *
+     * @param changeRequestId 变更请求ID
+     * @param approverId      审批人ID
+     * @return 待审批的待办数
+     */
+    @Select("SELECT COUNT(*) FROM tb_approval_inbox " +
+            "WHERE change_request_id = #{changeRequestId} AND approver_id = #{approverId} AND status = 1")
+    int countPendingFor(@Param("changeRequestId") Long changeRequestId, @Param("approverId") Long approverId);
+
+    /**
+     * 分页查询审批人待审批的变更请求ID，最近激活的在前
+     *
+     * @param approverId 审批人ID
+     * @param offset     偏移量
+     * @param limit      条数
+     * @return 变更请求ID
+     */
+    @Select("SELECT change_request_id FROM tb_approval_inbox WHERE approver_id = #{approverId} AND status = 1 " +
+            "ORDER BY updated_at DESC, id DESC LIMIT #{limit} OFFSET #{offset}")
+    List<Long> selectPendingChangeRequestIds(@Param("approverId") Long approverId,
+                                             @Param("offset") long offset,
+                                             @Param("limit") int limit);
+
+    /**
+     * 统计审批人待审批的变更请求数
+     *
+     * @param approverId 审批人ID
+     * @return 待审批数
+     */
+    @Select("SELECT COUNT(*) FROM tb_approval_inbox WHERE approver_id = #{approverId} AND status = 1")
+    int countPending(@Param("approverId") Long approverId);
+
+    /**
+     * 查询变更请求的审批决定，转换为审批记录
+     *
+     * @param changeRequestId 变更请求ID
+     * @return 审批记录，最近的在前
+     */
+    @Select("SELECT i.id, i.change_request_id, i.approver_id, s.name AS approval_step, s.stage_order AS approval_level, " +
+            "CASE i.status WHEN 2 THEN 'APPROVED' WHEN 3 THEN 'REJECTED' ELSE 'EXPIRED' END AS status, " +
+            "i.comments, i.decided_at AS approved_at " +
+            "FROM tb_approval_inbox i JOIN tb_change_request_approval_stage s ON s.id = i.stage_id " +
+            "WHERE i.change_request_id = #{changeRequestId} AND i.status IN (2, 3, 5) " +
+            "ORDER BY COALESCE(i.decided_at, i.updated_at) DESC, i.id DESC")
+    List<ChangeRequestApproval> selectDecisions(@Param("changeRequestId") Long changeRequestId);
+}
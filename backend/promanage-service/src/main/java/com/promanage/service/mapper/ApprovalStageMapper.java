@@ -0,0 +1,77 @@
+package com.promanage.service.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.promanage.service.entity.ApprovalStage;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 变更请求审批阶段Mapper接口
+ * <p>
+ * 状态变更均带有原状态条件，调用方在持有变更请求行锁（版本号更新成功）后调用
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Mapper
+public interface ApprovalStageMapper extends BaseMapper<ApprovalStage> {
+
+    /**
+     * 查询变更请求未取消的审批阶段
+     *
+     * @param changeRequestId 变更请求ID
+     * @return 阶段列表，按顺序排列
+     */
+    @Select("SELECT * FROM tb_change_request_approval_stage " +
+            "WHERE change_request_id = #{changeRequestId} AND status <> 5 ORDER BY stage_order")
+    List<ApprovalStage> selectByChangeRequestId(@Param("changeRequestId") Long changeRequestId);
+
+    /**
+     * 激活未开始的阶段
+     *
+     * @param stageId 阶段ID
+     * @param dueAt   审批截止时间，为空表示不限
+     * @return 影响行数
+     */
+    @Update("UPDATE tb_change_request_approval_stage SET status = 1, activated_at = CURRENT_TIMESTAMP, " +
+            "due_at = #{dueAt}, updated_at = CURRENT_TIMESTAMP WHERE id = #{stageId} AND status = 0")
+    int activate(@Param("stageId") Long stageId, @Param("dueAt") LocalDateTime dueAt);
+
+    /**
+     * 结束进行中的阶段
+     *
+     * @param stageId 阶段ID
+     * @param status  结束状态：已通过、已拒绝或已超时
+     * @return 影响行数
+     */
+    @Update("UPDATE tb_change_request_approval_stage SET status = #{status}, completed_at = CURRENT_TIMESTAMP, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE id = #{stageId} AND status = 1")
+    int complete(@Param("stageId") Long stageId, @Param("status") int status);
+
+    /**
+     * 取消变更请求中未开始和进行中的阶段
+     *
+     * @param changeRequestId 变更请求ID
+     * @return 影响行数
+     */
+    @Update("UPDATE tb_change_request_approval_stage SET status = 5, completed_at = CURRENT_TIMESTAMP, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE change_request_id = #{changeRequestId} AND status IN (0, 1)")
+    int cancelOpen(@Param("changeRequestId") Long changeRequestId);
+
+    /**
+     * 查询已超过截止时间的进行中阶段
+     *
+     * @param now   当前时间
+     * @param limit 最大条数
+     * @return 阶段列表，按截止时间排列
+     */
+    @Select("SELECT * FROM tb_change_request_approval_stage " +
+            "WHERE status = 1 AND due_at < #{now} ORDER BY due_at LIMIT #{limit}")
+    List<ApprovalStage> selectOverdue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -2,7 +2,14 @@ package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.promanage.service.entity.ChangeRequestImpact;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 /**
  * 变更请求影响分析数据访问层
@@ -16,4 +23,48 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ChangeRequestImpactMapper extends BaseMapper<ChangeRequestImpact> {
-}
\ No newline at end of file
+
+    /**
+     * 批量插入影响分析结果，一条多行 INSERT 写入，同时回填ID
+     *
+     * @param list 影响分析结果
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO tb_change_request_impact (change_request_id, impact_type, impact_target_id, impact_description, " +
+            "entity_type, entity_id, entity_title, impact_level, confidence_score, is_verified, analysis_version, " +
+            "analysis_details, is_valid, creator_id, deleted, create_time) VALUES " +
+            "<foreach collection='list' item='item' separator=','>" +
+            "(#{item.changeRequestId}, #{item.entityType}, #{item.entityId}, #{item.impactDescription}, " +
+            "#{item.entityType}, #{item.entityId}, #{item.entityTitle}, #{item.impactLevel}, #{item.confidenceScore}, " +
+            "#{item.isVerified}, #{item.analysisVersion}, #{item.analysisDetails}, #{item.isValid}, #{item.creatorId}, " +
+            "FALSE, #{item.createTime})" +
+            "</foreach>" +
+            "</script>")
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+    int insertBatch(@Param("list") List<ChangeRequestImpact> list);
+
+    /**
+     * 查询变更请求已人工验证的影响分析结果
+     *
+     * @param changeRequestId 变更请求ID
+     * @return 已验证的结果
+     */
+    @Select("SELECT id, change_request_id, entity_type, entity_id, entity_title, impact_level, impact_description, " +
+            "confidence_score, is_verified, verified_by, verified_at, analysis_version, analysis_details, is_valid, " +
+            "creator_id, create_time " +
+            "FROM tb_change_request_impact " +
+            "WHERE change_request_id = #{changeRequestId} AND deleted = FALSE AND is_verified = TRUE " +
+            "ORDER BY id")
+    List<ChangeRequestImpact> selectVerified(@Param("changeRequestId") Long changeRequestId);
+
+    /**
+     * 删除变更请求未经人工验证的影响分析结果
+     *
+     * @param changeRequestId 变更请求ID
+     * @return 删除行数
+     */
+    @Update("UPDATE tb_change_request_impact SET deleted = TRUE " +
+            "WHERE change_request_id = #{changeRequestId} AND deleted = FALSE AND is_verified = FALSE")
+    int deleteUnverified(@Param("changeRequestId") Long changeRequestId);
+}
@@ -3,6 +3,10 @@ package com.promanage.service.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.promanage.service.entity.ChangeRequest;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
 
 /**
  * 变更请求数据访问层
@@ -16,4 +20,33 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ChangeRequestMapper extends BaseMapper<ChangeRequest> {
+
+    /**
+     * 按版本号更新变更请求（乐观锁）
+     * <p>
+     * 版本号不一致时不更新；更新成功后当前事务持有该行的行锁直到提交，
+     * 同一变更请求的其他审批操作在此等待后因版本号变化而重试。
+     * 状态等字段为空时只递增版本号。
+     * </p>
+     *
+     * @param id              变更请求ID
+     * @param expectedVersion 读取时的版本号
+     * @param status          新状态（可选）
+     * @param reviewerId      审批人ID（可选）
+     * @param approvedAt      批准时间（可选）
+     * @param updaterId       更新人ID（可选）
+     * @return 影响行数，0表示版本号已变化
+     */
+    @Update("<script>UPDATE tb_change_request SET version = COALESCE(version, 0) + 1" +
+            "<if test='status != null'>, status = #{status}</if>" +
+            "<if test='reviewerId != null'>, reviewer_id = #{reviewerId}</if>" +
+            "<if test='approvedAt != null'>, approved_at = #{approvedAt}</if>" +
+            "<if test='updaterId != null'>, updater_id = #{updaterId}</if>" +
+            " WHERE id = #{id} AND COALESCE(version, 0) = #{expectedVersion}</script>")
+    int updateWithVersion(@Param("id") Long id,
+                          @Param("expectedVersion") long expectedVersion,
+                          @Param("status") String status,
+                          @Param("reviewerId") Long reviewerId,
+                          @Param("approvedAt") LocalDateTime approvedAt,
+                          @Param("updaterId") Long updaterId);
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.promanage.service.dto.FolderDocumentCount;
 import com.promanage.service.entity.DocumentFolder;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 import java.util.List;
 
@@ -69,4 +71,50 @@ public interface DocumentFolderMapper extends BaseMapper<DocumentFolder> {
      */
     @Select("SELECT COUNT(*) FROM tb_document_folder WHERE project_id = #{projectId} AND deleted = false")
     int countByProjectId(@Param("projectId") Long projectId);
-}
\ No newline at end of file
+
+    /**
+     * 按文件夹统计项目中的文档数量
+     *
+     * @param projectId 项目ID
+     * @return 各文件夹的文档数，不包含没有文档的文件夹
+     */
+    @Select("SELECT folder_id, COUNT(*) AS total FROM tb_document " +
+            "WHERE project_id = #{projectId} AND deleted = false GROUP BY folder_id")
+    List<FolderDocumentCount> countDocumentsByFolder(@Param("projectId") Long projectId);
+
+    /**
+     * 统计子树（包括自身）中的文档数量
+     *
+     * @param projectId 项目ID
+     * @param path      子树根文件夹的路径
+     * @return 文档数量
+     */
+    @Select("SELECT COUNT(*) FROM tb_document d JOIN tb_document_folder f ON f.id = d.folder_id " +
+            "WHERE f.project_id = #{projectId} AND f.path LIKE CONCAT(#{path}, '%') " +
+            "AND f.deleted_at IS NULL AND d.deleted = false")
+    int countDocumentsInSubtree(@Param("projectId") Long projectId, @Param("path") String path);
+
+    /**
+     * 设置文件夹路径
+     *
+     * @param id   文件夹ID
+     * @param path 路径
+     * @return 影响行数
+     */
+    @Update("UPDATE tb_document_folder SET path = #{path} WHERE id = #{id}")
+    int updatePath(@Param("id") Long id, @Param("path") String path);
+
+    /**
+     * 替换子树中所有文件夹的路径前缀，用于移动文件夹
+     *
+     * @param projectId 项目ID
+     * @param oldPath   移动前的子树根路径
+     * @param newPath   移动后的子树根路径
+     * @return 影响行数
+     */
+    @Update("UPDATE tb_document_folder SET path = CONCAT(#{newPath}, SUBSTRING(path FROM CHAR_LENGTH(#{oldPath}) + 1)) " +
+            "WHERE project_id = #{projectId} AND path LIKE CONCAT(#{oldPath}, '%') AND deleted_at IS NULL")
+    int replacePathPrefix(@Param("projectId") Long projectId,
+                          @Param("oldPath") String oldPath,
+                          @Param("newPath") String newPath);
+}
@@ -5,8 +5,10 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.promanage.service.dto.SearchResultDTO;
 import com.promanage.service.entity.Document;
+import com.promanage.service.pagination.KeysetCountMapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,7 +24,7 @@ import java.util.List;
  * @date 2025-09-30
  */
 @Mapper
-public interface DocumentMapper extends BaseMapper<Document> {
+public interface DocumentMapper extends BaseMapper<Document>, KeysetCountMapper<Document> {
 
     /**
      * 根据项目ID查找文档列表
@@ -192,4 +194,13 @@ public interface DocumentMapper extends BaseMapper<Document> {
      * @return 文档标题列表
      */
     List<String> getDistinctTitlesByKeyword(@Param("keyword") String keyword);
-}
\ No newline at end of file
+
+    /**
+     * 查询文档所属项目ID，不读取文档内容
+     *
+     * @param documentId 文档ID
+     * @return 项目ID，文档不存在时为null
+     */
+    @Select("SELECT project_id FROM tb_document WHERE id = #{documentId}")
+    Long selectProjectId(@Param("documentId") Long documentId);
+}
@@ -3,8 +3,16 @@ package com.promanage.service.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.promanage.service.entity.DocumentTag;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,6 +33,7 @@ public interface DocumentTagMapper extends BaseMapper<DocumentTag> {
      * @param documentId 文档ID
      * @return 标签ID列表
      */
+    @Select("SELECT tag_id FROM document_tags WHERE document_id = #{documentId} ORDER BY id")
     List<Long> findTagIdsByDocumentId(@Param("documentId") Long documentId);
 
     /**
@@ -41,6 +50,7 @@ public interface DocumentTagMapper extends BaseMapper<DocumentTag> {
      * @param documentId 文档ID
      * @return 影响行数
      */
+    @Delete("DELETE FROM document_tags WHERE document_id = #{documentId}")
     int deleteByDocumentId(@Param("documentId") Long documentId);
 
     /**
@@ -67,4 +77,47 @@ public interface DocumentTagMapper extends BaseMapper<DocumentTag> {
      * @return 关联数量
      */
     int countByDocumentIdAndTagId(@Param("documentId") Long documentId, @Param("tagId") Long tagId);
-}
\ No newline at end of file
+
+    /**
+     * 为文档批量添加标签关联，已存在的关联跳过
+     *
+     * @param documentId 文档ID
+     * @param tagIds     标签ID，不能为空
+     * @param creatorId  创建人ID
+     * @return 实际新增的关联数
+     */
+    @Insert("<script>" +
+            "INSERT INTO document_tags (document_id, tag_id, creator_id, created_at) VALUES " +
+            "<foreach collection='tagIds' item='tagId' separator=','>" +
+            "(#{documentId}, #{tagId}, #{creatorId}, CURRENT_TIMESTAMP)" +
+            "</foreach> " +
+            "ON CONFLICT (document_id, tag_id) DO NOTHING" +
+            "</script>")
+    int insertIgnoreExisting(@Param("documentId") Long documentId,
+                             @Param("tagIds") Collection<Long> tagIds,
+                             @Param("creatorId") Long creatorId);
+
+    /**
+     * 批量删除文档的指定标签关联
+     *
+     * @param documentId 文档ID
+     * @param tagIds     标签ID，不能为空
+     * @return 删除的关联数
+     */
+    @Delete("<script>" +
+            "DELETE FROM document_tags WHERE document_id = #{documentId} AND tag_id IN " +
+            "<foreach collection='tagIds' item='tagId' open='(' separator=',' close=')'>#{tagId}</foreach>" +
+            "</script>")
+    int deleteByDocumentIdAndTagIds(@Param("documentId") Long documentId,
+                                    @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 流式读取全部文档标签关联，只包含文档ID和标签ID
+     *
+     * @param handler 逐行处理
+     */
+    @Select("SELECT document_id, tag_id FROM document_tags")
+    @Options(fetchSize = 5000, resultSetType = ResultSetType.FORWARD_ONLY)
+    @ResultType(DocumentTag.class)
+    void scanAll(ResultHandler<DocumentTag> handler);
+}
@@ -0,0 +1,84 @@
+package com.promanage.service.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.promanage.service.entity.MailMessage;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 邮件队列Mapper接口
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Mapper
+public interface MailQueueMapper extends BaseMapper<MailMessage> {
+
+    /**
+     * 认领一批到期的待发送邮件并标记为发送中
+     * <p>
+     * 使用 FOR UPDATE SKIP LOCKED，多实例部署时各调度器不会认领同一封邮件
+     * </p>
+     *
+     * @param limit 最大认领数量
+     * @return 认领到的邮件
+     */
+    @Select("UPDATE tb_mail_queue SET status = 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id IN (SELECT id FROM tb_mail_queue WHERE status = 0 AND next_attempt_at <= CURRENT_TIMESTAMP " +
+            "ORDER BY next_attempt_at LIMIT #{limit} FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *")
+    List<MailMessage> claimDue(@Param("limit") int limit);
+
+    /**
+     * 回收长时间处于发送中的邮件（调度器异常中断或应用崩溃）
+     *
+     * @param staleBefore 发送中状态早于该时间视为中断
+     * @return 回收的记录数
+     */
+    @Update("UPDATE tb_mail_queue SET status = 0, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE status = 1 AND updated_at < #{staleBefore}")
+    int releaseStale(@Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * 批量标记为已发送
+     *
+     * @param ids 邮件ID列表
+     * @return 更新的记录数
+     */
+    @Update("<script>UPDATE tb_mail_queue SET status = 2, attempts = attempts + 1, sent_at = CURRENT_TIMESTAMP, " +
+            "updated_at = CURRENT_TIMESTAMP, last_error = NULL WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach></script>")
+    int markSent(@Param("ids") List<Long> ids);
+
+    /**
+     * 批量退回待发送状态（如被域名限流），不计入尝试次数
+     *
+     * @param ids 邮件ID列表
+     * @param nextAttemptAt 下次发送时间
+     * @return 更新的记录数
+     */
+    @Update("<script>UPDATE tb_mail_queue SET status = 0, next_attempt_at = #{nextAttemptAt}, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach></script>")
+    int defer(@Param("ids") List<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * 记录一次发送失败
+     *
+     * @param id 邮件ID
+     * @param status 失败后的状态（待重试或最终失败）
+     * @param nextAttemptAt 下次发送时间
+     * @param lastError 错误信息
+     * @return 更新的记录数
+     */
+    @Update("UPDATE tb_mail_queue SET status = #{status}, attempts = attempts + 1, next_attempt_at = #{nextAttemptAt}, " +
+            "last_error = #{lastError}, updated_at = CURRENT_TIMESTAMP WHERE id = #{id}")
+    int markFailedAttempt(@Param("id") Long id, @Param("status") int status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("lastError") String lastError);
+}
@@ -2,6 +2,7 @@ package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.promanage.service.entity.Notification;
+import com.promanage.service.pagination.KeysetCountMapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -11,7 +12,7 @@ import java.util.List;
  * 通知Mapper接口
  */
 @Mapper
-public interface NotificationMapper extends BaseMapper<Notification> {
+public interface NotificationMapper extends BaseMapper<Notification>, KeysetCountMapper<Notification> {
 
     /**
      * 根据用户ID查找未读通知数量
@@ -0,0 +1,75 @@
+package com.promanage.service.mapper;
+
+import com.promanage.service.organization.OrganizationMemberQuery;
+import com.promanage.service.organization.OrganizationMemberRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 组织成员分页查询Mapper接口
+ * <p>
+ * 过滤、排序和分页均在数据库完成，只读取成员信息需要的列。
+ * 排序键表达式来自 {@code OrganizationMemberSort} 常量，不包含用户输入。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Mapper
+public interface OrganizationMemberMapper {
+
+    String MEMBER_FILTER =
+            "FROM tb_user u " +
+            "WHERE u.organization_id = #{organizationId} AND u.deleted_at IS NULL " +
+            "<if test='q.namePrefix != null'>" +
+            "AND (LOWER(COALESCE(NULLIF(u.real_name, ''), u.username)) LIKE #{q.namePrefix} " +
+            "OR LOWER(u.username) LIKE #{q.namePrefix}) " +
+            "</if>" +
+            "<if test='q.status != null'>AND u.status = #{q.status} </if>" +
+            "<if test='q.roleCode != null'>" +
+            "AND EXISTS (SELECT 1 FROM tb_user_role ur JOIN tb_role r ON r.id = ur.role_id " +
+            "WHERE ur.user_id = u.id AND r.role_code = #{q.roleCode} AND r.deleted = FALSE) " +
+            "</if>";
+
+    /**
+     * 查询一页组织成员
+     *
+     * @param organizationId 组织ID
+     * @param q 查询条件，设置了游标位置时按 (排序键, id) 定位，否则按偏移量
+     * @return 成员行，按扫描方向排序
+     */
+    @Select("<script>" +
+            "SELECT u.id, u.username, u.real_name, u.email, u.position, u.status, u.last_login_time, " +
+            "CAST(${q.sort.keyExpression} AS TEXT) AS sort_key " +
+            MEMBER_FILTER +
+            "<if test='q.afterId != null'>" +
+            "AND (${q.sort.keyExpression}, u.id) ${q.comparator} " +
+            "(CAST(#{q.afterKey} AS ${q.sort.keyType}), #{q.afterId}) " +
+            "</if>" +
+            "ORDER BY ${q.sort.keyExpression} ${q.direction}, u.id ${q.direction} " +
+            "LIMIT #{q.limit}" +
+            "<if test='q.offset != null'> OFFSET #{q.offset}</if>" +
+            "</script>")
+    List<OrganizationMemberRow> selectMembers(@Param("organizationId") Long organizationId,
+                                              @Param("q") OrganizationMemberQuery q);
+
+    /**
+     * 统计符合过滤条件的成员数，最多统计到 maxCount
+     *
+     * @param organizationId 组织ID
+     * @param q 查询条件，只使用过滤条件
+     * @param maxCount 统计上限
+     * @return 成员数
+     */
+    @Select("<script>" +
+            "SELECT COUNT(*) FROM (SELECT 1 " +
+            MEMBER_FILTER +
+            "LIMIT #{maxCount}) t" +
+            "</script>")
+    long countMembers(@Param("organizationId") Long organizationId,
+                      @Param("q") OrganizationMemberQuery q,
+                      @Param("maxCount") int maxCount);
+}
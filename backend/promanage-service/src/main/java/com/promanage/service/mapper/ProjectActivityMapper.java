@@ -2,8 +2,9 @@ package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.promanage.service.entity.ProjectActivity;
+import com.promanage.service.pagination.KeysetCountMapper;
 import org.apache.ibatis.annotations.Mapper;
 
 @Mapper
-public interface ProjectActivityMapper extends BaseMapper<ProjectActivity> {
+public interface ProjectActivityMapper extends BaseMapper<ProjectActivity>, KeysetCountMapper<ProjectActivity> {
 }
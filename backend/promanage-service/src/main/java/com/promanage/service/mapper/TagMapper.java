@@ -1,10 +1,13 @@
 package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.promanage.service.dto.TagUsageCount;
 import com.promanage.service.entity.Tag;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,8 +26,10 @@ public interface TagMapper extends BaseMapper<Tag> {
      * 根据项目ID查询标签列表
      *
      * @param projectId 项目ID（null表示查询全局标签）
-     * @return 标签列表
+     * @return 项目标签和全局标签
      */
+    @Select("SELECT id, name, color, description, project_id, creator_id, usage_count, is_active FROM tags " +
+            "WHERE deleted_at IS NULL AND (project_id = #{projectId} OR project_id IS NULL) ORDER BY id")
     List<Tag> findByProjectId(@Param("projectId") Long projectId);
 
     /**
@@ -33,15 +38,27 @@ public interface TagMapper extends BaseMapper<Tag> {
      * @param documentId 文档ID
      * @return 标签列表
      */
+    @Select("SELECT t.id, t.name, t.color, t.description, t.project_id, t.creator_id, t.usage_count, t.is_active " +
+            "FROM tags t JOIN document_tags dt ON dt.tag_id = t.id " +
+            "WHERE dt.document_id = #{documentId} AND t.deleted_at IS NULL ORDER BY dt.id")
     List<Tag> findByDocumentId(@Param("documentId") Long documentId);
 
     /**
      * 根据名称查询标签
+     * <p>
+     * 标签名称全局唯一，projectId 为 null 时不限定范围，用于创建前判重
+     * </p>
      *
      * @param name     标签名称
-     * @param projectId 项目ID（null表示全局标签）
+     * @param projectId 项目ID（只查该项目标签和全局标签；null表示不限定）
      * @return 标签实体
      */
+    @Select("<script>" +
+            "SELECT id, name, color, description, project_id, creator_id, usage_count, is_active FROM tags " +
+            "WHERE deleted_at IS NULL AND name = #{name} " +
+            "<if test='projectId != null'>AND (project_id = #{projectId} OR project_id IS NULL) </if>" +
+            "LIMIT 1" +
+            "</script>")
     Tag findByName(@Param("name") String name, @Param("projectId") Long projectId);
 
     /**
@@ -68,4 +85,69 @@ public interface TagMapper extends BaseMapper<Tag> {
      * @return 标签列表
      */
     List<Tag> findPopularTags(@Param("projectId") Long projectId, @Param("limit") Integer limit);
-}
\ No newline at end of file
+
+    /**
+     * 按名称批量查询未删除的标签
+     *
+     * @param names 标签名称，不能为空
+     * @return 标签列表
+     */
+    @Select("<script>" +
+            "SELECT id, name, color, description, project_id, creator_id, usage_count, is_active FROM tags " +
+            "WHERE deleted_at IS NULL AND name IN " +
+            "<foreach collection='names' item='name' open='(' separator=',' close=')'>#{name}</foreach>" +
+            "</script>")
+    List<Tag> selectByNames(@Param("names") Collection<String> names);
+
+    /**
+     * 批量创建标签，名称已存在时跳过；已逻辑删除的同名标签恢复使用
+     * <p>
+     * 只返回本次新建或恢复的标签，被并发事务抢先创建的标签不在结果中
+     * </p>
+     *
+     * @param names     标签名称，不能为空
+     * @param projectId 项目ID（null表示全局标签）
+     * @param creatorId 创建人ID
+     * @return 新建或恢复的标签
+     */
+    @Select("<script>" +
+            "INSERT INTO tags (name, project_id, creator_id, usage_count, is_active, created_at, updated_at) VALUES " +
+            "<foreach collection='names' item='name' separator=','>" +
+            "(#{name}, #{projectId}, #{creatorId}, 0, TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)" +
+            "</foreach> " +
+            "ON CONFLICT (name) DO UPDATE SET deleted_at = NULL, deleted_by = NULL, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE tags.deleted_at IS NOT NULL " +
+            "RETURNING id, name, color, description, project_id, creator_id, usage_count, is_active" +
+            "</script>")
+    List<Tag> insertMissing(@Param("names") Collection<String> names,
+                            @Param("projectId") Long projectId,
+                            @Param("creatorId") Long creatorId);
+
+    /**
+     * 按ID批量查询未删除的标签
+     *
+     * @param ids 标签ID，不能为空
+     * @return 标签列表，顺序不保证
+     */
+    @Select("<script>" +
+            "SELECT id, name, color, description, project_id, creator_id, usage_count, is_active FROM tags " +
+            "WHERE deleted_at IS NULL AND id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Tag> selectActiveByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 统计各标签关联的未删除文档数
+     *
+     * @param projectId 项目ID（null表示统计所有项目的文档）
+     * @return 各标签的使用次数，只包含至少关联一篇文档的标签
+     */
+    @Select("<script>" +
+            "SELECT dt.tag_id, COUNT(*) AS usage_count FROM document_tags dt " +
+            "JOIN tb_document d ON d.id = dt.document_id " +
+            "WHERE d.deleted = FALSE " +
+            "<if test='projectId != null'>AND d.project_id = #{projectId} </if>" +
+            "GROUP BY dt.tag_id" +
+            "</script>")
+    List<TagUsageCount> countUsage(@Param("projectId") Long projectId);
+}
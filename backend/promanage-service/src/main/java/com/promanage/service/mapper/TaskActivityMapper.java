@@ -2,6 +2,7 @@ package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.promanage.service.entity.TaskActivity;
+import com.promanage.service.pagination.KeysetCountMapper;
 import org.apache.ibatis.annotations.Mapper;
 
 /**
@@ -12,6 +13,6 @@ import org.apache.ibatis.annotations.Mapper;
  * @since 2025-10-07
  */
 @Mapper
-public interface TaskActivityMapper extends BaseMapper<TaskActivity> {
+public interface TaskActivityMapper extends BaseMapper<TaskActivity>, KeysetCountMapper<TaskActivity> {
     
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.promanage.service.dto.TaskChildCount;
 import com.promanage.service.entity.TaskAttachment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 任务附件Mapper接口
  *
@@ -24,4 +28,20 @@ public interface TaskAttachmentMapper extends BaseMapper<TaskAttachment> {
      */
     @Select("SELECT COUNT(*) FROM tb_task_attachment WHERE task_id = #{taskId} AND deleted_at IS NULL")
     int countByTaskId(@Param("taskId") Long taskId);
-}
\ No newline at end of file
+
+    /**
+     * 按任务统计指定任务的附件数量
+     *
+     * @param taskIds 任务ID集合
+     * @return 每个有附件的任务一行
+     */
+    @Select("<script>" +
+            "SELECT task_id, COUNT(*) AS total, 0 AS completed " +
+            "FROM tb_task_attachment " +
+            "WHERE task_id IN " +
+            "<foreach collection='taskIds' item='taskId' open='(' separator=',' close=')'>#{taskId}</foreach> " +
+            "AND deleted_at IS NULL " +
+            "GROUP BY task_id" +
+            "</script>")
+    List<TaskChildCount> countByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+}
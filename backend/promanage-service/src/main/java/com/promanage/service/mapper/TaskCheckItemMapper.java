@@ -1,8 +1,14 @@
 package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.promanage.service.dto.TaskChildCount;
 import com.promanage.service.entity.TaskCheckItem;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 任务检查项Mapper接口
@@ -13,5 +19,33 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface TaskCheckItemMapper extends BaseMapper<TaskCheckItem> {
-    
-}
\ No newline at end of file
+
+    /**
+     * 按任务统计项目内检查项总数和已完成数
+     *
+     * @param projectId 项目ID
+     * @return 每个有检查项的任务一行
+     */
+    @Select("SELECT c.task_id, COUNT(*) AS total, COUNT(*) FILTER (WHERE c.is_completed) AS completed " +
+            "FROM tb_task_check_item c " +
+            "JOIN tb_task t ON t.id = c.task_id " +
+            "WHERE t.project_id = #{projectId} AND c.deleted_at IS NULL " +
+            "GROUP BY c.task_id")
+    List<TaskChildCount> countByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * 按任务统计指定任务的检查项总数和已完成数
+     *
+     * @param taskIds 任务ID集合
+     * @return 每个有检查项的任务一行
+     */
+    @Select("<script>" +
+            "SELECT task_id, COUNT(*) AS total, COUNT(*) FILTER (WHERE is_completed) AS completed " +
+            "FROM tb_task_check_item " +
+            "WHERE task_id IN " +
+            "<foreach collection='taskIds' item='taskId' open='(' separator=',' close=')'>#{taskId}</foreach> " +
+            "AND deleted_at IS NULL " +
+            "GROUP BY task_id" +
+            "</script>")
+    List<TaskChildCount> countByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -1,10 +1,14 @@
 package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.promanage.service.dto.TaskChildCount;
 import com.promanage.service.entity.TaskComment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 任务评论Mapper接口
  *
@@ -22,4 +26,28 @@ public interface TaskCommentMapper extends BaseMapper<TaskComment> {
      * @return 回复数量
      */
     int countReplies(@Param("parentCommentId") Long parentCommentId);
-}
\ No newline at end of file
+
+    /**
+     * 按任务统计项目内有效评论数量
+     *
+     * @param projectId 项目ID
+     * @return 每个有评论的任务一行
+     */
+    List<TaskChildCount> countByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * 按任务统计指定任务的有效评论数量
+     *
+     * @param taskIds 任务ID集合
+     * @return 每个有评论的任务一行
+     */
+    List<TaskChildCount> countByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * 按父评论统计回复数量
+     *
+     * @param parentCommentIds 父评论ID集合
+     * @return 每个有回复的评论一行，taskId 字段为父评论ID
+     */
+    List<TaskChildCount> countRepliesByParentIds(@Param("parentCommentIds") Collection<Long> parentCommentIds);
+}
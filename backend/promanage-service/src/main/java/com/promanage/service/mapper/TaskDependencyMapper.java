@@ -1,6 +1,7 @@
 package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.promanage.service.dto.TaskDependencyEdge;
 import com.promanage.service.entity.TaskDependency;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
@@ -48,6 +49,34 @@ public interface TaskDependencyMapper extends BaseMapper<TaskDependency> {
     boolean existsDependency(@Param("prerequisiteTaskId") Long prerequisiteTaskId, 
                             @Param("dependentTaskId") Long dependentTaskId);
 
+    /**
+     * 查询与项目相关的所有依赖边（任一端属于该项目，两端任务均未删除）
+     *
+     * @param projectId 项目ID
+     * @return 依赖边列表
+     */
+    @Select("SELECT d.dependent_task_id, d.prerequisite_task_id, (dt.project_id <> pt.project_id) AS cross_project " +
+            "FROM tb_task_dependency d " +
+            "JOIN tb_task dt ON dt.id = d.dependent_task_id " +
+            "JOIN tb_task pt ON pt.id = d.prerequisite_task_id " +
+            "WHERE (dt.project_id = #{projectId} OR pt.project_id = #{projectId}) " +
+            "AND dt.deleted_at IS NULL AND pt.deleted_at IS NULL")
+    List<TaskDependencyEdge> findEdgesByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * 检查 fromTaskId 是否直接或间接依赖于 toTaskId（递归CTE，UNION 去重保证有环时也能终止）
+     *
+     * @param fromTaskId 起始任务ID
+     * @param toTaskId 目标前置任务ID
+     * @return true表示存在依赖路径
+     */
+    @Select("WITH RECURSIVE upstream(task_id) AS (" +
+            "SELECT prerequisite_task_id FROM tb_task_dependency WHERE dependent_task_id = #{fromTaskId} " +
+            "UNION " +
+            "SELECT d.prerequisite_task_id FROM tb_task_dependency d JOIN upstream u ON d.dependent_task_id = u.task_id" +
+            ") SELECT EXISTS (SELECT 1 FROM upstream WHERE task_id = #{toTaskId})")
+    boolean existsDependencyPath(@Param("fromTaskId") Long fromTaskId, @Param("toTaskId") Long toTaskId);
+
     /**
      * 删除任务依赖关系
      *
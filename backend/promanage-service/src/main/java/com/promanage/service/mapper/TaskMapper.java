@@ -2,10 +2,15 @@ package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.promanage.service.dto.SearchResultDTO;
+import com.promanage.service.dto.TaskChildCount;
 import com.promanage.service.entity.Task;
+import com.promanage.service.pagination.KeysetCountMapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -17,7 +22,7 @@ import java.util.Map;
  * @since 2025-10-03
  */
 @Mapper
-public interface TaskMapper extends BaseMapper<Task> {
+public interface TaskMapper extends BaseMapper<Task>, KeysetCountMapper<Task> {
     
     /**
      * 搜索任务（用于搜索服务）
@@ -74,4 +79,62 @@ public interface TaskMapper extends BaseMapper<Task> {
      * @return 任务标题列表
      */
     List<String> getDistinctTitlesByKeyword(@Param("keyword") String keyword);
-}
\ No newline at end of file
+
+    /**
+     * 批量更新排序键，一条语句更新所有给定任务
+     *
+     * @param tasks 任务（仅使用 id 和 sortRank）
+     * @return 更新行数
+     */
+    @Update("<script>" +
+            "UPDATE tb_task t SET sort_rank = v.sort_rank FROM (VALUES " +
+            "<foreach collection='tasks' item='task' separator=','>(#{task.id}::BIGINT, #{task.sortRank})</foreach>" +
+            ") AS v(id, sort_rank) WHERE t.id = v.id" +
+            "</script>")
+    int updateSortRanks(@Param("tasks") List<Task> tasks);
+
+    /**
+     * 用递归 CTE 一次加载任务子树（含根任务），按层级和排序键排列
+     *
+     * @param rootId 根任务ID
+     * @param maxDepth 最大层级（根为0）
+     * @return 子树中未删除的任务
+     */
+    @Select("WITH RECURSIVE tree AS (" +
+            "SELECT t.*, 0 AS depth FROM tb_task t WHERE t.id = #{rootId} AND t.deleted_at IS NULL " +
+            "UNION ALL " +
+            "SELECT c.*, tree.depth + 1 FROM tb_task c JOIN tree ON c.parent_task_id = tree.id " +
+            "WHERE c.deleted_at IS NULL AND tree.depth < #{maxDepth}" +
+            ") SELECT * FROM tree ORDER BY depth, sort_rank, id")
+    List<Task> selectSubtree(@Param("rootId") Long rootId, @Param("maxDepth") int maxDepth);
+
+    /**
+     * 用递归 CTE 查询任务自身及其全部祖先任务ID，由近及远排列
+     *
+     * @param taskId 任务ID
+     * @return 祖先链上的任务ID（第一个为任务自身）
+     */
+    @Select("WITH RECURSIVE chain AS (" +
+            "SELECT id, parent_task_id, 0 AS depth FROM tb_task WHERE id = #{taskId} " +
+            "UNION ALL " +
+            "SELECT p.id, p.parent_task_id, chain.depth + 1 FROM tb_task p JOIN chain ON p.id = chain.parent_task_id " +
+            "WHERE chain.depth < 256" +
+            ") SELECT id FROM chain ORDER BY depth")
+    List<Long> selectAncestorIds(@Param("taskId") Long taskId);
+
+    /**
+     * 按父任务统计未删除的直接子任务数量
+     *
+     * @param parentTaskIds 父任务ID集合
+     * @return 每个有子任务的任务一行
+     */
+    @Select("<script>" +
+            "SELECT parent_task_id AS task_id, COUNT(*) AS total, 0 AS completed " +
+            "FROM tb_task " +
+            "WHERE parent_task_id IN " +
+            "<foreach collection='parentTaskIds' item='parentTaskId' open='(' separator=',' close=')'>#{parentTaskId}</foreach> " +
+            "AND deleted_at IS NULL " +
+            "GROUP BY parent_task_id" +
+            "</script>")
+    List<TaskChildCount> countSubtasksByParentIds(@Param("parentTaskIds") Collection<Long> parentTaskIds);
+}
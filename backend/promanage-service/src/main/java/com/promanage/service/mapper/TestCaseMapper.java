@@ -2,7 +2,16 @@ package com.promanage.service.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.promanage.service.entity.TestCase;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 测试用例Mapper接口
@@ -13,4 +22,63 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface TestCaseMapper extends BaseMapper<TestCase> {
+
+    /**
+     * 批量插入导入的测试用例，一条多行 INSERT 语句
+     * <p>
+     * 每行 11 个参数，单批不应超过约 5000 行（PostgreSQL 单条语句最多 65535 个参数）。
+     * </p>
+     *
+     * @param list 测试用例列表
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO tb_test_case (project_id, title, description, type, status, priority, module, " +
+            "creator_id, assignee_id, create_time, update_time) VALUES " +
+            "<foreach collection='list' item='item' separator=','>" +
+            "(#{item.projectId}, #{item.title}, #{item.description}, #{item.type}, #{item.status}, " +
+            "#{item.priority}, #{item.module}, #{item.creatorId}, #{item.assigneeId}, " +
+            "#{item.createTime}, #{item.updateTime})" +
+            "</foreach>" +
+            "</script>")
+    int batchInsert(@Param("list") List<TestCase> list);
+
+    /**
+     * 以游标逐行读取导出的测试用例
+     * <p>
+     * 必须在事务中读取：PostgreSQL 驱动只有在关闭自动提交时才按 fetchSize 分批取数，
+     * 否则会把整个结果集读入内存；游标也需要在会话关闭前读完。
+     * </p>
+     *
+     * @param projectId 项目ID
+     * @param ids 测试用例ID，为空时导出项目内全部测试用例
+     * @return 按创建时间倒序的游标
+     */
+    @Select("<script>" +
+            "SELECT id, title, description, type, status, priority, module, creator_id, assignee_id, create_time " +
+            "FROM tb_test_case " +
+            "WHERE project_id = #{projectId} AND deleted = false " +
+            "<if test='ids != null and !ids.isEmpty()'>" +
+            "AND id IN <foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "</if>" +
+            "ORDER BY create_time DESC, id DESC" +
+            "</script>")
+    @Options(fetchSize = 1000, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<TestCase> streamForExport(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * 统计可导出的测试用例数量
+     *
+     * @param projectId 项目ID
+     * @param ids 测试用例ID，为空时统计项目内全部测试用例
+     * @return 数量
+     */
+    @Select("<script>" +
+            "SELECT COUNT(*) FROM tb_test_case " +
+            "WHERE project_id = #{projectId} AND deleted = false " +
+            "<if test='ids != null and !ids.isEmpty()'>" +
+            "AND id IN <foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</if>" +
+            "</script>")
+    long countForExport(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
 }
@@ -36,24 +36,24 @@ public interface TestExecutionMapper extends BaseMapper<TestExecution> {
     Map<String, Object> getExecutionStatistics(@Param("testCaseId") Long testCaseId);
 
     /**
-     * 获取项目的测试用例统计信息
+     * 获取项目的测试用例状态统计信息
+     * <p>
+     * 执行次数等执行统计由 {@link TestExecutionStatsMapper} 维护的汇总表提供，这里不再关联执行历史。
+     * </p>
      *
      * @param projectId 项目ID
      * @return 统计信息Map
      */
     @Select("SELECT " +
-            "COUNT(DISTINCT tc.id) as totalCount, " +
+            "COUNT(*) as totalCount, " +
             "SUM(CASE WHEN tc.status = 0 THEN 1 ELSE 0 END) as draftCount, " +
             "SUM(CASE WHEN tc.status = 1 THEN 1 ELSE 0 END) as pendingCount, " +
             "SUM(CASE WHEN tc.status = 2 THEN 1 ELSE 0 END) as inProgressCount, " +
             "SUM(CASE WHEN tc.status = 3 THEN 1 ELSE 0 END) as passedCount, " +
             "SUM(CASE WHEN tc.status = 4 THEN 1 ELSE 0 END) as failedCount, " +
             "SUM(CASE WHEN tc.status = 5 THEN 1 ELSE 0 END) as blockedCount, " +
-            "SUM(CASE WHEN tc.status = 6 THEN 1 ELSE 0 END) as skippedCount, " +
-            "COUNT(te.id) as totalExecutions, " +
-            "MAX(te.create_time) as lastExecutionTime " +
+            "SUM(CASE WHEN tc.status = 6 THEN 1 ELSE 0 END) as skippedCount " +
             "FROM tb_test_case tc " +
-            "LEFT JOIN tb_test_execution te ON tc.id = te.test_case_id AND te.deleted = FALSE " +
             "WHERE tc.project_id = #{projectId} AND tc.deleted = FALSE")
     Map<String, Object> getProjectStatistics(@Param("projectId") Long projectId);
 }
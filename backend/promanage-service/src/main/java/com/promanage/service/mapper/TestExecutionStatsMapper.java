@@ -0,0 +1,167 @@
+package com.promanage.service.mapper;
+
+import com.promanage.service.dto.TestExecutionCounts;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 测试执行统计Mapper接口
+ * <p>
+ * 维护测试用例累计统计表和执行日统计表。累计统计行在写入前先加行锁，保证并发执行时翻转次数按提交顺序计算；
+ * 日统计通过 upsert 原子累加。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Mapper
+public interface TestExecutionStatsMapper {
+
+    /**
+     * 测试用例累计统计行不存在时插入空行
+     *
+     * @param testCaseId 测试用例ID
+     * @param projectId 项目ID
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO tb_test_case_execution_stats (test_case_id, project_id) " +
+            "VALUES (#{testCaseId}, #{projectId}) ON CONFLICT (test_case_id) DO NOTHING")
+    int ensureRow(@Param("testCaseId") Long testCaseId, @Param("projectId") Long projectId);
+
+    /**
+     * 锁定并读取测试用例累计统计
+     *
+     * @param testCaseId 测试用例ID
+     * @return 累计统计，不存在时返回 null
+     */
+    @Select("SELECT total_count, pass_count, fail_count, block_count, skip_count, transition_count, " +
+            "CASE WHEN pass_count + fail_count > 0 THEN 1 ELSE 0 END AS verdict_case_count, " +
+            "total_execution_time, last_verdict, last_result, last_execution_time " +
+            "FROM tb_test_case_execution_stats WHERE test_case_id = #{testCaseId} FOR UPDATE")
+    TestExecutionCounts lockByTestCaseId(@Param("testCaseId") Long testCaseId);
+
+    /**
+     * 读取测试用例累计统计
+     *
+     * @param testCaseId 测试用例ID
+     * @return 累计统计，不存在时返回 null
+     */
+    @Select("SELECT total_count, pass_count, fail_count, block_count, skip_count, transition_count, " +
+            "CASE WHEN pass_count + fail_count > 0 THEN 1 ELSE 0 END AS verdict_case_count, " +
+            "total_execution_time, last_verdict, last_result, last_execution_time " +
+            "FROM tb_test_case_execution_stats WHERE test_case_id = #{testCaseId}")
+    TestExecutionCounts selectByTestCaseId(@Param("testCaseId") Long testCaseId);
+
+    /**
+     * 累加一次执行到测试用例累计统计
+     *
+     * @param testCaseId 测试用例ID
+     * @param result 执行结果: 0-通过, 1-失败, 2-阻塞, 3-跳过
+     * @param executionTime 执行时长(分钟)，可为空
+     * @param flip 本次结果是否与上一次通过/失败结果相反
+     * @param executedAt 执行时间
+     * @param executorId 执行人ID
+     * @return 影响行数
+     */
+    @Update("UPDATE tb_test_case_execution_stats SET " +
+            "total_count = total_count + 1, " +
+            "pass_count = pass_count + CASE WHEN #{result} = 0 THEN 1 ELSE 0 END, " +
+            "fail_count = fail_count + CASE WHEN #{result} = 1 THEN 1 ELSE 0 END, " +
+            "block_count = block_count + CASE WHEN #{result} = 2 THEN 1 ELSE 0 END, " +
+            "skip_count = skip_count + CASE WHEN #{result} = 3 THEN 1 ELSE 0 END, " +
+            "total_execution_time = total_execution_time + COALESCE(#{executionTime}, 0), " +
+            "transition_count = transition_count + CASE WHEN #{flip} THEN 1 ELSE 0 END, " +
+            "last_verdict = CASE WHEN #{result} IN (0, 1) THEN #{result} ELSE last_verdict END, " +
+            "last_result = #{result}, " +
+            "last_execution_time = #{executedAt}, " +
+            "last_executor_id = #{executorId} " +
+            "WHERE test_case_id = #{testCaseId}")
+    int applyExecution(@Param("testCaseId") Long testCaseId,
+                       @Param("result") int result,
+                       @Param("executionTime") Integer executionTime,
+                       @Param("flip") boolean flip,
+                       @Param("executedAt") LocalDateTime executedAt,
+                       @Param("executorId") Long executorId);
+
+    /**
+     * 累加一次执行到执行日统计，行不存在时插入
+     *
+     * @param testCaseId 测试用例ID
+     * @param projectId 项目ID
+     * @param workDate 执行日期
+     * @param result 执行结果
+     * @param flip 本次结果是否与上一次通过/失败结果相反
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO tb_test_execution_daily AS d (test_case_id, project_id, work_date, total_count, " +
+            "pass_count, fail_count, block_count, skip_count, transition_count) " +
+            "VALUES (#{testCaseId}, #{projectId}, #{workDate}, 1, " +
+            "CASE WHEN #{result} = 0 THEN 1 ELSE 0 END, CASE WHEN #{result} = 1 THEN 1 ELSE 0 END, " +
+            "CASE WHEN #{result} = 2 THEN 1 ELSE 0 END, CASE WHEN #{result} = 3 THEN 1 ELSE 0 END, " +
+            "CASE WHEN #{flip} THEN 1 ELSE 0 END) " +
+            "ON CONFLICT (test_case_id, work_date) DO UPDATE SET " +
+            "total_count = d.total_count + EXCLUDED.total_count, " +
+            "pass_count = d.pass_count + EXCLUDED.pass_count, " +
+            "fail_count = d.fail_count + EXCLUDED.fail_count, " +
+            "block_count = d.block_count + EXCLUDED.block_count, " +
+            "skip_count = d.skip_count + EXCLUDED.skip_count, " +
+            "transition_count = d.transition_count + EXCLUDED.transition_count")
+    int addDaily(@Param("testCaseId") Long testCaseId,
+                 @Param("projectId") Long projectId,
+                 @Param("workDate") LocalDate workDate,
+                 @Param("result") int result,
+                 @Param("flip") boolean flip);
+
+    /**
+     * 测试用例在某日之后的执行计数
+     *
+     * @param testCaseId 测试用例ID
+     * @param since 开始日期（含）
+     * @return 窗口内计数
+     */
+    @Select("SELECT COALESCE(SUM(total_count), 0) AS total_count, COALESCE(SUM(pass_count), 0) AS pass_count, " +
+            "COALESCE(SUM(fail_count), 0) AS fail_count, COALESCE(SUM(block_count), 0) AS block_count, " +
+            "COALESCE(SUM(skip_count), 0) AS skip_count, COALESCE(SUM(transition_count), 0) AS transition_count, " +
+            "CASE WHEN SUM(pass_count + fail_count) > 0 THEN 1 ELSE 0 END AS verdict_case_count " +
+            "FROM tb_test_execution_daily " +
+            "WHERE test_case_id = #{testCaseId} AND work_date >= #{since}")
+    TestExecutionCounts sumByTestCaseSince(@Param("testCaseId") Long testCaseId, @Param("since") LocalDate since);
+
+    /**
+     * 项目内未删除测试用例的累计执行计数
+     *
+     * @param projectId 项目ID
+     * @return 累计计数
+     */
+    @Select("SELECT COALESCE(SUM(s.total_count), 0) AS total_count, COALESCE(SUM(s.pass_count), 0) AS pass_count, " +
+            "COALESCE(SUM(s.fail_count), 0) AS fail_count, COALESCE(SUM(s.block_count), 0) AS block_count, " +
+            "COALESCE(SUM(s.skip_count), 0) AS skip_count, COALESCE(SUM(s.transition_count), 0) AS transition_count, " +
+            "COUNT(*) FILTER (WHERE s.pass_count + s.fail_count > 0) AS verdict_case_count, " +
+            "MAX(s.last_execution_time) AS last_execution_time " +
+            "FROM tb_test_case_execution_stats s " +
+            "JOIN tb_test_case tc ON tc.id = s.test_case_id AND tc.deleted = FALSE " +
+            "WHERE s.project_id = #{projectId}")
+    TestExecutionCounts sumByProject(@Param("projectId") Long projectId);
+
+    /**
+     * 项目内未删除测试用例在某日之后的执行计数
+     *
+     * @param projectId 项目ID
+     * @param since 开始日期（含）
+     * @return 窗口内计数
+     */
+    @Select("SELECT COALESCE(SUM(d.total_count), 0) AS total_count, COALESCE(SUM(d.pass_count), 0) AS pass_count, " +
+            "COALESCE(SUM(d.fail_count), 0) AS fail_count, COALESCE(SUM(d.block_count), 0) AS block_count, " +
+            "COALESCE(SUM(d.skip_count), 0) AS skip_count, COALESCE(SUM(d.transition_count), 0) AS transition_count, " +
+            "COUNT(DISTINCT d.test_case_id) FILTER (WHERE d.pass_count + d.fail_count > 0) AS verdict_case_count " +
+            "FROM tb_test_execution_daily d " +
+            "JOIN tb_test_case tc ON tc.id = d.test_case_id AND tc.deleted = FALSE " +
+            "WHERE d.project_id = #{projectId} AND d.work_date >= #{since}")
+    TestExecutionCounts sumByProjectSince(@Param("projectId") Long projectId, @Param("since") LocalDate since);
+}
@@ -0,0 +1,114 @@
+package com.promanage.service.mapper;
+
+import com.promanage.service.dto.TimesheetCell;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 时间追踪日汇总Mapper接口
+ * <p>
+ * 汇总表以 (user_id, task_id, work_date) 为主键，增量通过 upsert 原子累加，并发写同一行时由行锁串行化。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Mapper
+public interface TimeTrackingDailyMapper {
+
+    /**
+     * 累加某用户某任务某日的工时和记录数，行不存在时插入
+     *
+     * @param userId 用户ID
+     * @param taskId 任务ID
+     * @param projectId 项目ID，为空时保留原值
+     * @param workDate 工作日期
+     * @param hours 工时增量，可为负
+     * @param entries 记录数增量，可为负
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO tb_time_tracking_daily AS d (user_id, task_id, project_id, work_date, total_hours, entry_count) " +
+            "VALUES (#{userId}, #{taskId}, #{projectId}, #{workDate}, #{hours}, #{entries}) " +
+            "ON CONFLICT (user_id, task_id, work_date) DO UPDATE " +
+            "SET project_id = COALESCE(EXCLUDED.project_id, d.project_id), " +
+            "total_hours = d.total_hours + EXCLUDED.total_hours, " +
+            "entry_count = d.entry_count + EXCLUDED.entry_count")
+    int addHours(@Param("userId") Long userId,
+                 @Param("taskId") Long taskId,
+                 @Param("projectId") Long projectId,
+                 @Param("workDate") LocalDate workDate,
+                 @Param("hours") double hours,
+                 @Param("entries") int entries);
+
+    /**
+     * 删除已没有记录的汇总行
+     *
+     * @param userId 用户ID
+     * @param taskId 任务ID
+     * @param workDate 工作日期
+     * @return 删除行数
+     */
+    @Delete("DELETE FROM tb_time_tracking_daily " +
+            "WHERE user_id = #{userId} AND task_id = #{taskId} AND work_date = #{workDate} AND entry_count <= 0")
+    int deleteIfEmpty(@Param("userId") Long userId,
+                      @Param("taskId") Long taskId,
+                      @Param("workDate") LocalDate workDate);
+
+    /**
+     * 按条件求总工时，所有条件均可为空
+     *
+     * @param userId 用户ID
+     * @param taskId 任务ID
+     * @param projectId 项目ID
+     * @param startDate 开始日期（含）
+     * @param endDate 结束日期（含）
+     * @return 总工时
+     */
+    @Select("<script>" +
+            "SELECT COALESCE(SUM(total_hours), 0) FROM tb_time_tracking_daily " +
+            "<where>" +
+            "<if test='userId != null'>AND user_id = #{userId} </if>" +
+            "<if test='taskId != null'>AND task_id = #{taskId} </if>" +
+            "<if test='projectId != null'>AND project_id = #{projectId} </if>" +
+            "<if test='startDate != null'>AND work_date &gt;= #{startDate} </if>" +
+            "<if test='endDate != null'>AND work_date &lt;= #{endDate} </if>" +
+            "</where>" +
+            "</script>")
+    double sumHours(@Param("userId") Long userId,
+                    @Param("taskId") Long taskId,
+                    @Param("projectId") Long projectId,
+                    @Param("startDate") LocalDate startDate,
+                    @Param("endDate") LocalDate endDate);
+
+    /**
+     * 按 (用户, 任务, 周期) 分组求和
+     *
+     * @param userId 用户ID，可为空
+     * @param projectId 项目ID，可为空
+     * @param startDate 开始日期（含）
+     * @param endDate 结束日期（含）
+     * @param unit date_trunc 时间单位，只能取 {@link com.promanage.service.timesheet.TimeBucket#getUnit()}
+     * @return 有工时的单元格
+     */
+    @Select("<script>" +
+            "SELECT user_id, task_id, MAX(project_id) AS project_id, " +
+            "CAST(date_trunc(#{unit}, CAST(work_date AS TIMESTAMP)) AS DATE) AS period_start, SUM(total_hours) AS hours " +
+            "FROM tb_time_tracking_daily " +
+            "WHERE work_date &gt;= #{startDate} AND work_date &lt;= #{endDate} " +
+            "<if test='userId != null'>AND user_id = #{userId} </if>" +
+            "<if test='projectId != null'>AND project_id = #{projectId} </if>" +
+            "GROUP BY user_id, task_id, period_start " +
+            "ORDER BY user_id, task_id, period_start" +
+            "</script>")
+    List<TimesheetCell> selectTimesheet(@Param("userId") Long userId,
+                                        @Param("projectId") Long projectId,
+                                        @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate,
+                                        @Param("unit") String unit);
+}
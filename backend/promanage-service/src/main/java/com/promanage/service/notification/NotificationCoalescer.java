@@ -0,0 +1,281 @@
+package com.promanage.service.notification;
+
+import com.promanage.common.entity.User;
+import com.promanage.service.INotificationService;
+import com.promanage.service.service.IEmailService;
+import com.promanage.service.service.IUserService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 通知合并器
+ * <p>
+ * 以 (用户, 关联类型, 关联ID) 为键维护合并窗口。没有打开窗口时事件立即发送并打开窗口，
+ * 窗口内后续的事件合并为一条摘要通知，保留事件计数和最新的标题/内容；窗口内没有后续事件时静默关闭。
+ * 窗口关闭后按相同摘要内容分组批量写库并推送WebSocket；
+ * 启用邮件摘要时，已发送的摘要还会累积到用户邮件队列，由定时任务合并为一封邮件发送。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationCoalescer {
+
+    private final INotificationService notificationService;
+    private final IUserService userService;
+    private final IEmailService emailService;
+    private final NotificationDigestProperties properties;
+
+    /**
+     * 打开中的合并窗口
+     */
+    private final Map<DigestKey, PendingDigest> windows = new ConcurrentHashMap<>();
+
+    /**
+     * 待发送的邮件摘要条目，按用户ID分组
+     */
+    private final Map<Long, List<String>> pendingEmails = new ConcurrentHashMap<>();
+
+    /**
+     * 是否启用合并
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled() && properties.getWindowSeconds() > 0;
+    }
+
+    /**
+     * 提交一次通知事件
+     * <p>
+     * 没有打开窗口的接收者立即收到通知并打开窗口，其余接收者的事件并入已打开的窗口
+     * </p>
+     */
+    public void submit(List<Long> recipients, String type, String title, String content,
+                       Long relatedId, String relatedType, Long operatorId) {
+        long now = System.currentTimeMillis();
+        long deadline = now + properties.getWindowSeconds() * 1000L;
+        List<Long> immediate = new ArrayList<>();
+        for (Long userId : recipients) {
+            if (userId == null) {
+                continue;
+            }
+            windows.compute(new DigestKey(userId, relatedType, relatedId), (key, pending) -> {
+                if (pending == null) {
+                    immediate.add(userId);
+                    return new PendingDigest(deadline);
+                }
+                pending.merge(type, title, content, operatorId);
+                return pending;
+            });
+        }
+        if (!immediate.isEmpty()) {
+            send(immediate, new DigestMessage(type, title, content, relatedId, relatedType, operatorId));
+        }
+    }
+
+    /**
+     * 定时关闭到期的合并窗口
+     */
+    @Scheduled(fixedDelayString = "${promanage.notification.digest.flush-interval-ms:1000}")
+    public void flushExpiredWindows() {
+        flush(System.currentTimeMillis(), false);
+    }
+
+    /**
+     * 定时发送邮件摘要
+     */
+    @Scheduled(fixedDelayString = "${promanage.notification.digest.email-interval-ms:1800000}")
+    public void flushEmailDigests() {
+        if (pendingEmails.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<String>> batch = new LinkedHashMap<>();
+        for (Long userId : new ArrayList<>(pendingEmails.keySet())) {
+            List<String> entries = pendingEmails.remove(userId);
+            if (entries != null && !entries.isEmpty()) {
+                batch.put(userId, entries);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, User> users = userService.getByIds(new ArrayList<>(batch.keySet()));
+        batch.forEach((userId, entries) -> {
+            User user = users.get(userId);
+            if (user == null || user.getEmail() == null || user.getEmail().isBlank()) {
+                return;
+            }
+            try {
+                emailService.sendNotificationDigest(user.getEmail(), user.getUsername(), entries);
+            } catch (Exception e) {
+                log.warn("发送通知摘要邮件失败, 用户ID: {}, 错误: {}", userId, e.getMessage());
+            }
+        });
+        log.info("通知摘要邮件发送完成, 用户数量: {}", batch.size());
+    }
+
+    /**
+     * 应用关闭前发送所有未关闭的窗口
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush(System.currentTimeMillis(), true);
+    }
+
+    /**
+     * 关闭到期（或全部）窗口并发送摘要通知
+     *
+     * @param now 当前时间戳（毫秒）
+     * @param force 是否强制关闭所有窗口
+     * @return 发送的摘要通知数量
+     */
+    int flush(long now, boolean force) {
+        if (windows.isEmpty()) {
+            return 0;
+        }
+
+        // 相同摘要内容的窗口合并为一次批量发送
+        Map<DigestMessage, List<Long>> groups = new LinkedHashMap<>();
+        for (DigestKey key : new ArrayList<>(windows.keySet())) {
+            PendingDigest[] closed = new PendingDigest[1];
+            windows.computeIfPresent(key, (k, pending) -> {
+                if (force || pending.isDue(now, properties.getMaxEventsPerWindow())) {
+                    closed[0] = pending;
+                    return null;
+                }
+                return pending;
+            });
+            // 窗口内没有后续事件时，首个事件已立即发送
+            if (closed[0] != null && closed[0].hasEvents()) {
+                groups.computeIfAbsent(closed[0].toMessage(key), m -> new ArrayList<>()).add(key.userId());
+            }
+        }
+
+        int sent = 0;
+        for (Map.Entry<DigestMessage, List<Long>> entry : groups.entrySet()) {
+            sent += send(entry.getValue(), entry.getKey());
+        }
+        if (sent > 0) {
+            log.debug("摘要通知发送完成, 数量: {}, 剩余窗口: {}", sent, windows.size());
+        }
+        return sent;
+    }
+
+    /**
+     * 当前打开的窗口数量
+     */
+    int pendingWindowCount() {
+        return windows.size();
+    }
+
+    /**
+     * 批量发送一条通知，成功后加入邮件摘要队列
+     *
+     * @return 发送成功的接收者数量
+     */
+    private int send(List<Long> userIds, DigestMessage message) {
+        try {
+            boolean result = notificationService.sendNotificationBatch(userIds, message.type(), message.title(),
+                message.content(), message.relatedId(), message.relatedType(), message.operatorId());
+            if (result) {
+                queueEmail(userIds, message);
+                return userIds.size();
+            }
+        } catch (Exception e) {
+            log.error("发送摘要通知失败, 相关ID: {}, 相关类型: {}", message.relatedId(), message.relatedType(), e);
+        }
+        return 0;
+    }
+
+    private void queueEmail(List<Long> userIds, DigestMessage message) {
+        if (!properties.isEmailEnabled()) {
+            return;
+        }
+        String entry = message.title() + " - " + message.content();
+        int limit = properties.getMaxEmailEntries();
+        for (Long userId : userIds) {
+            pendingEmails.compute(userId, (id, entries) -> {
+                List<String> list = entries != null ? entries : new ArrayList<>();
+                if (list.size() < limit) {
+                    list.add(entry);
+                }
+                return list;
+            });
+        }
+    }
+
+    /**
+     * 合并窗口键
+     */
+    record DigestKey(Long userId, String relatedType, Long relatedId) {
+    }
+
+    /**
+     * 合并后的通知内容，用于分组批量发送
+     */
+    record DigestMessage(String type, String title, String content,
+                         Long relatedId, String relatedType, Long operatorId) {
+    }
+
+    /**
+     * 窗口内首个事件之后累积的事件状态，仅在 ConcurrentHashMap 的 compute 回调中修改
+     */
+    static final class PendingDigest {
+
+        private final long deadline;
+        private final Map<String, Integer> typeCounts = new LinkedHashMap<>();
+        private int count;
+        private String latestType;
+        private String latestTitle;
+        private String latestContent;
+        private Long latestOperatorId;
+
+        PendingDigest(long deadline) {
+            this.deadline = deadline;
+        }
+
+        void merge(String type, String title, String content, Long operatorId) {
+            count++;
+            typeCounts.merge(type, 1, Integer::sum);
+            latestType = type;
+            latestTitle = title;
+            latestContent = content;
+            latestOperatorId = operatorId;
+        }
+
+        boolean hasEvents() {
+            return count > 0;
+        }
+
+        boolean isDue(long now, int maxEvents) {
+            return now >= deadline || (maxEvents > 0 && count >= maxEvents);
+        }
+
+        DigestMessage toMessage(DigestKey key) {
+            if (count <= 1) {
+                return new DigestMessage(latestType, latestTitle, latestContent,
+                    key.relatedId(), key.relatedType(), latestOperatorId);
+            }
+            String breakdown = typeCounts.entrySet().stream()
+                .map(e -> e.getKey() + " " + e.getValue() + " 次")
+                .collect(Collectors.joining(", "));
+            String content = String.format("%s（共 %d 条更新: %s）", latestContent, count, breakdown);
+            return new DigestMessage(latestType, latestTitle, content,
+                key.relatedId(), key.relatedType(), latestOperatorId);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.promanage.service.notification;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 通知摘要（合并）配置属性
+ * <p>
+ * 从application.yml中读取 promanage.notification.digest 配置
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.notification.digest")
+public class NotificationDigestProperties {
+
+    /**
+     * 是否启用通知合并
+     * 关闭时每个事件立即发送一条通知；开启时每个窗口的首个事件仍立即发送，只合并其后的事件
+     */
+    private boolean enabled = true;
+
+    /**
+     * 合并窗口（秒）
+     * 同一用户、同一关联对象在首个事件之后窗口内的事件合并为一条摘要通知
+     */
+    private long windowSeconds = 60;
+
+    /**
+     * 单个窗口允许合并的最大事件数，达到后窗口提前关闭
+     */
+    private int maxEventsPerWindow = 50;
+
+    /**
+     * 是否启用邮件摘要
+     */
+    private boolean emailEnabled = false;
+
+    /**
+     * 邮件摘要单封最多包含的条目数
+     */
+    private int maxEmailEntries = 100;
+}
@@ -0,0 +1,136 @@
+package com.promanage.service.notification;
+
+import com.promanage.service.strategy.RecipientSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 通知接收者缓存
+ * <p>
+ * 以 (关联类型, 关联ID) 为键缓存策略解析出的完整接收者集合（未排除操作者）。
+ * 项目成员变更、任务指派变更时由对应服务主动失效；TTL 作为兜底，防止遗漏的写路径导致长期脏数据。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+public class NotificationRecipientCache {
+
+    private static final String PROJECT_TYPE_PREFIX = "PROJECT_";
+    private static final String TASK_TYPE_PREFIX = "TASK_";
+
+    private final Map<RecipientKey, CachedRecipients> cache = new ConcurrentHashMap<>();
+
+    @Value("${promanage.notification.recipient-cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    @Value("${promanage.notification.recipient-cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    /**
+     * 获取单个关联对象的接收者集合，未命中时通过 loader 加载
+     */
+    public RecipientSet get(String relatedType, Long relatedId, Function<Long, RecipientSet> loader) {
+        return getAll(relatedType, List.of(relatedId),
+                ids -> Map.of(relatedId, loader.apply(relatedId))).getOrDefault(relatedId, RecipientSet.empty());
+    }
+
+    /**
+     * 批量获取接收者集合，所有未命中的ID交给 loader 一次性加载
+     *
+     * @param relatedType 关联类型
+     * @param relatedIds 关联ID集合
+     * @param loader 批量加载函数
+     * @return 关联ID到接收者集合的映射
+     */
+    public Map<Long, RecipientSet> getAll(String relatedType, Collection<Long> relatedIds,
+                                          Function<Collection<Long>, Map<Long, RecipientSet>> loader) {
+        long now = System.currentTimeMillis();
+        Map<Long, RecipientSet> result = new HashMap<>();
+        List<Long> misses = relatedIds.stream()
+                .distinct()
+                .filter(id -> {
+                    CachedRecipients cached = cache.get(new RecipientKey(relatedType, id));
+                    if (cached != null && cached.expiresAt() > now) {
+                        result.put(id, cached.recipients());
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+
+        if (!misses.isEmpty()) {
+            Map<Long, RecipientSet> loaded = loader.apply(misses);
+            if (cache.size() + misses.size() > maxEntries) {
+                log.debug("通知接收者缓存达到上限, 清空缓存, size={}", cache.size());
+                cache.clear();
+            }
+            long expiresAt = now + ttlSeconds * 1000L;
+            for (Long id : misses) {
+                RecipientSet recipients = loaded.getOrDefault(id, RecipientSet.empty());
+                cache.put(new RecipientKey(relatedType, id), new CachedRecipients(recipients, expiresAt));
+                result.put(id, recipients);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 项目成员或项目信息变更时失效该项目的接收者缓存
+     */
+    public void invalidateProject(Long projectId) {
+        invalidate(PROJECT_TYPE_PREFIX, projectId);
+    }
+
+    /**
+     * 任务指派人、创建者等变更时失效该任务的接收者缓存
+     */
+    public void invalidateTask(Long taskId) {
+        invalidate(TASK_TYPE_PREFIX, taskId);
+    }
+
+    /**
+     * 批量失效任务的接收者缓存
+     */
+    public void invalidateTasks(Collection<Long> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(taskIds);
+        cache.keySet().removeIf(key -> key.relatedType().startsWith(TASK_TYPE_PREFIX)
+                && ids.contains(key.relatedId()));
+    }
+
+    /**
+     * 清空全部缓存（如项目负责人变更，影响该项目下所有任务的接收者）
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private void invalidate(String typePrefix, Long relatedId) {
+        if (relatedId == null) {
+            return;
+        }
+        cache.keySet().removeIf(key -> key.relatedType().startsWith(typePrefix)
+                && relatedId.equals(key.relatedId()));
+    }
+
+    private record RecipientKey(String relatedType, Long relatedId) {
+    }
+
+    private record CachedRecipients(RecipientSet recipients, long expiresAt) {
+    }
+}
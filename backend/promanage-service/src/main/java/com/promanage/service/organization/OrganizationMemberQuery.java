@@ -0,0 +1,109 @@
+package com.promanage.service.organization;
+
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 组织成员分页查询条件
+ * <p>
+ * 过滤、排序和游标定位全部下推到 SQL。游标定位使用 (排序键, id) 行值比较，
+ * 比较方向由排序方向和翻页方向共同决定。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+public class OrganizationMemberQuery {
+
+    /**
+     * 姓名或用户名前缀（已转小写并转义，末尾带 %）
+     */
+    private String namePrefix;
+
+    /**
+     * 角色编码
+     */
+    private String roleCode;
+
+    /**
+     * 账号状态
+     */
+    private Integer status;
+
+    private OrganizationMemberSort sort = OrganizationMemberSort.NAME;
+
+    /**
+     * 游标位置的排序键文本，为空表示从头查询
+     */
+    private String afterKey;
+
+    /**
+     * 游标位置的用户ID
+     */
+    private Long afterId;
+
+    /**
+     * 翻页方向，true 为下一页
+     */
+    private boolean forward = true;
+
+    private int limit;
+
+    /**
+     * 偏移量，仅页码分页使用
+     */
+    private Integer offset;
+
+    /**
+     * 构造查询条件
+     *
+     * @param name 姓名或用户名前缀
+     * @param roleCode 角色编码
+     * @param status 账号状态
+     * @param sort 排序方式
+     * @return 查询条件
+     */
+    public static OrganizationMemberQuery of(String name, String roleCode, Integer status, OrganizationMemberSort sort) {
+        OrganizationMemberQuery query = new OrganizationMemberQuery();
+        if (StringUtils.isNotBlank(name)) {
+            query.setNamePrefix(escapeLike(name.trim().toLowerCase()) + "%");
+        }
+        query.setRoleCode(StringUtils.trimToNull(roleCode));
+        query.setStatus(status);
+        query.setSort(sort);
+        return query;
+    }
+
+    /**
+     * 是否带有过滤条件；无过滤条件时总数等于组织成员数
+     */
+    public boolean hasFilter() {
+        return namePrefix != null || roleCode != null || status != null;
+    }
+
+    /**
+     * 实际扫描方向是否为升序
+     */
+    public boolean isScanAscending() {
+        return sort.isAscending() == forward;
+    }
+
+    /**
+     * 游标定位比较符
+     */
+    public String getComparator() {
+        return isScanAscending() ? ">" : "<";
+    }
+
+    /**
+     * 排序方向
+     */
+    public String getDirection() {
+        return isScanAscending() ? "ASC" : "DESC";
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
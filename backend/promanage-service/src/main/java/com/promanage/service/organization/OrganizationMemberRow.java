@@ -0,0 +1,44 @@
+package com.promanage.service.organization;
+
+import com.promanage.dto.OrganizationMemberDTO;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 组织成员分页查询行
+ * <p>
+ * 只包含 {@link OrganizationMemberDTO} 需要的列，外加用于生成游标的排序键文本。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+public class OrganizationMemberRow {
+
+    private Long id;
+    private String username;
+    private String realName;
+    private String email;
+    private String position;
+    private Integer status;
+    private LocalDateTime lastLoginTime;
+
+    /**
+     * 排序键的文本形式
+     */
+    private String sortKey;
+
+    public OrganizationMemberDTO toDto() {
+        return OrganizationMemberDTO.builder()
+                .id(id)
+                .username(username)
+                .realName(realName)
+                .email(email)
+                .position(position)
+                .status(status)
+                .lastLoginTime(lastLoginTime)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.promanage.service.organization;
+
+import com.promanage.common.domain.ResultCode;
+import com.promanage.common.exception.BusinessException;
+
+/**
+ * 组织成员列表排序方式
+ * <p>
+ * 每种排序对应一个 SQL 排序键表达式，与 id 组成游标分页的定位条件，
+ * 表达式须与 V1.1.9 中的索引定义一致。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public enum OrganizationMemberSort {
+
+    /**
+     * 按姓名（无真实姓名时用用户名）升序
+     */
+    NAME("LOWER(COALESCE(NULLIF(u.real_name, ''), u.username))", "TEXT", true),
+
+    /**
+     * 按账号状态升序
+     */
+    STATUS("u.status", "INTEGER", true),
+
+    /**
+     * 按加入时间倒序
+     */
+    JOINED("u.created_at", "TIMESTAMP", false);
+
+    private final String keyExpression;
+    private final String keyType;
+    private final boolean ascending;
+
+    OrganizationMemberSort(String keyExpression, String keyType, boolean ascending) {
+        this.keyExpression = keyExpression;
+        this.keyType = keyType;
+        this.ascending = ascending;
+    }
+
+    public String getKeyExpression() {
+        return keyExpression;
+    }
+
+    public String getKeyType() {
+        return keyType;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * 按名称解析排序方式，为空时默认按姓名
+     *
+     * @param name 排序方式名称，不区分大小写
+     * @return 排序方式
+     * @throws BusinessException 名称不合法时抛出
+     */
+    public static OrganizationMemberSort fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return NAME;
+        }
+        for (OrganizationMemberSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(name.trim())) {
+                return sort;
+            }
+        }
+        throw new BusinessException(ResultCode.PARAM_ERROR, "不支持的排序方式: " + name);
+    }
+}
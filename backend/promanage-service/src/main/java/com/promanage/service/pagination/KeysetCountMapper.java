@@ -0,0 +1,33 @@
+package com.promanage.service.pagination;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 游标分页统计总数的 Mapper 扩展
+ * <p>
+ * 需要游标分页统计总数的 Mapper 继承此接口，由 {@link KeysetPager} 在数据库中统计，
+ * 只统计到上限为止，不把主键读回应用。
+ * </p>
+ *
+ * @param <T> 实体类型
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public interface KeysetCountMapper<T> {
+
+    /**
+     * 统计符合条件的记录数，最多统计到 maxCount
+     *
+     * @param tableName 表名
+     * @param wrapper 过滤条件，需自带逻辑删除条件
+     * @param maxCount 统计上限
+     * @return 记录数
+     */
+    @Select("SELECT COUNT(*) FROM (SELECT 1 FROM ${tableName} ${ew.customSqlSegment} LIMIT #{maxCount}) t")
+    long countCapped(@Param("tableName") String tableName,
+                     @Param(Constants.WRAPPER) Wrapper<T> wrapper,
+                     @Param("maxCount") int maxCount);
+}
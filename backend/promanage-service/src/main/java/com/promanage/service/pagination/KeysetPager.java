@@ -0,0 +1,128 @@
+package com.promanage.service.pagination;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.promanage.common.result.PageCursor;
+import com.promanage.common.result.PageResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 游标（Keyset）分页工具
+ * <p>
+ * 按 (排序键 DESC, id DESC) 排序，用上一页边界行的键值作为查询条件定位，
+ * 代替 OFFSET/LIMIT，翻页耗时与页码无关。需要 (过滤列, 排序键 DESC, id DESC) 复合索引配合。
+ * 总数默认不统计；需要时在数据库中只统计到 {@link #MAX_COUNT} 条为止，Mapper 需继承 {@link KeysetCountMapper}。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public final class KeysetPager {
+
+    /**
+     * 每页最大记录数
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 统计总数的上限，超过时返回该值
+     */
+    public static final int MAX_COUNT = 10_000;
+
+    private KeysetPager() {
+    }
+
+    /**
+     * 执行游标分页查询
+     *
+     * @param mapper     Mapper
+     * @param filter     过滤条件构造器，每次调用返回新的不含排序的查询条件
+     * @param sortColumn 排序键列，值不能为空
+     * @param idColumn   主键列
+     * @param cursor     游标，为空表示第一页
+     * @param size       每页记录数
+     * @param withTotal  是否统计总数
+     * @param <T>        实体类型
+     * @param <M>        Mapper 类型
+     * @return 分页结果
+     */
+    public static <T, M extends BaseMapper<T> & KeysetCountMapper<T>> PageResult<T> page(
+            M mapper, Supplier<LambdaQueryWrapper<T>> filter,
+            SFunction<T, LocalDateTime> sortColumn, SFunction<T, Long> idColumn,
+            String cursor, Integer size, boolean withTotal) {
+        PageCursor position = PageCursor.decode(cursor);
+        int limit = size == null ? 20 : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean forward = position == null || position.forward();
+
+        LambdaQueryWrapper<T> wrapper = filter.get();
+        if (position != null) {
+            LocalDateTime sortValue = position.sortValue();
+            Long id = position.id();
+            if (forward) {
+                wrapper.and(w -> w.lt(sortColumn, sortValue)
+                        .or(o -> o.eq(sortColumn, sortValue).lt(idColumn, id)));
+            } else {
+                wrapper.and(w -> w.gt(sortColumn, sortValue)
+                        .or(o -> o.eq(sortColumn, sortValue).gt(idColumn, id)));
+            }
+        }
+        if (forward) {
+            wrapper.orderByDesc(sortColumn).orderByDesc(idColumn);
+        } else {
+            wrapper.orderByAsc(sortColumn).orderByAsc(idColumn);
+        }
+        // 多取一条用于判断是否还有更多数据
+        wrapper.last("LIMIT " + (limit + 1));
+
+        List<T> rows = new ArrayList<>(mapper.selectList(wrapper));
+        boolean more = rows.size() > limit;
+        if (more) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+        }
+        if (!forward) {
+            Collections.reverse(rows);
+        }
+
+        boolean hasNext = forward ? more : true;
+        boolean hasPrevious = forward ? position != null : more;
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!rows.isEmpty()) {
+            T first = rows.get(0);
+            T last = rows.get(rows.size() - 1);
+            if (hasNext) {
+                nextCursor = new PageCursor(sortColumn.apply(last), idColumn.apply(last), true).encode();
+            }
+            if (hasPrevious) {
+                prevCursor = new PageCursor(sortColumn.apply(first), idColumn.apply(first), false).encode();
+            }
+        }
+
+        Long total = withTotal ? cappedCount(mapper, filter.get(), sortColumn) : null;
+        return PageResult.ofCursor(rows, total, limit, nextCursor, prevCursor);
+    }
+
+    /**
+     * 统计总数，最多统计到 {@link #MAX_COUNT}，在数据库中计数
+     * <p>
+     * 自定义 SQL 不会自动追加逻辑删除条件，这里按实体的逻辑删除配置补上。
+     * </p>
+     */
+    private static <T> long cappedCount(KeysetCountMapper<T> mapper, LambdaQueryWrapper<T> wrapper,
+                                        SFunction<T, LocalDateTime> sortColumn) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(LambdaUtils.extract(sortColumn).getInstantiatedClass());
+        if (tableInfo.isWithLogicDelete()) {
+            wrapper.apply(tableInfo.getLogicDeleteSql(false, true));
+        }
+        return mapper.countCapped(tableInfo.getTableName(), wrapper, MAX_COUNT);
+    }
+}
@@ -0,0 +1,63 @@
+package com.promanage.service.pagination;
+
+import com.promanage.common.domain.ResultCode;
+import com.promanage.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 任意排序键的游标
+ * <p>
+ * 与 {@link com.promanage.common.result.PageCursor} 相同，以不透明的 Base64URL 字符串传递，
+ * 但排序键以文本保存，并记录生成游标时的排序方式，排序方式改变后旧游标不可再用。
+ * </p>
+ *
+ * @param sort      排序方式
+ * @param sortValue 排序键的文本形式
+ * @param id        主键ID，排序键相同时的次级排序
+ * @param forward   翻页方向，true 为下一页
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record SortKeyCursor(String sort, String sortValue, Long id, boolean forward) {
+
+    private static final String SEPARATOR = "|";
+    private static final String FORWARD = "n";
+    private static final String BACKWARD = "p";
+
+    /**
+     * 编码为不透明字符串，排序键放在最后以允许其中包含分隔符
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        String raw = (forward ? FORWARD : BACKWARD) + SEPARATOR + sort + SEPARATOR + id + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @param cursor       游标字符串，为空时返回 null（表示第一页）
+     * @param expectedSort 当前请求的排序方式
+     * @return 游标
+     * @throws BusinessException 游标格式不合法或与排序方式不符时抛出
+     */
+    public static SortKeyCursor decode(String cursor, String expectedSort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4 || !(FORWARD.equals(parts[0]) || BACKWARD.equals(parts[0]))
+                    || !parts[1].equals(expectedSort)) {
+                throw new BusinessException(ResultCode.PARAM_ERROR, "分页游标不合法");
+            }
+            return new SortKeyCursor(parts[1], parts[3], Long.valueOf(parts[2]), FORWARD.equals(parts[0]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "分页游标不合法");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.promanage.service.rank;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分数索引排序键
+ * <p>
+ * 排序键是 base36 数字串，视为 [0, 1) 区间内的小数，按字典序比较即按数值比较。
+ * 任意两个键之间总能生成一个新键，因此移动一个任务只需更新它自己的键。
+ * 键不以 '0' 结尾，否则 "1" 与 "10" 数值相等，二者之间无法再插入。
+ * </p>
+ * <p>
+ * 重新分配时生成 {@link #WIDTH} 位等间距键并只占用前半区间，追加到末尾时按固定步长递增，
+ * 键长度保持不变；在两个相邻键之间反复插入会使键变长，超过 {@link #REBALANCE_LENGTH} 时应重新分配。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public final class FractionalRank {
+
+    /**
+     * 等间距键的位数
+     */
+    public static final int WIDTH = 6;
+
+    /**
+     * 超过该长度的键需要重新分配
+     */
+    public static final int REBALANCE_LENGTH = 16;
+
+    static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final long SPACE = pow(BASE, WIDTH);
+    private static final long APPEND_STEP = pow(BASE, WIDTH / 2);
+
+    private FractionalRank() {
+    }
+
+    /**
+     * 生成位于两个键之间的新键
+     *
+     * @param before 前一个键，为空表示列表开头
+     * @param after 后一个键，为空表示列表末尾
+     * @return 新键，满足 before &lt; 新键 &lt; after
+     * @throws IllegalArgumentException 键格式不合法或 before 不小于 after 时抛出
+     */
+    public static String between(String before, String after) {
+        String lower = before == null ? "" : before;
+        if (before != null) {
+            validate(before);
+        }
+        if (after != null) {
+            validate(after);
+            if (lower.compareTo(after) >= 0) {
+                throw new IllegalArgumentException("排序键顺序错误: " + before + " >= " + after);
+            }
+        } else if (lower.length() == WIDTH) {
+            long next = decode(lower) + APPEND_STEP;
+            if (next < SPACE) {
+                return encode(next | 1);
+            }
+        }
+        return midpoint(lower, after);
+    }
+
+    /**
+     * 生成 count 个等间距的递增键，用于回填和重新分配
+     *
+     * @param count 键数量
+     * @return 递增的键列表
+     */
+    public static List<String> evenlySpaced(int count) {
+        long step = Math.max(2, SPACE / (2L * (count + 1)));
+        List<String> keys = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            keys.add(encode((i * step) | 1));
+        }
+        return keys;
+    }
+
+    /**
+     * 键是否过长需要重新分配
+     */
+    public static boolean needsRebalance(String rank) {
+        return rank != null && rank.length() > REBALANCE_LENGTH;
+    }
+
+    /**
+     * 计算 a 与 b 之间的键，a 为空串表示 0，b 为 null 表示 1
+     */
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            // 跳过公共前缀（a 较短时按补 0 比较）
+            int n = 0;
+            while (n < b.length() && (n < a.length() ? a.charAt(n) : '0') == b.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(n < a.length() ? a.substring(n) : "", b.substring(n));
+            }
+        }
+        int da = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int db = b != null ? DIGITS.indexOf(b.charAt(0)) : BASE;
+        if (db - da > 1) {
+            return String.valueOf(DIGITS.charAt((da + db) / 2));
+        }
+        // 首位相邻：b 多于一位时取其首位即可，否则保留 a 的首位继续在其后取中点
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(da) + midpoint(a.isEmpty() ? "" : a.substring(1), null);
+    }
+
+    private static void validate(String rank) {
+        if (rank.isEmpty() || rank.charAt(rank.length() - 1) == '0') {
+            throw new IllegalArgumentException("排序键不合法: " + rank);
+        }
+        for (int i = 0; i < rank.length(); i++) {
+            if (DIGITS.indexOf(rank.charAt(i)) < 0) {
+                throw new IllegalArgumentException("排序键不合法: " + rank);
+            }
+        }
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[WIDTH];
+        for (int i = WIDTH - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(chars);
+    }
+
+    private static long decode(String rank) {
+        long value = 0;
+        for (int i = 0; i < rank.length(); i++) {
+            value = value * BASE + DIGITS.indexOf(rank.charAt(i));
+        }
+        return value;
+    }
+
+    private static long pow(int base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package com.promanage.service.rank;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.promanage.service.dependency.AfterCommit;
+import com.promanage.service.entity.Task;
+import com.promanage.service.event.TaskChangedEvent;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.service.IKanbanBoardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 任务排序键重新分配
+ * <p>
+ * 移动任务产生过长的键时登记项目，由定时任务在后台按当前顺序为项目内所有任务重新生成等间距键。
+ * 重新分配时锁定项目内任务行，与移动任务时对相邻任务加的共享锁互斥，避免基于旧键计算新键。
+ * 提交后失效项目看板和被改写任务的详情缓存，之后移动的卡片与看板使用同一套键。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskRankRebalancer {
+
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+
+    private final TaskMapper taskMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final IKanbanBoardService boardService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Set<Long> pendingProjects = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 登记需要重新分配排序键的项目
+     *
+     * @param projectId 项目ID
+     */
+    public void request(Long projectId) {
+        if (projectId != null && pendingProjects.add(projectId)) {
+            log.info("登记任务排序键重新分配, projectId={}", projectId);
+        }
+    }
+
+    /**
+     * 定时处理已登记的项目
+     */
+    @Scheduled(fixedDelayString = "${promanage.task.rank-rebalance-interval-ms:30000}")
+    public void rebalancePending() {
+        for (Long projectId : List.copyOf(pendingProjects)) {
+            pendingProjects.remove(projectId);
+            try {
+                rebalance(projectId);
+            } catch (Exception e) {
+                log.error("任务排序键重新分配失败, projectId={}", projectId, e);
+            }
+        }
+    }
+
+    /**
+     * 按当前顺序为项目内所有任务重新生成等间距排序键
+     *
+     * @param projectId 项目ID
+     * @return 更新的任务数量
+     */
+    public int rebalance(Long projectId) {
+        Integer updated = transactionTemplate.execute(status -> {
+            List<Task> tasks = taskMapper.selectList(new LambdaQueryWrapper<Task>()
+                    .select(Task::getId, Task::getSortRank)
+                    .eq(Task::getProjectId, projectId)
+                    .orderByAsc(Task::getSortRank)
+                    .orderByAsc(Task::getId)
+                    .last("FOR UPDATE"));
+            List<String> keys = FractionalRank.evenlySpaced(tasks.size());
+
+            List<Task> changed = new ArrayList<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                if (!Objects.equals(task.getSortRank(), keys.get(i))) {
+                    Task update = new Task();
+                    update.setId(task.getId());
+                    update.setSortRank(keys.get(i));
+                    changed.add(update);
+                }
+            }
+            for (int from = 0; from < changed.size(); from += UPDATE_CHUNK_SIZE) {
+                taskMapper.updateSortRanks(changed.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, changed.size())));
+            }
+            if (!changed.isEmpty()) {
+                AfterCommit.run(() -> boardService.invalidate(projectId));
+                eventPublisher.publishEvent(TaskChangedEvent.of(changed.stream().map(Task::getId).toList()));
+            }
+            return changed.size();
+        });
+        log.info("任务排序键重新分配完成, projectId={}, 更新数量={}", projectId, updated);
+        return updated == null ? 0 : updated;
+    }
+}
@@ -1,6 +1,7 @@
 package com.promanage.service.service;
 
 import com.promanage.common.result.PageResult;
+import com.promanage.service.approval.ApprovalStageSpec;
 import com.promanage.service.entity.ChangeRequest;
 import com.promanage.service.entity.ChangeRequestApproval;
 import com.promanage.service.entity.ChangeRequestImpact;
@@ -76,6 +77,15 @@ public interface IChangeRequestService {
      */
     void submitChangeRequest(Long changeRequestId, Long userId);
 
+    /**
+     * 提交变更请求并按指定阶段启动审批流程
+     *
+     * @param changeRequestId 变更请求ID
+     * @param stages 审批阶段定义（为空时由审核人或项目负责人单人审批）
+     * @param userId 操作人ID
+     */
+    void submitChangeRequest(Long changeRequestId, List<ApprovalStageSpec> stages, Long userId);
+
     /**
      * 审批变更请求
      *
@@ -124,7 +134,7 @@ public interface IChangeRequestService {
     PageResult<ChangeRequest> listChangeRequestsByUser(Long userId, Integer page, Integer size, String status);
 
     /**
-     * 获取待审批的变更请求列表
+     * 获取待审批的变更请求列表（当前审批阶段中该用户尚未审批的变更请求，最近激活的在前）
      *
      * @param reviewerId 审核人ID
      * @param page 页码
@@ -151,7 +161,7 @@ public interface IChangeRequestService {
     int countChangeRequestsByUser(Long userId, String status);
 
     /**
-     * 统计待审批的变更请求数量
+     * 统计待审批的变更请求数量（当前审批阶段中该用户尚未审批的变更请求）
      *
      * @param reviewerId 审核人ID
      * @return 待审批数量
@@ -89,6 +89,22 @@ public interface IDocumentFolderService {
      */
     List<DocumentFolderTreeNode> getFolderTree(Long projectId);
 
+    /**
+     * 查询文件夹及其所有子孙文件夹
+     *
+     * @param folderId 文件夹ID
+     * @return 文件夹列表，按路径排序（父文件夹在前）
+     */
+    List<DocumentFolder> listSubtree(Long folderId);
+
+    /**
+     * 统计文件夹及其所有子孙文件夹中的文档数量
+     *
+     * @param folderId 文件夹ID
+     * @return 文档数量
+     */
+    int countDocumentsInSubtree(Long folderId);
+
     /**
      * 分页查询文件夹列表
      *
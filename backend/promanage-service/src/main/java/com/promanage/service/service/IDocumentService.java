@@ -59,6 +59,21 @@ public interface IDocumentService {
      */
     PageResult<Document> listByProject(Long projectId, Integer page, Integer pageSize, Long userId);
 
+    /**
+     * 游标分页获取项目文档列表（按创建时间倒序）
+     *
+     * @param projectId 项目ID
+     * @param type      文档类型（可选）
+     * @param status    文档状态（可选）
+     * @param cursor    分页游标，为空表示第一页
+     * @param pageSize  每页大小
+     * @param withTotal 是否统计总数
+     * @param userId    用户ID
+     * @return 分页结果，包含前后页游标
+     */
+    PageResult<Document> listDocumentsByCursor(Long projectId, String type, Integer status,
+                                               String cursor, Integer pageSize, boolean withTotal, Long userId);
+
     /**
      * 查询项目的所有文档
      *
@@ -1,5 +1,7 @@
 package com.promanage.service.service;
 
+import java.util.List;
+
 /**
  * 邮件服务接口
  *
@@ -42,4 +44,13 @@ public interface IEmailService {
      * @param username 用户名
      */
     void sendWelcomeEmail(String to, String username);
+
+    /**
+     * 发送通知摘要邮件
+     *
+     * @param to 收件人邮箱
+     * @param username 用户名
+     * @param entries 摘要条目
+     */
+    void sendNotificationDigest(String to, String username, List<String> entries);
 }
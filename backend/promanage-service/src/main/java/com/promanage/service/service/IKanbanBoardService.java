@@ -0,0 +1,41 @@
+package com.promanage.service.service;
+
+import com.promanage.service.dto.response.KanbanBoardDTO;
+
+import java.util.Collection;
+
+/**
+ * 项目看板服务接口
+ * <p>
+ * 维护按项目缓存的看板读模型，任务、检查项和评论变更后在事务提交时刷新对应卡片。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public interface IKanbanBoardService {
+
+    /**
+     * 获取项目看板
+     *
+     * @param projectId 项目ID
+     * @param epoch 客户端持有的看板标识，可为空
+     * @param sinceVersion 客户端持有的版本号，为空时返回完整看板
+     * @return 完整看板或自指定版本以来的增量
+     */
+    KanbanBoardDTO getBoard(Long projectId, String epoch, Long sinceVersion);
+
+    /**
+     * 任务或其检查项、评论变更后刷新卡片（事务提交后执行）
+     *
+     * @param taskIds 变更的任务ID
+     */
+    void onTasksChanged(Collection<Long> taskIds);
+
+    /**
+     * 失效项目看板
+     *
+     * @param projectId 项目ID
+     */
+    void invalidate(Long projectId);
+}
@@ -0,0 +1,24 @@
+package com.promanage.service.service;
+
+import com.promanage.service.dto.TaskDetailBundle;
+
+/**
+ * 任务详情服务接口
+ * <p>
+ * 并发加载任务详情的各个独立部分，并一次性解析所有被引用的用户；结果按任务缓存，
+ * 收到任务变更事件时失效。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public interface ITaskDetailService {
+
+    /**
+     * 获取任务详情数据
+     *
+     * @param taskId 任务ID
+     * @return 任务详情数据
+     */
+    TaskDetailBundle getTaskDetail(Long taskId);
+}
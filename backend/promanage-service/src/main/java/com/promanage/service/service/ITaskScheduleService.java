@@ -0,0 +1,47 @@
+package com.promanage.service.service;
+
+import com.promanage.service.dto.response.ProjectScheduleDTO;
+import com.promanage.service.entity.Task;
+
+/**
+ * 任务进度计划服务接口
+ * <p>
+ * 基于任务依赖图计算关键路径和时差，计划结果按项目缓存并随任务和依赖变更增量更新。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public interface ITaskScheduleService {
+
+    /**
+     * 获取项目进度计划
+     *
+     * @param projectId 项目ID
+     * @return 进度计划
+     */
+    ProjectScheduleDTO getProjectSchedule(Long projectId);
+
+    /**
+     * 任务日期、预估工时或状态变更后增量更新计划
+     *
+     * @param task 变更后的完整任务
+     */
+    void onTaskChanged(Task task);
+
+    /**
+     * 依赖添加或删除后增量更新计划
+     *
+     * @param dependent 后置任务
+     * @param prerequisite 前置任务
+     * @param added true表示添加，false表示删除
+     */
+    void onDependencyChanged(Task dependent, Task prerequisite, boolean added);
+
+    /**
+     * 失效项目计划（任务新增、删除等结构变化）
+     *
+     * @param projectId 项目ID
+     */
+    void invalidate(Long projectId);
+}
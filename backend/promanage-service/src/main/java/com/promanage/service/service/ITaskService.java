@@ -1,5 +1,6 @@
 package com.promanage.service.service;
 
+import com.promanage.common.domain.BatchOperationResult;
 import com.promanage.common.result.PageResult;
 import com.promanage.service.entity.Task;
 import com.promanage.service.entity.TaskActivity;
@@ -64,6 +65,22 @@ public interface ITaskService {
     PageResult<Task> listTasks(Long projectId, Integer page, Integer size,
                               Integer status, Integer priority, Long assigneeId, Long reporterId);
 
+    /**
+     * 游标分页获取项目任务列表（按创建时间倒序）
+     *
+     * @param projectId 项目ID
+     * @param cursor 分页游标，为空表示第一页
+     * @param size 每页大小
+     * @param status 任务状态（可选）
+     * @param priority 任务优先级（可选）
+     * @param assigneeId 指派人ID（可选）
+     * @param reporterId 报告人ID（可选）
+     * @param withTotal 是否统计总数
+     * @return 分页结果，包含前后页游标
+     */
+    PageResult<Task> listTasksByCursor(Long projectId, String cursor, Integer size, Integer status,
+                                       Integer priority, Long assigneeId, Long reporterId, boolean withTotal);
+
     /**
      * 获取用户负责的任务列表
      *
@@ -114,7 +131,21 @@ public interface ITaskService {
     void updateTaskProgress(Long taskId, Integer progress, Long userId);
 
     /**
-     * 获取任务的子任务列表
+     * 移动任务到两个相邻任务之间（看板拖拽、子任务排序），可同时变更状态
+     * <p>
+     * 只更新被移动任务的排序键，两个相邻任务都为空时移动到项目末尾
+     * </p>
+     *
+     * @param taskId 任务ID
+     * @param beforeTaskId 移动后排在其前面的任务ID（可选）
+     * @param afterTaskId 移动后排在其后面的任务ID（可选）
+     * @param status 新状态（可选）
+     * @param userId 操作人ID
+     */
+    void moveTask(Long taskId, Long beforeTaskId, Long afterTaskId, Integer status, Long userId);
+
+    /**
+     * 获取任务的子任务列表（按排序键排列）
      *
      * @param parentTaskId 父任务ID
      * @return 子任务列表
@@ -213,6 +244,16 @@ public interface ITaskService {
      */
     PageResult<TaskActivity> listTaskActivities(Long taskId, Integer page, Integer size);
 
+    /**
+     * 游标分页获取任务活动列表（按创建时间倒序）
+     *
+     * @param taskId 任务ID
+     * @param cursor 分页游标，为空表示第一页
+     * @param size 每页大小
+     * @return 分页结果，包含前后页游标
+     */
+    PageResult<TaskActivity> listTaskActivitiesByCursor(Long taskId, String cursor, Integer size);
+
     /**
      * 添加任务活动
      *
@@ -303,19 +344,19 @@ public interface ITaskService {
      * @param assigneeId 新指派人ID（可选）
      * @param tags 标签（可选）
      * @param userId 操作人ID
-     * @return 成功更新的任务数量
+     * @return 批量操作结果，包含每个任务的成功或失败原因
      */
-    int batchUpdateTasks(List<Long> taskIds, Integer status, Integer priority,
-                        Long assigneeId, String tags, Long userId);
+    BatchOperationResult<Long> batchUpdateTasks(List<Long> taskIds, Integer status, Integer priority,
+                                                Long assigneeId, String tags, Long userId);
 
     /**
      * 批量删除任务
      *
      * @param taskIds 任务ID列表
      * @param userId 操作人ID
-     * @return 成功删除的任务数量
+     * @return 批量操作结果，包含每个任务的成功或失败原因
      */
-    int batchDeleteTasks(List<Long> taskIds, Long userId);
+    BatchOperationResult<Long> batchDeleteTasks(List<Long> taskIds, Long userId);
 
     /**
      * 批量分配任务
@@ -323,7 +364,7 @@ public interface ITaskService {
      * @param taskIds 任务ID列表
      * @param assigneeId 指派人ID
      * @param userId 操作人ID
-     * @return 成功分配的任务数量
+     * @return 批量操作结果，包含每个任务的成功或失败原因
      */
-    int batchAssignTasks(List<Long> taskIds, Long assigneeId, Long userId);
+    BatchOperationResult<Long> batchAssignTasks(List<Long> taskIds, Long assigneeId, Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.promanage.service.service;
+
+import com.promanage.service.dto.response.TaskTreeNodeDTO;
+
+import java.util.Collection;
+
+/**
+ * 任务树服务接口
+ * <p>
+ * 一次查询加载任务子树，并维护每个任务含子任务的汇总工时和进度。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public interface ITaskTreeService {
+
+    /**
+     * 获取任务子树
+     *
+     * @param taskId 根任务ID
+     * @param maxDepth 最大层级，为空时使用默认值
+     * @return 嵌套的任务树，每个节点带汇总值
+     */
+    TaskTreeNodeDTO getTaskTree(Long taskId, Integer maxDepth);
+
+    /**
+     * 任务工时、进度、状态或父任务变更后，重算该任务及其祖先的汇总值
+     * <p>
+     * 需在写入任务的事务内调用；删除任务或移出父任务时传入原父任务ID。
+     * </p>
+     *
+     * @param taskIds 发生变更的任务ID
+     */
+    void refreshRollups(Collection<Long> taskIds);
+}
@@ -1,8 +1,13 @@
 package com.promanage.service.service;
 
 import com.promanage.common.result.PageResult;
+import com.promanage.service.dto.response.TestCaseImportJobDTO;
 import com.promanage.service.entity.TestCase;
+import com.promanage.service.testcase.TestCaseExportFormat;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -246,11 +251,33 @@ public interface ITestCaseService {
      *
      * @param projectId 项目ID
      * @param testCaseIds 测试用例ID列表（可选，为空则导出所有）
-     * @param format 导出格式（EXCEL/CSV/PDF）
+     * @param format 导出格式（EXCEL/CSV/XLSX）
      * @return 导出文件的URL
      */
     String exportTestCases(Long projectId, List<Long> testCaseIds, String format);
 
+    /**
+     * 统计可导出的测试用例数量
+     *
+     * @param projectId 项目ID
+     * @param testCaseIds 测试用例ID列表（可选，为空则统计所有）
+     * @return 数量
+     */
+    long countExportableTestCases(Long projectId, List<Long> testCaseIds);
+
+    /**
+     * 以游标逐行导出测试用例到输出流，不关闭输出流
+     *
+     * @param projectId 项目ID
+     * @param testCaseIds 测试用例ID列表（可选，为空则导出所有）
+     * @param format 导出格式
+     * @param gzip 是否 gzip 压缩
+     * @param out 输出流
+     * @throws IOException 写入失败，如客户端断开连接
+     */
+    void exportTestCases(Long projectId, List<Long> testCaseIds, TestCaseExportFormat format,
+                         boolean gzip, OutputStream out) throws IOException;
+
     /**
      * 导入测试用例
      *
@@ -261,6 +288,25 @@ public interface ITestCaseService {
      */
     TestCaseImportResult importTestCases(Long projectId, String fileUrl, Long userId);
 
+    /**
+     * 提交后台导入任务，文件流式解析、分批插入，结束后删除文件
+     *
+     * @param projectId 项目ID
+     * @param file 导入文件（上传的临时文件），按扩展名识别格式
+     * @param userId 操作人ID
+     * @return 导入任务进度
+     */
+    TestCaseImportJobDTO submitImport(Long projectId, Path file, Long userId);
+
+    /**
+     * 查询导入任务进度
+     *
+     * @param jobId 任务ID
+     * @param userId 操作人ID，只能查询自己提交的任务
+     * @return 导入任务进度
+     */
+    TestCaseImportJobDTO getImportJob(String jobId, Long userId);
+
     /**
      * 测试用例执行历史实体类（内部类）
      */
@@ -317,6 +363,14 @@ public interface ITestCaseService {
         private Double passRate;
         private Integer totalExecutions;
         private java.time.LocalDateTime lastExecutionTime;
+        private Integer passExecutions;
+        private Integer failExecutions;
+        private Integer blockExecutions;
+        private Integer skipExecutions;
+        private Double executionPassRate;
+        private Double flakinessScore;
+        private ExecutionWindowStatistics last7Days;
+        private ExecutionWindowStatistics last30Days;
 
         // Getters and Setters
         public Integer getTotalCount() { return totalCount; }
@@ -341,6 +395,54 @@ public interface ITestCaseService {
         public void setTotalExecutions(Integer totalExecutions) { this.totalExecutions = totalExecutions; }
         public java.time.LocalDateTime getLastExecutionTime() { return lastExecutionTime; }
         public void setLastExecutionTime(java.time.LocalDateTime lastExecutionTime) { this.lastExecutionTime = lastExecutionTime; }
+        public Integer getPassExecutions() { return passExecutions; }
+        public void setPassExecutions(Integer passExecutions) { this.passExecutions = passExecutions; }
+        public Integer getFailExecutions() { return failExecutions; }
+        public void setFailExecutions(Integer failExecutions) { this.failExecutions = failExecutions; }
+        public Integer getBlockExecutions() { return blockExecutions; }
+        public void setBlockExecutions(Integer blockExecutions) { this.blockExecutions = blockExecutions; }
+        public Integer getSkipExecutions() { return skipExecutions; }
+        public void setSkipExecutions(Integer skipExecutions) { this.skipExecutions = skipExecutions; }
+        public Double getExecutionPassRate() { return executionPassRate; }
+        public void setExecutionPassRate(Double executionPassRate) { this.executionPassRate = executionPassRate; }
+        public Double getFlakinessScore() { return flakinessScore; }
+        public void setFlakinessScore(Double flakinessScore) { this.flakinessScore = flakinessScore; }
+        public ExecutionWindowStatistics getLast7Days() { return last7Days; }
+        public void setLast7Days(ExecutionWindowStatistics last7Days) { this.last7Days = last7Days; }
+        public ExecutionWindowStatistics getLast30Days() { return last30Days; }
+        public void setLast30Days(ExecutionWindowStatistics last30Days) { this.last30Days = last30Days; }
+    }
+
+    /**
+     * 近N天执行统计实体类（内部类）
+     */
+    class ExecutionWindowStatistics {
+        private Integer days;
+        private Integer totalExecutions;
+        private Integer passCount;
+        private Integer failCount;
+        private Integer blockCount;
+        private Integer skipCount;
+        private Double passRate;
+        private Double flakinessScore;
+
+        // Getters and Setters
+        public Integer getDays() { return days; }
+        public void setDays(Integer days) { this.days = days; }
+        public Integer getTotalExecutions() { return totalExecutions; }
+        public void setTotalExecutions(Integer totalExecutions) { this.totalExecutions = totalExecutions; }
+        public Integer getPassCount() { return passCount; }
+        public void setPassCount(Integer passCount) { this.passCount = passCount; }
+        public Integer getFailCount() { return failCount; }
+        public void setFailCount(Integer failCount) { this.failCount = failCount; }
+        public Integer getBlockCount() { return blockCount; }
+        public void setBlockCount(Integer blockCount) { this.blockCount = blockCount; }
+        public Integer getSkipCount() { return skipCount; }
+        public void setSkipCount(Integer skipCount) { this.skipCount = skipCount; }
+        public Double getPassRate() { return passRate; }
+        public void setPassRate(Double passRate) { this.passRate = passRate; }
+        public Double getFlakinessScore() { return flakinessScore; }
+        public void setFlakinessScore(Double flakinessScore) { this.flakinessScore = flakinessScore; }
     }
 
     /**
@@ -356,6 +458,9 @@ public interface ITestCaseService {
         private Double averageExecutionTime;
         private java.time.LocalDateTime lastExecutionTime;
         private String lastExecutionResult;
+        private Double flakinessScore;
+        private ExecutionWindowStatistics last7Days;
+        private ExecutionWindowStatistics last30Days;
 
         // Getters and Setters
         public Integer getTotalExecutions() { return totalExecutions; }
@@ -376,6 +481,12 @@ public interface ITestCaseService {
         public void setLastExecutionTime(java.time.LocalDateTime lastExecutionTime) { this.lastExecutionTime = lastExecutionTime; }
         public String getLastExecutionResult() { return lastExecutionResult; }
         public void setLastExecutionResult(String lastExecutionResult) { this.lastExecutionResult = lastExecutionResult; }
+        public Double getFlakinessScore() { return flakinessScore; }
+        public void setFlakinessScore(Double flakinessScore) { this.flakinessScore = flakinessScore; }
+        public ExecutionWindowStatistics getLast7Days() { return last7Days; }
+        public void setLast7Days(ExecutionWindowStatistics last7Days) { this.last7Days = last7Days; }
+        public ExecutionWindowStatistics getLast30Days() { return last30Days; }
+        public void setLast30Days(ExecutionWindowStatistics last30Days) { this.last30Days = last30Days; }
     }
 
     /**
@@ -1,51 +1,52 @@
 package com.promanage.service.service.impl;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.promanage.service.entity.Document;
 import com.promanage.service.mapper.DocumentMapper;
-import com.promanage.service.mapper.DocumentTagMapper;
 import com.promanage.service.service.IDocumentRelationService;
+import com.promanage.service.tag.DocumentTagIndex;
+import com.promanage.service.tag.TagPostingIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DocumentRelationServiceImpl implements IDocumentRelationService {
 
-    private final DocumentTagMapper documentTagMapper;
+    /**
+     * 多取的候选数，抵消索引中暂留的已删除文档
+     */
+    private static final int DELETED_MARGIN = 10;
+
+    private final DocumentTagIndex documentTagIndex;
     private final DocumentMapper documentMapper;
 
     @Override
     public List<Document> findRelatedByTags(Long documentId, int limit) {
         try {
-            List<Long> tagIds = documentTagMapper.findTagIdsByDocumentId(documentId);
-            if (tagIds == null || tagIds.isEmpty()) return List.of();
-
-            // gather doc ids sharing any tag
-            Set<Long> relatedDocIds = new HashSet<>();
-            for (Long tagId : tagIds) {
-                List<Long> docIds = documentTagMapper.findDocumentIdsByTagId(tagId);
-                if (docIds != null) relatedDocIds.addAll(docIds);
-            }
-            relatedDocIds.remove(documentId);
-            if (relatedDocIds.isEmpty()) return List.of();
-
-            // fetch limited documents ordered by update time desc, filter deleted
-            LambdaQueryWrapper<Document> wrapper = new LambdaQueryWrapper<>();
-            wrapper.in(Document::getId, relatedDocIds)
-                   .eq(Document::getDeleted, false)
-                   .orderByDesc(Document::getUpdateTime)
-                   .last("LIMIT " + Math.max(1, limit));
-            return documentMapper.selectList(wrapper);
+            int size = Math.max(1, limit);
+            // ranked by shared-tag IDF weight in memory; only the top candidates are read from the database
+            List<Long> rankedIds = documentTagIndex.findRelated(documentId, size + DELETED_MARGIN).stream()
+                    .map(TagPostingIndex.Related::documentId)
+                    .collect(Collectors.toList());
+            if (rankedIds.isEmpty()) return List.of();
+
+            Map<Long, Document> documents = documentMapper.selectBatchIds(rankedIds).stream()
+                    .filter(document -> !Boolean.TRUE.equals(document.getDeleted()))
+                    .collect(Collectors.toMap(Document::getId, Function.identity()));
+            return rankedIds.stream()
+                    .map(documents::get)
+                    .filter(Objects::nonNull)
+                    .limit(size)
+                    .collect(Collectors.toList());
         } catch (Exception e) {
             log.warn("查找关联文档失败, documentId={}", documentId, e);
             return List.of();
         }
     }
 }
-
-
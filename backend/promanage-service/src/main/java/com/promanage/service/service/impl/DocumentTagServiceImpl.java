@@ -1,14 +1,15 @@
 package com.promanage.service.service.impl;
 
-import com.promanage.service.entity.DocumentTag;
+import com.promanage.service.event.DocumentChangedEvent;
 import com.promanage.service.mapper.DocumentTagMapper;
 import com.promanage.service.service.IDocumentTagService;
+import com.promanage.service.tag.TagSyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -17,20 +18,16 @@ import java.util.List;
 public class DocumentTagServiceImpl implements IDocumentTagService {
 
     private final DocumentTagMapper documentTagMapper;
+    private final TagSyncService tagSyncService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void setDocumentTags(Long documentId, List<Long> tagIds) {
         if (documentId == null) return;
-        // clear existing
-        documentTagMapper.deleteByDocumentId(documentId);
-        if (tagIds == null || tagIds.isEmpty()) return;
-        for (Long tagId : tagIds) {
-            DocumentTag dt = new DocumentTag();
-            dt.setDocumentId(documentId);
-            dt.setTagId(tagId);
-            dt.setCreatedAt(LocalDateTime.now());
-            documentTagMapper.insert(dt);
+        TagSyncService.TagDiff diff = tagSyncService.replaceDocumentTags(documentId, tagIds, null);
+        if (!diff.isEmpty()) {
+            eventPublisher.publishEvent(DocumentChangedEvent.of(documentId));
         }
     }
 
@@ -1,29 +1,39 @@
 package com.promanage.service.service.impl;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.promanage.common.exception.BusinessException;
-import com.promanage.service.entity.DocumentTag;
 import com.promanage.service.entity.Tag;
-import com.promanage.service.mapper.DocumentTagMapper;
+import com.promanage.service.event.DocumentChangedEvent;
 import com.promanage.service.mapper.TagMapper;
 import com.promanage.service.service.ITagService;
+import com.promanage.service.tag.TagSyncService;
+import com.promanage.service.tag.TagUsageLeaderboard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TagServiceImpl implements ITagService {
 
+    /**
+     * 热门标签多取的条数，弥补排行中尚未对账的已删除标签
+     */
+    private static final int DELETED_MARGIN = 10;
+
     private final TagMapper tagMapper;
-    private final DocumentTagMapper documentTagMapper;
+    private final TagSyncService tagSyncService;
+    private final TagUsageLeaderboard tagUsageLeaderboard;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -99,7 +109,24 @@ public class TagServiceImpl implements ITagService {
         if (limit == null || limit <= 0) {
             limit = 10;
         }
-        return tagMapper.findPopularTags(projectId, limit);
+        List<TagUsageLeaderboard.TagUsage> usages = tagUsageLeaderboard.top(projectId, limit + DELETED_MARGIN);
+        if (usages.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Tag> tags = new HashMap<>();
+        tagMapper.selectActiveByIds(usages.stream().map(TagUsageLeaderboard.TagUsage::tagId).toList())
+                .forEach(tag -> tags.put(tag.getId(), tag));
+
+        // 保持排行顺序，排行中已删除的标签跳过
+        List<Tag> result = new ArrayList<>();
+        for (TagUsageLeaderboard.TagUsage usage : usages) {
+            Tag tag = tags.get(usage.tagId());
+            if (tag != null && result.size() < limit) {
+                tag.setUsageCount((int) Math.min(usage.count(), Integer.MAX_VALUE));
+                result.add(tag);
+            }
+        }
+        return result;
     }
 
     @Override
@@ -108,18 +135,8 @@ public class TagServiceImpl implements ITagService {
         if (documentId == null) {
             throw new BusinessException("文档ID不能为空");
         }
-        if (tagIds == null || tagIds.isEmpty()) {
-            return;
-        }
-        for (Long tagId : tagIds) {
-            if (tagId == null) continue;
-            int count = documentTagMapper.countByDocumentIdAndTagId(documentId, tagId);
-            if (count > 0) continue;
-            DocumentTag dt = new DocumentTag();
-            dt.setDocumentId(documentId);
-            dt.setTagId(tagId);
-            dt.setCreatedAt(LocalDateTime.now());
-            documentTagMapper.insert(dt);
+        if (tagSyncService.addDocumentTags(documentId, tagIds, null) > 0) {
+            eventPublisher.publishEvent(DocumentChangedEvent.of(documentId));
         }
     }
 
@@ -129,14 +146,8 @@ public class TagServiceImpl implements ITagService {
         if (documentId == null) {
             throw new BusinessException("文档ID不能为空");
         }
-        if (tagIds == null || tagIds.isEmpty()) {
-            return;
-        }
-        for (Long tagId : tagIds) {
-            LambdaQueryWrapper<DocumentTag> wrapper = new LambdaQueryWrapper<>();
-            wrapper.eq(DocumentTag::getDocumentId, documentId);
-            wrapper.eq(DocumentTag::getTagId, tagId);
-            documentTagMapper.delete(wrapper);
+        if (tagSyncService.removeDocumentTags(documentId, tagIds) > 0) {
+            eventPublisher.publishEvent(DocumentChangedEvent.of(documentId));
         }
     }
 
@@ -146,21 +157,10 @@ public class TagServiceImpl implements ITagService {
         if (documentId == null) {
             throw new BusinessException("文档ID不能为空");
         }
-        List<Long> current = documentTagMapper.findTagIdsByDocumentId(documentId);
-        List<Long> toAdd = new java.util.ArrayList<>();
-        List<Long> toRemove = new java.util.ArrayList<>();
-        if (tagIds != null) {
-            for (Long id : tagIds) {
-                if (current == null || !current.contains(id)) toAdd.add(id);
-            }
-        }
-        if (current != null) {
-            for (Long id : current) {
-                if (tagIds == null || !tagIds.contains(id)) toRemove.add(id);
-            }
+        TagSyncService.TagDiff diff = tagSyncService.replaceDocumentTags(documentId, tagIds, null);
+        if (!diff.isEmpty()) {
+            eventPublisher.publishEvent(DocumentChangedEvent.of(documentId));
         }
-        if (!toAdd.isEmpty()) addTagsToDocument(documentId, toAdd);
-        if (!toRemove.isEmpty()) removeTagsFromDocument(documentId, toRemove);
     }
 
     @Override
@@ -169,41 +169,16 @@ public class TagServiceImpl implements ITagService {
         if (StringUtils.isBlank(name)) {
             throw new BusinessException("标签名称不能为空");
         }
-        Tag existing = tagMapper.findByName(name, projectId);
-        if (existing != null) return existing;
-        Tag tag = new Tag();
-        tag.setName(name.trim());
-        tag.setCreateTime(LocalDateTime.now());
-        tag.setUpdateTime(LocalDateTime.now());
-        tag.setDeleted(false);
-        tagMapper.insert(tag);
-        return tag;
+        List<Tag> tags = tagSyncService.resolveTags(List.of(name), projectId, creatorId);
+        if (tags.isEmpty()) {
+            throw new BusinessException("标签创建失败: " + name);
+        }
+        return tags.get(0);
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public List<Tag> ensureTagsExist(List<String> tagNames) {
-        List<Tag> result = new ArrayList<>();
-        if (tagNames == null || tagNames.isEmpty()) {
-            return result;
-        }
-        for (String name : tagNames) {
-            if (StringUtils.isBlank(name)) continue;
-            Tag existing = tagMapper.findByName(name, null);
-            if (existing != null) {
-                result.add(existing);
-            } else {
-                Tag tag = new Tag();
-                tag.setName(name.trim());
-                tag.setDeleted(false);
-                tag.setCreateTime(LocalDateTime.now());
-                tag.setUpdateTime(LocalDateTime.now());
-                tagMapper.insert(tag);
-                result.add(tag);
-            }
-        }
-        return result;
+        return new ArrayList<>(tagSyncService.resolveTags(tagNames, null, null));
     }
 }
-
-
@@ -6,14 +6,23 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.promanage.common.result.PageResult;
 import com.promanage.common.exception.BusinessException;
+import com.promanage.service.dto.TestExecutionCounts;
 import com.promanage.service.entity.TestCase;
 import com.promanage.service.entity.TestExecution;
+import com.promanage.service.event.TestCaseChangedEvent;
 import com.promanage.service.mapper.TestCaseMapper;
 import com.promanage.service.mapper.TestExecutionMapper;
 import com.promanage.service.IProjectService;
 import com.promanage.service.service.ITestCaseService;
+import com.promanage.service.dto.response.TestCaseImportJobDTO;
+import com.promanage.service.testcase.TestCaseExportFormat;
+import com.promanage.service.testcase.TestCaseExporter;
+import com.promanage.service.testcase.TestCaseImportJob;
+import com.promanage.service.testcase.TestCaseImporter;
+import com.promanage.service.testcase.TestExecutionStatsRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,9 +31,9 @@ import java.util.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.charset.StandardCharsets;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * 测试用例服务实现类
@@ -41,6 +50,10 @@ public class TestCaseServiceImpl implements ITestCaseService {
     private final TestExecutionMapper testExecutionMapper;
     private final IProjectService projectService;
     private final ObjectMapper objectMapper;
+    private final TestCaseImporter testCaseImporter;
+    private final TestCaseExporter testCaseExporter;
+    private final TestExecutionStatsRecorder testExecutionStatsRecorder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -49,6 +62,7 @@ public class TestCaseServiceImpl implements ITestCaseService {
         testCase.setCreateTime(LocalDateTime.now());
         testCase.setUpdateTime(LocalDateTime.now());
         testCaseMapper.insert(testCase);
+        eventPublisher.publishEvent(TestCaseChangedEvent.of(testCase.getId()));
         return testCase.getId();
     }
 
@@ -68,6 +82,7 @@ public class TestCaseServiceImpl implements ITestCaseService {
         log.info("Updating test case: {}", testCase.getId());
         testCase.setUpdateTime(LocalDateTime.now());
         testCaseMapper.updateById(testCase);
+        eventPublisher.publishEvent(TestCaseChangedEvent.of(testCase.getId()));
     }
 
     @Override
@@ -79,6 +94,7 @@ public class TestCaseServiceImpl implements ITestCaseService {
         testCase.setDeleted(true);
         testCase.setUpdateTime(LocalDateTime.now());
         testCaseMapper.updateById(testCase);
+        eventPublisher.publishEvent(TestCaseChangedEvent.of(testCaseId));
     }
 
     @Override
@@ -193,7 +209,7 @@ public class TestCaseServiceImpl implements ITestCaseService {
         log.info("Executing test case: {} by user: {}", testCaseId, executorId);
 
         // Validate test case exists
-        getTestCaseById(testCaseId);
+        TestCase testCase = getTestCaseById(testCaseId);
 
         // Map result string to integer
         Integer resultCode = mapResultStringToCode(result);
@@ -221,6 +237,7 @@ public class TestCaseServiceImpl implements ITestCaseService {
         }
 
         testExecutionMapper.insert(execution);
+        testExecutionStatsRecorder.record(execution, testCase.getProjectId());
 
         // Update test case with execution results
         TestCase updateCase = new TestCase();
@@ -298,6 +315,7 @@ public class TestCaseServiceImpl implements ITestCaseService {
         testCase.setAssigneeId(assigneeId);
         testCase.setUpdateTime(LocalDateTime.now());
         testCaseMapper.updateById(testCase);
+        eventPublisher.publishEvent(TestCaseChangedEvent.of(testCaseId));
     }
 
     @Override
@@ -355,6 +373,7 @@ public class TestCaseServiceImpl implements ITestCaseService {
         copy.setDeleted(false);
 
         testCaseMapper.insert(copy);
+        eventPublisher.publishEvent(TestCaseChangedEvent.of(copy.getId()));
         return copy.getId();
     }
 
@@ -425,7 +444,6 @@ public class TestCaseServiceImpl implements ITestCaseService {
         stats.setFailedCount(getIntValue(statsMap, "failedcount"));
         stats.setBlockedCount(getIntValue(statsMap, "blockedcount"));
         stats.setSkippedCount(getIntValue(statsMap, "skippedcount"));
-        stats.setTotalExecutions(getIntValue(statsMap, "totalexecutions"));
 
         // Calculate pass rate
         int passed = stats.getPassedCount();
@@ -436,10 +454,18 @@ public class TestCaseServiceImpl implements ITestCaseService {
             stats.setPassRate(0.0);
         }
 
-        // Get last execution time
-        if (statsMap.get("lastexecutiontime") != null) {
-            stats.setLastExecutionTime((LocalDateTime) statsMap.get("lastexecutiontime"));
-        }
+        // Execution counters are maintained incrementally by executeTestCase
+        TestExecutionCounts totals = testExecutionStatsRecorder.getProjectTotals(projectId);
+        stats.setTotalExecutions(totals.getTotalCount());
+        stats.setPassExecutions(totals.getPassCount());
+        stats.setFailExecutions(totals.getFailCount());
+        stats.setBlockExecutions(totals.getBlockCount());
+        stats.setSkipExecutions(totals.getSkipCount());
+        stats.setExecutionPassRate(totals.passRate());
+        stats.setFlakinessScore(totals.flakinessScore());
+        stats.setLastExecutionTime(totals.getLastExecutionTime());
+        stats.setLast7Days(toWindowStatistics(7, testExecutionStatsRecorder.getProjectWindow(projectId, 7)));
+        stats.setLast30Days(toWindowStatistics(30, testExecutionStatsRecorder.getProjectWindow(projectId, 30)));
 
         return stats;
     }
@@ -448,48 +474,45 @@ public class TestCaseServiceImpl implements ITestCaseService {
     public ITestCaseService.TestCaseExecutionStatistics getTestCaseExecutionStatistics(Long testCaseId) {
         log.info("Getting execution statistics for test case: {}", testCaseId);
 
-        Map<String, Object> statsMap = testExecutionMapper.getExecutionStatistics(testCaseId);
+        TestExecutionCounts totals = testExecutionStatsRecorder.getTestCaseTotals(testCaseId);
 
         ITestCaseService.TestCaseExecutionStatistics stats = new ITestCaseService.TestCaseExecutionStatistics();
-        stats.setTotalExecutions(getIntValue(statsMap, "total"));
-        stats.setPassCount(getIntValue(statsMap, "pass"));
-        stats.setFailCount(getIntValue(statsMap, "fail"));
-        stats.setBlockCount(getIntValue(statsMap, "block"));
-        stats.setSkipCount(getIntValue(statsMap, "skip"));
+        stats.setTotalExecutions(totals.getTotalCount());
+        stats.setPassCount(totals.getPassCount());
+        stats.setFailCount(totals.getFailCount());
+        stats.setBlockCount(totals.getBlockCount());
+        stats.setSkipCount(totals.getSkipCount());
+        stats.setPassRate(totals.passRate());
+        stats.setFlakinessScore(totals.flakinessScore());
 
-        // Calculate pass rate
-        int total = stats.getTotalExecutions();
-        int passed = stats.getPassCount();
-        if (total > 0) {
-            stats.setPassRate((double) passed / total * 100);
-        } else {
-            stats.setPassRate(0.0);
-        }
+        // Average over all executions, missing durations count as zero
+        int total = totals.getTotalCount();
+        stats.setAverageExecutionTime(total > 0 ? (double) totals.getTotalExecutionTime() / total : 0.0);
 
-        // Get average execution time
-        Object avgTime = statsMap.get("avgtime");
-        if (avgTime != null) {
-            stats.setAverageExecutionTime(((Number) avgTime).doubleValue());
-        } else {
-            stats.setAverageExecutionTime(0.0);
+        if (totals.getLastExecutionTime() != null) {
+            stats.setLastExecutionTime(totals.getLastExecutionTime());
+            stats.setLastExecutionResult(mapResultCodeToString(totals.getLastResult()));
         }
 
-        // Get last execution info
-        LambdaQueryWrapper<TestExecution> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(TestExecution::getTestCaseId, testCaseId)
-               .eq(TestExecution::getDeleted, false)
-               .orderByDesc(TestExecution::getCreateTime)
-               .last("LIMIT 1");
-
-        TestExecution lastExecution = testExecutionMapper.selectOne(wrapper);
-        if (lastExecution != null) {
-            stats.setLastExecutionTime(lastExecution.getCreateTime());
-            stats.setLastExecutionResult(mapResultCodeToString(lastExecution.getResult()));
-        }
+        stats.setLast7Days(toWindowStatistics(7, testExecutionStatsRecorder.getTestCaseWindow(testCaseId, 7)));
+        stats.setLast30Days(toWindowStatistics(30, testExecutionStatsRecorder.getTestCaseWindow(testCaseId, 30)));
 
         return stats;
     }
 
+    private ITestCaseService.ExecutionWindowStatistics toWindowStatistics(int days, TestExecutionCounts counts) {
+        ITestCaseService.ExecutionWindowStatistics window = new ITestCaseService.ExecutionWindowStatistics();
+        window.setDays(days);
+        window.setTotalExecutions(counts.getTotalCount());
+        window.setPassCount(counts.getPassCount());
+        window.setFailCount(counts.getFailCount());
+        window.setBlockCount(counts.getBlockCount());
+        window.setSkipCount(counts.getSkipCount());
+        window.setPassRate(counts.passRate());
+        window.setFlakinessScore(counts.flakinessScore());
+        return window;
+    }
+
     /**
      * Helper method to safely extract integer value from map
      */
@@ -607,156 +630,58 @@ public class TestCaseServiceImpl implements ITestCaseService {
     public String exportTestCases(Long projectId, List<Long> testCaseIds, String format) {
         log.info("Exporting test cases for project: {} in format: {}", projectId, format);
 
-        // Get test cases to export
-        List<TestCase> testCases = new ArrayList<>();
-        if (testCaseIds != null && !testCaseIds.isEmpty()) {
-            // Export specific test cases
-            for (Long testCaseId : testCaseIds) {
-                TestCase testCase = testCaseMapper.selectById(testCaseId);
-                if (testCase != null && !testCase.getDeleted() && testCase.getProjectId().equals(projectId)) {
-                    testCases.add(testCase);
-                }
-            }
-        } else {
-            // Export all test cases in project
-            LambdaQueryWrapper<TestCase> wrapper = new LambdaQueryWrapper<>();
-            wrapper.eq(TestCase::getProjectId, projectId)
-                   .eq(TestCase::getDeleted, false)
-                   .orderByDesc(TestCase::getCreateTime);
-            testCases = testCaseMapper.selectList(wrapper);
-        }
-
-        if (testCases.isEmpty()) {
+        TestCaseExportFormat exportFormat = resolveExportFormat(format);
+        if (countExportableTestCases(projectId, testCaseIds) == 0) {
             throw new BusinessException("没有找到需要导出的测试用例");
         }
 
-        // Generate export file based on format
-        String exportUrl;
+        String fileName = "test_cases_" + System.currentTimeMillis() + "." + exportFormat.getExtension();
+        Path filePath = Paths.get("exports").resolve(fileName);
         try {
-            switch (format.toUpperCase()) {
-                case "EXCEL":
-                    exportUrl = exportToExcel(testCases);
-                    break;
-                case "CSV":
-                    exportUrl = exportToCsv(testCases);
-                    break;
-                case "PDF":
-                    exportUrl = exportToPdf(testCases);
-                    break;
-                default:
-                    throw new BusinessException("不支持的导出格式: " + format);
+            Files.createDirectories(filePath.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(filePath))) {
+                testCaseExporter.export(projectId, testCaseIds, exportFormat, false, out);
             }
         } catch (Exception e) {
             log.error("Error exporting test cases", e);
+            deleteQuietly(filePath);
             throw new BusinessException("导出测试用例失败: " + e.getMessage());
         }
 
-        log.info("Test cases exported successfully: {}", exportUrl);
+        String exportUrl = "/exports/" + fileName;
+        log.info("Test cases exported successfully: {} (path: {})", exportUrl, filePath.toAbsolutePath());
         return exportUrl;
     }
 
-    /**
-     * Export test cases to Excel-compatible format without external deps.
-     * Generates a tab-separated .xls file that Excel can open.
-     */
-    private String exportToExcel(List<TestCase> testCases) {
-        try {
-            StringBuilder tsv = new StringBuilder();
-            // Header
-            tsv.append("ID\t标题\t描述\t类型\t状态\t优先级\t模块\t创建人ID\t指派人ID\t创建时间\n");
-            // Rows
-            for (TestCase testCase : testCases) {
-                tsv.append(testCase.getId()).append('\t')
-                   .append(safeTab(testCase.getTitle())).append('\t')
-                   .append(safeTab(testCase.getDescription())).append('\t')
-                   .append(nullToEmpty(testCase.getType())).append('\t')
-                   .append(nullToEmpty(testCase.getStatus())).append('\t')
-                   .append(nullToEmpty(testCase.getPriority())).append('\t')
-                   .append(safeTab(testCase.getModule())).append('\t')
-                   .append(nullToEmpty(testCase.getCreatorId())).append('\t')
-                   .append(testCase.getAssigneeId() != null ? testCase.getAssigneeId() : "").append('\t')
-                   .append(nullToEmpty(testCase.getCreateTime())).append('\n');
-            }
-
-            String fileName = "test_cases_" + System.currentTimeMillis() + ".xls";
-            Path exportDir = Paths.get("exports");
-            if (!Files.exists(exportDir)) {
-                Files.createDirectories(exportDir);
-            }
-            Path filePath = exportDir.resolve(fileName);
-            Files.write(filePath, tsv.toString().getBytes(StandardCharsets.UTF_8));
-
-            String fileUrl = "/exports/" + fileName;
-            log.info("Excel export completed: {} (path: {})", fileUrl, filePath.toAbsolutePath());
-            return fileUrl;
-        } catch (Exception e) {
-            log.error("Error exporting to Excel (TSV)", e);
-            throw new BusinessException("Excel导出失败: " + e.getMessage());
-        }
+    @Override
+    public long countExportableTestCases(Long projectId, List<Long> testCaseIds) {
+        return testCaseExporter.count(projectId, testCaseIds);
     }
 
-    /**
-     * Export test cases to CSV format
-     */
-    private String exportToCsv(List<TestCase> testCases) {
-        try {
-            StringBuilder csv = new StringBuilder();
-
-            // CSV Header
-            csv.append("ID,标题,描述,类型,状态,优先级,模块,创建人ID,指派人ID,创建时间\n");
-
-            // CSV Data
-            for (TestCase testCase : testCases) {
-                csv.append(testCase.getId()).append(",")
-                   .append(escapeCsv(testCase.getTitle())).append(",")
-                   .append(escapeCsv(testCase.getDescription())).append(",")
-                   .append(testCase.getType()).append(",")
-                   .append(testCase.getStatus()).append(",")
-                   .append(testCase.getPriority()).append(",")
-                   .append(escapeCsv(testCase.getModule())).append(",")
-                   .append(testCase.getCreatorId()).append(",")
-                   .append(testCase.getAssigneeId() != null ? testCase.getAssigneeId() : "").append(",")
-                   .append(testCase.getCreateTime()).append("\n");
-            }
-
-            // Persist to local filesystem under exports/
-            String fileName = "test_cases_" + System.currentTimeMillis() + ".csv";
-            Path exportDir = Paths.get("exports");
-            if (!Files.exists(exportDir)) {
-                Files.createDirectories(exportDir);
-            }
-            Path filePath = exportDir.resolve(fileName);
-            Files.write(filePath, csv.toString().getBytes(StandardCharsets.UTF_8));
-
-            String fileUrl = "/exports/" + fileName;
-            log.info("CSV export completed: {} (path: {})", fileUrl, filePath.toAbsolutePath());
-            return fileUrl;
-        } catch (Exception e) {
-            log.error("Error exporting to CSV", e);
-            throw new BusinessException("CSV导出失败: " + e.getMessage());
-        }
+    @Override
+    public void exportTestCases(Long projectId, List<Long> testCaseIds, TestCaseExportFormat format,
+                                boolean gzip, OutputStream out) throws IOException {
+        log.info("Streaming test cases for project: {} in format: {}, gzip: {}", projectId, format, gzip);
+        testCaseExporter.export(projectId, testCaseIds, format, gzip, out);
     }
 
-    /**
-     * Export test cases to PDF format (not enabled without external deps).
-     */
-    private String exportToPdf(List<TestCase> testCases) {
-        throw new BusinessException("当前环境未启用PDF导出，请使用CSV/Excel导出");
+    private TestCaseExportFormat resolveExportFormat(String format) {
+        if ("PDF".equalsIgnoreCase(format)) {
+            throw new BusinessException("当前环境未启用PDF导出，请使用CSV/Excel导出");
+        }
+        TestCaseExportFormat exportFormat = TestCaseExportFormat.fromName(format);
+        if (exportFormat == null) {
+            throw new BusinessException("不支持的导出格式: " + format);
+        }
+        return exportFormat;
     }
 
-    /**
-     * Escape CSV special characters
-     */
-    private String escapeCsv(String value) {
-        if (value == null) {
-            return "";
-        }
-        // Escape quotes and add quotes if contains comma or newline
-        String escaped = value.replace("\"", "\"\"");
-        if (escaped.contains(",") || escaped.contains("\n") || escaped.contains("\"")) {
-            return "\"" + escaped + "\"";
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete incomplete export file: {}", path, e);
         }
-        return escaped;
     }
 
     @Override
@@ -770,69 +695,13 @@ public class TestCaseServiceImpl implements ITestCaseService {
         result.setErrorMessages(new ArrayList<>());
 
         try {
-            if (fileUrl == null || fileUrl.isBlank()) {
-                throw new BusinessException("文件地址不能为空");
-            }
-            Path path;
-            if (fileUrl.startsWith("/exports/")) {
-                path = Paths.get("exports", fileUrl.substring("/exports/".length()));
-            } else {
-                path = Paths.get(fileUrl);
-            }
-            if (!Files.exists(path)) {
-                throw new BusinessException("文件不存在: " + path.toAbsolutePath());
-            }
-
-            String lower = path.getFileName().toString().toLowerCase();
-            if (lower.endsWith(".csv") || lower.endsWith(".txt")) {
-                // CSV import
-                List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
-                if (lines.size() > 10001) {
-                    throw new BusinessException("单次导入最大支持10000行（含表头）");
-                }
-                result.setTotalCount(lines.size() > 0 ? lines.size() - 1 : 0);
-                boolean headerSkipped = false;
-                for (String line : lines) {
-                    if (!headerSkipped) { headerSkipped = true; continue; }
-                    if (line.isBlank()) continue;
-                    String[] cols = parseCsvLine(line);
-                    importRow(projectId, userId, result, cols);
-                }
-            } else if (lower.endsWith(".xls")) {
-                // TSV-like .xls (we output as TSV earlier); handle as tab-separated text
-                List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
-                if (lines.size() > 10001) {
-                    throw new BusinessException("单次导入最大支持10000行（含表头）");
-                }
-                result.setTotalCount(lines.size() > 0 ? lines.size() - 1 : 0);
-                boolean headerSkipped = false;
-                for (String line : lines) {
-                    if (!headerSkipped) { headerSkipped = true; continue; }
-                    if (line.isBlank()) continue;
-                    String[] cols = line.split("\t", -1);
-                    // align columns to CSV layout
-                    importRow(projectId, userId, result, cols);
-                }
-            } else if (lower.endsWith(".xlsx")) {
-                try (Workbook workbook = new XSSFWorkbook(Files.newInputStream(path))) {
-                    Sheet sheet = workbook.getSheetAt(0);
-                    int rowCount = sheet.getPhysicalNumberOfRows();
-                    result.setTotalCount(Math.max(0, rowCount - 1));
-
-                    boolean headerSkipped = false;
-                    for (Row row : sheet) {
-                        if (!headerSkipped) { headerSkipped = true; continue; }
-                        List<String> colsList = new ArrayList<>();
-                        int last = Math.max(10, row.getLastCellNum());
-                        for (int i = 0; i < last; i++) {
-                            colsList.add(getCellString(row.getCell(i)));
-                        }
-                        String[] cols = colsList.toArray(new String[0]);
-                        importRow(projectId, userId, result, cols);
-                    }
-                }
-            } else {
-                throw new BusinessException("不支持的文件格式: " + lower);
+            TestCaseImportJob job = testCaseImporter.importNow(projectId, userId, resolveImportFile(fileUrl));
+            result.setTotalCount(job.getProcessedCount());
+            result.setSuccessCount(job.getSuccessCount());
+            result.setFailureCount(job.getFailureCount());
+            result.getErrorMessages().addAll(job.getErrorMessages());
+            if (job.getStatus() == TestCaseImportJob.Status.FAILED) {
+                result.getErrorMessages().add("导入失败: " + job.getMessage());
             }
         } catch (Exception e) {
             log.error("Error importing test cases", e);
@@ -842,92 +711,39 @@ public class TestCaseServiceImpl implements ITestCaseService {
         return result;
     }
 
-    private void importRow(Long projectId, Long userId, ITestCaseService.TestCaseImportResult result, String[] cols) {
+    @Override
+    public TestCaseImportJobDTO submitImport(Long projectId, Path file, Long userId) {
+        log.info("Submitting test case import for project: {} from file: {}", projectId, file.getFileName());
         try {
-            TestCase tc = new TestCase();
-            tc.setProjectId(projectId);
-            tc.setTitle(getCsv(cols, 1));
-            tc.setDescription(getCsv(cols, 2));
-            tc.setType(getCsv(cols, 3));
-            tc.setStatus(parseIntSafe(getCsv(cols, 4)));
-            tc.setPriority(parseIntSafe(getCsv(cols, 5)));
-            tc.setModule(getCsv(cols, 6));
-            tc.setCreatorId(userId);
-            tc.setAssigneeId(parseLongSafe(getCsv(cols, 8)));
-            tc.setCreateTime(LocalDateTime.now());
-            tc.setUpdateTime(LocalDateTime.now());
-            testCaseMapper.insert(tc);
-            result.setSuccessCount(result.getSuccessCount() + 1);
-        } catch (Exception rowErr) {
-            result.setFailureCount(result.getFailureCount() + 1);
-            result.getErrorMessages().add("行导入失败: " + rowErr.getMessage());
-        }
-    }
-
-    private String getCellString(Cell cell) {
-        if (cell == null) return "";
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue();
-            case NUMERIC -> {
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    java.util.Date d = cell.getDateCellValue();
-                    yield new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(d);
-                } else {
-                    yield String.valueOf((long) cell.getNumericCellValue());
-                }
-            }
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            case FORMULA -> cell.getCellFormula();
-            default -> "";
-        };
-    }
-
-    private String safeTab(String s) {
-        if (s == null) return "";
-        return s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
-    }
-
-    private String nullToEmpty(Object o) {
-        return o == null ? "" : String.valueOf(o);
-    }
-
-    private String[] parseCsvLine(String line) {
-        // simple CSV split handling quoted values
-        List<String> parts = new ArrayList<>();
-        StringBuilder cur = new StringBuilder();
-        boolean inQuote = false;
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (c == '"') {
-                inQuote = !inQuote;
-            } else if (c == ',' && !inQuote) {
-                parts.add(cur.toString());
-                cur.setLength(0);
-            } else {
-                cur.append(c);
-            }
-        }
-        parts.add(cur.toString());
-        // unescape quotes
-        for (int i = 0; i < parts.size(); i++) {
-            String p = parts.get(i);
-            if (p.startsWith("\"") && p.endsWith("\"")) {
-                p = p.substring(1, p.length() - 1).replace("\"\"", "\"");
-            }
-            parts.set(i, p);
+            return testCaseImporter.submit(projectId, userId, file, true).toDTO();
+        } catch (IOException e) {
+            throw new BusinessException("提交导入任务失败: " + e.getMessage());
         }
-        return parts.toArray(new String[0]);
     }
 
-    private String getCsv(String[] cols, int idx) {
-        return idx >= 0 && idx < cols.length ? cols[idx] : "";
-    }
-
-    private Integer parseIntSafe(String s) {
-        try { return s == null || s.isBlank() ? null : Integer.parseInt(s.trim()); } catch (Exception e) { return null; }
+    @Override
+    public TestCaseImportJobDTO getImportJob(String jobId, Long userId) {
+        TestCaseImportJob job = testCaseImporter.getJob(jobId)
+                .orElseThrow(() -> new BusinessException("导入任务不存在或已过期"));
+        if (!job.getUserId().equals(userId)) {
+            throw new BusinessException("没有权限查看此导入任务");
+        }
+        return job.toDTO();
     }
 
-    private Long parseLongSafe(String s) {
-        try { return s == null || s.isBlank() ? null : Long.parseLong(s.trim()); } catch (Exception e) { return null; }
+    private Path resolveImportFile(String fileUrl) {
+        if (fileUrl == null || fileUrl.isBlank()) {
+            throw new BusinessException("文件地址不能为空");
+        }
+        Path path;
+        if (fileUrl.startsWith("/exports/")) {
+            path = Paths.get("exports", fileUrl.substring("/exports/".length()));
+        } else {
+            path = Paths.get(fileUrl);
+        }
+        if (!Files.exists(path)) {
+            throw new BusinessException("文件不存在: " + path.toAbsolutePath());
+        }
+        return path;
     }
 }
@@ -0,0 +1,14 @@
+package com.promanage.service.strategy;
+
+/**
+ * 通知事件
+ *
+ * @param relatedId 相关数据ID
+ * @param relatedType 相关数据类型（事件类型，如 TASK_UPDATED）
+ * @param operatorId 操作者ID
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record NotificationEvent(Long relatedId, String relatedType, Long operatorId) {
+}
@@ -1,6 +1,8 @@
 package com.promanage.service.strategy;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 通知发送策略接口
@@ -17,6 +19,15 @@ public interface NotificationStrategy {
      */
     List<Long> getRecipients(Long relatedId, String relatedType, Long operatorId);
 
+    /**
+     * 批量解析完整接收者集合（不排除操作者），结果可被缓存复用
+     *
+     * @param relatedIds 相关数据ID集合
+     * @param relatedType 相关数据类型
+     * @return 相关数据ID到接收者集合的映射，未找到的ID可缺省
+     */
+    Map<Long, RecipientSet> resolveRecipients(Collection<Long> relatedIds, String relatedType);
+
     /**
      * 生成通知标题
      * 
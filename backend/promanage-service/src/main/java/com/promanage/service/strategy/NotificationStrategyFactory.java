@@ -1,31 +1,80 @@
 package com.promanage.service.strategy;
 
+import com.promanage.service.notification.NotificationRecipientCache;
 import com.promanage.service.strategy.impl.ProjectNotificationStrategy;
 import com.promanage.service.strategy.impl.TaskNotificationStrategy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 
 /**
  * 通知策略工厂
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class NotificationStrategyFactory {
 
     private final ProjectNotificationStrategy projectNotificationStrategy;
     private final TaskNotificationStrategy taskNotificationStrategy;
+    private final NotificationRecipientCache recipientCache;
 
     /**
      * 根据相关类型获取通知策略
      */
     public NotificationStrategy getStrategy(String relatedType) {
         return switch (relatedType) {
-            case "PROJECT_CREATED", "PROJECT_UPDATED", "PROJECT_MEMBER_ADDED", "PROJECT_MEMBER_REMOVED" 
+            case "PROJECT_CREATED", "PROJECT_UPDATED", "PROJECT_MEMBER_ADDED", "PROJECT_MEMBER_REMOVED"
                 -> projectNotificationStrategy;
-            case "TASK_CREATED", "TASK_UPDATED", "TASK_ASSIGNED", "TASK_COMPLETED", "TASK_OVERDUE" 
+            case "TASK_CREATED", "TASK_UPDATED", "TASK_ASSIGNED", "TASK_COMPLETED", "TASK_OVERDUE"
                 -> taskNotificationStrategy;
             default -> null;
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * 解析单个事件的接收者（经过缓存，排除操作者）
+     */
+    public List<Long> resolveRecipients(Long relatedId, String relatedType, Long operatorId) {
+        NotificationEvent event = new NotificationEvent(relatedId, relatedType, operatorId);
+        return resolveRecipients(List.of(event)).getOrDefault(event, List.of());
+    }
+
+    /**
+     * 一次性解析一批事件的接收者
+     * <p>
+     * 按事件类型分组，每组只对缓存未命中的关联ID调用一次策略的批量解析
+     * </p>
+     *
+     * @param events 通知事件列表
+     * @return 事件到接收者列表（已排除操作者）的映射，无对应策略的事件不在结果中
+     */
+    public Map<NotificationEvent, List<Long>> resolveRecipients(List<NotificationEvent> events) {
+        Map<NotificationEvent, List<Long>> result = new LinkedHashMap<>();
+        Map<String, List<NotificationEvent>> byType = events.stream()
+                .filter(event -> event.relatedType() != null && event.relatedId() != null)
+                .collect(Collectors.groupingBy(NotificationEvent::relatedType, LinkedHashMap::new, Collectors.toList()));
+
+        byType.forEach((relatedType, typedEvents) -> {
+            NotificationStrategy strategy = getStrategy(relatedType);
+            if (strategy == null) {
+                log.warn("未找到对应的通知策略, 相关类型: {}", relatedType);
+                return;
+            }
+            List<Long> relatedIds = typedEvents.stream().map(NotificationEvent::relatedId).toList();
+            Map<Long, RecipientSet> recipients = recipientCache.getAll(relatedType, relatedIds,
+                    ids -> strategy.resolveRecipients(ids, relatedType));
+            for (NotificationEvent event : typedEvents) {
+                result.put(event, recipients.getOrDefault(event.relatedId(), RecipientSet.empty())
+                        .without(event.operatorId()));
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package com.promanage.service.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * 通知接收者集合
+ * <p>
+ * 内部使用去重、升序的 long[] 保存用户ID，创建后不可变，可安全地在缓存中共享。
+ * 对外只暴露副本或只读视图，避免调用方修改缓存内容。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public final class RecipientSet {
+
+    private static final RecipientSet EMPTY = new RecipientSet(new long[0]);
+
+    private final long[] userIds;
+
+    private RecipientSet(long[] userIds) {
+        this.userIds = userIds;
+    }
+
+    /**
+     * 空集合
+     */
+    public static RecipientSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 由用户ID集合创建，忽略 null 并去重
+     */
+    public static RecipientSet of(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return EMPTY;
+        }
+        long[] ids = userIds.stream()
+                .filter(id -> id != null)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+        return ids.length == 0 ? EMPTY : new RecipientSet(ids);
+    }
+
+    /**
+     * 由若干用户ID创建，忽略 null 并去重
+     */
+    public static RecipientSet of(Long... userIds) {
+        return of(Arrays.asList(userIds));
+    }
+
+    public int size() {
+        return userIds.length;
+    }
+
+    public boolean isEmpty() {
+        return userIds.length == 0;
+    }
+
+    public boolean contains(long userId) {
+        return Arrays.binarySearch(userIds, userId) >= 0;
+    }
+
+    /**
+     * 返回内部数组的副本
+     */
+    public long[] toArray() {
+        return userIds.clone();
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(userIds);
+    }
+
+    /**
+     * 排除操作者后的接收者列表
+     *
+     * @param operatorId 操作者ID，可为 null
+     * @return 接收者ID列表
+     */
+    public List<Long> without(Long operatorId) {
+        List<Long> result = new ArrayList<>(userIds.length);
+        for (long userId : userIds) {
+            if (operatorId == null || userId != operatorId) {
+                result.add(userId);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof RecipientSet other && Arrays.equals(userIds, other.userIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(userIds);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(userIds);
+    }
+}
@@ -1,16 +1,19 @@
 package com.promanage.service.strategy.impl;
 
-import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.promanage.service.entity.Project;
 import com.promanage.service.entity.ProjectMember;
 import com.promanage.service.IProjectService;
 import com.promanage.service.mapper.ProjectMemberMapper;
 import com.promanage.service.strategy.NotificationStrategy;
+import com.promanage.service.strategy.RecipientSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -26,21 +29,33 @@ public class ProjectNotificationStrategy implements NotificationStrategy {
 
     @Override
     public List<Long> getRecipients(Long relatedId, String relatedType, Long operatorId) {
+        // 获取项目所有成员，排除操作者自己
+        return resolveRecipients(List.of(relatedId), relatedType)
+            .getOrDefault(relatedId, RecipientSet.empty())
+            .without(operatorId);
+    }
+
+    @Override
+    public Map<Long, RecipientSet> resolveRecipients(Collection<Long> relatedIds, String relatedType) {
+        if (relatedIds == null || relatedIds.isEmpty()) {
+            return Map.of();
+        }
         try {
-            // 获取项目所有成员
-            QueryWrapper<ProjectMember> wrapper = new QueryWrapper<>();
-            wrapper.eq("project_id", relatedId)
-                   .eq("deleted", false);
+            // 一次查询加载所有项目的成员
+            LambdaQueryWrapper<ProjectMember> wrapper = new LambdaQueryWrapper<ProjectMember>()
+                .select(ProjectMember::getProjectId, ProjectMember::getUserId)
+                .in(ProjectMember::getProjectId, relatedIds)
+                .isNull(ProjectMember::getDeletedAt);
             List<ProjectMember> members = projectMemberMapper.selectList(wrapper);
-            
-            // 排除操作者自己
+
             return members.stream()
-                .map(ProjectMember::getUserId)
-                .filter(userId -> !userId.equals(operatorId))
-                .collect(Collectors.toList());
+                .collect(Collectors.groupingBy(ProjectMember::getProjectId,
+                    Collectors.collectingAndThen(
+                        Collectors.mapping(ProjectMember::getUserId, Collectors.toList()),
+                        RecipientSet::of)));
         } catch (Exception e) {
-            log.error("获取项目通知接收者失败, 项目ID: {}", relatedId, e);
-            return List.of();
+            log.error("获取项目通知接收者失败, 项目ID: {}", relatedIds, e);
+            return Map.of();
         }
     }
 
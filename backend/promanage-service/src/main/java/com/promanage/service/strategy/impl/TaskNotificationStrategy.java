@@ -4,12 +4,22 @@ import com.promanage.service.entity.Project;
 import com.promanage.service.entity.Task;
 import com.promanage.service.IProjectService;
 import com.promanage.service.service.ITaskService;
+import com.promanage.service.mapper.ProjectMapper;
+import com.promanage.service.mapper.TaskMapper;
 import com.promanage.service.strategy.NotificationStrategy;
+import com.promanage.service.strategy.RecipientSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 任务通知策略
@@ -21,64 +31,67 @@ public class TaskNotificationStrategy implements NotificationStrategy {
 
     private final ITaskService taskService;
     private final IProjectService projectService;
+    private final TaskMapper taskMapper;
+    private final ProjectMapper projectMapper;
 
     @Override
     public List<Long> getRecipients(Long relatedId, String relatedType, Long operatorId) {
+        return resolveRecipients(List.of(relatedId), relatedType)
+            .getOrDefault(relatedId, RecipientSet.empty())
+            .without(operatorId);
+    }
+
+    @Override
+    public Map<Long, RecipientSet> resolveRecipients(Collection<Long> relatedIds, String relatedType) {
+        if (relatedIds == null || relatedIds.isEmpty()) {
+            return Map.of();
+        }
         try {
-            Task task = taskService.getTaskById(relatedId);
-            if (task == null) {
-                return List.of();
+            // 一次查询加载所有任务，再一次查询加载涉及的项目
+            List<Task> tasks = taskMapper.selectByIds(relatedIds);
+            if (tasks.isEmpty()) {
+                return Map.of();
             }
-            
-            return switch (relatedType) {
-                case "TASK_CREATED", "TASK_UPDATED" -> {
-                    // 任务创建和更新通知给项目成员
-                    Project project = projectService.getById(task.getProjectId());
-                    if (project != null) {
-                        yield List.of(project.getOwnerId(), task.getAssigneeId()).stream()
-                            .filter(userId -> userId != null && !userId.equals(operatorId))
-                            .distinct()
-                            .toList();
-                    }
-                    yield List.of();
-                }
-                case "TASK_ASSIGNED" -> {
-                    // 任务分配通知给被分配者
-                    if (task.getAssigneeId() != null && !task.getAssigneeId().equals(operatorId)) {
-                        yield List.of(task.getAssigneeId());
-                    }
-                    yield List.of();
-                }
-                case "TASK_COMPLETED" -> {
-                    // 任务完成通知给项目所有者和创建者
-                    Project project = projectService.getById(task.getProjectId());
-                    if (project != null) {
-                        yield List.of(project.getOwnerId(), task.getCreatorId()).stream()
-                            .filter(userId -> userId != null && !userId.equals(operatorId))
-                            .distinct()
-                            .toList();
-                    }
-                    yield List.of();
-                }
-                case "TASK_OVERDUE" -> {
-                    // 任务逾期通知给被分配者和项目所有者
-                    Project project = projectService.getById(task.getProjectId());
-                    if (project != null) {
-                        yield List.of(task.getAssigneeId(), project.getOwnerId()).stream()
-                            .filter(userId -> userId != null && !userId.equals(operatorId))
-                            .distinct()
-                            .toList();
-                    }
-                    yield List.of();
-                }
-                default -> List.of();
-            };
+            Set<Long> projectIds = tasks.stream()
+                .map(Task::getProjectId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+            Map<Long, Project> projects = projectIds.isEmpty() ? Map.of()
+                : projectMapper.selectByIds(projectIds).stream()
+                    .collect(Collectors.toMap(Project::getId, Function.identity(), (a, b) -> a));
+
+            Map<Long, RecipientSet> result = new HashMap<>();
+            for (Task task : tasks) {
+                result.put(task.getId(), recipientsOf(task, projects.get(task.getProjectId()), relatedType));
+            }
+            return result;
         } catch (Exception e) {
-            log.error("获取任务通知接收者失败, 任务ID: {}", relatedId, e);
-            return List.of();
+            log.error("获取任务通知接收者失败, 任务ID: {}", relatedIds, e);
+            return Map.of();
         }
     }
 
+    /**
+     * 根据事件类型确定任务通知的接收者
+     */
+    private RecipientSet recipientsOf(Task task, Project project, String relatedType) {
+        Long ownerId = project != null ? project.getOwnerId() : null;
+        return switch (relatedType) {
+            // 任务创建和更新通知给项目负责人和被分配者
+            case "TASK_CREATED", "TASK_UPDATED" -> project != null
+                ? RecipientSet.of(ownerId, task.getAssigneeId()) : RecipientSet.empty();
+            // 任务分配通知给被分配者
+            case "TASK_ASSIGNED" -> RecipientSet.of(task.getAssigneeId());
+            // 任务完成通知给项目负责人和创建者
+            case "TASK_COMPLETED" -> project != null
+                ? RecipientSet.of(ownerId, task.getCreatorId()) : RecipientSet.empty();
+            // 任务逾期通知给被分配者和项目负责人
+            case "TASK_OVERDUE" -> project != null
+                ? RecipientSet.of(task.getAssigneeId(), ownerId) : RecipientSet.empty();
+            default -> RecipientSet.empty();
+        };
+    }
+
     @Override
     public String generateTitle(Long relatedId, String relatedType, Long operatorId) {
         try {
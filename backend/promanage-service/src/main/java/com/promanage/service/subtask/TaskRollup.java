@@ -0,0 +1,101 @@
+package com.promanage.service.subtask;
+
+import com.promanage.service.entity.Task;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 子任务汇总值
+ * <p>
+ * 汇总值只依赖任务自身字段和直接子任务的汇总值，因此子任务变更时沿祖先链逐级重算即可，
+ * 某一级结果不变时更上层也不会变化：
+ * <ul>
+ *   <li>预估/实际工时：自身工时加各子任务的汇总工时</li>
+ *   <li>进度：已完成的任务为 100；没有有效子任务时取自身进度；否则按子任务汇总预估工时加权平均，
+ *       已取消的子任务不参与，权重全为 0 时取算术平均</li>
+ * </ul>
+ * 与迁移脚本 V1.1.4 的回填规则一致。
+ * </p>
+ *
+ * @param estimatedHours 汇总预估工时
+ * @param actualHours 汇总实际工时
+ * @param progress 汇总进度（0-100，保留两位小数）
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record TaskRollup(double estimatedHours, double actualHours, double progress) {
+
+    private static final int STATUS_DONE = 3;
+    private static final int STATUS_CANCELLED = 4;
+
+    /**
+     * 根据任务自身字段和直接子任务计算汇总值
+     *
+     * @param task 任务
+     * @param children 未删除的直接子任务，汇总列为空时按其自身字段计算
+     * @return 汇总值
+     */
+    public static TaskRollup of(Task task, Collection<Task> children) {
+        double estimated = hours(task.getEstimatedHours());
+        double actual = hours(task.getActualHours());
+        double weight = 0;
+        double weighted = 0;
+        double progressSum = 0;
+        int activeCount = 0;
+        for (Task child : children) {
+            TaskRollup rollup = stored(child);
+            estimated += rollup.estimatedHours();
+            actual += rollup.actualHours();
+            if (!Objects.equals(child.getStatus(), STATUS_CANCELLED)) {
+                activeCount++;
+                weight += rollup.estimatedHours();
+                weighted += rollup.estimatedHours() * rollup.progress();
+                progressSum += rollup.progress();
+            }
+        }
+
+        double progress;
+        if (Objects.equals(task.getStatus(), STATUS_DONE)) {
+            progress = 100;
+        } else if (activeCount == 0) {
+            progress = Objects.requireNonNullElse(task.getProgressPercentage(), 0);
+        } else if (weight > 0) {
+            progress = weighted / weight;
+        } else {
+            progress = progressSum / activeCount;
+        }
+        return new TaskRollup(round(estimated), round(actual), round(progress));
+    }
+
+    /**
+     * 读取任务已保存的汇总值；尚未计算时视为叶子任务
+     */
+    public static TaskRollup stored(Task task) {
+        if (task.getRollupEstimatedHours() != null && task.getRollupActualHours() != null
+                && task.getRollupProgress() != null) {
+            return new TaskRollup(task.getRollupEstimatedHours(), task.getRollupActualHours(), task.getRollupProgress());
+        }
+        return of(task, List.of());
+    }
+
+    /**
+     * 与任务已保存的汇总值是否一致
+     */
+    public boolean matches(Task task) {
+        return Objects.equals(task.getRollupEstimatedHours(), estimatedHours)
+                && Objects.equals(task.getRollupActualHours(), actualHours)
+                && Objects.equals(task.getRollupProgress(), progress);
+    }
+
+    private static double hours(Double value) {
+        return value == null ? 0 : value;
+    }
+
+    private static double round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,120 @@
+package com.promanage.service.tag;
+
+import com.promanage.service.entity.DocumentTag;
+import com.promanage.service.event.DocumentChangedEvent;
+import com.promanage.service.mapper.DocumentTagMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文档标签倒排索引
+ * <p>
+ * 首次查询时从 document_tags 流式加载全量索引，之后由 {@link DocumentChangedEvent} 在事务提交后
+ * 按文档增量更新，并按 {@link DocumentTagIndexProperties#getMaxAgeMinutes()} 定期全量重建。
+ * 已删除文档可能暂留在索引中，由调用方读取文档时过滤。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentTagIndex {
+
+    private final DocumentTagMapper documentTagMapper;
+    private final DocumentTagIndexProperties properties;
+
+    private volatile TagPostingIndex index;
+
+    /**
+     * 按共享标签查找相关文档
+     *
+     * @param documentId 文档ID
+     * @param limit      最多返回的文档数
+     * @return 相关文档，按相关度从高到低
+     */
+    public List<TagPostingIndex.Related> findRelated(Long documentId, int limit) {
+        if (documentId == null) {
+            return List.of();
+        }
+        return current().related(documentId, limit, properties.getMaxPostingScan());
+    }
+
+    /**
+     * 文档标签变化后更新索引
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentChanged(DocumentChangedEvent event) {
+        TagPostingIndex loaded = index;
+        if (loaded == null) {
+            return;
+        }
+        for (Long documentId : event.documentIds()) {
+            try {
+                List<Long> tagIds = documentTagMapper.findTagIdsByDocumentId(documentId);
+                loaded.setDocumentTags(documentId, tagIds.stream().mapToLong(Long::longValue).toArray());
+            } catch (Exception e) {
+                log.warn("更新文档标签索引失败, 下次查询时重建, documentId={}", documentId, e);
+                index = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 丢弃索引，下次查询时重建
+     */
+    public void invalidate() {
+        index = null;
+    }
+
+    private TagPostingIndex current() {
+        TagPostingIndex loaded = index;
+        long maxAgeMillis = properties.getMaxAgeMinutes() * 60_000L;
+        if (loaded != null && System.currentTimeMillis() - loaded.getBuiltAt() <= maxAgeMillis) {
+            return loaded;
+        }
+        synchronized (this) {
+            loaded = index;
+            if (loaded == null || System.currentTimeMillis() - loaded.getBuiltAt() > maxAgeMillis) {
+                loaded = build();
+                index = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    TagPostingIndex build() {
+        long start = System.currentTimeMillis();
+        Map<Long, long[]> documentTags = new HashMap<>();
+        Map<Long, int[]> sizes = new HashMap<>();
+        documentTagMapper.scanAll(context -> {
+            DocumentTag row = context.getResultObject();
+            if (row.getDocumentId() == null || row.getTagId() == null) {
+                return;
+            }
+            long[] tags = documentTags.get(row.getDocumentId());
+            int[] size = sizes.computeIfAbsent(row.getDocumentId(), id -> new int[1]);
+            if (tags == null) {
+                tags = new long[4];
+            } else if (size[0] == tags.length) {
+                tags = Arrays.copyOf(tags, tags.length * 2);
+            }
+            tags[size[0]++] = row.getTagId();
+            documentTags.put(row.getDocumentId(), tags);
+        });
+        documentTags.replaceAll((documentId, tags) -> Arrays.copyOf(tags, sizes.get(documentId)[0]));
+
+        TagPostingIndex built = TagPostingIndex.of(start, documentTags);
+        log.info("构建文档标签索引完成, documents={}, cost={}ms", built.documentCount(), System.currentTimeMillis() - start);
+        return built;
+    }
+}
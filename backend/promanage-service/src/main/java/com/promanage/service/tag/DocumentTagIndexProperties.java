@@ -0,0 +1,30 @@
+package com.promanage.service.tag;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 标签倒排索引配置属性
+ * <p>
+ * 从application.yml中读取 promanage.document.tag-index 配置
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.document.tag-index")
+public class DocumentTagIndexProperties {
+
+    /**
+     * 索引定期全量重建间隔（分钟），用于纠正未经事件同步的变化
+     */
+    private int maxAgeMinutes = 60;
+
+    /**
+     * 单个倒排表最多扫描的文档数，超过时只对已有候选做二分查找
+     */
+    private int maxPostingScan = 20_000;
+}
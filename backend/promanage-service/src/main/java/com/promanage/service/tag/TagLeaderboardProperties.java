@@ -0,0 +1,35 @@
+package com.promanage.service.tag;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 热门标签排行配置属性
+ * <p>
+ * 从application.yml中读取 promanage.tag.leaderboard 配置
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.tag.leaderboard")
+public class TagLeaderboardProperties {
+
+    /**
+     * 排行定期按数据库对账的间隔（毫秒），由 @Scheduled 直接读取
+     */
+    private long reconcileIntervalMs = 600_000;
+
+    /**
+     * 排行键的过期时间（小时），每次对账时续期，长期无人访问的项目自动清理
+     */
+    private int keyTtlHours = 24;
+
+    /**
+     * 单次查询返回的最大标签数
+     */
+    private int maxLimit = 100;
+}
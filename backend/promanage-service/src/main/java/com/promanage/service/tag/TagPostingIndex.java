@@ -0,0 +1,254 @@
+package com.promanage.service.tag;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 标签倒排索引
+ * <p>
+ * 标签 → 文档ID倒排表，以及文档 → 标签ID正排表，均为升序 long 数组。
+ * 修改时按写时复制替换受影响的数组，查询在读锁下进行。
+ * 相关文档按共享标签的 IDF 权重之和排序：从文档数最少的标签开始合并倒排表，
+ * 倒排表过长时改为对已有候选做二分查找，避免扫描热门标签的全部文档。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public class TagPostingIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, long[]> postings = new HashMap<>();
+    private final Map<Long, long[]> documentTags = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long builtAt;
+
+    /**
+     * @param builtAt 构建时间（毫秒）
+     */
+    public TagPostingIndex(long builtAt) {
+        this.builtAt = builtAt;
+    }
+
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * 相关文档
+     *
+     * @param documentId 文档ID
+     * @param sharedTags 共享标签数
+     * @param score      共享标签的 IDF 权重之和
+     */
+    public record Related(long documentId, int sharedTags, double score) {
+    }
+
+    /**
+     * 由文档标签批量构建索引
+     *
+     * @param builtAt      构建时间（毫秒）
+     * @param documentTags 文档ID → 标签ID，无需有序
+     * @return 索引
+     */
+    public static TagPostingIndex of(long builtAt, Map<Long, long[]> documentTags) {
+        TagPostingIndex index = new TagPostingIndex(builtAt);
+        Map<Long, int[]> counts = new HashMap<>();
+        documentTags.forEach((documentId, tagIds) -> {
+            long[] tags = sortedDistinct(tagIds);
+            if (tags.length > 0) {
+                index.documentTags.put(documentId, tags);
+                for (long tagId : tags) {
+                    counts.computeIfAbsent(tagId, id -> new int[1])[0]++;
+                }
+            }
+        });
+        counts.forEach((tagId, count) -> index.postings.put(tagId, new long[count[0]]));
+        Map<Long, int[]> filled = new HashMap<>();
+        index.documentTags.forEach((documentId, tags) -> {
+            for (long tagId : tags) {
+                index.postings.get(tagId)[filled.computeIfAbsent(tagId, id -> new int[1])[0]++] = documentId;
+            }
+        });
+        index.postings.values().forEach(Arrays::sort);
+        return index;
+    }
+
+    /**
+     * 替换文档的标签
+     *
+     * @param documentId 文档ID
+     * @param tagIds     新的标签ID，空数组表示移除文档
+     */
+    public void setDocumentTags(long documentId, long[] tagIds) {
+        lock.writeLock().lock();
+        try {
+            long[] next = sortedDistinct(tagIds);
+            long[] previous = documentTags.getOrDefault(documentId, EMPTY);
+            for (long tagId : previous) {
+                if (Arrays.binarySearch(next, tagId) < 0) {
+                    long[] posting = remove(postings.getOrDefault(tagId, EMPTY), documentId);
+                    if (posting.length == 0) {
+                        postings.remove(tagId);
+                    } else {
+                        postings.put(tagId, posting);
+                    }
+                }
+            }
+            for (long tagId : next) {
+                if (Arrays.binarySearch(previous, tagId) < 0) {
+                    postings.put(tagId, insert(postings.getOrDefault(tagId, EMPTY), documentId));
+                }
+            }
+            if (next.length == 0) {
+                documentTags.remove(documentId);
+            } else {
+                documentTags.put(documentId, next);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeDocument(long documentId) {
+        setDocumentTags(documentId, EMPTY);
+    }
+
+    public long[] tagsOf(long documentId) {
+        lock.readLock().lock();
+        try {
+            return documentTags.getOrDefault(documentId, EMPTY).clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] documentsOf(long tagId) {
+        lock.readLock().lock();
+        try {
+            return postings.getOrDefault(tagId, EMPTY).clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documentTags.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按共享标签查找相关文档
+     *
+     * @param documentId 文档ID
+     * @param limit      最多返回的文档数
+     * @param maxScan    单个倒排表最多扫描的文档数，超过时只对已有候选做二分查找
+     * @return 相关文档，按得分、共享标签数、文档ID从高到低排序，不含文档本身
+     */
+    public List<Related> related(long documentId, int limit, int maxScan) {
+        lock.readLock().lock();
+        try {
+            long[] tags = documentTags.getOrDefault(documentId, EMPTY);
+            if (tags.length == 0 || limit <= 0) {
+                return List.of();
+            }
+            long[][] lists = new long[tags.length][];
+            for (int i = 0; i < tags.length; i++) {
+                lists[i] = postings.getOrDefault(tags[i], EMPTY);
+            }
+            // 文档数少的标签区分度高，先合并
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+            int total = Math.max(1, documentTags.size());
+            Map<Long, double[]> candidates = new HashMap<>();
+            for (long[] posting : lists) {
+                if (posting.length == 0) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) total / posting.length);
+                if (candidates.isEmpty() || posting.length <= maxScan) {
+                    // 倒排表过长时只扫描最新的 maxScan 个文档（ID 越大越新）
+                    int from = Math.max(0, posting.length - Math.max(1, maxScan));
+                    for (int i = from; i < posting.length; i++) {
+                        if (posting[i] != documentId) {
+                            double[] score = candidates.computeIfAbsent(posting[i], id -> new double[2]);
+                            score[0] += idf;
+                            score[1]++;
+                        }
+                    }
+                } else {
+                    for (Map.Entry<Long, double[]> entry : candidates.entrySet()) {
+                        if (Arrays.binarySearch(posting, entry.getKey()) >= 0) {
+                            entry.getValue()[0] += idf;
+                            entry.getValue()[1]++;
+                        }
+                    }
+                }
+            }
+
+            Comparator<Related> order = Comparator.comparingDouble(Related::score)
+                    .thenComparingInt(Related::sharedTags)
+                    .thenComparingLong(Related::documentId);
+            PriorityQueue<Related> top = new PriorityQueue<>(limit + 1, order);
+            for (Map.Entry<Long, double[]> entry : candidates.entrySet()) {
+                top.add(new Related(entry.getKey(), (int) entry.getValue()[1], entry.getValue()[0]));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            return top.stream().sorted(order.reversed()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long[] sortedDistinct(long[] values) {
+        if (values == null || values.length == 0) {
+            return EMPTY;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    private static long[] insert(long[] sorted, long value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index >= 0) {
+            return sorted;
+        }
+        int position = -index - 1;
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(sorted, position, result, position + 1, sorted.length - position);
+        return result;
+    }
+
+    private static long[] remove(long[] sorted, long value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return sorted;
+        }
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, index);
+        System.arraycopy(sorted, index + 1, result, index, sorted.length - index - 1);
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+package com.promanage.service.tag;
+
+import com.promanage.service.entity.Tag;
+import com.promanage.service.mapper.DocumentTagMapper;
+import com.promanage.service.mapper.TagMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 标签同步服务
+ * <p>
+ * 以集合方式读写标签和文档标签关联，语句数与标签数量无关：
+ * 按名称解析标签最多三条语句（批量查询、批量 INSERT ... ON CONFLICT、补查被并发创建的标签），
+ * 文档标签同步为一次查询加最多一次批量插入和一次批量删除。
+ * 实际发生的变化同步到热门标签排行。调用方负责事务。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagSyncService {
+
+    private final TagMapper tagMapper;
+    private final DocumentTagMapper documentTagMapper;
+    private final TagUsageLeaderboard leaderboard;
+
+    /**
+     * 文档标签变化
+     *
+     * @param added   新增的标签ID
+     * @param removed 移除的标签ID
+     */
+    public record TagDiff(Set<Long> added, Set<Long> removed) {
+
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    /**
+     * 按名称解析标签，不存在的标签批量创建
+     *
+     * @param names     标签名称，去除首尾空白后去重，空白名称忽略
+     * @param projectId 新建标签所属项目（null表示全局标签）
+     * @param creatorId 新建标签的创建人
+     * @return 标签，顺序与去重后的名称一致
+     */
+    public List<Tag> resolveTags(Collection<String> names, Long projectId, Long creatorId) {
+        Set<String> normalized = normalizeNames(names);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Tag> byName = new HashMap<>();
+        tagMapper.selectByNames(normalized).forEach(tag -> byName.put(tag.getName(), tag));
+
+        List<String> missing = normalized.stream().filter(name -> !byName.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            tagMapper.insertMissing(missing, projectId, creatorId).forEach(tag -> byName.put(tag.getName(), tag));
+            List<String> concurrent = missing.stream().filter(name -> !byName.containsKey(name)).toList();
+            if (!concurrent.isEmpty()) {
+                // 被并发事务抢先创建，冲突时未返回，补查一次
+                tagMapper.selectByNames(concurrent).forEach(tag -> byName.put(tag.getName(), tag));
+            }
+            log.debug("批量创建标签, requested={}, missing={}, concurrent={}", normalized.size(), missing.size(), concurrent.size());
+        }
+
+        List<Tag> result = new ArrayList<>(normalized.size());
+        for (String name : normalized) {
+            Tag tag = byName.get(name);
+            if (tag != null) {
+                result.add(tag);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 将文档标签替换为给定集合
+     *
+     * @param documentId 文档ID
+     * @param tagIds     目标标签ID，null 或空表示清空
+     * @param creatorId  新增关联的创建人
+     * @return 实际发生的变化
+     */
+    public TagDiff replaceDocumentTags(Long documentId, Collection<Long> tagIds, Long creatorId) {
+        Set<Long> target = normalizeIds(tagIds);
+        Set<Long> current = currentTagIds(documentId);
+
+        Set<Long> added = new LinkedHashSet<>(target);
+        added.removeAll(current);
+        Set<Long> removed = new LinkedHashSet<>(current);
+        removed.removeAll(target);
+        return apply(documentId, new TagDiff(added, removed), creatorId);
+    }
+
+    /**
+     * 为文档添加标签，已关联的标签跳过
+     *
+     * @param documentId 文档ID
+     * @param tagIds     标签ID
+     * @param creatorId  创建人
+     * @return 实际新增的关联数
+     */
+    public int addDocumentTags(Long documentId, Collection<Long> tagIds, Long creatorId) {
+        Set<Long> added = normalizeIds(tagIds);
+        if (added.isEmpty()) {
+            return 0;
+        }
+        added.removeAll(currentTagIds(documentId));
+        return apply(documentId, new TagDiff(added, Set.of()), creatorId).added().size();
+    }
+
+    /**
+     * 移除文档的标签
+     *
+     * @param documentId 文档ID
+     * @param tagIds     标签ID
+     * @return 实际删除的关联数
+     */
+    public int removeDocumentTags(Long documentId, Collection<Long> tagIds) {
+        Set<Long> removed = normalizeIds(tagIds);
+        if (removed.isEmpty()) {
+            return 0;
+        }
+        removed.retainAll(currentTagIds(documentId));
+        return apply(documentId, new TagDiff(Set.of(), removed), null).removed().size();
+    }
+
+    private TagDiff apply(Long documentId, TagDiff diff, Long creatorId) {
+        if (!diff.added().isEmpty()) {
+            documentTagMapper.insertIgnoreExisting(documentId, diff.added(), creatorId);
+        }
+        if (!diff.removed().isEmpty()) {
+            documentTagMapper.deleteByDocumentIdAndTagIds(documentId, diff.removed());
+        }
+        leaderboard.recordChange(documentId, diff);
+        return diff;
+    }
+
+    private Set<Long> currentTagIds(Long documentId) {
+        return new LinkedHashSet<>(documentTagMapper.findTagIdsByDocumentId(documentId));
+    }
+
+    static Set<String> normalizeNames(Collection<String> names) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                String trimmed = StringUtils.trimToNull(name);
+                if (trimmed != null) {
+                    normalized.add(trimmed);
+                }
+            }
+        }
+        return normalized;
+    }
+
+    private static Set<Long> normalizeIds(Collection<Long> ids) {
+        Set<Long> normalized = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(normalized::add);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,207 @@
+package com.promanage.service.tag;
+
+import com.promanage.service.dependency.AfterCommit;
+import com.promanage.service.dto.TagUsageCount;
+import com.promanage.service.mapper.DocumentMapper;
+import com.promanage.service.mapper.TagMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 热门标签排行
+ * <p>
+ * 每个项目（以及所有项目合计）一个 Redis 有序集合，成员为标签ID，分值为关联的文档数。
+ * 文档标签变化在事务提交后按差异增量 ZINCRBY；键不存在时读取方按数据库整体对账后再读，
+ * 定时任务对已加载的键定期对账，纠正未经标签同步的变化（如文档删除）。
+ * Redis 不可用时直接按数据库统计。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagUsageLeaderboard {
+
+    static final String KEY_PREFIX = "promanage:tags:popular:";
+    static final String GLOBAL_SCOPE = "global";
+    static final String TRACKED_KEY = KEY_PREFIX + "scopes";
+
+    private static final Comparator<TagUsage> BY_COUNT_DESC =
+            Comparator.comparingLong(TagUsage::count).reversed().thenComparingLong(TagUsage::tagId);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TagMapper tagMapper;
+    private final DocumentMapper documentMapper;
+    private final TagLeaderboardProperties properties;
+
+    /**
+     * 标签使用次数
+     *
+     * @param tagId 标签ID
+     * @param count 关联的文档数
+     */
+    public record TagUsage(long tagId, long count) {
+    }
+
+    /**
+     * 记录文档标签变化，事务提交后更新文档所属项目和全局排行
+     *
+     * @param documentId 文档ID
+     * @param diff       实际发生的变化
+     */
+    public void recordChange(Long documentId, TagSyncService.TagDiff diff) {
+        if (documentId == null || diff.isEmpty()) {
+            return;
+        }
+        Long projectId = documentMapper.selectProjectId(documentId);
+        AfterCommit.run(() -> apply(projectId, diff));
+    }
+
+    /**
+     * 查询使用次数最多的标签
+     *
+     * @param projectId 项目ID（null表示所有项目）
+     * @param limit     返回数量，超过上限时截断
+     * @return 按使用次数降序排列的标签使用次数
+     */
+    public List<TagUsage> top(Long projectId, int limit) {
+        int size = Math.max(1, Math.min(limit, properties.getMaxLimit()));
+        String key = keyOf(projectId);
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                List<TagUsage> usages = reconcile(projectId);
+                return usages.subList(0, Math.min(size, usages.size()));
+            }
+            Set<ZSetOperations.TypedTuple<String>> tuples =
+                    redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, size - 1L);
+            List<TagUsage> usages = new ArrayList<>();
+            if (tuples != null) {
+                for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                    if (tuple.getValue() != null && tuple.getScore() != null && tuple.getScore() > 0) {
+                        usages.add(new TagUsage(Long.parseLong(tuple.getValue()), tuple.getScore().longValue()));
+                    }
+                }
+            }
+            return usages;
+        } catch (RuntimeException e) {
+            log.warn("读取热门标签排行失败，改为查询数据库, projectId={}", projectId, e);
+            List<TagUsage> usages = countFromDatabase(projectId);
+            return usages.subList(0, Math.min(size, usages.size()));
+        }
+    }
+
+    /**
+     * 按数据库统计重建排行
+     * <p>
+     * 先写入临时键再 RENAME 覆盖，读取方不会看到半成品；统计期间的增量更新会被覆盖，由下次对账纠正。
+     * 没有任何标签关联时删除排行键，读取时直接按数据库统计。
+     * </p>
+     *
+     * @param projectId 项目ID（null表示所有项目）
+     * @return 按使用次数降序排列的全部标签使用次数
+     */
+    public List<TagUsage> reconcile(Long projectId) {
+        List<TagUsage> usages = countFromDatabase(projectId);
+        String key = keyOf(projectId);
+        if (usages.isEmpty()) {
+            redisTemplate.delete(key);
+        } else {
+            Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+            usages.forEach(usage -> tuples.add(new DefaultTypedTuple<>(String.valueOf(usage.tagId()), (double) usage.count())));
+            String staging = key + ":staging:" + UUID.randomUUID();
+            redisTemplate.opsForZSet().add(staging, tuples);
+            redisTemplate.rename(staging, key);
+            redisTemplate.expire(key, Duration.ofHours(properties.getKeyTtlHours()));
+            redisTemplate.opsForSet().add(TRACKED_KEY, scopeOf(projectId));
+        }
+        log.debug("热门标签排行对账完成, projectId={}, tags={}", projectId, usages.size());
+        return usages;
+    }
+
+    /**
+     * 定期对已加载的排行按数据库对账，键已过期的范围不再跟踪
+     */
+    @Scheduled(fixedDelayString = "${promanage.tag.leaderboard.reconcile-interval-ms:600000}")
+    public void reconcileTracked() {
+        Set<String> scopes;
+        try {
+            scopes = redisTemplate.opsForSet().members(TRACKED_KEY);
+        } catch (RuntimeException e) {
+            log.warn("读取热门标签排行范围失败", e);
+            return;
+        }
+        if (scopes == null || scopes.isEmpty()) {
+            return;
+        }
+        for (String scope : scopes) {
+            try {
+                Long projectId = GLOBAL_SCOPE.equals(scope) ? null : Long.valueOf(scope);
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(keyOf(projectId)))) {
+                    reconcile(projectId);
+                } else {
+                    redisTemplate.opsForSet().remove(TRACKED_KEY, scope);
+                }
+            } catch (RuntimeException e) {
+                log.warn("热门标签排行对账失败, scope={}", scope, e);
+            }
+        }
+    }
+
+    void apply(Long projectId, TagSyncService.TagDiff diff) {
+        try {
+            applyTo(keyOf(null), diff);
+            if (projectId != null) {
+                applyTo(keyOf(projectId), diff);
+            }
+        } catch (RuntimeException e) {
+            log.warn("更新热门标签排行失败，等待定时对账, projectId={}", projectId, e);
+        }
+    }
+
+    private void applyTo(String key, TagSyncService.TagDiff diff) {
+        // 键不存在说明尚未加载或已过期，只写增量会得到不完整的排行，留给读取时整体对账
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            return;
+        }
+        ZSetOperations<String, String> zset = redisTemplate.opsForZSet();
+        diff.added().forEach(tagId -> zset.incrementScore(key, tagId.toString(), 1));
+        diff.removed().forEach(tagId -> zset.incrementScore(key, tagId.toString(), -1));
+        if (!diff.removed().isEmpty()) {
+            zset.removeRangeByScore(key, Double.NEGATIVE_INFINITY, 0);
+        }
+    }
+
+    private List<TagUsage> countFromDatabase(Long projectId) {
+        List<TagUsage> usages = new ArrayList<>();
+        for (TagUsageCount count : tagMapper.countUsage(projectId)) {
+            if (count.getTagId() != null && count.getUsageCount() != null && count.getUsageCount() > 0) {
+                usages.add(new TagUsage(count.getTagId(), count.getUsageCount()));
+            }
+        }
+        usages.sort(BY_COUNT_DESC);
+        return usages;
+    }
+
+    static String keyOf(Long projectId) {
+        return KEY_PREFIX + scopeOf(projectId);
+    }
+
+    private static String scopeOf(Long projectId) {
+        return projectId == null ? GLOBAL_SCOPE : projectId.toString();
+    }
+}
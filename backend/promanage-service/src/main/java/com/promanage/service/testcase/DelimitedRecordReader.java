@@ -0,0 +1,156 @@
+package com.promanage.service.testcase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分隔符文本记录读取器
+ * <p>
+ * 按 RFC 4180 逐条解析 CSV/TSV：字段以双引号开头时为引用字段，可包含分隔符和换行，
+ * 字段内的双引号写作两个双引号；不以双引号开头的字段中的双引号按普通字符处理。
+ * 支持 LF、CRLF、CR 换行，忽略开头的 BOM。每次只在内存中保留一条记录。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public class DelimitedRecordReader implements Closeable {
+
+    /**
+     * 单条记录的最大字符数，防止引号未闭合时把剩余文件读入内存
+     */
+    static final int MAX_RECORD_CHARS = 1 << 20;
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int pushedBack = Integer.MIN_VALUE;
+    private long lineNumber = 1;
+    private long recordLineNumber;
+    private boolean started;
+
+    public DelimitedRecordReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 字段数组，到达文件末尾时返回 null
+     * @throws IOException 读取失败
+     * @throws IllegalArgumentException 记录超过 {@link #MAX_RECORD_CHARS} 时抛出
+     */
+    public String[] next() throws IOException {
+        if (!started) {
+            started = true;
+            int first = read();
+            if (first != '\uFEFF') {
+                unread(first);
+            }
+        }
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        unread(c);
+        recordLineNumber = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int recordChars = 0;
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            c = read();
+            if (++recordChars > MAX_RECORD_CHARS) {
+                throw new IllegalArgumentException("第" + recordLineNumber + "行: 记录过长或引号未闭合");
+            }
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IllegalArgumentException("第" + recordLineNumber + "行: 引号未闭合");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == EOF || c == '\n' || c == '\r') {
+                fields.add(field.toString());
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (c != EOF) {
+                    lineNumber++;
+                }
+                return fields.toArray(new String[0]);
+            }
+            if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                continue;
+            }
+            if (c == '"' && fieldStart) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+        }
+    }
+
+    /**
+     * 最近一条记录开始的行号（从 1 开始）
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != Integer.MIN_VALUE) {
+            int c = pushedBack;
+            pushedBack = Integer.MIN_VALUE;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
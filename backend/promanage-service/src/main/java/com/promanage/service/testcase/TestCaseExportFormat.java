@@ -0,0 +1,39 @@
+package com.promanage.service.testcase;
+
+import lombok.Getter;
+
+/**
+ * 测试用例导出格式
+ * <p>
+ * EXCEL 为制表符分隔的 .xls 文本，Excel 可直接打开，也可以再导入；XLSX 为标准工作簿。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Getter
+public enum TestCaseExportFormat {
+    CSV("csv", "text/csv;charset=UTF-8"),
+    EXCEL("xls", "application/vnd.ms-excel"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final String extension;
+    private final String contentType;
+
+    TestCaseExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public static TestCaseExportFormat fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (TestCaseExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
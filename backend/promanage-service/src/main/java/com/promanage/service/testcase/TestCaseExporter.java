@@ -0,0 +1,225 @@
+package com.promanage.service.testcase;
+
+import com.promanage.service.entity.TestCase;
+import com.promanage.service.mapper.TestCaseMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 测试用例流式导出
+ * <p>
+ * 在只读事务中用数据库游标按 fetchSize 分批读取，边读边写入输出流，内存占用与导出行数无关。
+ * CSV/TSV 直接写文本；XLSX 由 POI SXSSF 写出，内存中只保留最近 {@link #XLSX_WINDOW_SIZE} 行，其余行写入压缩临时文件。
+ * </p>
+ * <p>
+ * 列布局与导入一致：ID,标题,描述,类型,状态,优先级,模块,创建人ID,指派人ID,创建时间，第一行为表头。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+public class TestCaseExporter {
+
+    static final String[] HEADERS = {"ID", "标题", "描述", "类型", "状态", "优先级", "模块", "创建人ID", "指派人ID", "创建时间"};
+
+    /**
+     * SXSSF 在内存中保留的行数
+     */
+    static final int XLSX_WINDOW_SIZE = 100;
+
+    private final TestCaseMapper testCaseMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TestCaseExporter(TestCaseMapper testCaseMapper, TransactionTemplate transactionTemplate) {
+        this.testCaseMapper = testCaseMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 统计可导出的测试用例数量
+     *
+     * @param projectId 项目ID
+     * @param ids 测试用例ID，为空时统计项目内全部测试用例
+     * @return 数量
+     */
+    public long count(Long projectId, List<Long> ids) {
+        return testCaseMapper.countForExport(projectId, ids);
+    }
+
+    /**
+     * 导出测试用例到输出流，不关闭输出流
+     *
+     * @param projectId 项目ID
+     * @param ids 测试用例ID，为空时导出项目内全部测试用例
+     * @param format 导出格式
+     * @param gzip 是否 gzip 压缩
+     * @param out 输出流
+     * @return 导出行数
+     * @throws IOException 写入失败，如客户端断开连接
+     */
+    public long export(Long projectId, List<Long> ids, TestCaseExportFormat format, boolean gzip,
+                       OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> {
+                try (Cursor<TestCase> cursor = testCaseMapper.streamForExport(projectId, ids)) {
+                    return write(cursor, format, gzip, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long count = rows != null ? rows : 0L;
+        log.info("测试用例导出完成, projectId={}, format={}, gzip={}, rows={}, cost={}ms",
+                projectId, format, gzip, count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    /**
+     * 把测试用例逐行写入输出流，不关闭输出流
+     *
+     * @return 写入行数
+     */
+    static long write(Iterable<TestCase> testCases, TestCaseExportFormat format, boolean gzip,
+                      OutputStream out) throws IOException {
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(new NonClosingOutputStream(out), 8192) : null;
+        OutputStream target = gzipOut != null ? gzipOut : new NonClosingOutputStream(out);
+        long rows = switch (format) {
+            case CSV -> writeDelimited(testCases, ',', target);
+            case EXCEL -> writeDelimited(testCases, '\t', target);
+            case XLSX -> writeWorkbook(testCases, target);
+        };
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        out.flush();
+        return rows;
+    }
+
+    private static long writeDelimited(Iterable<TestCase> testCases, char delimiter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write(String.join(String.valueOf(delimiter), HEADERS));
+        writer.write('\n');
+        long rows = 0;
+        for (TestCase testCase : testCases) {
+            String[] values = values(testCase);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(delimiter);
+                }
+                writer.write(delimiter == '\t' ? safeTab(values[i]) : escapeCsv(values[i]));
+            }
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static long writeWorkbook(Iterable<TestCase> testCases, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet("测试用例");
+            writeRow(sheet.createRow(0), HEADERS);
+            int rowIndex = 1;
+            for (TestCase testCase : testCases) {
+                writeRow(sheet.createRow(rowIndex++), values(testCase));
+            }
+            workbook.write(out);
+            return rowIndex - 1L;
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+
+    private static void writeRow(Row row, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    private static String[] values(TestCase testCase) {
+        return new String[]{
+                nullToEmpty(testCase.getId()),
+                nullToEmpty(testCase.getTitle()),
+                nullToEmpty(testCase.getDescription()),
+                nullToEmpty(testCase.getType()),
+                nullToEmpty(testCase.getStatus()),
+                nullToEmpty(testCase.getPriority()),
+                nullToEmpty(testCase.getModule()),
+                nullToEmpty(testCase.getCreatorId()),
+                nullToEmpty(testCase.getAssigneeId()),
+                nullToEmpty(testCase.getCreateTime())
+        };
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String safeTab(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : String.valueOf(value);
+    }
+
+    /**
+     * 忽略 close 的输出流包装，输出流由调用方关闭
+     */
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+
+        private NonClosingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.promanage.service.testcase;
+
+import com.promanage.service.dto.response.TestCaseImportJobDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 测试用例导入任务
+ * <p>
+ * 由导入线程更新计数，查询线程随时读取进度快照。错误信息只保留前若干条，其余只计入失败数。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public class TestCaseImportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final Long projectId;
+    private final Long userId;
+    private final long totalBytes;
+    private final int maxErrors;
+
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger success = new AtomicInteger();
+    private final AtomicInteger failure = new AtomicInteger();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime finishTime;
+
+    public TestCaseImportJob(Long projectId, Long userId, long totalBytes, int maxErrors) {
+        this.projectId = projectId;
+        this.userId = userId;
+        this.totalBytes = totalBytes;
+        this.maxErrors = maxErrors;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getFinishTime() {
+        return finishTime;
+    }
+
+    public int getProcessedCount() {
+        return processed.get();
+    }
+
+    public int getSuccessCount() {
+        return success.get();
+    }
+
+    public int getFailureCount() {
+        return failure.get();
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public List<String> getErrorMessages() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void start() {
+        startTime = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        bytesRead.set(totalBytes);
+        finishTime = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        message = reason;
+        finishTime = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    void addProcessed(int rows) {
+        processed.addAndGet(rows);
+    }
+
+    void addSuccess(int rows) {
+        success.addAndGet(rows);
+    }
+
+    /**
+     * 记录一行失败
+     *
+     * @param lineNumber 行号
+     * @param reason 原因
+     */
+    void addError(long lineNumber, String reason) {
+        failure.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add("第" + lineNumber + "行: " + reason);
+            }
+        }
+    }
+
+    void setBytesRead(long bytes) {
+        bytesRead.set(bytes);
+    }
+
+    public TestCaseImportJobDTO toDTO() {
+        long read = bytesRead.get();
+        int progress;
+        if (status == Status.COMPLETED) {
+            progress = 100;
+        } else {
+            progress = totalBytes > 0 ? (int) Math.min(99, read * 100 / totalBytes) : 0;
+        }
+        return TestCaseImportJobDTO.builder()
+                .jobId(jobId)
+                .projectId(projectId)
+                .status(status.name())
+                .processedCount(processed.get())
+                .successCount(success.get())
+                .failureCount(failure.get())
+                .bytesRead(read)
+                .totalBytes(totalBytes)
+                .progress(progress)
+                .errorMessages(getErrorMessages())
+                .message(message)
+                .startTime(startTime)
+                .finishTime(finishTime)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.promanage.service.testcase;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 测试用例导入配置属性
+ * <p>
+ * 从application.yml中读取 promanage.test-case.import 配置
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "promanage.test-case.import")
+public class TestCaseImportProperties {
+
+    /**
+     * 每批校验和插入的行数，上限 5000
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 每个导入任务保留的错误信息条数，超出部分只计数
+     */
+    private int maxErrors = 1000;
+
+    /**
+     * 同时执行的导入任务数，其余任务排队
+     */
+    private int maxConcurrentJobs = 2;
+
+    /**
+     * 已结束导入任务的保留时间（分钟）
+     */
+    private long jobRetentionMinutes = 60;
+}
@@ -0,0 +1,431 @@
+package com.promanage.service.testcase;
+
+import com.promanage.service.entity.TestCase;
+import com.promanage.service.mapper.TestCaseMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 测试用例流式导入
+ * <p>
+ * 逐条解析 CSV/TSV（.csv/.txt 为逗号分隔，.tsv/.xls 为制表符分隔，.xls 即本系统导出的制表符文本），
+ * 每凑满一批先并行校验，再用一条多行 INSERT 插入合格的行；整批插入失败时逐行重试以定位出错的行。
+ * 内存占用只与批大小有关，与文件大小无关。.xlsx 由 POI 整体加载，仅适合中小文件。
+ * </p>
+ * <p>
+ * 列布局与导出一致：ID,标题,描述,类型,状态,优先级,模块,创建人ID,指派人ID,...，第一行为表头。
+ * 每批单独提交，任务中途失败时已提交的批次保留。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+public class TestCaseImporter {
+
+    /**
+     * 批大小上限，受单条语句参数个数限制
+     */
+    static final int MAX_CHUNK_SIZE = 5000;
+
+    private static final int TITLE_MAX_LENGTH = 200;
+    private static final int TYPE_MAX_LENGTH = 50;
+    private static final int MODULE_MAX_LENGTH = 100;
+
+    private final TestCaseMapper testCaseMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TestCaseImportProperties properties;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, TestCaseImportJob> jobs = new ConcurrentHashMap<>();
+    private final Semaphore slots;
+
+    public TestCaseImporter(TestCaseMapper testCaseMapper, TransactionTemplate transactionTemplate,
+                            TestCaseImportProperties properties) {
+        this.testCaseMapper = testCaseMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.slots = new Semaphore(Math.max(1, properties.getMaxConcurrentJobs()));
+    }
+
+    /**
+     * 解析后的一行
+     */
+    record ImportRow(long lineNumber, String[] cols) {
+    }
+
+    /**
+     * 校验结果，testCase 与 error 二者只有一个不为空
+     */
+    record ValidatedRow(long lineNumber, TestCase testCase, String error) {
+    }
+
+    /**
+     * 提交后台导入任务
+     *
+     * @param projectId 项目ID
+     * @param userId 操作人ID
+     * @param file 导入文件，按扩展名识别格式
+     * @param deleteWhenDone 结束后是否删除文件（上传的临时文件）
+     * @return 导入任务
+     */
+    public TestCaseImportJob submit(Long projectId, Long userId, Path file, boolean deleteWhenDone) throws IOException {
+        pruneFinishedJobs();
+        TestCaseImportJob job = new TestCaseImportJob(projectId, userId, Files.size(file), properties.getMaxErrors());
+        jobs.put(job.getJobId(), job);
+        executor.submit(() -> {
+            try {
+                slots.acquire();
+                try {
+                    importFile(job, file);
+                } finally {
+                    slots.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.fail("导入任务被中断");
+            } finally {
+                if (deleteWhenDone) {
+                    deleteQuietly(file);
+                }
+            }
+        });
+        log.info("提交测试用例导入任务, jobId={}, projectId={}, file={}", job.getJobId(), projectId, file.getFileName());
+        return job;
+    }
+
+    /**
+     * 在当前线程中同步导入
+     *
+     * @param projectId 项目ID
+     * @param userId 操作人ID
+     * @param file 导入文件
+     * @return 已结束的导入任务
+     */
+    public TestCaseImportJob importNow(Long projectId, Long userId, Path file) throws IOException {
+        TestCaseImportJob job = new TestCaseImportJob(projectId, userId, Files.size(file), properties.getMaxErrors());
+        importFile(job, file);
+        return job;
+    }
+
+    public Optional<TestCaseImportJob> getJob(String jobId) {
+        pruneFinishedJobs();
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 执行导入，异常记录为任务失败
+     */
+    void importFile(TestCaseImportJob job, Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        job.start();
+        try (InputStream in = Files.newInputStream(file)) {
+            if (name.endsWith(".csv") || name.endsWith(".txt")) {
+                importDelimited(job, in, ',');
+            } else if (name.endsWith(".tsv") || name.endsWith(".xls")) {
+                importDelimited(job, in, '\t');
+            } else if (name.endsWith(".xlsx")) {
+                importWorkbook(job, in);
+            } else {
+                job.fail("不支持的文件格式: " + name);
+                return;
+            }
+            job.complete();
+            log.info("测试用例导入完成, jobId={}, processed={}, success={}, failure={}",
+                    job.getJobId(), job.getProcessedCount(), job.getSuccessCount(), job.getFailureCount());
+        } catch (Exception e) {
+            log.error("测试用例导入失败, jobId={}", job.getJobId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * 流式导入分隔符文本
+     */
+    void importDelimited(TestCaseImportJob job, InputStream in, char delimiter) throws IOException {
+        CountingInputStream counting = new CountingInputStream(in);
+        DelimitedRecordReader reader = new DelimitedRecordReader(
+                new InputStreamReader(counting, StandardCharsets.UTF_8), delimiter);
+        int chunkSize = chunkSize();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        boolean headerSkipped = false;
+        String[] cols;
+        while ((cols = reader.next()) != null) {
+            if (!headerSkipped) {
+                headerSkipped = true;
+                continue;
+            }
+            if (isBlank(cols)) {
+                continue;
+            }
+            chunk.add(new ImportRow(reader.getRecordLineNumber(), cols));
+            if (chunk.size() >= chunkSize) {
+                processChunk(job, chunk);
+                chunk = new ArrayList<>(chunkSize);
+                job.setBytesRead(counting.count);
+            }
+        }
+        processChunk(job, chunk);
+    }
+
+    /**
+     * 导入 .xlsx 第一个工作表
+     */
+    void importWorkbook(TestCaseImportJob job, InputStream in) throws IOException {
+        int chunkSize = chunkSize();
+        try (Workbook workbook = new XSSFWorkbook(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            for (Row row : sheet) {
+                if (row.getRowNum() == sheet.getFirstRowNum()) {
+                    continue;
+                }
+                int last = Math.max(10, row.getLastCellNum());
+                String[] cols = new String[last];
+                for (int i = 0; i < last; i++) {
+                    cols[i] = cellString(row.getCell(i));
+                }
+                if (isBlank(cols)) {
+                    continue;
+                }
+                chunk.add(new ImportRow(row.getRowNum() + 1L, cols));
+                if (chunk.size() >= chunkSize) {
+                    processChunk(job, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            processChunk(job, chunk);
+        }
+    }
+
+    /**
+     * 并行校验一批行并插入合格的行
+     */
+    void processChunk(TestCaseImportJob job, List<ImportRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ValidatedRow> validated = chunk.parallelStream()
+                .map(row -> validate(row, job.getProjectId(), job.getUserId(), now))
+                .toList();
+
+        List<ValidatedRow> valid = new ArrayList<>(validated.size());
+        for (ValidatedRow row : validated) {
+            if (row.error() != null) {
+                job.addError(row.lineNumber(), row.error());
+            } else {
+                valid.add(row);
+            }
+        }
+        insert(job, valid);
+        job.addProcessed(chunk.size());
+    }
+
+    /**
+     * 整批插入，失败时逐行重试
+     */
+    private void insert(TestCaseImportJob job, List<ValidatedRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<TestCase> testCases = rows.stream().map(ValidatedRow::testCase).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> testCaseMapper.batchInsert(testCases));
+            job.addSuccess(testCases.size());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("测试用例批量插入失败, 逐行重试, jobId={}, rows={}, error={}",
+                    job.getJobId(), rows.size(), rootMessage(e));
+        }
+        for (ValidatedRow row : rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> testCaseMapper.batchInsert(List.of(row.testCase())));
+                job.addSuccess(1);
+            } catch (RuntimeException e) {
+                job.addError(row.lineNumber(), rootMessage(e));
+            }
+        }
+    }
+
+    /**
+     * 校验一行并转换为测试用例
+     */
+    static ValidatedRow validate(ImportRow row, Long projectId, Long userId, LocalDateTime now) {
+        String[] cols = row.cols();
+        String title = column(cols, 1).trim();
+        if (title.isEmpty()) {
+            return invalid(row, "标题不能为空");
+        }
+        if (title.length() > TITLE_MAX_LENGTH) {
+            return invalid(row, "标题长度不能超过" + TITLE_MAX_LENGTH);
+        }
+        String type = column(cols, 3).trim();
+        if (type.isEmpty()) {
+            return invalid(row, "类型不能为空");
+        }
+        if (type.length() > TYPE_MAX_LENGTH) {
+            return invalid(row, "类型长度不能超过" + TYPE_MAX_LENGTH);
+        }
+        String module = column(cols, 6).trim();
+        if (module.length() > MODULE_MAX_LENGTH) {
+            return invalid(row, "模块长度不能超过" + MODULE_MAX_LENGTH);
+        }
+
+        Integer status;
+        Integer priority;
+        Long assigneeId;
+        try {
+            status = parseInt(column(cols, 4), 0);
+            priority = parseInt(column(cols, 5), 2);
+            assigneeId = parseLong(column(cols, 8));
+        } catch (NumberFormatException e) {
+            return invalid(row, "状态、优先级或指派人ID不是数字");
+        }
+        if (status < 0 || status > 6) {
+            return invalid(row, "状态取值应为0-6");
+        }
+        if (priority < 1 || priority > 4) {
+            return invalid(row, "优先级取值应为1-4");
+        }
+
+        TestCase testCase = new TestCase();
+        testCase.setProjectId(projectId);
+        testCase.setTitle(title);
+        testCase.setDescription(column(cols, 2));
+        testCase.setType(type);
+        testCase.setStatus(status);
+        testCase.setPriority(priority);
+        testCase.setModule(module.isEmpty() ? null : module);
+        testCase.setCreatorId(userId);
+        testCase.setAssigneeId(assigneeId);
+        testCase.setCreateTime(now);
+        testCase.setUpdateTime(now);
+        return new ValidatedRow(row.lineNumber(), testCase, null);
+    }
+
+    private int chunkSize() {
+        return Math.max(1, Math.min(MAX_CHUNK_SIZE, properties.getChunkSize()));
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime expiry = LocalDateTime.now().minusMinutes(properties.getJobRetentionMinutes());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishTime().isBefore(expiry));
+    }
+
+    private static ValidatedRow invalid(ImportRow row, String error) {
+        return new ValidatedRow(row.lineNumber(), null, error);
+    }
+
+    private static String column(String[] cols, int index) {
+        return index < cols.length && cols[index] != null ? cols[index] : "";
+    }
+
+    private static Integer parseInt(String value, int defaultValue) {
+        return value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static Long parseLong(String value) {
+        return value.isBlank() ? null : Long.parseLong(value.trim());
+    }
+
+    private static boolean isBlank(String[] cols) {
+        for (String col : cols) {
+            if (col != null && !col.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private static String cellString(Cell cell) {
+        if (cell == null) {
+            return "";
+        }
+        return switch (cell.getCellType()) {
+            case STRING -> cell.getStringCellValue();
+            case NUMERIC -> DateUtil.isCellDateFormatted(cell)
+                    ? new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(cell.getDateCellValue())
+                    : String.valueOf((long) cell.getNumericCellValue());
+            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
+            case FORMULA -> cell.getCellFormula();
+            default -> "";
+        };
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导入临时文件失败, file={}", file, e);
+        }
+    }
+
+    /**
+     * 统计已读取字节数，用于估算进度
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private volatile long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.promanage.service.testcase;
+
+import com.promanage.service.dto.TestExecutionCounts;
+import com.promanage.service.entity.TestExecution;
+import com.promanage.service.mapper.TestExecutionStatsMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 测试执行统计增量维护
+ * <p>
+ * 每次执行测试用例时在同一事务中累加测试用例累计统计和当日统计，统计查询只读汇总表，
+ * 耗时与执行历史条数无关：单个测试用例的累计统计为一行，近 N 天统计最多 N 行，
+ * 项目统计与项目内测试用例数相关。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TestExecutionStatsRecorder {
+
+    private final TestExecutionStatsMapper statsMapper;
+
+    /**
+     * 累加一次执行，需在插入执行记录的事务中调用
+     *
+     * @param execution 已插入的执行记录
+     * @param projectId 测试用例所属项目ID
+     */
+    public void record(TestExecution execution, Long projectId) {
+        Long testCaseId = execution.getTestCaseId();
+        int result = execution.getResult();
+        LocalDateTime executedAt = execution.getCreateTime() != null ? execution.getCreateTime() : LocalDateTime.now();
+
+        statsMapper.ensureRow(testCaseId, projectId);
+        TestExecutionCounts current = statsMapper.lockByTestCaseId(testCaseId);
+        boolean flip = isFlip(current != null ? current.getLastVerdict() : null, result);
+
+        statsMapper.applyExecution(testCaseId, result, execution.getExecutionTime(), flip, executedAt,
+                execution.getExecutorId());
+        statsMapper.addDaily(testCaseId, projectId, executedAt.toLocalDate(), result, flip);
+        log.debug("测试执行统计已更新, testCaseId={}, result={}, flip={}", testCaseId, result, flip);
+    }
+
+    /**
+     * 测试用例累计统计
+     */
+    public TestExecutionCounts getTestCaseTotals(Long testCaseId) {
+        TestExecutionCounts counts = statsMapper.selectByTestCaseId(testCaseId);
+        return counts != null ? counts : new TestExecutionCounts();
+    }
+
+    /**
+     * 测试用例近 N 天（含今天）的统计
+     */
+    public TestExecutionCounts getTestCaseWindow(Long testCaseId, int days) {
+        return orEmpty(statsMapper.sumByTestCaseSince(testCaseId, windowStart(days)));
+    }
+
+    /**
+     * 项目累计统计
+     */
+    public TestExecutionCounts getProjectTotals(Long projectId) {
+        return orEmpty(statsMapper.sumByProject(projectId));
+    }
+
+    /**
+     * 项目近 N 天（含今天）的统计
+     */
+    public TestExecutionCounts getProjectWindow(Long projectId, int days) {
+        return orEmpty(statsMapper.sumByProjectSince(projectId, windowStart(days)));
+    }
+
+    /**
+     * 本次结果是否与上一次通过/失败结果相反，阻塞和跳过不参与翻转计算
+     *
+     * @param lastVerdict 上一次通过/失败结果，没有时为 null
+     * @param result 本次执行结果
+     * @return 是否翻转
+     */
+    static boolean isFlip(Integer lastVerdict, int result) {
+        return (result == 0 || result == 1) && lastVerdict != null && lastVerdict != result;
+    }
+
+    static LocalDate windowStart(int days) {
+        return LocalDate.now().minusDays(Math.max(1, days) - 1L);
+    }
+
+    private static TestExecutionCounts orEmpty(TestExecutionCounts counts) {
+        return counts != null ? counts : new TestExecutionCounts();
+    }
+}
@@ -0,0 +1,93 @@
+package com.promanage.service.timer;
+
+import com.promanage.service.dto.response.ActiveTimerDTO;
+import com.promanage.service.entity.TaskTimeTracking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 进行中或已暂停的计时
+ * <p>
+ * 只保存状态变化时的快照，计时秒数在读取时按当前时间计算。
+ * </p>
+ *
+ * @param recordId 时间追踪记录ID
+ * @param userId 用户ID
+ * @param taskId 任务ID
+ * @param projectId 项目ID
+ * @param running 是否正在计时
+ * @param bankedSeconds 此前各计时段累计秒数
+ * @param resumedAt 当前计时段开始时间，暂停时为空
+ * @param startTime 开始时间
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public record ActiveTimer(Long recordId, Long userId, Long taskId, Long projectId, boolean running,
+                          long bankedSeconds, LocalDateTime resumedAt, LocalDateTime startTime) {
+
+    /**
+     * 按持久化记录创建计时
+     */
+    public static ActiveTimer of(TaskTimeTracking record, Long projectId) {
+        boolean running = Integer.valueOf(1).equals(record.getStatus());
+        return new ActiveTimer(record.getId(), record.getUserId(), record.getTaskId(), projectId, running,
+                banked(record), running ? segmentStart(record) : null, record.getStartTime());
+    }
+
+    /**
+     * 是否为需要登记的计时（进行中或已暂停）
+     */
+    public static boolean isActive(TaskTimeTracking record) {
+        Integer status = record.getStatus();
+        return status != null && (status == 1 || status == 3);
+    }
+
+    /**
+     * 记录截至指定时间的计时秒数
+     * <p>
+     * 早于计时段持久化之前的进行中记录没有 resumedAt，以开始时间作为当前计时段开始时间。
+     * </p>
+     */
+    public static long elapsedSeconds(TaskTimeTracking record, LocalDateTime now) {
+        long elapsed = banked(record);
+        if (Integer.valueOf(1).equals(record.getStatus())) {
+            elapsed += secondsBetween(segmentStart(record), now);
+        }
+        return elapsed;
+    }
+
+    /**
+     * 截至指定时间的计时秒数
+     */
+    public long elapsedSeconds(LocalDateTime now) {
+        return running ? bankedSeconds + secondsBetween(resumedAt, now) : bankedSeconds;
+    }
+
+    public ActiveTimerDTO toDTO(LocalDateTime now, String action) {
+        return ActiveTimerDTO.builder()
+                .recordId(recordId)
+                .userId(userId)
+                .taskId(taskId)
+                .projectId(projectId)
+                .status(running ? 1 : 3)
+                .running(running)
+                .elapsedSeconds(elapsedSeconds(now))
+                .startTime(startTime)
+                .serverTime(now)
+                .action(action)
+                .build();
+    }
+
+    private static long banked(TaskTimeTracking record) {
+        return record.getElapsedSeconds() != null ? record.getElapsedSeconds() : 0L;
+    }
+
+    private static LocalDateTime segmentStart(TaskTimeTracking record) {
+        return record.getResumedAt() != null ? record.getResumedAt() : record.getStartTime();
+    }
+
+    private static long secondsBetween(LocalDateTime from, LocalDateTime to) {
+        return from == null ? 0L : Math.max(0L, Duration.between(from, to).getSeconds());
+    }
+}
@@ -0,0 +1,272 @@
+package com.promanage.service.timer;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.promanage.service.IWebSocketMessageService;
+import com.promanage.service.dto.response.ActiveTimerDTO;
+import com.promanage.service.entity.ProjectMember;
+import com.promanage.service.entity.Task;
+import com.promanage.service.entity.TaskTimeTracking;
+import com.promanage.service.mapper.ProjectMemberMapper;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.mapper.TaskTimeTrackingMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 进行中计时登记表
+ * <p>
+ * 按用户保存进行中和已暂停的计时，计时秒数在读取时计算，数据库只在状态变化时写入。
+ * 状态变化时向项目成员推送一次计时快照，定时只向计时用户本人推送，客户端据 running 和 serverTime 自行累加显示，无需轮询。
+ * </p>
+ * <p>
+ * 启动时按数据库中进行中/已暂停的记录重建，之后定期按数据库校正，多实例部署时其他实例的变化最多滞后一个校正间隔。
+ * 重建期间有状态变化时放弃本次重建，避免覆盖较新的状态。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActiveTimerRegistry {
+
+    /**
+     * WebSocket 消息类型
+     */
+    static final String MESSAGE_TYPE = "timer";
+
+    private static final Comparator<ActiveTimer> TIMER_ORDER = Comparator
+            .comparing(ActiveTimer::startTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ActiveTimer::recordId);
+
+    private final TaskTimeTrackingMapper timeTrackingMapper;
+    private final TaskMapper taskMapper;
+    private final ProjectMemberMapper projectMemberMapper;
+    private final IWebSocketMessageService webSocketMessageService;
+
+    private final AtomicLong mutations = new AtomicLong();
+    private volatile Map<Long, Map<Long, ActiveTimer>> timersByUser = new ConcurrentHashMap<>();
+
+    /**
+     * 按记录的最新状态登记计时，记录不再进行中或暂停时移除
+     *
+     * @param record 已持久化的时间追踪记录
+     * @param action 触发的动作
+     */
+    public void apply(TaskTimeTracking record, String action) {
+        if (!ActiveTimer.isActive(record)) {
+            remove(record, action);
+            return;
+        }
+        ActiveTimer previous = find(record.getId());
+        Long projectId = previous != null && Objects.equals(previous.taskId(), record.getTaskId())
+                ? previous.projectId() : projectIdOf(record.getTaskId());
+        ActiveTimer timer = ActiveTimer.of(record, projectId);
+        synchronized (this) {
+            mutations.incrementAndGet();
+            detach(record.getId());
+            timersByUser.computeIfAbsent(record.getUserId(), userId -> new ConcurrentHashMap<>())
+                    .put(record.getId(), timer);
+        }
+        push(timer.projectId(), timer.userId(), timer.toDTO(LocalDateTime.now(), action));
+    }
+
+    /**
+     * 移除计时
+     *
+     * @param record 已持久化的时间追踪记录
+     * @param action 触发的动作
+     */
+    public void remove(TaskTimeTracking record, String action) {
+        ActiveTimer removed;
+        synchronized (this) {
+            mutations.incrementAndGet();
+            removed = detach(record.getId());
+        }
+        if (removed == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ActiveTimerDTO message = removed.toDTO(now, action);
+        message.setStatus(record.getStatus());
+        message.setRunning(false);
+        message.setElapsedSeconds(ActiveTimer.elapsedSeconds(record, now));
+        push(removed.projectId(), removed.userId(), message);
+    }
+
+    /**
+     * 用户的计时
+     */
+    public List<ActiveTimerDTO> listByUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return timersByUser.getOrDefault(userId, Map.of()).values().stream()
+                .sorted(TIMER_ORDER)
+                .map(timer -> timer.toDTO(now, "snapshot"))
+                .toList();
+    }
+
+    /**
+     * 项目内所有成员的计时
+     */
+    public List<ActiveTimerDTO> listByProject(Long projectId) {
+        LocalDateTime now = LocalDateTime.now();
+        return timersByUser.values().stream()
+                .flatMap(timers -> timers.values().stream())
+                .filter(timer -> Objects.equals(timer.projectId(), projectId))
+                .sorted(TIMER_ORDER)
+                .map(timer -> timer.toDTO(now, "snapshot"))
+                .toList();
+    }
+
+    /**
+     * 启动时按数据库重建计时
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        try {
+            int count = reload();
+            log.info("按数据库重建进行中计时完成, count={}", count);
+        } catch (Exception e) {
+            log.error("按数据库重建进行中计时失败", e);
+        }
+    }
+
+    /**
+     * 定期按数据库校正
+     */
+    @Scheduled(fixedDelayString = "${promanage.time-tracking.reconcile-interval-ms:60000}",
+            initialDelayString = "${promanage.time-tracking.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("校正进行中计时失败", e);
+        }
+    }
+
+    /**
+     * 定时向计时用户推送计时
+     */
+    @Scheduled(fixedRateString = "${promanage.time-tracking.tick-interval-ms:5000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        timersByUser.forEach((userId, timers) -> {
+            if (timers.values().stream().noneMatch(ActiveTimer::running)) {
+                return;
+            }
+            List<ActiveTimerDTO> snapshot = timers.values().stream()
+                    .sorted(TIMER_ORDER)
+                    .map(timer -> timer.toDTO(now, "tick"))
+                    .toList();
+            try {
+                webSocketMessageService.sendMessageToUser(userId, MESSAGE_TYPE, snapshot);
+            } catch (Exception e) {
+                log.warn("推送计时失败, userId={}", userId, e);
+            }
+        });
+    }
+
+    /**
+     * 按数据库中进行中和已暂停的记录重建
+     *
+     * @return 重建的计时数量，期间有状态变化放弃重建时返回 -1
+     */
+    public int reload() {
+        long generation = mutations.get();
+        List<TaskTimeTracking> records = timeTrackingMapper.selectList(new LambdaQueryWrapper<TaskTimeTracking>()
+                .in(TaskTimeTracking::getStatus, 1, 3));
+        Set<Long> taskIds = records.stream()
+                .map(TaskTimeTracking::getTaskId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Long> projectIds = new HashMap<>();
+        if (!taskIds.isEmpty()) {
+            taskMapper.selectByIds(taskIds).forEach(task -> projectIds.put(task.getId(), task.getProjectId()));
+        }
+
+        Map<Long, Map<Long, ActiveTimer>> rebuilt = new ConcurrentHashMap<>();
+        for (TaskTimeTracking record : records) {
+            if (record.getUserId() == null) {
+                continue;
+            }
+            rebuilt.computeIfAbsent(record.getUserId(), userId -> new ConcurrentHashMap<>())
+                    .put(record.getId(), ActiveTimer.of(record, projectIds.get(record.getTaskId())));
+        }
+
+        synchronized (this) {
+            if (mutations.get() != generation) {
+                log.debug("重建期间计时有变化, 跳过本次重建");
+                return -1;
+            }
+            timersByUser = rebuilt;
+        }
+        return records.size();
+    }
+
+    private ActiveTimer find(Long recordId) {
+        for (Map<Long, ActiveTimer> timers : timersByUser.values()) {
+            ActiveTimer timer = timers.get(recordId);
+            if (timer != null) {
+                return timer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 从所属用户下移除记录的计时，调用方持有锁
+     */
+    private ActiveTimer detach(Long recordId) {
+        for (Map.Entry<Long, Map<Long, ActiveTimer>> entry : timersByUser.entrySet()) {
+            ActiveTimer timer = entry.getValue().remove(recordId);
+            if (timer != null) {
+                if (entry.getValue().isEmpty()) {
+                    timersByUser.remove(entry.getKey());
+                }
+                return timer;
+            }
+        }
+        return null;
+    }
+
+    private Long projectIdOf(Long taskId) {
+        Task task = taskId != null ? taskMapper.selectById(taskId) : null;
+        return task != null ? task.getProjectId() : null;
+    }
+
+    /**
+     * 推送给计时用户本人和项目成员
+     */
+    private void push(Long projectId, Long ownerId, ActiveTimerDTO message) {
+        try {
+            Set<Long> recipients = new LinkedHashSet<>();
+            recipients.add(ownerId);
+            if (projectId != null) {
+                projectMemberMapper.findByProjectId(projectId).stream()
+                        .map(ProjectMember::getUserId)
+                        .filter(Objects::nonNull)
+                        .forEach(recipients::add);
+            }
+            webSocketMessageService.sendMessageToUsers(recipients, MESSAGE_TYPE, message);
+        } catch (Exception e) {
+            log.warn("推送计时变化失败, recordId={}", message.getRecordId(), e);
+        }
+    }
+}
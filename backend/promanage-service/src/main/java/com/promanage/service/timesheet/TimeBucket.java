@@ -0,0 +1,68 @@
+package com.promanage.service.timesheet;
+
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 工时统计周期
+ * <p>
+ * 周期起始日与 PostgreSQL date_trunc 一致：周从周一开始，月从 1 日开始。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+@Getter
+public enum TimeBucket {
+    DAY("day", "日"),
+    WEEK("week", "周"),
+    MONTH("month", "月");
+
+    /**
+     * date_trunc 的时间单位，也是接口参数值
+     */
+    private final String unit;
+    private final String description;
+
+    TimeBucket(String unit, String description) {
+        this.unit = unit;
+        this.description = description;
+    }
+
+    /**
+     * 日期所在周期的起始日
+     */
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * 下一个周期的起始日
+     */
+    public LocalDate next(LocalDate periodStart) {
+        return switch (this) {
+            case DAY -> periodStart.plusDays(1);
+            case WEEK -> periodStart.plusWeeks(1);
+            case MONTH -> periodStart.plusMonths(1);
+        };
+    }
+
+    public static TimeBucket fromUnit(String unit) {
+        if (unit == null) {
+            return null;
+        }
+        for (TimeBucket bucket : values()) {
+            if (bucket.unit.equalsIgnoreCase(unit)) {
+                return bucket;
+            }
+        }
+        return null;
+    }
+}
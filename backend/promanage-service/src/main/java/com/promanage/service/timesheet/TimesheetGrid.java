@@ -0,0 +1,104 @@
+package com.promanage.service.timesheet;
+
+import com.promanage.service.dto.TimesheetCell;
+import com.promanage.service.dto.response.TimesheetDTO;
+import com.promanage.service.dto.response.TimesheetRowDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 工时表构建
+ * <p>
+ * 把按 (用户, 任务, 周期) 分组的求和结果铺成二维表，没有工时的周期填 0。
+ * 首尾周期可能只覆盖部分日期，例如按周统计时首周只统计开始日期及之后的工时。
+ * </p>
+ *
+ * @author ProManage Team
+ * @since 2025-10-20
+ */
+public final class TimesheetGrid {
+
+    /**
+     * 单个工时表的周期数上限
+     */
+    public static final int MAX_PERIODS = 400;
+
+    private TimesheetGrid() {
+    }
+
+    /**
+     * 列出日期范围内各周期的起始日期
+     *
+     * @throws IllegalArgumentException 日期范围无效或周期数超过上限时抛出
+     */
+    public static List<LocalDate> periods(TimeBucket bucket, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("开始日期不能晚于结束日期");
+        }
+        List<LocalDate> periods = new ArrayList<>();
+        for (LocalDate period = bucket.start(startDate); !period.isAfter(endDate); period = bucket.next(period)) {
+            if (periods.size() == MAX_PERIODS) {
+                throw new IllegalArgumentException("统计周期数不能超过" + MAX_PERIODS);
+            }
+            periods.add(period);
+        }
+        return periods;
+    }
+
+    /**
+     * 构建工时表
+     *
+     * @param cells 分组求和结果
+     * @param bucket 统计周期
+     * @param startDate 开始日期（含）
+     * @param endDate 结束日期（含）
+     * @return 工时表
+     */
+    public static TimesheetDTO build(List<TimesheetCell> cells, TimeBucket bucket,
+                                     LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> periods = periods(bucket, startDate, endDate);
+        Map<LocalDate, Integer> columns = new HashMap<>();
+        for (int i = 0; i < periods.size(); i++) {
+            columns.put(periods.get(i), i);
+        }
+
+        Map<List<Long>, TimesheetRowDTO> rows = new LinkedHashMap<>();
+        double[] periodTotals = new double[periods.size()];
+        double total = 0;
+        for (TimesheetCell cell : cells) {
+            Integer column = columns.get(cell.getPeriodStart());
+            if (column == null || cell.getHours() == null) {
+                continue;
+            }
+            TimesheetRowDTO row = rows.computeIfAbsent(List.of(cell.getUserId(), cell.getTaskId()),
+                    key -> TimesheetRowDTO.builder()
+                            .userId(cell.getUserId())
+                            .taskId(cell.getTaskId())
+                            .projectId(cell.getProjectId())
+                            .hours(new ArrayList<>(Collections.nCopies(periods.size(), 0.0)))
+                            .totalHours(0.0)
+                            .build());
+            row.getHours().set(column, row.getHours().get(column) + cell.getHours());
+            row.setTotalHours(row.getTotalHours() + cell.getHours());
+            periodTotals[column] += cell.getHours();
+            total += cell.getHours();
+        }
+
+        return TimesheetDTO.builder()
+                .bucket(bucket.getUnit())
+                .startDate(startDate)
+                .endDate(endDate)
+                .periods(periods)
+                .rows(new ArrayList<>(rows.values()))
+                .periodTotals(Arrays.stream(periodTotals).boxed().toList())
+                .totalHours(total)
+                .build();
+    }
+}
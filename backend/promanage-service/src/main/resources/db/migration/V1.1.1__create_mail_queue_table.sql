@@ -0,0 +1,40 @@
+-- ================================================================
+-- ProManage Database Migration V1.1.1
+-- Description: Create persistent outbound mail queue
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+
+CREATE TABLE tb_mail_queue (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    recipient_domain VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    content TEXT NOT NULL,
+    html BOOLEAN NOT NULL DEFAULT FALSE,
+    status INTEGER NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(1000),
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE tb_mail_queue IS '邮件发送队列表';
+COMMENT ON COLUMN tb_mail_queue.id IS '邮件ID';
+COMMENT ON COLUMN tb_mail_queue.recipient IS '收件人邮箱';
+COMMENT ON COLUMN tb_mail_queue.recipient_domain IS '收件人邮箱域名，用于按域名限流';
+COMMENT ON COLUMN tb_mail_queue.subject IS '邮件主题';
+COMMENT ON COLUMN tb_mail_queue.content IS '邮件内容';
+COMMENT ON COLUMN tb_mail_queue.html IS '是否为HTML邮件';
+COMMENT ON COLUMN tb_mail_queue.status IS '状态: 0-待发送, 1-发送中, 2-已发送, 3-发送失败';
+COMMENT ON COLUMN tb_mail_queue.attempts IS '已尝试发送次数';
+COMMENT ON COLUMN tb_mail_queue.next_attempt_at IS '下次发送时间';
+COMMENT ON COLUMN tb_mail_queue.last_error IS '最近一次发送错误';
+COMMENT ON COLUMN tb_mail_queue.sent_at IS '发送成功时间';
+
+-- 调度器只扫描待发送的邮件
+CREATE INDEX idx_mail_queue_pending ON tb_mail_queue(next_attempt_at) WHERE status = 0;
+-- 回收异常中断的发送中邮件
+CREATE INDEX idx_mail_queue_sending ON tb_mail_queue(updated_at) WHERE status = 1;
@@ -0,0 +1,67 @@
+-- ================================================================
+-- ProManage Database Migration V1.1.2
+-- Description: Composite indexes for keyset (cursor) pagination
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- 游标分页按 (过滤列, 排序键 DESC, id DESC) 定位和排序，需要对应的复合索引。
+-- 部分环境的表结构经过 database_complete_fix.sql 修复，时间/逻辑删除列名不一致
+-- （created_at/create_time、deleted_at/deleted），因此按实际存在的列创建索引。
+
+CREATE OR REPLACE FUNCTION create_keyset_index(index_name TEXT, table_name TEXT, scope_column TEXT,
+                                               sort_columns TEXT[]) RETURNS VOID AS $$
+DECLARE
+    sort_column TEXT;
+    live_predicate TEXT := '';
+BEGIN
+    IF to_regclass(table_name) IS NULL THEN
+        RAISE NOTICE '表 % 不存在, 跳过索引 %', table_name, index_name;
+        RETURN;
+    END IF;
+
+    SELECT c.column_name INTO sort_column
+    FROM information_schema.columns c
+    WHERE c.table_name = create_keyset_index.table_name AND c.column_name = ANY(sort_columns)
+    ORDER BY array_position(sort_columns, c.column_name::TEXT)
+    LIMIT 1;
+    IF sort_column IS NULL THEN
+        RAISE NOTICE '表 % 缺少排序列, 跳过索引 %', table_name, index_name;
+        RETURN;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns c
+               WHERE c.table_name = create_keyset_index.table_name AND c.column_name = 'deleted_at') THEN
+        live_predicate := ' WHERE deleted_at IS NULL';
+    ELSIF EXISTS (SELECT 1 FROM information_schema.columns c
+                  WHERE c.table_name = create_keyset_index.table_name AND c.column_name = 'deleted') THEN
+        live_predicate := ' WHERE deleted = FALSE';
+    END IF;
+
+    EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON %I (%I, %I DESC, id DESC)%s',
+                   index_name, table_name, scope_column, sort_column, live_predicate);
+END;
+$$ LANGUAGE plpgsql;
+
+-- 项目任务列表：按创建时间倒序
+SELECT create_keyset_index('idx_task_project_created_keyset', 'tb_task', 'project_id',
+                           ARRAY['created_at', 'create_time']);
+
+-- 任务活动列表：按创建时间倒序
+SELECT create_keyset_index('idx_task_activity_task_created_keyset', 'tb_task_activity', 'task_id',
+                           ARRAY['created_at', 'create_time']);
+
+-- 项目文档列表：按更新时间倒序
+SELECT create_keyset_index('idx_document_project_updated_keyset', 'tb_document', 'project_id',
+                           ARRAY['updated_at', 'update_time']);
+
+-- 用户通知列表：按创建时间倒序
+SELECT create_keyset_index('idx_notification_user_created_keyset', 'tb_notification', 'user_id',
+                           ARRAY['create_time', 'created_at']);
+
+-- 项目活动列表：按创建时间倒序
+SELECT create_keyset_index('idx_project_activity_project_created_keyset', 'project_activity', 'project_id',
+                           ARRAY['created_at', 'create_time']);
+SELECT create_keyset_index('idx_tb_project_activity_project_created_keyset', 'tb_project_activity', 'project_id',
+                           ARRAY['created_at', 'create_time']);
+
+DROP FUNCTION create_keyset_index(TEXT, TEXT, TEXT, TEXT[]);
@@ -0,0 +1,46 @@
+-- ================================================================
+-- ProManage Database Migration V1.1.3
+-- Description: Fractional rank column for manual task ordering
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- sort_rank 是项目内的全局排序键（base36 字符串，按字典序比较），看板列和子任务列表都按它排序。
+-- 拖拽移动只需在相邻两个键之间生成新键并更新一行；键过长时由后台任务重新均匀分配。
+-- 使用 "C" 排序规则保证按字节比较，与应用侧的字典序一致。
+
+ALTER TABLE tb_task ADD COLUMN IF NOT EXISTS sort_rank VARCHAR(64) COLLATE "C";
+
+COMMENT ON COLUMN tb_task.sort_rank IS '排序键（项目内分数索引，base36字典序）';
+
+-- 已有任务按项目内ID顺序回填等间距的 6 位键，与 FractionalRank.evenlySpaced 一致：
+-- 第 i 个键为 (i * step) | 1，step = 36^6 / (2 * (n + 1))，前半区间放已有任务，后半区间留给追加
+CREATE OR REPLACE FUNCTION pg_temp.rank_key(value BIGINT) RETURNS TEXT AS $$
+DECLARE
+    digits CONSTANT TEXT := '0123456789abcdefghijklmnopqrstuvwxyz';
+    result TEXT := '';
+BEGIN
+    FOR i IN 1..6 LOOP
+        result := substr(digits, (value % 36)::INT + 1, 1) || result;
+        value := value / 36;
+    END LOOP;
+    RETURN result;
+END;
+$$ LANGUAGE plpgsql;
+
+WITH ordered AS (
+    SELECT id,
+           ROW_NUMBER() OVER (PARTITION BY project_id ORDER BY id) AS position,
+           GREATEST(2, 2176782336 / (2 * (COUNT(*) OVER (PARTITION BY project_id) + 1))) AS step
+    FROM tb_task
+    WHERE sort_rank IS NULL
+)
+UPDATE tb_task t
+SET sort_rank = pg_temp.rank_key((o.position * o.step) | 1)
+FROM ordered o
+WHERE t.id = o.id;
+
+-- 追加任务时取项目内最大键；看板列和子任务列表按键排序
+CREATE INDEX IF NOT EXISTS idx_task_project_rank ON tb_task (project_id, sort_rank);
+CREATE INDEX IF NOT EXISTS idx_task_project_status_rank ON tb_task (project_id, status, sort_rank);
+CREATE INDEX IF NOT EXISTS idx_task_parent_rank ON tb_task (parent_task_id, sort_rank)
+    WHERE parent_task_id IS NOT NULL;
@@ -0,0 +1,65 @@
+-- ================================================================
+-- ProManage Database Migration V1.1.4
+-- Description: Subtask rollup aggregates for task trees
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- rollup_* 列保存任务及其全部子孙任务的汇总值：
+--   预估/实际工时 = 自身工时 + 各直接子任务的汇总工时
+--   进度 = 已完成任务为 100；没有有效子任务时取自身进度；
+--          否则按子任务汇总预估工时加权平均子任务汇总进度（已取消的子任务不参与，权重全为 0 时取算术平均）
+-- 与 TaskRollup 的计算规则一致。子任务变更时应用沿祖先链逐级重算，汇总值不变时提前停止。
+
+ALTER TABLE tb_task ADD COLUMN IF NOT EXISTS rollup_estimated_hours DECIMAL(12,2);
+ALTER TABLE tb_task ADD COLUMN IF NOT EXISTS rollup_actual_hours DECIMAL(12,2);
+ALTER TABLE tb_task ADD COLUMN IF NOT EXISTS rollup_progress DECIMAL(5,2);
+
+COMMENT ON COLUMN tb_task.rollup_estimated_hours IS '含子任务的汇总预估工时（小时）';
+COMMENT ON COLUMN tb_task.rollup_actual_hours IS '含子任务的汇总实际工时（小时）';
+COMMENT ON COLUMN tb_task.rollup_progress IS '含子任务的加权汇总进度（0-100）';
+
+-- 回填：先求每个任务的层级，再从最深层开始逐层向上计算
+CREATE TEMP TABLE task_depth ON COMMIT DROP AS
+WITH RECURSIVE tree AS (
+    SELECT id, 0 AS depth
+    FROM tb_task
+    WHERE parent_task_id IS NULL AND deleted_at IS NULL
+    UNION ALL
+    SELECT c.id, tree.depth + 1
+    FROM tb_task c
+    JOIN tree ON c.parent_task_id = tree.id
+    WHERE c.deleted_at IS NULL AND tree.depth < 64
+)
+SELECT id, depth FROM tree;
+
+DO $$
+DECLARE
+    max_depth INT;
+BEGIN
+    SELECT COALESCE(MAX(depth), 0) INTO max_depth FROM task_depth;
+    FOR level IN REVERSE max_depth..0 LOOP
+        UPDATE tb_task t
+        SET rollup_estimated_hours = COALESCE(t.estimated_hours, 0) + COALESCE(c.estimated, 0),
+            rollup_actual_hours = COALESCE(t.actual_hours, 0) + COALESCE(c.actual, 0),
+            rollup_progress = CASE
+                WHEN t.status = 3 THEN 100
+                WHEN COALESCE(c.active_count, 0) = 0 THEN COALESCE(t.progress_percentage, 0)
+                WHEN c.weight > 0 THEN ROUND(c.weighted / c.weight, 2)
+                ELSE ROUND(c.progress_sum / c.active_count, 2)
+            END
+        FROM task_depth d
+        LEFT JOIN (
+            SELECT parent_task_id,
+                   SUM(rollup_estimated_hours) AS estimated,
+                   SUM(rollup_actual_hours) AS actual,
+                   COUNT(*) FILTER (WHERE status <> 4) AS active_count,
+                   SUM(rollup_estimated_hours) FILTER (WHERE status <> 4) AS weight,
+                   SUM(rollup_estimated_hours * rollup_progress) FILTER (WHERE status <> 4) AS weighted,
+                   SUM(rollup_progress) FILTER (WHERE status <> 4) AS progress_sum
+            FROM tb_task
+            WHERE parent_task_id IS NOT NULL AND deleted_at IS NULL
+            GROUP BY parent_task_id
+        ) c ON c.parent_task_id = d.id
+        WHERE t.id = d.id AND d.depth = level;
+    END LOOP;
+END $$;
@@ -0,0 +1,54 @@
+-- ================================================================
+-- ProManage Database Migration V1.1.5
+-- Description: Daily time-tracking rollups per (user, task, date)
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- tb_time_tracking_daily 按 (用户, 任务, 工作日期) 汇总已完成（status = 2）且未删除的时间追踪记录工时，
+-- project_id 冗余自任务表，便于按项目统计。
+-- 应用在结束、更新、删除时间追踪记录时以增量方式维护（先减去旧记录的贡献，再加上新记录的贡献），
+-- 任意日期范围的总工时和工时表只需对本表求和，覆盖索引支持仅索引扫描。
+
+CREATE TABLE IF NOT EXISTS tb_time_tracking_daily (
+    user_id BIGINT NOT NULL,
+    task_id BIGINT NOT NULL,
+    project_id BIGINT,
+    work_date DATE NOT NULL,
+    total_hours DECIMAL(14,4) NOT NULL DEFAULT 0,
+    entry_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, task_id, work_date)
+);
+
+COMMENT ON TABLE tb_time_tracking_daily IS '时间追踪日汇总表';
+COMMENT ON COLUMN tb_time_tracking_daily.project_id IS '任务所属项目ID（冗余）';
+COMMENT ON COLUMN tb_time_tracking_daily.total_hours IS '当日已完成记录的实际工时合计（小时）';
+COMMENT ON COLUMN tb_time_tracking_daily.entry_count IS '当日已完成记录数';
+
+CREATE INDEX IF NOT EXISTS idx_time_daily_user_date
+    ON tb_time_tracking_daily (user_id, work_date) INCLUDE (task_id, project_id, total_hours);
+CREATE INDEX IF NOT EXISTS idx_time_daily_task_date
+    ON tb_time_tracking_daily (task_id, work_date) INCLUDE (user_id, project_id, total_hours);
+CREATE INDEX IF NOT EXISTS idx_time_daily_project_date
+    ON tb_time_tracking_daily (project_id, work_date) INCLUDE (user_id, task_id, total_hours);
+
+-- 回填：部分环境尚未创建时间追踪表，此时跳过
+DO $$
+BEGIN
+    IF to_regclass('tb_task_time_tracking') IS NULL THEN
+        RAISE NOTICE '表 tb_task_time_tracking 不存在, 跳过回填';
+        RETURN;
+    END IF;
+
+    INSERT INTO tb_time_tracking_daily (user_id, task_id, project_id, work_date, total_hours, entry_count)
+    SELECT tt.user_id, tt.task_id, MAX(t.project_id), tt.work_date,
+           SUM(COALESCE(tt.actual_hours, 0)), COUNT(*)
+    FROM tb_task_time_tracking tt
+    LEFT JOIN tb_task t ON t.id = tt.task_id
+    WHERE tt.status = 2 AND tt.deleted_at IS NULL
+      AND tt.user_id IS NOT NULL AND tt.task_id IS NOT NULL AND tt.work_date IS NOT NULL
+    GROUP BY tt.user_id, tt.task_id, tt.work_date
+    ON CONFLICT (user_id, task_id, work_date) DO UPDATE
+        SET project_id = EXCLUDED.project_id,
+            total_hours = EXCLUDED.total_hours,
+            entry_count = EXCLUDED.entry_count;
+END $$;
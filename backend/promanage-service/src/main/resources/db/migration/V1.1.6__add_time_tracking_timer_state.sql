@@ -0,0 +1,34 @@
+-- ================================================================
+-- ProManage Database Migration V1.1.6
+-- Description: Persisted timer state for active time tracking
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- 计时只在状态变化（开始/暂停/恢复/结束）时写库：
+--   elapsed_seconds = 此前各计时段累计秒数
+--   resumed_at      = 当前计时段开始时间，暂停时为空
+-- 计时时长 = elapsed_seconds + (进行中 ? now() - resumed_at : 0)，由应用在读取时计算。
+-- 应用启动时按进行中/已暂停的记录重建内存中的计时器。
+
+DO $$
+BEGIN
+    IF to_regclass('tb_task_time_tracking') IS NULL THEN
+        RAISE NOTICE '表 tb_task_time_tracking 不存在, 跳过';
+        RETURN;
+    END IF;
+
+    ALTER TABLE tb_task_time_tracking ADD COLUMN IF NOT EXISTS elapsed_seconds BIGINT NOT NULL DEFAULT 0;
+    ALTER TABLE tb_task_time_tracking ADD COLUMN IF NOT EXISTS resumed_at TIMESTAMP;
+
+    COMMENT ON COLUMN tb_task_time_tracking.elapsed_seconds IS '已累计计时秒数（不含当前计时段）';
+    COMMENT ON COLUMN tb_task_time_tracking.resumed_at IS '当前计时段开始时间，暂停时为空';
+
+    -- 进行中的记录以开始时间作为当前计时段开始时间
+    UPDATE tb_task_time_tracking
+    SET resumed_at = start_time
+    WHERE status = 1 AND resumed_at IS NULL;
+
+    CREATE INDEX IF NOT EXISTS idx_time_tracking_active
+        ON tb_task_time_tracking (user_id)
+        WHERE status IN (1, 3) AND deleted_at IS NULL;
+END $$;
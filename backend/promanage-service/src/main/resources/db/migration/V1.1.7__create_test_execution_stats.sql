@@ -0,0 +1,108 @@
+-- ================================================================
+-- ProManage Database Migration V1.1.7
+-- Description: Incremental test execution statistics
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- tb_test_case_execution_stats 每个测试用例一行，保存累计执行次数、各结果次数、累计时长和最近一次执行，
+-- last_verdict 为最近一次通过/失败结果，transition_count 为通过与失败之间的翻转次数，用于计算不稳定度。
+-- tb_test_execution_daily 按 (测试用例, 日期) 分桶，支持近 7/30 天统计，只需对窗口内的桶求和。
+-- 应用在执行测试用例时增量维护两张表，统计查询不再扫描 tb_test_execution。
+
+CREATE TABLE IF NOT EXISTS tb_test_case_execution_stats (
+    test_case_id BIGINT PRIMARY KEY,
+    project_id BIGINT NOT NULL,
+    total_count INT NOT NULL DEFAULT 0,
+    pass_count INT NOT NULL DEFAULT 0,
+    fail_count INT NOT NULL DEFAULT 0,
+    block_count INT NOT NULL DEFAULT 0,
+    skip_count INT NOT NULL DEFAULT 0,
+    total_execution_time BIGINT NOT NULL DEFAULT 0,
+    transition_count INT NOT NULL DEFAULT 0,
+    last_verdict SMALLINT,
+    last_result SMALLINT,
+    last_execution_time TIMESTAMP,
+    last_executor_id BIGINT
+);
+
+COMMENT ON TABLE tb_test_case_execution_stats IS '测试用例执行统计表';
+COMMENT ON COLUMN tb_test_case_execution_stats.project_id IS '测试用例所属项目ID（冗余）';
+COMMENT ON COLUMN tb_test_case_execution_stats.total_execution_time IS '累计执行时长(分钟)';
+COMMENT ON COLUMN tb_test_case_execution_stats.transition_count IS '通过与失败之间的翻转次数';
+COMMENT ON COLUMN tb_test_case_execution_stats.last_verdict IS '最近一次通过/失败结果: 0-通过, 1-失败';
+COMMENT ON COLUMN tb_test_case_execution_stats.last_result IS '最近一次执行结果: 0-通过, 1-失败, 2-阻塞, 3-跳过';
+
+CREATE INDEX IF NOT EXISTS idx_test_case_exec_stats_project
+    ON tb_test_case_execution_stats (project_id)
+    INCLUDE (total_count, pass_count, fail_count, block_count, skip_count, transition_count, last_execution_time);
+
+CREATE TABLE IF NOT EXISTS tb_test_execution_daily (
+    test_case_id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    work_date DATE NOT NULL,
+    total_count INT NOT NULL DEFAULT 0,
+    pass_count INT NOT NULL DEFAULT 0,
+    fail_count INT NOT NULL DEFAULT 0,
+    block_count INT NOT NULL DEFAULT 0,
+    skip_count INT NOT NULL DEFAULT 0,
+    transition_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (test_case_id, work_date)
+);
+
+COMMENT ON TABLE tb_test_execution_daily IS '测试执行日统计表';
+COMMENT ON COLUMN tb_test_execution_daily.project_id IS '测试用例所属项目ID（冗余）';
+COMMENT ON COLUMN tb_test_execution_daily.transition_count IS '当日发生的通过与失败之间的翻转次数';
+
+CREATE INDEX IF NOT EXISTS idx_test_exec_daily_project_date
+    ON tb_test_execution_daily (project_id, work_date)
+    INCLUDE (test_case_id, total_count, pass_count, fail_count, block_count, skip_count, transition_count);
+
+-- 回填：翻转按每个测试用例的通过/失败记录依时间先后计算
+WITH verdicts AS (
+    SELECT te.id,
+           CASE WHEN LAG(te.result) OVER (PARTITION BY te.test_case_id ORDER BY te.create_time, te.id) IS DISTINCT FROM te.result
+                     AND LAG(te.result) OVER (PARTITION BY te.test_case_id ORDER BY te.create_time, te.id) IS NOT NULL
+                THEN 1 ELSE 0 END AS flip
+    FROM tb_test_execution te
+    WHERE te.deleted = FALSE AND te.result IN (0, 1)
+),
+executions AS (
+    SELECT te.test_case_id, tc.project_id, te.result, te.execution_time, te.executor_id, te.create_time, te.id,
+           COALESCE(v.flip, 0) AS flip
+    FROM tb_test_execution te
+    JOIN tb_test_case tc ON tc.id = te.test_case_id
+    LEFT JOIN verdicts v ON v.id = te.id
+    WHERE te.deleted = FALSE
+)
+INSERT INTO tb_test_execution_daily (test_case_id, project_id, work_date, total_count, pass_count, fail_count,
+                                     block_count, skip_count, transition_count)
+SELECT test_case_id, MAX(project_id), CAST(create_time AS DATE), COUNT(*),
+       COUNT(*) FILTER (WHERE result = 0), COUNT(*) FILTER (WHERE result = 1),
+       COUNT(*) FILTER (WHERE result = 2), COUNT(*) FILTER (WHERE result = 3), SUM(flip)
+FROM executions
+GROUP BY test_case_id, CAST(create_time AS DATE)
+ON CONFLICT (test_case_id, work_date) DO NOTHING;
+
+INSERT INTO tb_test_case_execution_stats (test_case_id, project_id, total_count, pass_count, fail_count,
+                                          block_count, skip_count, total_execution_time, transition_count,
+                                          last_verdict, last_result, last_execution_time, last_executor_id)
+SELECT d.test_case_id, MAX(d.project_id), SUM(d.total_count), SUM(d.pass_count), SUM(d.fail_count),
+       SUM(d.block_count), SUM(d.skip_count), COALESCE(MAX(t.total_time), 0), SUM(d.transition_count),
+       MAX(lv.result), MAX(le.result), MAX(le.create_time), MAX(le.executor_id)
+FROM tb_test_execution_daily d
+LEFT JOIN (
+    SELECT test_case_id, SUM(COALESCE(execution_time, 0)) AS total_time
+    FROM tb_test_execution WHERE deleted = FALSE GROUP BY test_case_id
+) t ON t.test_case_id = d.test_case_id
+LEFT JOIN (
+    SELECT DISTINCT ON (test_case_id) test_case_id, result, create_time, executor_id
+    FROM tb_test_execution WHERE deleted = FALSE
+    ORDER BY test_case_id, create_time DESC, id DESC
+) le ON le.test_case_id = d.test_case_id
+LEFT JOIN (
+    SELECT DISTINCT ON (test_case_id) test_case_id, result
+    FROM tb_test_execution WHERE deleted = FALSE AND result IN (0, 1)
+    ORDER BY test_case_id, create_time DESC, id DESC
+) lv ON lv.test_case_id = d.test_case_id
+GROUP BY d.test_case_id
+ON CONFLICT (test_case_id) DO NOTHING;
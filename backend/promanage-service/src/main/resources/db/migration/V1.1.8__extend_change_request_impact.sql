@@ -0,0 +1,33 @@
+-- ================================================================
+-- ProManage Database Migration V1.1.8
+-- Description: Impact analysis columns on tb_change_request_impact
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- 影响分析引擎按实体记录影响程度、置信度和传播路径，补齐实体类 ChangeRequestImpact 对应的列。
+-- 原有 impact_type / impact_target_id 保留并与 entity_type / entity_id 同步写入。
+
+ALTER TABLE tb_change_request_impact
+    ADD COLUMN IF NOT EXISTS entity_type VARCHAR(50),
+    ADD COLUMN IF NOT EXISTS entity_id BIGINT,
+    ADD COLUMN IF NOT EXISTS entity_title VARCHAR(500),
+    ADD COLUMN IF NOT EXISTS impact_level VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS confidence_score DECIMAL(5,4),
+    ADD COLUMN IF NOT EXISTS is_verified BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN IF NOT EXISTS verified_by BIGINT,
+    ADD COLUMN IF NOT EXISTS verified_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS analysis_version VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS analysis_details TEXT,
+    ADD COLUMN IF NOT EXISTS is_valid BOOLEAN NOT NULL DEFAULT TRUE,
+    ADD COLUMN IF NOT EXISTS creator_id BIGINT;
+
+COMMENT ON COLUMN tb_change_request_impact.entity_type IS '受影响实体类型: TASK, DOCUMENT, TEST_CASE, USER';
+COMMENT ON COLUMN tb_change_request_impact.entity_id IS '受影响实体ID';
+COMMENT ON COLUMN tb_change_request_impact.impact_level IS '影响程度: LOW, MEDIUM, HIGH, CRITICAL';
+COMMENT ON COLUMN tb_change_request_impact.confidence_score IS '置信度分数 (0-1)';
+COMMENT ON COLUMN tb_change_request_impact.is_verified IS '是否已人工验证，已验证的结果作为分析起点且重新分析时保留';
+COMMENT ON COLUMN tb_change_request_impact.analysis_details IS '分析详情(JSON): 传播深度、来源实体和关系';
+
+UPDATE tb_change_request_impact
+SET entity_type = impact_type, entity_id = impact_target_id
+WHERE entity_type IS NULL;
@@ -0,0 +1,30 @@
+-- ================================================================
+-- ProManage Database Migration V1.1.9
+-- Description: Keyset pagination indexes for organization member listing
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- 组织成员列表按 (organization_id, 排序键, id) 游标分页，排序键为姓名、状态或加入时间。
+-- 姓名排序键与 OrganizationMemberSort.NAME 的表达式保持一致，否则无法命中索引。
+-- 仅在 tb_user 具有 organization_id / deleted_at / created_at 列（经 database_complete_fix.sql 修复）时创建。
+
+DO $$
+BEGIN
+    IF (SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_name = 'tb_user' AND column_name IN ('organization_id', 'deleted_at', 'created_at')) < 3 THEN
+        RAISE NOTICE 'tb_user 缺少 organization_id/deleted_at/created_at 列, 跳过组织成员索引';
+        RETURN;
+    END IF;
+
+    CREATE INDEX IF NOT EXISTS idx_user_org_name_keyset
+        ON tb_user (organization_id, LOWER(COALESCE(NULLIF(real_name, ''), username)), id)
+        WHERE deleted_at IS NULL;
+
+    CREATE INDEX IF NOT EXISTS idx_user_org_status_keyset
+        ON tb_user (organization_id, status, id)
+        WHERE deleted_at IS NULL;
+
+    CREATE INDEX IF NOT EXISTS idx_user_org_created_keyset
+        ON tb_user (organization_id, created_at DESC, id DESC)
+        WHERE deleted_at IS NULL;
+END $$;
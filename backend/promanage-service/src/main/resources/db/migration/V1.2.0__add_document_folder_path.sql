@@ -0,0 +1,41 @@
+-- ================================================================
+-- ProManage Database Migration V1.2.0
+-- Description: Materialized path for document folders
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- 文件夹路径为从根到自身的ID序列，如 /3/17/42/，子树查询为 path 前缀的索引范围扫描，
+-- 移动文件夹为一条替换前缀的 UPDATE。tb_document_folder 由 database_migrations 脚本创建，
+-- 表不存在时跳过。
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'tb_document_folder') THEN
+        RAISE NOTICE 'tb_document_folder 不存在, 跳过文件夹路径迁移';
+        RETURN;
+    END IF;
+
+    ALTER TABLE tb_document_folder ADD COLUMN IF NOT EXISTS path VARCHAR(1000);
+    COMMENT ON COLUMN tb_document_folder.path IS '物化路径, 从根到自身的文件夹ID, 如 /3/17/42/';
+
+    -- 深度上限防止历史数据中的父子环导致无限递归
+    WITH RECURSIVE tree AS (
+        SELECT id, '/' || id || '/' AS path, 1 AS depth
+        FROM tb_document_folder
+        WHERE parent_id IS NULL OR parent_id = 0
+        UNION ALL
+        SELECT f.id, t.path || f.id || '/', t.depth + 1
+        FROM tb_document_folder f
+        JOIN tree t ON f.parent_id = t.id
+        WHERE t.depth < 64
+    )
+    UPDATE tb_document_folder f SET path = tree.path
+    FROM tree
+    WHERE f.id = tree.id AND f.path IS NULL;
+
+    -- 父文件夹不存在的历史数据按根目录处理
+    UPDATE tb_document_folder SET path = '/' || id || '/' WHERE path IS NULL;
+
+    CREATE INDEX IF NOT EXISTS idx_document_folder_project_path
+        ON tb_document_folder (project_id, path text_pattern_ops);
+END $$;
@@ -0,0 +1,78 @@
+-- ================================================================
+-- ProManage Database Migration V1.2.1
+-- Description: Multi-stage approval workflow for change requests
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- 变更请求提交时生成审批阶段，阶段按 stage_order 依次激活，每个阶段需要 M 个审批人中的 N 个同意。
+-- tb_approval_inbox 为每个 (阶段, 审批人) 一行，阶段激活时从未开始变为待审批，
+-- “我的待审批”只扫描部分索引 idx_approval_inbox_pending。
+-- 审批决定通过 tb_change_request.version 乐观锁串行化，同一变更请求的并发审批按提交顺序生效。
+
+ALTER TABLE tb_change_request ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS tb_change_request_approval_stage (
+    id BIGSERIAL PRIMARY KEY,
+    change_request_id BIGINT NOT NULL,
+    stage_order INTEGER NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    required_approvals INTEGER NOT NULL DEFAULT 1,
+    approver_count INTEGER NOT NULL,
+    status INTEGER NOT NULL DEFAULT 0,
+    timeout_hours INTEGER,
+    activated_at TIMESTAMP,
+    due_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_approval_stage_request
+        FOREIGN KEY(change_request_id)
+        REFERENCES tb_change_request(id)
+        ON DELETE CASCADE,
+    CONSTRAINT chk_approval_stage_required
+        CHECK (required_approvals BETWEEN 1 AND approver_count)
+);
+
+COMMENT ON TABLE tb_change_request_approval_stage IS '变更请求审批阶段表';
+COMMENT ON COLUMN tb_change_request_approval_stage.stage_order IS '阶段顺序，从1开始依次激活';
+COMMENT ON COLUMN tb_change_request_approval_stage.required_approvals IS '阶段通过所需的同意数 N';
+COMMENT ON COLUMN tb_change_request_approval_stage.approver_count IS '阶段审批人数 M';
+COMMENT ON COLUMN tb_change_request_approval_stage.status IS '状态: 0-未开始, 1-进行中, 2-已通过, 3-已拒绝, 4-已超时, 5-已取消';
+COMMENT ON COLUMN tb_change_request_approval_stage.timeout_hours IS '阶段激活后的审批时限（小时），为空表示不限';
+COMMENT ON COLUMN tb_change_request_approval_stage.due_at IS '审批截止时间';
+
+CREATE INDEX IF NOT EXISTS idx_approval_stage_request
+    ON tb_change_request_approval_stage (change_request_id, stage_order);
+-- 超时扫描只关心进行中的阶段
+CREATE INDEX IF NOT EXISTS idx_approval_stage_due
+    ON tb_change_request_approval_stage (due_at) WHERE status = 1;
+
+CREATE TABLE IF NOT EXISTS tb_approval_inbox (
+    id BIGSERIAL PRIMARY KEY,
+    change_request_id BIGINT NOT NULL,
+    stage_id BIGINT NOT NULL,
+    project_id BIGINT,
+    approver_id BIGINT NOT NULL,
+    status INTEGER NOT NULL DEFAULT 0,
+    comments VARCHAR(1000),
+    decided_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_approval_inbox_stage
+        FOREIGN KEY(stage_id)
+        REFERENCES tb_change_request_approval_stage(id)
+        ON DELETE CASCADE,
+    CONSTRAINT uk_approval_inbox_stage_approver UNIQUE (stage_id, approver_id)
+);
+
+COMMENT ON TABLE tb_approval_inbox IS '审批人待办表';
+COMMENT ON COLUMN tb_approval_inbox.project_id IS '变更请求所属项目ID（冗余）';
+COMMENT ON COLUMN tb_approval_inbox.status IS '状态: 0-未开始, 1-待审批, 2-同意, 3-拒绝, 4-已取消, 5-已超时';
+COMMENT ON COLUMN tb_approval_inbox.decided_at IS '审批时间';
+
+CREATE INDEX IF NOT EXISTS idx_approval_inbox_pending
+    ON tb_approval_inbox (approver_id, updated_at DESC, id DESC) WHERE status = 1;
+CREATE INDEX IF NOT EXISTS idx_approval_inbox_request
+    ON tb_approval_inbox (change_request_id, stage_id);
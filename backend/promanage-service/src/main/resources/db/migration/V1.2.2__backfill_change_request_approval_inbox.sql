@@ -0,0 +1,35 @@
+-- ================================================================
+-- ProManage Database Migration V1.2.2
+-- Description: Backfill approval workflow for change requests under review
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- V1.2.1 之前提交的变更请求没有审批阶段和待办，“我的待审批”只读 tb_approval_inbox，
+-- 这些请求会从审核人的待审批列表中消失。为每个审批中且没有审批阶段的变更请求补一个单人审批阶段，
+-- 审批人为审核人（未指定时为项目负责人），与提交时的默认阶段一致。
+-- status 列在部分环境中仍为 INTEGER，按文本比较，整数状态不会匹配。
+
+INSERT INTO tb_change_request_approval_stage
+    (change_request_id, stage_order, name, required_approvals, approver_count, status, activated_at)
+SELECT cr.id, 1, '第1级审批', 1, 1, 1, COALESCE(cr.updated_at, CURRENT_TIMESTAMP)
+FROM tb_change_request cr
+JOIN tb_project p ON p.id = cr.project_id
+WHERE cr.deleted = FALSE
+  AND cr.status::text = 'UNDER_REVIEW'
+  AND COALESCE(cr.reviewer_id, p.owner_id) IS NOT NULL
+  AND NOT EXISTS (
+      SELECT 1 FROM tb_change_request_approval_stage s WHERE s.change_request_id = cr.id
+  );
+
+INSERT INTO tb_approval_inbox (change_request_id, stage_id, project_id, approver_id, status)
+SELECT s.change_request_id, s.id, cr.project_id, COALESCE(cr.reviewer_id, p.owner_id), 1
+FROM tb_change_request_approval_stage s
+JOIN tb_change_request cr ON cr.id = s.change_request_id
+JOIN tb_project p ON p.id = cr.project_id
+WHERE s.stage_order = 1
+  AND s.status = 1
+  AND cr.deleted = FALSE
+  AND cr.status::text = 'UNDER_REVIEW'
+  AND NOT EXISTS (
+      SELECT 1 FROM tb_approval_inbox i WHERE i.stage_id = s.id
+  );
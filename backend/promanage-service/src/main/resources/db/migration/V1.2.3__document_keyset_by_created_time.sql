@@ -0,0 +1,41 @@
+-- ================================================================
+-- ProManage Database Migration V1.2.3
+-- Description: Keyset index for project documents by creation time
+-- Author: ProManage Team
+-- Date: 2025-10-20
+-- ================================================================
+-- 项目文档游标分页改为按创建时间倒序：更新时间会变化，翻页期间被更新的文档会重复或遗漏。
+-- 与 V1.1.2 相同，按实际存在的时间列和逻辑删除列创建索引，并删除按更新时间的索引。
+
+DO $$
+DECLARE
+    sort_column TEXT;
+    live_predicate TEXT := '';
+BEGIN
+    IF to_regclass('tb_document') IS NULL THEN
+        RAISE NOTICE '表 tb_document 不存在, 跳过文档游标索引';
+        RETURN;
+    END IF;
+
+    SELECT c.column_name INTO sort_column
+    FROM information_schema.columns c
+    WHERE c.table_name = 'tb_document' AND c.column_name IN ('created_at', 'create_time')
+    ORDER BY c.column_name = 'created_at' DESC
+    LIMIT 1;
+    IF sort_column IS NULL THEN
+        RAISE NOTICE '表 tb_document 缺少创建时间列, 跳过文档游标索引';
+        RETURN;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns c
+               WHERE c.table_name = 'tb_document' AND c.column_name = 'deleted_at') THEN
+        live_predicate := ' WHERE deleted_at IS NULL';
+    ELSIF EXISTS (SELECT 1 FROM information_schema.columns c
+                  WHERE c.table_name = 'tb_document' AND c.column_name = 'deleted') THEN
+        live_predicate := ' WHERE deleted = FALSE';
+    END IF;
+
+    EXECUTE format('CREATE INDEX IF NOT EXISTS idx_document_project_created_keyset ON tb_document (project_id, %I DESC, id DESC)%s',
+                   sort_column, live_predicate);
+    DROP INDEX IF EXISTS idx_document_project_updated_keyset;
+END $$;
@@ -0,0 +1,235 @@
+package com.promanage.service.approval;
+
+import com.promanage.common.enums.ChangeRequestStatus;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.service.INotificationService;
+import com.promanage.service.dto.ApprovalTally;
+import com.promanage.service.entity.ApprovalInboxItem;
+import com.promanage.service.entity.ApprovalStage;
+import com.promanage.service.entity.ChangeRequest;
+import com.promanage.service.event.DomainEvent;
+import com.promanage.service.mapper.ApprovalInboxMapper;
+import com.promanage.service.mapper.ApprovalStageMapper;
+import com.promanage.service.mapper.ChangeRequestMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ApprovalWorkflowEngineTest {
+
+    @Mock
+    private ChangeRequestMapper changeRequestMapper;
+
+    @Mock
+    private ApprovalStageMapper approvalStageMapper;
+
+    @Mock
+    private ApprovalInboxMapper approvalInboxMapper;
+
+    @Mock
+    private INotificationService notificationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ApprovalWorkflowEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        engine = new ApprovalWorkflowEngine(changeRequestMapper, approvalStageMapper, approvalInboxMapper,
+                notificationService, transactionTemplate, new ApprovalWorkflowProperties(), eventPublisher);
+    }
+
+    @Test
+    void shouldEvaluateNOfMStage() {
+        assertEquals(ApprovalWorkflowEngine.StageOutcome.PENDING, ApprovalWorkflowEngine.evaluate(2, 3, 1, 0));
+        assertEquals(ApprovalWorkflowEngine.StageOutcome.PENDING, ApprovalWorkflowEngine.evaluate(2, 3, 1, 1));
+        assertEquals(ApprovalWorkflowEngine.StageOutcome.APPROVED, ApprovalWorkflowEngine.evaluate(2, 3, 2, 1));
+        assertEquals(ApprovalWorkflowEngine.StageOutcome.REJECTED, ApprovalWorkflowEngine.evaluate(2, 3, 0, 2));
+        assertEquals(ApprovalWorkflowEngine.StageOutcome.REJECTED, ApprovalWorkflowEngine.evaluate(3, 3, 2, 1));
+    }
+
+    @Test
+    void shouldStartWorkflowAndActivateFirstStage() {
+        ChangeRequest changeRequest = changeRequest(ChangeRequestStatus.UNDER_REVIEW.getCode());
+        doAnswer(invocation -> {
+            ApprovalStage stage = invocation.getArgument(0);
+            stage.setId(100L + stage.getStageOrder());
+            return 1;
+        }).when(approvalStageMapper).insert(any(ApprovalStage.class));
+        when(approvalInboxMapper.selectApproverIds(101L)).thenReturn(List.of(7L, 8L));
+
+        engine.start(changeRequest, List.of(
+                new ApprovalStageSpec("技术评审", List.of(7L, 8L, 7L), 1, null),
+                new ApprovalStageSpec(null, List.of(9L), null, 0)), 3L);
+
+        verify(approvalInboxMapper).insertBatch(argThat(items -> items.size() == 3
+                && items.stream().allMatch(item -> item.getStatus() == ApprovalInboxItem.STATUS_WAITING)));
+        verify(approvalStageMapper).activate(eq(101L), notNull());
+        verify(approvalInboxMapper).activateStage(101L);
+        verify(approvalStageMapper, never()).activate(eq(102L), any());
+        verify(notificationService).sendNotificationBatch(eq(List.of(7L, 8L)), eq("CHANGE_REQUEST_PENDING_APPROVAL"),
+                anyString(), anyString(), eq(1L), eq("CHANGE_REQUEST"), eq(3L));
+    }
+
+    @Test
+    void shouldRejectStageWithInvalidRequiredApprovals() {
+        ChangeRequest changeRequest = changeRequest(ChangeRequestStatus.UNDER_REVIEW.getCode());
+
+        assertThrows(BusinessException.class, () -> engine.start(changeRequest,
+                List.of(new ApprovalStageSpec("评审", List.of(7L, 8L), 3, null)), 3L));
+        verify(approvalStageMapper, never()).insert(any(ApprovalStage.class));
+    }
+
+    @Test
+    void shouldAdvanceToNextStageWhenQuorumReached() {
+        lockSucceeds(ChangeRequestStatus.UNDER_REVIEW.getCode());
+        ApprovalStage first = stage(101L, 1, 1, 2, ApprovalStage.STATUS_ACTIVE);
+        ApprovalStage second = stage(102L, 2, 1, 1, ApprovalStage.STATUS_WAITING);
+        when(approvalInboxMapper.recordDecision(1L, 7L, ApprovalInboxItem.STATUS_APPROVED, "ok")).thenReturn(101L);
+        when(approvalStageMapper.selectById(101L)).thenReturn(first);
+        when(approvalInboxMapper.tally(101L)).thenReturn(tally(1, 0));
+        when(approvalStageMapper.selectByChangeRequestId(1L)).thenReturn(List.of(first, second));
+        when(approvalInboxMapper.selectApproverIds(102L)).thenReturn(List.of(9L));
+
+        ApprovalWorkflowEngine.ApprovalResult result = engine.decide(1L, 7L, true, "ok");
+
+        assertEquals(ApprovalWorkflowEngine.ApprovalResult.NEXT_STAGE, result);
+        verify(approvalStageMapper).complete(101L, ApprovalStage.STATUS_APPROVED);
+        verify(approvalInboxMapper).closePending(101L, ApprovalInboxItem.STATUS_CANCELLED);
+        verify(approvalStageMapper).activate(eq(102L), notNull());
+        verify(changeRequestMapper, never()).updateWithVersion(eq(1L), anyLong(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void shouldApproveChangeRequestAfterLastStage() {
+        lockSucceeds(ChangeRequestStatus.UNDER_REVIEW.getCode());
+        ApprovalStage only = stage(101L, 1, 2, 3, ApprovalStage.STATUS_ACTIVE);
+        when(approvalInboxMapper.recordDecision(1L, 7L, ApprovalInboxItem.STATUS_APPROVED, null)).thenReturn(101L);
+        when(approvalStageMapper.selectById(101L)).thenReturn(only);
+        when(approvalInboxMapper.tally(101L)).thenReturn(tally(2, 1));
+        when(approvalStageMapper.selectByChangeRequestId(1L)).thenReturn(List.of(only));
+        when(changeRequestMapper.updateWithVersion(eq(1L), eq(6L), eq(ChangeRequestStatus.APPROVED.getCode()), eq(7L), notNull(), eq(7L)))
+                .thenReturn(1);
+
+        ApprovalWorkflowEngine.ApprovalResult result = engine.decide(1L, 7L, true, null);
+
+        assertEquals(ApprovalWorkflowEngine.ApprovalResult.APPROVED, result);
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        assertTrue(events.getAllValues().stream().anyMatch(event -> event instanceof DomainEvent domainEvent
+                && "CHANGE_REQUEST_APPROVED".equals(domainEvent.action()) && Long.valueOf(2L).equals(domainEvent.projectId())));
+        verify(notificationService).sendNotificationBatch(eq(List.of(3L)), eq("CHANGE_REQUEST_APPROVED"),
+                anyString(), anyString(), eq(1L), eq("CHANGE_REQUEST"), eq(7L));
+    }
+
+    @Test
+    void shouldRejectChangeRequestWhenQuorumUnreachable() {
+        lockSucceeds(ChangeRequestStatus.UNDER_REVIEW.getCode());
+        ApprovalStage only = stage(101L, 1, 2, 2, ApprovalStage.STATUS_ACTIVE);
+        when(approvalInboxMapper.recordDecision(1L, 8L, ApprovalInboxItem.STATUS_REJECTED, "no")).thenReturn(101L);
+        when(approvalStageMapper.selectById(101L)).thenReturn(only);
+        when(approvalInboxMapper.tally(101L)).thenReturn(tally(0, 1));
+        when(changeRequestMapper.updateWithVersion(eq(1L), eq(6L), eq(ChangeRequestStatus.REJECTED.getCode()), eq(8L), isNull(), eq(8L)))
+                .thenReturn(1);
+
+        ApprovalWorkflowEngine.ApprovalResult result = engine.decide(1L, 8L, false, "no");
+
+        assertEquals(ApprovalWorkflowEngine.ApprovalResult.REJECTED, result);
+        verify(approvalStageMapper).complete(101L, ApprovalStage.STATUS_REJECTED);
+        verify(approvalStageMapper).cancelOpen(1L);
+        verify(approvalInboxMapper).cancelOpen(1L);
+    }
+
+    @Test
+    void shouldRetryWhenVersionConflicts() {
+        ChangeRequest stale = changeRequest(ChangeRequestStatus.UNDER_REVIEW.getCode());
+        stale.setVersion(4L);
+        ChangeRequest fresh = changeRequest(ChangeRequestStatus.UNDER_REVIEW.getCode());
+        fresh.setVersion(5L);
+        when(changeRequestMapper.selectById(1L)).thenReturn(stale, fresh);
+        when(changeRequestMapper.updateWithVersion(1L, 4L, null, null, null, null)).thenReturn(0);
+        when(changeRequestMapper.updateWithVersion(1L, 5L, null, null, null, null)).thenReturn(1);
+        when(approvalInboxMapper.recordDecision(1L, 7L, ApprovalInboxItem.STATUS_APPROVED, null)).thenReturn(101L);
+        when(approvalStageMapper.selectById(101L)).thenReturn(stage(101L, 1, 2, 3, ApprovalStage.STATUS_ACTIVE));
+        when(approvalInboxMapper.tally(101L)).thenReturn(tally(1, 0));
+
+        assertEquals(ApprovalWorkflowEngine.ApprovalResult.PENDING, engine.decide(1L, 7L, true, null));
+        verify(changeRequestMapper, times(2)).selectById(1L);
+    }
+
+    @Test
+    void shouldRejectDecisionFromNonPendingApprover() {
+        lockSucceeds(ChangeRequestStatus.UNDER_REVIEW.getCode());
+        when(approvalInboxMapper.recordDecision(anyLong(), anyLong(), anyInt(), any())).thenReturn(null);
+
+        assertThrows(BusinessException.class, () -> engine.decide(1L, 99L, true, null));
+        verify(approvalInboxMapper, never()).tally(anyLong());
+    }
+
+    @Test
+    void shouldExpireOverdueStage() {
+        lockSucceeds(ChangeRequestStatus.UNDER_REVIEW.getCode());
+        ApprovalStage overdue = stage(101L, 1, 1, 1, ApprovalStage.STATUS_ACTIVE);
+        overdue.setDueAt(java.time.LocalDateTime.now().minusMinutes(1));
+        when(approvalStageMapper.selectById(101L)).thenReturn(overdue);
+        when(changeRequestMapper.updateWithVersion(eq(1L), eq(6L), eq(ChangeRequestStatus.REJECTED.getCode()), isNull(), isNull(), isNull()))
+                .thenReturn(1);
+
+        engine.expire(overdue);
+
+        verify(approvalStageMapper).complete(101L, ApprovalStage.STATUS_EXPIRED);
+        verify(approvalInboxMapper).closePending(101L, ApprovalInboxItem.STATUS_EXPIRED);
+    }
+
+    private void lockSucceeds(String status) {
+        ChangeRequest changeRequest = changeRequest(status);
+        changeRequest.setVersion(5L);
+        when(changeRequestMapper.selectById(1L)).thenReturn(changeRequest);
+        when(changeRequestMapper.updateWithVersion(1L, 5L, null, null, null, null)).thenReturn(1);
+    }
+
+    private static ChangeRequest changeRequest(String status) {
+        ChangeRequest changeRequest = new ChangeRequest();
+        changeRequest.setId(1L);
+        changeRequest.setProjectId(2L);
+        changeRequest.setRequesterId(3L);
+        changeRequest.setTitle("调整登录流程");
+        changeRequest.setStatus(status);
+        return changeRequest;
+    }
+
+    private static ApprovalStage stage(Long id, int order, int required, int approverCount, int status) {
+        ApprovalStage stage = new ApprovalStage();
+        stage.setId(id);
+        stage.setChangeRequestId(1L);
+        stage.setStageOrder(order);
+        stage.setName("阶段" + order);
+        stage.setRequiredApprovals(required);
+        stage.setApproverCount(approverCount);
+        stage.setStatus(status);
+        stage.setTimeoutHours(72);
+        return stage;
+    }
+
+    private static ApprovalTally tally(int approved, int rejected) {
+        ApprovalTally tally = new ApprovalTally();
+        tally.setApproved(approved);
+        tally.setRejected(rejected);
+        return tally;
+    }
+}
@@ -0,0 +1,79 @@
+package com.promanage.service.board;
+
+import com.promanage.service.dto.response.KanbanBoardDTO;
+import com.promanage.service.dto.response.KanbanCardDTO;
+import com.promanage.service.dto.response.KanbanColumnDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KanbanBoardTest {
+
+    @Test
+    void shouldGroupCardsByStatusInRankOrder() {
+        KanbanCardDTO unranked = card(4L, 0, 2);
+        unranked.setSortRank(null);
+        KanbanBoard board = new KanbanBoard(1L,
+                List.of(card(1L, 0, 2), card(2L, 0, 1), card(3L, 1, 1), unranked), 10);
+
+        KanbanBoardDTO dto = board.read(null, null);
+
+        assertTrue(dto.getFull());
+        assertEquals(KanbanBoard.COLUMNS.size(), dto.getColumns().size());
+        KanbanColumnDTO todo = dto.getColumns().get(0);
+        assertEquals(0, todo.getStatus());
+        assertEquals(List.of(2L, 1L, 4L), todo.getCards().stream().map(KanbanCardDTO::getTaskId).toList());
+        assertEquals(1, dto.getColumns().get(1).getCards().size());
+    }
+
+    @Test
+    void shouldReturnChangesSinceVersion() {
+        KanbanBoard board = new KanbanBoard(1L, List.of(card(1L, 0, 2), card(2L, 0, 2)), 10);
+        String epoch = board.getEpoch();
+
+        assertTrue(board.upsert(card(1L, 1, 2)));
+        long afterMove = board.getVersion();
+        assertFalse(board.upsert(card(1L, 1, 2)));
+        assertTrue(board.remove(2L));
+        assertTrue(board.upsert(card(3L, 0, 1)));
+
+        KanbanBoardDTO delta = board.read(epoch, 0L);
+        assertFalse(delta.getFull());
+        assertEquals(List.of(3L, 1L), delta.getChangedCards().stream().map(KanbanCardDTO::getTaskId).toList());
+        assertEquals(List.of(2L), delta.getRemovedTaskIds());
+
+        KanbanBoardDTO later = board.read(epoch, afterMove);
+        assertEquals(List.of(3L), later.getChangedCards().stream().map(KanbanCardDTO::getTaskId).toList());
+        assertEquals(board.getVersion(), later.getVersion());
+
+        assertTrue(board.read("other", 0L).getFull());
+    }
+
+    @Test
+    void shouldFallBackToSnapshotWhenTombstonesTrimmed() {
+        KanbanBoard board = new KanbanBoard(1L, List.of(card(1L, 0, 2), card(2L, 0, 2), card(3L, 0, 2)), 1);
+        String epoch = board.getEpoch();
+
+        board.remove(1L);
+        board.remove(2L);
+
+        assertTrue(board.read(epoch, 0L).getFull());
+        KanbanBoardDTO delta = board.read(epoch, 1L);
+        assertFalse(delta.getFull());
+        assertEquals(List.of(2L), delta.getRemovedTaskIds());
+    }
+
+    private static KanbanCardDTO card(Long taskId, int status, int rank) {
+        return KanbanCardDTO.builder()
+                .taskId(taskId)
+                .title("任务" + taskId)
+                .status(status)
+                .sortRank("a" + rank)
+                .checkItemCount(0)
+                .checkItemCompletedCount(0)
+                .commentCount(0)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.promanage.service.dependency;
+
+import com.promanage.service.dto.TaskDependencyEdge;
+import com.promanage.service.entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectScheduleTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void shouldFindCriticalPathThroughDiamond() {
+        // 1 -> {2, 3} -> 4，任务 2 工期 3 天，任务 3 工期 1 天
+        ProjectSchedule schedule = ProjectSchedule.compute(
+                List.of(task(1, 16), task(2, 24), task(3, 8), task(4, 8)),
+                List.of(edge(2, 1), edge(3, 1), edge(4, 2), edge(4, 3)), START);
+
+        assertEquals(List.of(1L, 2L, 4L), schedule.criticalPath());
+        assertEquals(START.plusDays(5), schedule.getProjectFinish());
+
+        Map<Long, ProjectSchedule.TaskTiming> timings = byId(schedule);
+        assertEquals(0, timings.get(2L).slackDays());
+        assertEquals(2, timings.get(3L).slackDays());
+        assertFalse(timings.get(3L).critical());
+        assertEquals(START.plusDays(2), timings.get(3L).earliestStart());
+        assertEquals(START.plusDays(4), timings.get(3L).latestStart());
+        assertEquals(START.plusDays(5), timings.get(4L).earliestFinish());
+    }
+
+    @Test
+    void shouldMatchFullRecomputeAfterTaskUpdate() {
+        List<Task> tasks = new ArrayList<>(List.of(task(1, 16), task(2, 24), task(3, 8), task(4, 8)));
+        List<TaskDependencyEdge> edges = List.of(edge(2, 1), edge(3, 1), edge(4, 2), edge(4, 3));
+        ProjectSchedule schedule = ProjectSchedule.compute(tasks, edges, START);
+
+        // 任务 3 工期延长到 5 天，关键路径改为经过任务 3
+        Task changed = task(3, 40);
+        assertTrue(schedule.updateTask(changed));
+        tasks.set(2, changed);
+        ProjectSchedule expected = ProjectSchedule.compute(tasks, edges, START);
+
+        assertEquals(expected.timings(), schedule.timings());
+        assertEquals(List.of(1L, 3L, 4L), schedule.criticalPath());
+        assertFalse(schedule.updateTask(task(99, 8)));
+    }
+
+    @Test
+    void shouldMatchFullRecomputeAfterDependencyChange() {
+        List<Task> tasks = List.of(task(1, 16), task(2, 24), task(3, 8), task(4, 8));
+        ProjectSchedule schedule = ProjectSchedule.compute(tasks,
+                List.of(edge(2, 1), edge(4, 2)), START);
+
+        assertTrue(schedule.updateDependency(3, 2, true));
+        assertEquals(byId(ProjectSchedule.compute(tasks, List.of(edge(2, 1), edge(4, 2), edge(3, 2)), START)),
+                byId(schedule));
+
+        assertTrue(schedule.updateDependency(4, 2, false));
+        assertEquals(byId(ProjectSchedule.compute(tasks, List.of(edge(2, 1), edge(3, 2)), START)),
+                byId(schedule));
+        assertEquals(List.of(1L, 2L, 3L), schedule.criticalPath());
+    }
+
+    @Test
+    void shouldDeriveDurationFromDatesAndStatus() {
+        Task dated = task(1, null);
+        dated.setStartDate(START);
+        dated.setDueDate(START.plusDays(4));
+        assertEquals(5, ProjectSchedule.durationOf(dated));
+
+        Task cancelled = task(2, 80);
+        cancelled.setStatus(4);
+        assertEquals(0, ProjectSchedule.durationOf(cancelled));
+
+        assertEquals(1, ProjectSchedule.durationOf(task(3, null)));
+        assertEquals(2, ProjectSchedule.durationOf(task(4, 9)));
+    }
+
+    @Test
+    void shouldRejectCycle() {
+        assertThrows(IllegalStateException.class, () -> ProjectSchedule.compute(
+                List.of(task(1, 8), task(2, 8)), List.of(edge(1, 2), edge(2, 1)), START));
+    }
+
+    private static Map<Long, ProjectSchedule.TaskTiming> byId(ProjectSchedule schedule) {
+        return schedule.timings().stream()
+                .collect(Collectors.toMap(ProjectSchedule.TaskTiming::taskId, Function.identity()));
+    }
+
+    private static Task task(long id, Integer estimatedHours) {
+        Task task = new Task();
+        task.setId(id);
+        task.setProjectId(1L);
+        task.setStatus(0);
+        task.setEstimatedHours(estimatedHours == null ? null : estimatedHours.doubleValue());
+        return task;
+    }
+
+    private static TaskDependencyEdge edge(long dependent, long prerequisite) {
+        TaskDependencyEdge edge = new TaskDependencyEdge();
+        edge.setDependentTaskId(dependent);
+        edge.setPrerequisiteTaskId(prerequisite);
+        edge.setCrossProject(false);
+        return edge;
+    }
+}
@@ -0,0 +1,104 @@
+package com.promanage.service.dependency;
+
+import com.promanage.service.dto.TaskDependencyEdge;
+import com.promanage.service.entity.Task;
+import com.promanage.service.mapper.TaskDependencyMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TaskDependencyGraphTest {
+
+    @Test
+    void shouldDetectCycleThroughDiamond() {
+        // 4 -> 2 -> 1, 4 -> 3 -> 1 （后置任务 -> 前置任务）
+        TaskDependencyGraph graph = TaskDependencyGraph.of(List.of(
+                edge(2, 1), edge(3, 1), edge(4, 2), edge(4, 3)));
+
+        assertTrue(graph.dependsOn(4, 1));
+        assertFalse(graph.dependsOn(1, 4));
+        assertTrue(graph.wouldCreateCycle(1, 4));
+        assertFalse(graph.wouldCreateCycle(4, 1));
+        assertTrue(graph.wouldCreateCycle(5, 5));
+        assertEquals(Set.of(1L, 2L, 3L), graph.transitivePrerequisites(4));
+        assertEquals(Set.of(2L, 3L, 4L), graph.transitiveDependents(1));
+    }
+
+    @Test
+    void shouldHandleLongChainsIteratively() {
+        List<TaskDependencyEdge> edges = new ArrayList<>();
+        for (long i = 2; i <= 100_000; i++) {
+            edges.add(edge(i, i - 1));
+        }
+        TaskDependencyGraph graph = TaskDependencyGraph.of(edges);
+
+        assertTrue(graph.wouldCreateCycle(1, 100_000));
+        assertEquals(99_999, graph.transitivePrerequisites(100_000).size());
+        assertEquals(1L, graph.topologicalOrder().get(0));
+    }
+
+    @Test
+    void shouldUpdateIncrementallyAndInvalidateMemo() {
+        TaskDependencyGraph graph = TaskDependencyGraph.of(List.of(edge(2, 1), edge(3, 2)));
+        assertTrue(graph.dependsOn(3, 1));
+
+        assertTrue(graph.removeDependency(2, 1));
+        assertFalse(graph.removeDependency(2, 1));
+        assertFalse(graph.dependsOn(3, 1));
+        assertEquals(1, graph.edgeCount());
+
+        assertTrue(graph.addDependency(1, 3));
+        assertFalse(graph.addDependency(1, 3));
+        assertTrue(graph.wouldCreateCycle(2, 1));
+        assertEquals(List.of(2L, 3L, 1L), graph.topologicalOrder());
+
+        graph.addDependency(2, 1);
+        assertThrows(IllegalStateException.class, graph::topologicalOrder);
+    }
+
+    @Test
+    void cacheShouldFallBackToCteOnColdStartAndCrossProject() {
+        TaskDependencyMapper mapper = mock(TaskDependencyMapper.class);
+        when(mapper.findEdgesByProjectId(10L)).thenReturn(List.of(edge(2, 1)));
+        when(mapper.existsDependencyPath(anyLong(), anyLong())).thenReturn(false);
+        TaskDependencyGraphCache cache = new TaskDependencyGraphCache(mapper);
+
+        // 冷启动走CTE并加载依赖图
+        assertFalse(cache.wouldCreateCycle(task(3, 10), task(2, 10)));
+        verify(mapper, times(1)).existsDependencyPath(2L, 3L);
+        verify(mapper, times(1)).findEdgesByProjectId(10L);
+
+        // 之后使用内存依赖图
+        assertTrue(cache.wouldCreateCycle(task(1, 10), task(2, 10)));
+        verify(mapper, times(1)).existsDependencyPath(anyLong(), anyLong());
+
+        // 增量更新（无事务时立即生效）
+        cache.onDependencyAdded(task(3, 10), task(2, 10));
+        assertTrue(cache.wouldCreateCycle(task(1, 10), task(3, 10)));
+
+        // 跨项目依赖走CTE
+        cache.wouldCreateCycle(task(1, 10), task(7, 20));
+        verify(mapper).existsDependencyPath(7L, 1L);
+    }
+
+    private static TaskDependencyEdge edge(long dependent, long prerequisite) {
+        TaskDependencyEdge edge = new TaskDependencyEdge();
+        edge.setDependentTaskId(dependent);
+        edge.setPrerequisiteTaskId(prerequisite);
+        edge.setCrossProject(false);
+        return edge;
+    }
+
+    private static Task task(long id, long projectId) {
+        Task task = new Task();
+        task.setId(id);
+        task.setProjectId(projectId);
+        return task;
+    }
+}
@@ -0,0 +1,176 @@
+package com.promanage.service.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DomainEventBusTest {
+
+    private DomainEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void shouldKeepPublishOrderPerAggregate() throws InterruptedException {
+        int aggregates = 5;
+        int perAggregate = 200;
+        CountDownLatch done = new CountDownLatch(aggregates * perAggregate);
+        Map<Long, List<Long>> received = new ConcurrentHashMap<>();
+        bus = busOf(properties(4, 7, 10_000, 50), subscriber(event -> true, events -> events.forEach(event -> {
+            received.computeIfAbsent(event.aggregateId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(event.actorId());
+            done.countDown();
+        })));
+
+        for (long seq = 0; seq < perAggregate; seq++) {
+            for (long aggregateId = 1; aggregateId <= aggregates; aggregateId++) {
+                bus.dispatch(event(aggregateId, seq));
+            }
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (long aggregateId = 1; aggregateId <= aggregates; aggregateId++) {
+            List<Long> sequence = received.get(aggregateId);
+            assertEquals(perAggregate, sequence.size());
+            for (int i = 0; i < perAggregate; i++) {
+                assertEquals(i, sequence.get(i));
+            }
+        }
+        assertEquals(0, bus.getDroppedCount());
+    }
+
+    @Test
+    void shouldBatchEventsQueuedWhileSubscriberIsBusy() throws InterruptedException {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch secondBatch = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        bus = busOf(properties(1, 100, 10_000, 50), subscriber(event -> true, events -> {
+            batchSizes.add(events.size());
+            if (batchSizes.size() == 1) {
+                firstStarted.countDown();
+                await(release);
+            } else {
+                secondBatch.countDown();
+            }
+        }));
+
+        bus.dispatch(event(1L, 0));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        for (long seq = 1; seq <= 10; seq++) {
+            bus.dispatch(event(1L, seq));
+        }
+        release.countDown();
+
+        assertTrue(secondBatch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 10), batchSizes);
+    }
+
+    @Test
+    void shouldDropEventsWhenBacklogIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        bus = busOf(properties(1, 100, 2, 0), subscriber(event -> true, events -> {
+            started.countDown();
+            await(release);
+        }));
+
+        bus.dispatch(event(1L, 0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (long seq = 1; seq <= 4; seq++) {
+            bus.dispatch(event(1L, seq));
+        }
+
+        assertEquals(3, bus.getDroppedCount());
+        release.countDown();
+    }
+
+    @Test
+    void shouldIsolateFailingSubscriberAndApplyFilter() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        List<DomainEvent> accepted = Collections.synchronizedList(new ArrayList<>());
+        DomainEventSubscriber failing = subscriber(event -> true, events -> {
+            throw new IllegalStateException("boom");
+        });
+        DomainEventSubscriber filtered = subscriber(event -> event.aggregateType() == AggregateType.CHANGE_REQUEST, events -> {
+            accepted.addAll(events);
+            delivered.countDown();
+        });
+        bus = busOf(properties(2, 100, 10_000, 50), failing, filtered);
+
+        bus.dispatch(DomainEvent.project(1L, "PROJECT_UPDATED", 1L, "更新项目信息"));
+        bus.dispatch(DomainEvent.of(AggregateType.CHANGE_REQUEST, 9L, 1L, "CHANGE_REQUEST_CREATED", 1L, null));
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(1, accepted.size());
+        assertEquals("CHANGE_REQUEST_CREATED", accepted.get(0).action());
+        bus.shutdown();
+        assertTrue(bus.getFailedCount() >= 1);
+    }
+
+    private static DomainEventBus busOf(DomainEventBusProperties properties, DomainEventSubscriber... subscribers) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<DomainEventSubscriber> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenReturn(Stream.of(subscribers));
+        return new DomainEventBus(provider, properties);
+    }
+
+    private static DomainEventBusProperties properties(int lanes, int maxBatchSize, int maxPending, long publishTimeoutMs) {
+        DomainEventBusProperties properties = new DomainEventBusProperties();
+        properties.setLanes(lanes);
+        properties.setMaxBatchSize(maxBatchSize);
+        properties.setMaxPendingPerSubscriber(maxPending);
+        properties.setPublishTimeoutMs(publishTimeoutMs);
+        properties.setShutdownTimeoutSeconds(5);
+        return properties;
+    }
+
+    private static DomainEventSubscriber subscriber(Predicate<DomainEvent> filter,
+                                                    Consumer<List<DomainEvent>> handler) {
+        return new DomainEventSubscriber() {
+            @Override
+            public boolean supports(DomainEvent event) {
+                return filter.test(event);
+            }
+
+            @Override
+            public void handle(List<DomainEvent> events) {
+                handler.accept(events);
+            }
+        };
+    }
+
+    /**
+     * 序号放在 actorId 中，便于校验处理顺序
+     */
+    private static DomainEvent event(Long aggregateId, long seq) {
+        return DomainEvent.of(AggregateType.TASK, aggregateId, 1L, "TASK_UPDATED", seq, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.promanage.service.folder;
+
+import com.promanage.service.dto.FolderDocumentCount;
+import com.promanage.service.entity.DocumentFolder;
+import com.promanage.service.mapper.DocumentFolderMapper;
+import com.promanage.service.service.IDocumentFolderService.DocumentFolderTreeNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FolderTreeCacheTest {
+
+    @Mock
+    private DocumentFolderMapper documentFolderMapper;
+
+    private FolderTreeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new FolderTreeCache(documentFolderMapper, new FolderTreeProperties());
+    }
+
+    @Test
+    void shouldBuildTreeWithDocumentCountsFromTwoQueries() {
+        when(documentFolderMapper.selectList(any())).thenReturn(List.of(
+                folder(1L, 0L), folder(2L, 1L), folder(3L, 1L), folder(4L, 99L)));
+        when(documentFolderMapper.countDocumentsByFolder(7L)).thenReturn(List.of(count(2L, 4), count(0L, 9)));
+
+        List<DocumentFolderTreeNode> roots = cache.getTree(7L);
+
+        assertEquals(1, roots.size());
+        DocumentFolderTreeNode root = roots.get(0);
+        assertEquals(0, root.getDocumentCount());
+        assertEquals(List.of(2L, 3L), root.getChildren().stream().map(DocumentFolderTreeNode::getId).toList());
+        assertEquals(4, root.getChildren().get(0).getDocumentCount());
+        verify(documentFolderMapper, never()).countDocumentsInFolder(anyLong());
+    }
+
+    @Test
+    void shouldServeCachedTreeUntilInvalidated() {
+        when(documentFolderMapper.selectList(any())).thenReturn(List.of(folder(1L, 0L)));
+        when(documentFolderMapper.countDocumentsByFolder(7L)).thenReturn(List.of());
+
+        assertSame(cache.getTree(7L), cache.getTree(7L));
+        verify(documentFolderMapper, times(1)).selectList(any());
+
+        cache.invalidateAfterCommit(7L);
+        cache.getTree(7L);
+        verify(documentFolderMapper, times(2)).selectList(any());
+    }
+
+    private static DocumentFolder folder(Long id, Long parentId) {
+        DocumentFolder folder = new DocumentFolder();
+        folder.setId(id);
+        folder.setName("Folder " + id);
+        folder.setProjectId(7L);
+        folder.setParentId(parentId);
+        return folder;
+    }
+
+    private static FolderDocumentCount count(Long folderId, int total) {
+        FolderDocumentCount count = new FolderDocumentCount();
+        count.setFolderId(folderId);
+        count.setTotal(total);
+        return count;
+    }
+}
@@ -0,0 +1,44 @@
+package com.promanage.service.impact;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promanage.service.entity.ChangeRequest;
+import com.promanage.service.entity.ChangeRequestImpact;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ChangeImpactAnalyzerTest {
+
+    @Test
+    void shouldNotReintroduceEntitiesAlreadyVerified() {
+        ProjectImpactGraph graph = new ProjectImpactGraph(System.currentTimeMillis(), Set.of());
+        graph.addLink(new ImpactLink(ImpactNode.task(2L), ImpactNode.task(1L), ImpactRelation.DEPENDS_ON));
+        graph.addLink(new ImpactLink(ImpactNode.task(3L), ImpactNode.task(1L), ImpactRelation.DEPENDS_ON));
+        ImpactGraphCache graphCache = mock(ImpactGraphCache.class);
+        when(graphCache.getGraph(9L)).thenReturn(graph);
+        when(graphCache.tagIdsByName(9L)).thenReturn(Map.of());
+        ChangeImpactAnalyzer analyzer = new ChangeImpactAnalyzer(graphCache, new ImpactAnalysisProperties(), new ObjectMapper());
+
+        ChangeRequest changeRequest = new ChangeRequest();
+        changeRequest.setId(1L);
+        changeRequest.setProjectId(9L);
+        List<ChangeRequestImpact> impacts = analyzer.analyze(changeRequest, List.of(
+                verified(1L, true), verified(2L, false)));
+
+        assertEquals(List.of(3L), impacts.stream().map(ChangeRequestImpact::getEntityId).toList());
+    }
+
+    private static ChangeRequestImpact verified(Long taskId, boolean valid) {
+        ChangeRequestImpact impact = new ChangeRequestImpact();
+        impact.setEntityType(ImpactNodeType.TASK.name());
+        impact.setEntityId(taskId);
+        impact.setIsVerified(true);
+        impact.setIsValid(valid);
+        return impact;
+    }
+}
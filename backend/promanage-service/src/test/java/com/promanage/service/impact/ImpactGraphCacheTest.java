@@ -0,0 +1,191 @@
+package com.promanage.service.impact;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.promanage.common.entity.User;
+import com.promanage.service.dto.TaskDependencyEdge;
+import com.promanage.service.entity.Document;
+import com.promanage.service.entity.DocumentTag;
+import com.promanage.service.entity.ProjectMember;
+import com.promanage.service.entity.Tag;
+import com.promanage.service.entity.Task;
+import com.promanage.service.entity.TestCase;
+import com.promanage.service.event.TaskChangedEvent;
+import com.promanage.service.mapper.DocumentMapper;
+import com.promanage.service.mapper.DocumentTagMapper;
+import com.promanage.service.mapper.ProjectMemberMapper;
+import com.promanage.service.mapper.TagMapper;
+import com.promanage.service.mapper.TaskDependencyMapper;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.mapper.TestCaseMapper;
+import com.promanage.service.mapper.UserMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImpactGraphCacheTest {
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private TaskDependencyMapper taskDependencyMapper;
+
+    @Mock
+    private TestCaseMapper testCaseMapper;
+
+    @Mock
+    private DocumentMapper documentMapper;
+
+    @Mock
+    private DocumentTagMapper documentTagMapper;
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @Mock
+    private ProjectMemberMapper projectMemberMapper;
+
+    @Mock
+    private UserMapper userMapper;
+
+    private ImpactGraphCache cache;
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, Task.class);
+        TableInfoHelper.initTableInfo(assistant, Document.class);
+        TableInfoHelper.initTableInfo(assistant, DocumentTag.class);
+        TableInfoHelper.initTableInfo(assistant, TestCase.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new ImpactGraphCache(taskMapper, taskDependencyMapper, testCaseMapper, documentMapper,
+                documentTagMapper, tagMapper, projectMemberMapper, userMapper, new ImpactAnalysisProperties());
+    }
+
+    @Test
+    void shouldBuildGraphFromProjectQueries() {
+        stubProject();
+
+        ProjectImpactGraph graph = cache.getGraph(1L);
+
+        assertTrue(graph.linksOf(ImpactNode.task(2L)).contains(
+                new ImpactLink(ImpactNode.task(2L), ImpactNode.task(1L), ImpactRelation.SUBTASK_OF)));
+        assertTrue(graph.linksOf(ImpactNode.task(2L)).contains(
+                new ImpactLink(ImpactNode.task(2L), ImpactNode.task(3L), ImpactRelation.DEPENDS_ON)));
+        assertTrue(graph.linksOf(ImpactNode.task(1L)).contains(
+                new ImpactLink(ImpactNode.task(1L), ImpactNode.user(5L), ImpactRelation.ASSIGNED_TO)));
+        assertTrue(graph.linksOf(ImpactNode.task(1L)).contains(
+                new ImpactLink(ImpactNode.task(1L), ImpactNode.tag(7L), ImpactRelation.TAGGED)));
+        assertTrue(graph.linksOf(ImpactNode.document(20L)).contains(
+                new ImpactLink(ImpactNode.document(20L), ImpactNode.tag(7L), ImpactRelation.TAGGED)));
+        assertTrue(graph.linksOf(ImpactNode.testCase(30L)).contains(
+                new ImpactLink(ImpactNode.testCase(30L), ImpactNode.task(1L), ImpactRelation.VERIFIES)));
+        // 非项目成员的负责人、未在项目标签中的文档标签、跨项目依赖不进入影响图
+        assertFalse(graph.contains(ImpactNode.user(6L)));
+        assertFalse(graph.contains(ImpactNode.tag(99L)));
+        assertFalse(graph.contains(ImpactNode.task(40L)));
+        assertEquals("登录改造", graph.getTitle(ImpactNode.task(1L)));
+        assertEquals("张三", graph.getTitle(ImpactNode.user(5L)));
+        assertEquals("auth", graph.getTitle(ImpactNode.tag(7L)));
+        verify(tagMapper).findByProjectId(1L);
+    }
+
+    @Test
+    void shouldEvictOnlyAffectedProjectWhenRefreshFails() {
+        stubProject();
+        ProjectImpactGraph first = cache.getGraph(1L);
+        when(projectMemberMapper.findByProjectId(2L)).thenReturn(List.of());
+        when(tagMapper.findByProjectId(2L)).thenReturn(List.of());
+        when(taskMapper.selectList(any())).thenReturn(List.of());
+        when(documentMapper.selectList(any())).thenReturn(List.of());
+        when(testCaseMapper.selectList(any())).thenReturn(List.of());
+        ProjectImpactGraph second = cache.getGraph(2L);
+        when(taskMapper.selectById(1L)).thenReturn(task(1L, "登录改造", null, 5L, "auth"));
+        when(tagMapper.findByProjectId(1L)).thenThrow(new IllegalStateException("db down"));
+
+        cache.onTaskChanged(TaskChangedEvent.of(1L));
+
+        Tag tag = new Tag();
+        tag.setId(7L);
+        tag.setName("auth");
+        doReturn(List.of(tag)).when(tagMapper).findByProjectId(1L);
+        assertNotSame(first, cache.getGraph(1L));
+        assertSame(second, cache.getGraph(2L));
+    }
+
+    private void stubProject() {
+        when(projectMemberMapper.findByProjectId(1L)).thenReturn(List.of(member(5L)));
+        User user = new User();
+        user.setId(5L);
+        user.setRealName("张三");
+        when(userMapper.selectByIds(anyCollection())).thenReturn(List.of(user));
+        Tag tag = new Tag();
+        tag.setId(7L);
+        tag.setName("auth");
+        when(tagMapper.findByProjectId(1L)).thenReturn(List.of(tag));
+
+        when(taskMapper.selectList(any())).thenReturn(List.of(
+                task(1L, "登录改造", null, 5L, "Auth"),
+                task(2L, "登录页", 1L, 6L, null),
+                task(3L, "认证服务", null, null, null)));
+        TaskDependencyEdge edge = new TaskDependencyEdge();
+        edge.setDependentTaskId(2L);
+        edge.setPrerequisiteTaskId(3L);
+        edge.setCrossProject(false);
+        TaskDependencyEdge crossProject = new TaskDependencyEdge();
+        crossProject.setDependentTaskId(3L);
+        crossProject.setPrerequisiteTaskId(40L);
+        crossProject.setCrossProject(true);
+        when(taskDependencyMapper.findEdgesByProjectId(1L)).thenReturn(List.of(edge, crossProject));
+
+        Document document = new Document();
+        document.setId(20L);
+        document.setTitle("认证设计");
+        when(documentMapper.selectList(any())).thenReturn(List.of(document));
+        when(documentTagMapper.selectList(any())).thenReturn(List.of(documentTag(20L, 7L), documentTag(20L, 99L)));
+
+        TestCase testCase = new TestCase();
+        testCase.setId(30L);
+        testCase.setTitle("登录成功");
+        testCase.setTaskId(1L);
+        when(testCaseMapper.selectList(any())).thenReturn(List.of(testCase));
+    }
+
+    private static Task task(Long id, String title, Long parentTaskId, Long assigneeId, String tags) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setProjectId(1L);
+        task.setParentTaskId(parentTaskId);
+        task.setAssigneeId(assigneeId);
+        task.setTags(tags);
+        return task;
+    }
+
+    private static ProjectMember member(Long userId) {
+        ProjectMember member = new ProjectMember();
+        member.setUserId(userId);
+        return member;
+    }
+
+    private static DocumentTag documentTag(Long documentId, Long tagId) {
+        DocumentTag documentTag = new DocumentTag();
+        documentTag.setDocumentId(documentId);
+        documentTag.setTagId(tagId);
+        return documentTag;
+    }
+}
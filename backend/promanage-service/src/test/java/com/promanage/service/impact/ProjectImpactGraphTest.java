@@ -0,0 +1,120 @@
+package com.promanage.service.impact;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectImpactGraphTest {
+
+    private static final ImpactNode TASK_1 = ImpactNode.task(1L);
+    private static final ImpactNode TASK_2 = ImpactNode.task(2L);
+    private static final ImpactNode TASK_3 = ImpactNode.task(3L);
+    private static final ImpactNode TASK_4 = ImpactNode.task(4L);
+    private static final ImpactNode TEST_CASE_10 = ImpactNode.testCase(10L);
+    private static final ImpactNode DOCUMENT_20 = ImpactNode.document(20L);
+    private static final ImpactNode USER_5 = ImpactNode.user(5L);
+    private static final ImpactNode TAG_7 = ImpactNode.tag(7L);
+
+    private ProjectImpactGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new ProjectImpactGraph(System.currentTimeMillis(), Set.of(5L));
+        graph.addLink(new ImpactLink(TASK_2, TASK_1, ImpactRelation.DEPENDS_ON));
+        graph.addLink(new ImpactLink(TASK_4, TASK_2, ImpactRelation.DEPENDS_ON));
+        graph.addLink(new ImpactLink(TEST_CASE_10, TASK_1, ImpactRelation.VERIFIES));
+        graph.addLink(new ImpactLink(TASK_1, USER_5, ImpactRelation.ASSIGNED_TO));
+        graph.addLink(new ImpactLink(TASK_3, USER_5, ImpactRelation.ASSIGNED_TO));
+        graph.addLink(new ImpactLink(TASK_1, TAG_7, ImpactRelation.TAGGED));
+        graph.addLink(new ImpactLink(DOCUMENT_20, TAG_7, ImpactRelation.TAGGED));
+        graph.putTitle(TASK_1, "登录改造");
+    }
+
+    @Test
+    void shouldDecayConfidenceAlongRelations() {
+        Map<ImpactNode, ProjectImpactGraph.ImpactResult> results = propagate(4, 0.2);
+
+        assertEquals(0.9, results.get(TASK_2).confidence(), 1e-9);
+        assertEquals(0.9, results.get(TEST_CASE_10).confidence(), 1e-9);
+        assertEquals(0.81, results.get(TASK_4).confidence(), 1e-9);
+        assertEquals(2, results.get(TASK_4).depth());
+        assertEquals(TASK_2, results.get(TASK_4).via());
+        assertEquals(TASK_1, results.get(TASK_4).seed());
+        assertEquals(0.7, results.get(USER_5).confidence(), 1e-9);
+        assertEquals(0.6, results.get(DOCUMENT_20).confidence(), 1e-9);
+        assertFalse(results.containsKey(TASK_1), "起点不应出现在结果中");
+        assertFalse(results.containsKey(TAG_7), "标签只用于传播，不作为影响实体");
+    }
+
+    @Test
+    void shouldNotPropagateThroughPeople() {
+        Map<ImpactNode, ProjectImpactGraph.ImpactResult> results = propagate(4, 0.0);
+
+        assertTrue(results.containsKey(USER_5));
+        assertFalse(results.containsKey(TASK_3), "同一负责人的其他任务不受影响");
+    }
+
+    @Test
+    void shouldStopAtMaxDepthAndMinConfidence() {
+        assertFalse(propagate(1, 0.2).containsKey(TASK_4));
+
+        Map<ImpactNode, ProjectImpactGraph.ImpactResult> strict = propagate(4, 0.85);
+        assertEquals(Set.of(TASK_2, TEST_CASE_10), strict.keySet());
+
+        List<ProjectImpactGraph.ImpactResult> limited = graph.propagate(Map.of(TASK_1, 1.0), 4, 0.2, 2);
+        assertEquals(2, limited.size());
+        assertTrue(limited.get(0).confidence() >= limited.get(1).confidence());
+    }
+
+    @Test
+    void shouldKeepHighestConfidencePath() {
+        // 任务4 同时直接依赖任务1，直接路径 0.9 优于经任务2 的 0.81
+        graph.addLink(new ImpactLink(TASK_4, TASK_1, ImpactRelation.DEPENDS_ON));
+
+        ProjectImpactGraph.ImpactResult result = propagate(4, 0.2).get(TASK_4);
+        assertEquals(0.9, result.confidence(), 1e-9);
+        assertEquals(1, result.depth());
+        assertEquals(TASK_1, result.via());
+    }
+
+    @Test
+    void shouldReplaceAndRemoveNodeLinksIncrementally() {
+        // 任务2 不再依赖任务1，改为任务3 的子任务
+        graph.replaceLinks(TASK_2, "拆分后的任务",
+                link -> link.from().equals(TASK_2), List.of(new ImpactLink(TASK_2, TASK_3, ImpactRelation.SUBTASK_OF)));
+
+        assertEquals("拆分后的任务", graph.getTitle(TASK_2));
+        assertTrue(graph.linksOf(TASK_1).stream().noneMatch(link -> link.other(TASK_1).equals(TASK_2)));
+        assertTrue(graph.linksOf(TASK_2).stream().anyMatch(link -> link.from().equals(TASK_4)), "后置任务的关系不属于任务2，应保留");
+        Map<ImpactNode, ProjectImpactGraph.ImpactResult> results = propagate(4, 0.2);
+        assertFalse(results.containsKey(TASK_2));
+        assertFalse(results.containsKey(TASK_4));
+
+        int before = graph.linkCount();
+        assertTrue(graph.removeNode(TEST_CASE_10));
+        assertFalse(graph.contains(TEST_CASE_10));
+        assertEquals(before - 1, graph.linkCount());
+        assertFalse(propagate(4, 0.2).containsKey(TEST_CASE_10));
+        assertFalse(graph.removeNode(TEST_CASE_10));
+    }
+
+    @Test
+    void shouldMapConfidenceToImpactLevel() {
+        assertEquals("CRITICAL", ChangeImpactAnalyzer.impactLevel(0.9));
+        assertEquals("HIGH", ChangeImpactAnalyzer.impactLevel(0.7));
+        assertEquals("MEDIUM", ChangeImpactAnalyzer.impactLevel(0.4));
+        assertEquals("LOW", ChangeImpactAnalyzer.impactLevel(0.39));
+    }
+
+    private Map<ImpactNode, ProjectImpactGraph.ImpactResult> propagate(int maxDepth, double minConfidence) {
+        return graph.propagate(Map.of(TASK_1, 1.0), maxDepth, minConfidence, 100).stream()
+                .collect(Collectors.toMap(ProjectImpactGraph.ImpactResult::node, Function.identity()));
+    }
+}
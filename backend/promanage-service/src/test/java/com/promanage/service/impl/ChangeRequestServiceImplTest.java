@@ -0,0 +1,141 @@
+package com.promanage.service.impl;
+
+import com.promanage.common.enums.ChangeRequestStatus;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.service.IProjectService;
+import com.promanage.service.approval.ApprovalStageSpec;
+import com.promanage.service.approval.ApprovalWorkflowEngine;
+import com.promanage.service.entity.ChangeRequest;
+import com.promanage.service.impact.ChangeImpactAnalyzer;
+import com.promanage.service.mapper.ApprovalInboxMapper;
+import com.promanage.service.mapper.ChangeRequestApprovalMapper;
+import com.promanage.service.mapper.ChangeRequestImpactMapper;
+import com.promanage.service.mapper.ChangeRequestMapper;
+import com.promanage.service.mapper.CommentMapper;
+import com.promanage.service.service.IPermissionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChangeRequestServiceImplTest {
+
+    private static final Long CHANGE_REQUEST_ID = 1L;
+    private static final Long PROJECT_ID = 100L;
+    private static final Long REQUESTER_ID = 10L;
+
+    @Mock
+    private ChangeRequestMapper changeRequestMapper;
+
+    @Mock
+    private ChangeRequestImpactMapper changeRequestImpactMapper;
+
+    @Mock
+    private ChangeRequestApprovalMapper changeRequestApprovalMapper;
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private IProjectService projectService;
+
+    @Mock
+    private IPermissionService permissionService;
+
+    @Mock
+    private ChangeImpactAnalyzer changeImpactAnalyzer;
+
+    @Mock
+    private ApprovalWorkflowEngine approvalWorkflowEngine;
+
+    @Mock
+    private ApprovalInboxMapper approvalInboxMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ChangeRequestServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new ChangeRequestServiceImpl(changeRequestMapper, changeRequestImpactMapper,
+                changeRequestApprovalMapper, commentMapper, projectService, permissionService,
+                changeImpactAnalyzer, approvalWorkflowEngine, approvalInboxMapper, eventPublisher);
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken("requester", null, List.of());
+        authentication.setDetails(Map.of("userId", REQUESTER_ID));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        ChangeRequest changeRequest = new ChangeRequest();
+        changeRequest.setId(CHANGE_REQUEST_ID);
+        changeRequest.setProjectId(PROJECT_ID);
+        changeRequest.setRequesterId(REQUESTER_ID);
+        changeRequest.setStatus(ChangeRequestStatus.DRAFT.getCode());
+        changeRequest.setTitle("调整登录流程");
+        changeRequest.setDeleted(false);
+        when(changeRequestMapper.selectById(CHANGE_REQUEST_ID)).thenReturn(changeRequest);
+        when(changeRequestMapper.updateById(any(ChangeRequest.class))).thenReturn(1);
+        when(permissionService.canAccessChangeRequest(REQUESTER_ID, CHANGE_REQUEST_ID)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectRequesterAsApprover() {
+        when(permissionService.isProjectAdmin(anyLong(), eq(PROJECT_ID))).thenReturn(true);
+
+        assertThrows(BusinessException.class, () -> service.submitChangeRequest(CHANGE_REQUEST_ID,
+                List.of(new ApprovalStageSpec(null, List.of(20L, REQUESTER_ID), 1, null)), REQUESTER_ID));
+
+        verify(approvalWorkflowEngine, never()).start(any(), any(), any());
+        verify(changeRequestMapper, never()).updateById(any(ChangeRequest.class));
+    }
+
+    @Test
+    void shouldRejectApproverWithoutApprovePermission() {
+        when(permissionService.isProjectAdmin(20L, PROJECT_ID)).thenReturn(true);
+        when(permissionService.isProjectAdmin(30L, PROJECT_ID)).thenReturn(false);
+
+        assertThrows(BusinessException.class, () -> service.submitChangeRequest(CHANGE_REQUEST_ID,
+                List.of(new ApprovalStageSpec(null, List.of(20L), 1, null),
+                        new ApprovalStageSpec(null, List.of(30L), 1, null)), REQUESTER_ID));
+
+        verify(approvalWorkflowEngine, never()).start(any(), any(), any());
+    }
+
+    @Test
+    void shouldStartWorkflowWithValidApprovers() {
+        when(permissionService.isProjectAdmin(20L, PROJECT_ID)).thenReturn(true);
+        List<ApprovalStageSpec> stages = List.of(new ApprovalStageSpec(null, List.of(20L), 1, null));
+
+        service.submitChangeRequest(CHANGE_REQUEST_ID, stages, REQUESTER_ID);
+
+        verify(approvalWorkflowEngine).start(any(ChangeRequest.class), eq(stages), eq(REQUESTER_ID));
+    }
+
+    @Test
+    void shouldRequireApprovePermissionForWorkflowDecision() {
+        when(approvalWorkflowEngine.hasWorkflow(CHANGE_REQUEST_ID)).thenReturn(true);
+        when(permissionService.canApproveChangeRequest(20L, CHANGE_REQUEST_ID)).thenReturn(false);
+
+        assertThrows(BusinessException.class,
+                () -> service.approveChangeRequest(CHANGE_REQUEST_ID, "APPROVED", "同意", 20L));
+
+        verify(approvalWorkflowEngine, never()).decide(anyLong(), anyLong(), anyBoolean(), any());
+    }
+}
@@ -1,6 +1,8 @@
 package com.promanage.service.impl;
 
+import com.promanage.common.exception.BusinessException;
 import com.promanage.service.entity.DocumentFolder;
+import com.promanage.service.folder.FolderTreeCache;
 import com.promanage.service.mapper.DocumentFolderMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,9 @@ class DocumentFolderServiceImplTest {
     @Mock
     private DocumentFolderMapper documentFolderMapper;
 
+    @Mock
+    private FolderTreeCache folderTreeCache;
+
     @InjectMocks
     private DocumentFolderServiceImpl documentFolderService;
 
@@ -46,6 +51,8 @@ class DocumentFolderServiceImplTest {
         assertNotNull(folderId);
         assertEquals(1L, folderId);
         verify(documentFolderMapper, times(1)).insert(any(DocumentFolder.class));
+        verify(documentFolderMapper).updatePath(1L, "/1/");
+        verify(folderTreeCache).invalidateAfterCommit(1L);
     }
 
     @Test
@@ -113,4 +120,45 @@ class DocumentFolderServiceImplTest {
         verify(documentFolderMapper, times(1)).selectById(1L);
         verify(documentFolderMapper, times(1)).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateFolder_shouldMoveSubtreeWithSinglePathUpdate() {
+        DocumentFolder moving = folder(5L, 3L, "/3/5/");
+        DocumentFolder target = folder(8L, 0L, "/8/");
+        when(documentFolderMapper.selectById(5L)).thenReturn(moving);
+        when(documentFolderMapper.selectById(8L)).thenReturn(target);
+
+        DocumentFolder update = new DocumentFolder();
+        update.setParentId(8L);
+        documentFolderService.updateFolder(5L, update);
+
+        assertEquals("/8/5/", moving.getPath());
+        verify(documentFolderMapper).updateById(moving);
+        verify(documentFolderMapper).replacePathPrefix(1L, "/3/5/", "/8/5/");
+        verify(folderTreeCache).invalidateAfterCommit(1L);
+    }
+
+    @Test
+    void updateFolder_shouldRejectMoveIntoOwnSubtree() {
+        when(documentFolderMapper.selectById(5L)).thenReturn(folder(5L, 3L, "/3/5/"));
+        when(documentFolderMapper.selectById(9L)).thenReturn(folder(9L, 5L, "/3/5/9/"));
+
+        DocumentFolder update = new DocumentFolder();
+        update.setParentId(9L);
+
+        assertThrows(BusinessException.class, () -> documentFolderService.updateFolder(5L, update));
+        verify(documentFolderMapper, never()).updateById(any(DocumentFolder.class));
+        verify(documentFolderMapper, never()).replacePathPrefix(any(), any(), any());
+    }
+
+    private static DocumentFolder folder(Long id, Long parentId, String path) {
+        DocumentFolder folder = new DocumentFolder();
+        folder.setId(id);
+        folder.setName("Folder " + id);
+        folder.setProjectId(1L);
+        folder.setParentId(parentId);
+        folder.setPath(path);
+        folder.setDeleted(false);
+        return folder;
+    }
+}
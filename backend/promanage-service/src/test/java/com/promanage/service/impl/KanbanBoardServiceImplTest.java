@@ -0,0 +1,126 @@
+package com.promanage.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.promanage.service.dto.response.KanbanBoardDTO;
+import com.promanage.service.dto.response.KanbanCardDTO;
+import com.promanage.service.entity.Project;
+import com.promanage.service.entity.Task;
+import com.promanage.service.mapper.ProjectMapper;
+import com.promanage.service.mapper.TaskCheckItemMapper;
+import com.promanage.service.mapper.TaskCommentMapper;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.mapper.UserMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class KanbanBoardServiceImplTest {
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private TaskCheckItemMapper taskCheckItemMapper;
+
+    @Mock
+    private TaskCommentMapper taskCommentMapper;
+
+    @Mock
+    private ProjectMapper projectMapper;
+
+    private KanbanBoardServiceImpl boardService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Task.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        boardService = new KanbanBoardServiceImpl(taskMapper, userMapper, taskCheckItemMapper, taskCommentMapper,
+                projectMapper);
+        when(projectMapper.selectById(anyLong())).thenAnswer(invocation -> {
+            Project project = new Project();
+            project.setId(invocation.getArgument(0));
+            return project;
+        });
+    }
+
+    @Test
+    void shouldReplayChangesCommittedWhileBoardIsBuilding() {
+        // 构建查询读到提交前的数据，期间提交的变更在看板放入缓存后重放
+        when(taskMapper.selectList(any()))
+                .thenAnswer(invocation -> {
+                    boardService.onTasksChanged(List.of(10L));
+                    return List.of(task(10L, 0));
+                })
+                .thenReturn(List.of(task(10L, 1)));
+
+        boardService.getBoard(1L, null, null);
+
+        assertEquals(1, statusOf(boardService.getBoard(1L, null, null), 10L));
+        verify(taskMapper, times(2)).selectList(any());
+    }
+
+    @Test
+    void shouldNotCacheBoardInvalidatedWhileBuilding() {
+        when(taskMapper.selectList(any()))
+                .thenAnswer(invocation -> {
+                    boardService.invalidate(1L);
+                    return List.of(task(10L, 0));
+                })
+                .thenReturn(List.of(task(10L, 2)));
+
+        assertEquals(0, statusOf(boardService.getBoard(1L, null, null), 10L));
+        assertEquals(2, statusOf(boardService.getBoard(1L, null, null), 10L));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBoard() {
+        when(taskMapper.selectList(any())).thenReturn(List.of());
+
+        for (long projectId = 1; projectId <= KanbanBoardServiceImpl.MAX_BOARDS + 1; projectId++) {
+            boardService.getBoard(projectId, null, null);
+        }
+        boardService.getBoard(2L, null, null);
+        boardService.getBoard(1L, null, null);
+
+        verify(projectMapper, times(2)).selectById(1L);
+        verify(projectMapper, times(1)).selectById(2L);
+    }
+
+    private static Integer statusOf(KanbanBoardDTO board, Long taskId) {
+        return board.getColumns().stream()
+                .flatMap(column -> column.getCards().stream())
+                .filter(card -> Objects.equals(card.getTaskId(), taskId))
+                .map(KanbanCardDTO::getStatus)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Task task(Long id, int status) {
+        Task task = new Task();
+        task.setId(id);
+        task.setProjectId(1L);
+        task.setTitle("任务" + id);
+        task.setStatus(status);
+        task.setSortRank("a0");
+        return task;
+    }
+}
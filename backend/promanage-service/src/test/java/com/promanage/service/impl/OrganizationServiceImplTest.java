@@ -9,15 +9,21 @@ import com.promanage.common.exception.BusinessException;
 import com.promanage.common.result.PageResult;
 import com.promanage.dto.OrganizationMemberDTO;
 import com.promanage.dto.OrganizationSettingsDTO;
-import com.promanage.dto.mapper.UserMapper;
 import com.promanage.service.mapper.OrganizationMapper;
+import com.promanage.service.mapper.OrganizationMemberMapper;
 import com.promanage.service.mapper.ProjectMapper;
+import com.promanage.service.organization.OrganizationMemberQuery;
+import com.promanage.service.organization.OrganizationMemberRow;
+import com.promanage.service.organization.OrganizationMemberSort;
+import com.promanage.service.pagination.KeysetPager;
+import com.promanage.service.pagination.SortKeyCursor;
 import com.promanage.service.service.IPermissionService;
 import com.promanage.service.service.IUserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -35,6 +41,8 @@ import jakarta.validation.Validator;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -65,7 +73,7 @@ class OrganizationServiceImplTest {
     private IPermissionService permissionService;
 
     @Mock
-    private UserMapper userMapper;
+    private OrganizationMemberMapper organizationMemberMapper;
 
     @Spy
     private ObjectMapper objectMapper = new ObjectMapper();
@@ -105,18 +113,6 @@ class OrganizationServiceImplTest {
         when(permissionService.isOrganizationMember(anyLong(), anyLong())).thenReturn(true);
         when(permissionService.isOrganizationAdmin(anyLong(), anyLong())).thenReturn(true);
         when(permissionService.isSuperAdmin(anyLong())).thenReturn(false);
-        when(userMapper.toOrganizationMember(any(User.class))).thenAnswer(invocation -> {
-            User user = invocation.getArgument(0);
-            return OrganizationMemberDTO.builder()
-                    .id(user.getId())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .realName(user.getRealName())
-                    .position(user.getPosition())
-                    .status(user.getStatus())
-                    .lastLoginTime(user.getLastLoginTime())
-                    .build();
-        });
     }
 
     // ==================== 组织CRUD功能测试 ====================
@@ -401,24 +397,117 @@ class OrganizationServiceImplTest {
     @DisplayName("获取组织成员列表 - 成功")
     void shouldListOrganizationMembers_withPagination() {
         // given
-        User member = new User();
-        member.setId(10L);
-        member.setUsername("member");
-        member.setEmail("member@example.com");
-        member.setOrganizationId(1L);
-
         when(organizationMapper.selectById(1L)).thenReturn(testOrganization);
-        when(userService.listByOrganizationId(1L)).thenReturn(Arrays.asList(member));
+        when(userService.countByOrganizationId(1L)).thenReturn(11L);
+        when(organizationMemberMapper.selectMembers(eq(1L), any())).thenReturn(List.of(memberRow(10L, "member")));
 
         // when
-        PageResult<OrganizationMemberDTO> result = organizationService.listOrganizationMembers(1L, 1L, 1, 10);
+        PageResult<OrganizationMemberDTO> result = organizationService.listOrganizationMembers(1L, 1L, 2, 10);
 
         // then
         assertThat(result.getList()).hasSize(1);
         OrganizationMemberDTO dto = result.getList().get(0);
-        assertThat(dto.getId()).isEqualTo(member.getId());
-        assertThat(dto.getUsername()).isEqualTo(member.getUsername());
-        assertThat(result.getTotal()).isEqualTo(1L);
+        assertThat(dto.getId()).isEqualTo(10L);
+        assertThat(dto.getUsername()).isEqualTo("member");
+        assertThat(result.getTotal()).isEqualTo(11L);
+
+        ArgumentCaptor<OrganizationMemberQuery> query = ArgumentCaptor.forClass(OrganizationMemberQuery.class);
+        verify(organizationMemberMapper).selectMembers(eq(1L), query.capture());
+        assertThat(query.getValue().getLimit()).isEqualTo(10);
+        assertThat(query.getValue().getOffset()).isEqualTo(10);
+        verify(userService, never()).listByOrganizationId(any());
+    }
+
+    @Test
+    @DisplayName("获取组织成员列表 - 缓存成员数落后时仍返回最后一页成员")
+    void shouldListLastPageMembers_whenCachedCountIsStale() {
+        when(organizationMapper.selectById(1L)).thenReturn(testOrganization);
+        when(userService.countByOrganizationId(1L)).thenReturn(10L);
+        when(organizationMemberMapper.selectMembers(eq(1L), any())).thenReturn(List.of(memberRow(11L, "newcomer")));
+
+        PageResult<OrganizationMemberDTO> result = organizationService.listOrganizationMembers(1L, 1L, 2, 10);
+
+        assertThat(result.getList()).extracting(OrganizationMemberDTO::getId).containsExactly(11L);
+        assertThat(result.getTotal()).isEqualTo(11L);
+    }
+
+    @Test
+    @DisplayName("游标分页获取组织成员 - 多取一行判断下一页并生成游标")
+    void shouldListMembersByCursor_withNextCursor() {
+        when(organizationMapper.selectById(1L)).thenReturn(testOrganization);
+        when(organizationMemberMapper.selectMembers(eq(1L), any()))
+                .thenReturn(List.of(memberRow(3L, "alice"), memberRow(7L, "bob"), memberRow(2L, "carol")));
+        when(userService.countByOrganizationId(1L)).thenReturn(3L);
+
+        PageResult<OrganizationMemberDTO> result = organizationService.listOrganizationMembersByCursor(
+                1L, 1L, null, 2, null, null, null, null, true);
+
+        assertThat(result.getList()).extracting(OrganizationMemberDTO::getId).containsExactly(3L, 7L);
+        assertThat(result.getHasNext()).isTrue();
+        assertThat(result.getHasPrevious()).isFalse();
+        assertThat(result.getTotal()).isEqualTo(3L);
+        assertThat(SortKeyCursor.decode(result.getNextCursor(), "NAME"))
+                .isEqualTo(new SortKeyCursor("NAME", "bob", 7L, true));
+
+        ArgumentCaptor<OrganizationMemberQuery> query = ArgumentCaptor.forClass(OrganizationMemberQuery.class);
+        verify(organizationMemberMapper).selectMembers(eq(1L), query.capture());
+        assertThat(query.getValue().getLimit()).isEqualTo(3);
+        assertThat(query.getValue().getAfterId()).isNull();
+        assertThat(query.getValue().getDirection()).isEqualTo("ASC");
+        verify(organizationMemberMapper, never()).countMembers(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("游标分页获取组织成员 - 过滤条件和游标位置下推到查询")
+    void shouldPushDownFiltersAndCursor() {
+        when(organizationMapper.selectById(1L)).thenReturn(testOrganization);
+        when(organizationMemberMapper.selectMembers(eq(1L), any()))
+                .thenReturn(List.of(memberRow(9L, "2025-10-01 09:00:00")));
+        when(organizationMemberMapper.countMembers(eq(1L), any(), eq(KeysetPager.MAX_COUNT))).thenReturn(4L);
+        String cursor = new SortKeyCursor("JOINED", "2025-10-02 09:00:00", 12L, true).encode();
+
+        PageResult<OrganizationMemberDTO> result = organizationService.listOrganizationMembersByCursor(
+                1L, 1L, cursor, 20, "Li_", "DEVELOPER", 1, "joined", true);
+
+        assertThat(result.getList()).hasSize(1);
+        assertThat(result.getHasNext()).isFalse();
+        assertThat(result.getHasPrevious()).isTrue();
+        assertThat(result.getTotal()).isEqualTo(4L);
+
+        ArgumentCaptor<OrganizationMemberQuery> query = ArgumentCaptor.forClass(OrganizationMemberQuery.class);
+        verify(organizationMemberMapper).selectMembers(eq(1L), query.capture());
+        OrganizationMemberQuery captured = query.getValue();
+        assertThat(captured.getSort()).isEqualTo(OrganizationMemberSort.JOINED);
+        assertThat(captured.getNamePrefix()).isEqualTo("li\\_%");
+        assertThat(captured.getRoleCode()).isEqualTo("DEVELOPER");
+        assertThat(captured.getStatus()).isEqualTo(1);
+        assertThat(captured.getAfterKey()).isEqualTo("2025-10-02 09:00:00");
+        assertThat(captured.getAfterId()).isEqualTo(12L);
+        // 加入时间倒序，下一页向更早的时间扫描
+        assertThat(captured.getComparator()).isEqualTo("<");
+        assertThat(captured.getDirection()).isEqualTo("DESC");
+        verify(userService, never()).countByOrganizationId(any());
+    }
+
+    @Test
+    @DisplayName("游标分页获取组织成员 - 游标与排序方式不符")
+    void shouldRejectCursor_whenSortChanged() {
+        when(organizationMapper.selectById(1L)).thenReturn(testOrganization);
+        String cursor = new SortKeyCursor("NAME", "bob", 7L, true).encode();
+
+        assertThatThrownBy(() -> organizationService.listOrganizationMembersByCursor(
+                1L, 1L, cursor, 20, null, null, null, "STATUS", false))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("分页游标不合法");
+        verify(organizationMemberMapper, never()).selectMembers(any(), any());
+    }
+
+    private static OrganizationMemberRow memberRow(Long id, String sortKey) {
+        OrganizationMemberRow row = new OrganizationMemberRow();
+        row.setId(id);
+        row.setUsername(sortKey);
+        row.setSortKey(sortKey);
+        return row;
     }
 
     // ==================== 组织状态管理测试 ====================
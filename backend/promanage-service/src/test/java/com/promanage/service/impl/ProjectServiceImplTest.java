@@ -6,7 +6,6 @@ import com.promanage.common.exception.BusinessException;
 import com.promanage.common.result.PageResult;
 import com.promanage.dto.CreateProjectRequestDTO;
 import com.promanage.dto.ProjectMemberDTO;
-import com.promanage.service.IProjectActivityService;
 import com.promanage.service.mapper.ProjectDtoMapper;
 import com.promanage.service.mapper.ProjectMapper;
 import com.promanage.service.mapper.ProjectMemberMapper;
@@ -19,6 +18,7 @@ import com.promanage.service.service.IUserService;
 import com.promanage.service.entity.Project;
 import com.promanage.service.entity.ProjectMember;
 import com.promanage.service.entity.Role;
+import com.promanage.service.notification.NotificationRecipientCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +26,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -63,7 +64,9 @@ class ProjectServiceImplTest {
     @Mock
     private ChangeRequestMapper changeRequestMapper;
     @Mock
-    private IProjectActivityService projectActivityService;
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private NotificationRecipientCache recipientCache;
 
     @InjectMocks
     private ProjectServiceImpl projectService;
@@ -0,0 +1,170 @@
+package com.promanage.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.promanage.common.entity.User;
+import com.promanage.service.dto.TaskChildCount;
+import com.promanage.service.dto.TaskDetailBundle;
+import com.promanage.service.entity.Task;
+import com.promanage.service.entity.TaskActivity;
+import com.promanage.service.entity.TaskAttachment;
+import com.promanage.service.entity.TaskCheckItem;
+import com.promanage.service.entity.TaskComment;
+import com.promanage.service.event.TaskChangedEvent;
+import com.promanage.service.mapper.TaskActivityMapper;
+import com.promanage.service.mapper.TaskAttachmentMapper;
+import com.promanage.service.mapper.TaskCheckItemMapper;
+import com.promanage.service.mapper.TaskCommentMapper;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.mapper.UserMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TaskDetailServiceImplTest {
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private TaskCommentMapper taskCommentMapper;
+
+    @Mock
+    private TaskActivityMapper taskActivityMapper;
+
+    @Mock
+    private TaskAttachmentMapper taskAttachmentMapper;
+
+    @Mock
+    private TaskCheckItemMapper taskCheckItemMapper;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @InjectMocks
+    private TaskDetailServiceImpl detailService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        for (Class<?> entity : List.of(Task.class, TaskComment.class, TaskActivity.class,
+                TaskAttachment.class, TaskCheckItem.class)) {
+            TableInfoHelper.initTableInfo(assistant, entity);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        detailService.shutdown();
+    }
+
+    @Test
+    void shouldAssembleDetailWithBatchedLookups() {
+        Task task = task(1L, null, 10L);
+        Task subtask = task(2L, 1L, 11L);
+        when(taskMapper.selectById(1L)).thenReturn(task);
+        // 各部分并发查询，按条件区分子任务查询和依赖任务查询
+        when(taskMapper.selectList(any())).thenAnswer(inv -> {
+            Wrapper<Task> wrapper = inv.getArgument(0);
+            return wrapper.getSqlSegment().contains("tb_task_dependency") ? List.of() : List.of(subtask);
+        });
+        TaskComment reply = comment(100L, 20L, 99L);
+        when(taskCommentMapper.selectList(any())).thenReturn(List.of(reply));
+        when(taskCommentMapper.selectByIds(anyCollection())).thenReturn(List.of(comment(99L, 21L, null)));
+        TaskActivity activity = new TaskActivity();
+        activity.setId(7L);
+        activity.setUserId(22L);
+        when(taskActivityMapper.selectList(any())).thenReturn(List.of(activity));
+        when(taskAttachmentMapper.selectList(any())).thenReturn(List.of());
+        when(taskCheckItemMapper.selectList(any())).thenReturn(List.of());
+        when(taskCommentMapper.countByTaskIds(anyCollection())).thenReturn(List.of(count(1L, 3)));
+        when(taskAttachmentMapper.countByTaskIds(anyCollection())).thenReturn(List.of());
+        when(taskMapper.countSubtasksByParentIds(anyCollection())).thenReturn(List.of(count(1L, 1)));
+        when(taskCommentMapper.countRepliesByParentIds(anyCollection())).thenReturn(List.of());
+        when(userMapper.selectByIds(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().map(TaskDetailServiceImplTest::user).toList();
+        });
+
+        TaskDetailBundle detail = detailService.getTaskDetail(1L);
+
+        assertEquals(List.of(subtask), detail.getSubtasks());
+        assertEquals(3, detail.getCommentCounts().get(1L));
+        assertEquals(1, detail.getSubtaskCounts().get(1L));
+        assertEquals(21L, detail.getParentComments().get(99L).getAuthorId());
+        assertEquals(Map.of(), detail.getReplyCounts());
+        // 负责人、报告人、评论作者、父评论作者、活动用户一次查询解析
+        assertEquals(Set.of(10L, 11L, 5L, 20L, 21L, 22L), detail.getUsers().keySet());
+        verify(userMapper, times(1)).selectByIds(anyCollection());
+        verify(taskCommentMapper, never()).countReplies(anyLong());
+    }
+
+    @Test
+    void shouldServeFromCacheUntilTaskChanged() {
+        when(taskMapper.selectById(1L)).thenReturn(task(1L, null, 10L));
+        when(taskMapper.selectList(any())).thenReturn(List.of());
+        when(taskCommentMapper.selectList(any())).thenReturn(List.of());
+        when(taskActivityMapper.selectList(any())).thenReturn(List.of());
+        when(taskAttachmentMapper.selectList(any())).thenReturn(List.of());
+        when(taskCheckItemMapper.selectList(any())).thenReturn(List.of());
+        when(userMapper.selectByIds(anyCollection())).thenReturn(List.of(user(10L), user(5L)));
+
+        TaskDetailBundle first = detailService.getTaskDetail(1L);
+        assertSame(first, detailService.getTaskDetail(1L));
+        verify(taskMapper, times(1)).selectById(1L);
+
+        detailService.onTaskChanged(TaskChangedEvent.of(1L, null));
+        assertNotSame(first, detailService.getTaskDetail(1L));
+        verify(taskMapper, times(2)).selectById(1L);
+    }
+
+    private static Task task(Long id, Long parentId, Long assigneeId) {
+        Task task = new Task();
+        task.setId(id);
+        task.setParentTaskId(parentId);
+        task.setAssigneeId(assigneeId);
+        task.setReporterId(5L);
+        return task;
+    }
+
+    private static TaskComment comment(Long id, Long authorId, Long parentId) {
+        TaskComment comment = new TaskComment();
+        comment.setId(id);
+        comment.setAuthorId(authorId);
+        comment.setParentCommentId(parentId);
+        comment.setCreateTime(LocalDateTime.now());
+        return comment;
+    }
+
+    private static TaskChildCount count(Long taskId, int total) {
+        TaskChildCount count = new TaskChildCount();
+        count.setTaskId(taskId);
+        count.setTotal(total);
+        count.setCompleted(0);
+        return count;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -1,15 +1,28 @@
 package com.promanage.service.impl;
 
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.promanage.common.domain.BatchOperationResult;
 import com.promanage.common.result.PageResult;
 import com.promanage.service.entity.*;
 import com.promanage.service.mapper.*;
+import com.promanage.service.NotificationSendService;
+import com.promanage.service.dependency.TaskDependencyGraphCache;
+import com.promanage.service.notification.NotificationRecipientCache;
+import com.promanage.service.rank.TaskRankRebalancer;
+import com.promanage.service.service.IKanbanBoardService;
+import com.promanage.service.service.ITaskScheduleService;
+import com.promanage.service.service.ITaskTreeService;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -17,6 +30,9 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class TaskServiceImplTest {
@@ -45,6 +61,30 @@ class TaskServiceImplTest {
     @Mock
     private TaskCheckItemMapper taskCheckItemMapper;
 
+    @Mock
+    private NotificationRecipientCache recipientCache;
+
+    @Mock
+    private TaskDependencyGraphCache dependencyGraphCache;
+
+    @Mock
+    private ITaskScheduleService scheduleService;
+
+    @Mock
+    private IKanbanBoardService boardService;
+
+    @Mock
+    private TaskRankRebalancer rankRebalancer;
+
+    @Mock
+    private ITaskTreeService treeService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<NotificationSendService> notificationSendService;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -347,4 +387,120 @@ class TaskServiceImplTest {
         // Then
         verify(taskCheckItemMapper, times(1)).deleteById(1L);
     }
+
+    @Test
+    void testBatchUpdateTasksIsSetBased() {
+        initTaskTableInfo();
+        Task allowed = batchTask(1L, 10L, 1L, 0);
+        Task foreign = batchTask(2L, 20L, 99L, 0);
+        Task finished = batchTask(3L, 10L, 1L, 3);
+        Task member = batchTask(4L, 30L, 99L, 1);
+
+        member.setAssigneeId(1L);
+
+        when(taskMapper.selectByIds(anyCollection())).thenReturn(List.of(allowed, foreign, finished, member));
+
+        // When
+        BatchOperationResult<Long> result = taskService.batchUpdateTasks(
+                Arrays.asList(1L, 2L, 3L, 4L, 5L, 1L), 2, null, null, null, 1L);
+
+        // Then
+        assertEquals(5, result.getTotal());
+        assertEquals(List.of(1L, 4L), result.getSuccessIds());
+        assertEquals(3, result.getFailureCount());
+        verify(taskMapper, times(1)).selectByIds(anyCollection());
+        verify(taskMapper, times(1)).update(any(Task.class), any());
+        verify(taskMapper, never()).selectById(any());
+        verify(taskMapper, never()).updateById(any(Task.class));
+        verify(taskActivityMapper, times(1)).insert(anyList());
+    }
+
+    @Test
+    void testBatchDeleteTasksAllowsParentWithChildInSameBatch() {
+        initTaskTableInfo();
+        Task parent = batchTask(1L, 10L, 1L, 0);
+        Task child = batchTask(2L, 10L, 1L, 0);
+        child.setParentTaskId(1L);
+        Task blocked = batchTask(3L, 10L, 1L, 0);
+        Task otherChild = batchTask(4L, 10L, 1L, 0);
+        otherChild.setParentTaskId(3L);
+
+        when(taskMapper.selectByIds(anyCollection())).thenReturn(List.of(parent, child, blocked));
+        when(taskMapper.selectList(any())).thenReturn(List.of(child, otherChild));
+
+        // When
+        BatchOperationResult<Long> result = taskService.batchDeleteTasks(List.of(1L, 2L, 3L), 1L);
+
+        // Then
+        assertEquals(List.of(1L, 2L), result.getSuccessIds());
+        assertEquals(1, result.getFailureCount());
+        assertEquals(3L, result.getFailures().get(0).getId());
+        verify(taskMapper, times(1)).update(any(Task.class), any());
+        verify(scheduleService, times(1)).invalidate(10L);
+        verify(dependencyGraphCache, times(1)).invalidate(10L);
+    }
+
+    @Test
+    void testDeleteTaskInvalidatesDependencyGraph() {
+        initTaskTableInfo();
+        Task task = batchTask(1L, 10L, 1L, 0);
+        task.setDeleted(false);
+
+        when(taskMapper.selectById(1L)).thenReturn(task);
+        when(taskMapper.selectList(any())).thenReturn(List.of());
+
+        // When
+        taskService.deleteTask(1L, 1L);
+
+        // Then
+        verify(scheduleService, times(1)).invalidate(10L);
+        verify(dependencyGraphCache, times(1)).invalidate(10L);
+    }
+
+    @Test
+    void testBatchUpdateTasksRequiresReporterOrAssignee() {
+        initTaskTableInfo();
+        Task sameProject = batchTask(1L, 10L, 99L, 0);
+
+        when(taskMapper.selectByIds(anyCollection())).thenReturn(List.of(sameProject));
+
+        // When
+        BatchOperationResult<Long> result = taskService.batchUpdateTasks(List.of(1L), null, 1, null, null, 1L);
+
+        // Then
+        assertTrue(result.getSuccessIds().isEmpty());
+        assertEquals("没有权限操作此任务", result.getFailures().get(0).getReason());
+        verify(taskMapper, never()).update(any(Task.class), any());
+    }
+
+    @Test
+    void testBatchCompleteKeepsExistingCompletedDate() {
+        initTaskTableInfo();
+        Task open = batchTask(1L, 10L, 1L, 1);
+        Task done = batchTask(2L, 10L, 1L, 3);
+
+        when(taskMapper.selectByIds(anyCollection())).thenReturn(List.of(open, done));
+
+        // When
+        BatchOperationResult<Long> result = taskService.batchUpdateTasks(List.of(1L, 2L), 3, null, null, null, 1L);
+
+        // Then
+        assertEquals(List.of(1L, 2L), result.getSuccessIds());
+        verify(taskMapper).update(argThat(patch -> patch != null && patch.getCompletedDate() == null), any());
+        // 只有新完成的任务单独设置完成日期
+        verify(taskMapper).update(isNull(), any());
+    }
+
+    private static void initTaskTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Task.class);
+    }
+
+    private static Task batchTask(Long id, Long projectId, Long reporterId, Integer status) {
+        Task task = new Task();
+        task.setId(id);
+        task.setProjectId(projectId);
+        task.setReporterId(reporterId);
+        task.setStatus(status);
+        return task;
+    }
 }
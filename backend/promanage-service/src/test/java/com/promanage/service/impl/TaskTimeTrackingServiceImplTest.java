@@ -0,0 +1,78 @@
+package com.promanage.service.impl;
+
+import com.promanage.service.entity.Task;
+import com.promanage.service.entity.TaskTimeTracking;
+import com.promanage.service.mapper.TimeTrackingDailyMapper;
+import com.promanage.service.service.ITaskService;
+import com.promanage.service.timer.ActiveTimerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskTimeTrackingServiceImplTest {
+
+    private static final LocalDate WORK_DATE = LocalDate.of(2025, 10, 20);
+
+    @Mock
+    private ITaskService taskService;
+
+    @Mock
+    private TimeTrackingDailyMapper dailyMapper;
+
+    @Mock
+    private ActiveTimerRegistry timerRegistry;
+
+    @InjectMocks
+    private TaskTimeTrackingServiceImpl timeTrackingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Task task = new Task();
+        task.setId(10L);
+        task.setProjectId(100L);
+        when(taskService.getTaskById(10L)).thenReturn(task);
+    }
+
+    @Test
+    void shouldAddCompletedRecordToDailyRollup() {
+        timeTrackingService.applyRollup(record(2, 1.5), 1);
+
+        verify(dailyMapper).addHours(1L, 10L, 100L, WORK_DATE, 1.5, 1);
+        verify(dailyMapper, never()).deleteIfEmpty(any(), any(), any());
+    }
+
+    @Test
+    void shouldSubtractAndPruneWhenRemovingContribution() {
+        timeTrackingService.applyRollup(record(2, 2.0), -1);
+
+        verify(dailyMapper).addHours(1L, 10L, 100L, WORK_DATE, -2.0, -1);
+        verify(dailyMapper).deleteIfEmpty(1L, 10L, WORK_DATE);
+    }
+
+    @Test
+    void shouldIgnoreRecordsThatAreNotCompleted() {
+        timeTrackingService.applyRollup(record(1, null), 1);
+        timeTrackingService.applyRollup(record(3, 1.0), -1);
+
+        verifyNoInteractions(dailyMapper);
+    }
+
+    private static TaskTimeTracking record(int status, Double actualHours) {
+        TaskTimeTracking record = new TaskTimeTracking();
+        record.setId(1L);
+        record.setTaskId(10L);
+        record.setUserId(1L);
+        record.setWorkDate(WORK_DATE);
+        record.setStatus(status);
+        record.setActualHours(actualHours);
+        return record;
+    }
+}
@@ -0,0 +1,135 @@
+package com.promanage.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.promanage.service.dto.response.TaskTreeNodeDTO;
+import com.promanage.service.entity.Task;
+import com.promanage.service.mapper.TaskMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class TaskTreeServiceImplTest {
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @InjectMocks
+    private TaskTreeServiceImpl treeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Task.class);
+    }
+
+    @Test
+    void shouldNestRowsAndMarkTruncatedNodes() {
+        List<Task> rows = List.of(task(1L, null, 4.0), task(2L, 1L, 8.0), task(3L, 1L, 2.0),
+                task(4L, 2L, 1.0), task(5L, 4L, 1.0));
+
+        TaskTreeNodeDTO root = TaskTreeServiceImpl.buildTree(rows, 2);
+
+        assertEquals(1L, root.getTaskId());
+        assertEquals(List.of(2L, 3L), root.getChildren().stream().map(TaskTreeNodeDTO::getTaskId).toList());
+        TaskTreeNodeDTO grandchild = root.getChildren().get(0).getChildren().get(0);
+        assertEquals(4L, grandchild.getTaskId());
+        assertEquals(2, grandchild.getDepth());
+        assertTrue(grandchild.getTruncated());
+        assertTrue(grandchild.getChildren().isEmpty());
+        assertFalse(root.getTruncated());
+        assertEquals(8.0, root.getChildren().get(0).getRollupEstimatedHours());
+    }
+
+    @Test
+    void shouldUpdateAncestorsUntilRollupUnchanged() {
+        Task child = task(3L, 2L, 8.0);
+        Task parent = task(2L, 1L, null);
+        parent.setRollupEstimatedHours(5.0);
+        parent.setRollupActualHours(0.0);
+        parent.setRollupProgress(0.0);
+        Task grandparent = task(1L, null, null);
+        grandparent.setRollupEstimatedHours(8.0);
+        grandparent.setRollupActualHours(0.0);
+        grandparent.setRollupProgress(0.0);
+        Task updatedParent = task(2L, 1L, null);
+        updatedParent.setRollupEstimatedHours(8.0);
+        updatedParent.setRollupActualHours(0.0);
+        updatedParent.setRollupProgress(0.0);
+
+        when(taskMapper.selectOne(any())).thenReturn(child, parent, grandparent);
+        when(taskMapper.selectList(any())).thenReturn(List.of(), List.of(child), List.of(updatedParent));
+
+        treeService.refreshRollups(List.of(3L));
+
+        // 子任务和父任务的汇总值变化，祖父任务重算后不变，停止向上
+        verify(taskMapper, times(3)).selectOne(any());
+        verify(taskMapper, times(2)).update(isNull(), any());
+    }
+
+    @Test
+    void shouldUpdateNewParentWhenMovedTaskRollupUnchanged() {
+        // 任务3从任务2移到任务5下，自身汇总值不变
+        Task moved = rolledUp(task(3L, 5L, 4.0), 4.0, 0.0);
+        Task newParent = rolledUp(task(5L, null, 1.0), 1.0, 0.0);
+        Task oldParent = rolledUp(task(2L, null, 1.0), 5.0, 0.0);
+
+        when(taskMapper.selectOne(any())).thenReturn(moved, newParent, oldParent);
+        when(taskMapper.selectList(any())).thenReturn(List.of(), List.of(moved), List.of());
+
+        treeService.refreshRollups(List.of(3L, 2L));
+
+        // 新父任务和原父任务都重算
+        verify(taskMapper, times(3)).selectOne(any());
+        verify(taskMapper, times(2)).update(isNull(), any());
+    }
+
+    @Test
+    void shouldUpdateParentProgressWhenLeafCancelled() {
+        Task cancelled = rolledUp(task(2L, 1L, 2.0), 2.0, 0.0);
+        cancelled.setStatus(4);
+        Task sibling = rolledUp(task(3L, 1L, 2.0), 2.0, 100.0);
+        sibling.setProgressPercentage(100);
+        Task parent = rolledUp(task(1L, null, null), 4.0, 50.0);
+
+        when(taskMapper.selectOne(any())).thenReturn(cancelled, parent);
+        when(taskMapper.selectList(any())).thenReturn(List.of(), List.of(cancelled, sibling));
+
+        treeService.refreshRollups(List.of(2L));
+
+        // 叶子任务自身汇总值不变，父任务进度不再计入已取消的子任务
+        verify(taskMapper, times(2)).selectOne(any());
+        verify(taskMapper).update(isNull(), any());
+    }
+
+    private static Task rolledUp(Task task, Double estimated, Double progress) {
+        task.setRollupEstimatedHours(estimated);
+        task.setRollupActualHours(0.0);
+        task.setRollupProgress(progress);
+        return task;
+    }
+
+    private static Task task(Long id, Long parentId, Double estimated) {
+        Task task = new Task();
+        task.setId(id);
+        task.setParentTaskId(parentId);
+        task.setStatus(0);
+        task.setProgressPercentage(0);
+        task.setEstimatedHours(estimated);
+        return task;
+    }
+}
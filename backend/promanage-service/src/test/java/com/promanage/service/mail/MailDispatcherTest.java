@@ -0,0 +1,114 @@
+package com.promanage.service.mail;
+
+import com.promanage.service.entity.MailMessage;
+import com.promanage.service.mapper.MailQueueMapper;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MailDispatcherTest {
+
+    @Mock
+    private MailQueueMapper mailQueueMapper;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private MailQueueProperties properties;
+
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new MailQueueProperties();
+        properties.setPerDomainPerMinute(2);
+        properties.setMessagesPerConnection(10);
+        properties.setMaxAttempts(3);
+        when(mailSender.createMimeMessage()).thenAnswer(inv -> new MimeMessage(Session.getInstance(new Properties())));
+        dispatcher = new MailDispatcher(mailQueueMapper, mailSender, properties);
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "noreply@promanage.com");
+    }
+
+    @Test
+    void shouldSendBatchOverSingleConnection() {
+        List<MailMessage> claimed = List.of(message(1L, "a@x.com"), message(2L, "b@y.com"), message(3L, "c@z.com"));
+
+        int sent = dispatcher.dispatchBatch(claimed, System.currentTimeMillis());
+
+        assertEquals(3, sent);
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        verify(mailQueueMapper).markSent(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void shouldDeferMessagesOverDomainLimit() {
+        List<MailMessage> claimed = List.of(message(1L, "a@x.com"), message(2L, "b@x.com"), message(3L, "c@x.com"));
+
+        int sent = dispatcher.dispatchBatch(claimed, System.currentTimeMillis());
+
+        assertEquals(2, sent);
+        verify(mailQueueMapper).defer(eq(List.of(3L)), any());
+        verify(mailQueueMapper).markSent(List.of(1L, 2L));
+    }
+
+    @Test
+    void shouldRetryOnlyFailedMessagesWithBackoff() {
+        doAnswer(inv -> {
+            Object[] messages = inv.getArguments();
+            throw new MailSendException("rejected", null, Map.of(messages[1], new RuntimeException("550")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        MailMessage exhausted = message(2L, "b@y.com");
+        exhausted.setAttempts(2);
+        dispatcher.dispatchBatch(List.of(message(1L, "a@x.com"), exhausted), System.currentTimeMillis());
+
+        verify(mailQueueMapper).markSent(List.of(1L));
+        verify(mailQueueMapper).markFailedAttempt(eq(2L), eq(MailMessage.STATUS_FAILED), any(), eq("550"));
+    }
+
+    @Test
+    void backoffShouldGrowExponentiallyAndBeCapped() {
+        properties.setInitialBackoffSeconds(30);
+        properties.setMaxBackoffSeconds(100);
+
+        assertEquals(30_000L, dispatcher.backoffMillis(1));
+        assertEquals(60_000L, dispatcher.backoffMillis(2));
+        assertEquals(100_000L, dispatcher.backoffMillis(3));
+    }
+
+    @Test
+    void templateShouldRenderEscapedValuesAndKeepPercentSigns() {
+        MailTemplate template = MailTemplate.compile("<h1>{{appName}}</h1><p style=\"width:100%\">{{code}}</p>")
+            .bind(Map.of("appName", "ProManage"));
+
+        assertEquals("<h1>ProManage</h1><p style=\"width:100%\">&lt;42&gt;</p>",
+            template.render(Map.of("code", "<42>")));
+    }
+
+    private static MailMessage message(Long id, String to) {
+        MailMessage message = new MailMessage();
+        message.setId(id);
+        message.setRecipient(to);
+        message.setRecipientDomain(to.substring(to.indexOf('@') + 1));
+        message.setSubject("subject");
+        message.setContent("content");
+        message.setHtml(true);
+        message.setAttempts(0);
+        return message;
+    }
+}
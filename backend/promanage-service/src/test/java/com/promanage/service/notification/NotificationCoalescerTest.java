@@ -0,0 +1,120 @@
+package com.promanage.service.notification;
+
+import com.promanage.common.entity.User;
+import com.promanage.service.INotificationService;
+import com.promanage.service.service.IEmailService;
+import com.promanage.service.service.IUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationCoalescerTest {
+
+    @Mock
+    private INotificationService notificationService;
+
+    @Mock
+    private IUserService userService;
+
+    @Mock
+    private IEmailService emailService;
+
+    private NotificationDigestProperties properties;
+
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new NotificationDigestProperties();
+        properties.setWindowSeconds(60);
+        coalescer = new NotificationCoalescer(notificationService, userService, emailService, properties);
+        when(notificationService.sendNotificationBatch(anyList(), anyString(), anyString(), anyString(),
+            any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void shouldSendFirstEventImmediatelyAndMergeFollowingEvents() {
+        coalescer.submit(List.of(2L, 3L), "TASK_UPDATED", "任务更新: A", "v1", 10L, "TASK_UPDATED", 1L);
+
+        // 首个事件不等待窗口关闭
+        verify(notificationService).sendNotificationBatch(List.of(2L, 3L), "TASK_UPDATED", "任务更新: A",
+            "v1", 10L, "TASK_UPDATED", 1L);
+
+        coalescer.submit(List.of(2L, 3L), "TASK_UPDATED", "任务更新: A", "v2", 10L, "TASK_UPDATED", 1L);
+        coalescer.submit(List.of(2L, 3L), "TASK_UPDATED", "任务更新: A", "v3", 10L, "TASK_UPDATED", 1L);
+
+        // 窗口未到期，不发送
+        assertEquals(0, coalescer.flush(System.currentTimeMillis(), false));
+        assertEquals(2, coalescer.pendingWindowCount());
+
+        int sent = coalescer.flush(System.currentTimeMillis() + 61_000, false);
+
+        assertEquals(2, sent);
+        assertEquals(0, coalescer.pendingWindowCount());
+        ArgumentCaptor<List<Long>> users = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<String> content = ArgumentCaptor.forClass(String.class);
+        verify(notificationService, times(2)).sendNotificationBatch(users.capture(), eq("TASK_UPDATED"),
+            eq("任务更新: A"), content.capture(), eq(10L), eq("TASK_UPDATED"), eq(1L));
+        assertEquals(List.of(2L, 3L), users.getValue().stream().sorted().toList());
+        assertTrue(content.getValue().startsWith("v3"));
+        assertTrue(content.getValue().contains("共 2 条更新"));
+    }
+
+    @Test
+    void shouldCloseWindowSilentlyWithoutFollowingEvents() {
+        coalescer.submit(List.of(2L), "TASK_ASSIGNED", "任务分配: A", "content", 10L, "TASK_ASSIGNED", 1L);
+
+        assertEquals(0, coalescer.flush(System.currentTimeMillis(), true));
+        assertEquals(0, coalescer.pendingWindowCount());
+        verify(notificationService, times(1)).sendNotificationBatch(List.of(2L), "TASK_ASSIGNED", "任务分配: A",
+            "content", 10L, "TASK_ASSIGNED", 1L);
+
+        // 窗口关闭后的下一个事件再次立即发送
+        coalescer.submit(List.of(2L), "TASK_ASSIGNED", "任务分配: A", "content", 10L, "TASK_ASSIGNED", 1L);
+        verify(notificationService, times(2)).sendNotificationBatch(List.of(2L), "TASK_ASSIGNED", "任务分配: A",
+            "content", 10L, "TASK_ASSIGNED", 1L);
+    }
+
+    @Test
+    void shouldCloseWindowEarlyWhenMaxEventsReached() {
+        properties.setMaxEventsPerWindow(2);
+        coalescer.submit(List.of(2L), "TASK_UPDATED", "t", "c1", 10L, "TASK_UPDATED", 1L);
+        coalescer.submit(List.of(2L), "TASK_UPDATED", "t", "c2", 10L, "TASK_UPDATED", 1L);
+        coalescer.submit(List.of(2L), "TASK_UPDATED", "t", "c3", 10L, "TASK_UPDATED", 1L);
+
+        assertEquals(1, coalescer.flush(System.currentTimeMillis(), false));
+    }
+
+    @Test
+    void shouldBatchEmailDigestPerUser() {
+        properties.setEmailEnabled(true);
+        User user = new User();
+        user.setId(2L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        when(userService.getByIds(anyList())).thenReturn(Map.of(2L, user));
+
+        coalescer.submit(List.of(2L), "TASK_UPDATED", "t1", "c1", 10L, "TASK_UPDATED", 1L);
+        coalescer.submit(List.of(2L), "TASK_UPDATED", "t2", "c2", 11L, "TASK_UPDATED", 1L);
+        coalescer.flush(System.currentTimeMillis(), true);
+        coalescer.flushEmailDigests();
+
+        ArgumentCaptor<List<String>> entries = ArgumentCaptor.forClass(List.class);
+        verify(emailService).sendNotificationDigest(eq("alice@example.com"), eq("alice"), entries.capture());
+        assertEquals(2, entries.getValue().size());
+
+        // 已发送的条目不会重复发送
+        coalescer.flushEmailDigests();
+        verify(emailService, times(1)).sendNotificationDigest(anyString(), anyString(), anyList());
+    }
+}
@@ -0,0 +1,134 @@
+package com.promanage.service.pagination;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.promanage.common.exception.BusinessException;
+import com.promanage.common.result.PageCursor;
+import com.promanage.common.result.PageResult;
+import com.promanage.service.entity.Task;
+import com.promanage.service.mapper.TaskMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class KeysetPagerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 10, 20, 10, 0, 0, 123_456_000);
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Task.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void firstPageShouldFetchOneExtraRowAndReturnNextCursor() {
+        when(taskMapper.selectList(any())).thenReturn(tasks(10, 9, 8));
+
+        PageResult<Task> page = KeysetPager.page(taskMapper, this::filter,
+                Task::getCreateTime, Task::getId, null, 2, false);
+
+        assertEquals(List.of(10L, 9L), ids(page));
+        assertTrue(page.getHasNext());
+        assertFalse(page.getHasPrevious());
+        assertNull(page.getPrevCursor());
+        assertNull(page.getTotal());
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertEquals(new PageCursor(BASE.plusMinutes(9), 9L, true), next);
+
+        ArgumentCaptor<LambdaQueryWrapper<Task>> wrapper = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        verify(taskMapper).selectList(wrapper.capture());
+        String sql = wrapper.getValue().getSqlSegment();
+        assertTrue(sql.contains("ORDER BY created_at DESC,id DESC"), sql);
+        assertTrue(sql.endsWith("LIMIT 3"), sql);
+        verify(taskMapper, never()).selectCount(any());
+    }
+
+    @Test
+    void backwardCursorShouldReverseRowsIntoDescendingOrder() {
+        // 向前翻页按升序查询
+        when(taskMapper.selectList(any())).thenReturn(tasks(5, 6));
+        String cursor = new PageCursor(BASE.plusMinutes(4), 4L, false).encode();
+
+        PageResult<Task> page = KeysetPager.page(taskMapper, this::filter,
+                Task::getCreateTime, Task::getId, cursor, 2, false);
+
+        assertEquals(List.of(6L, 5L), ids(page));
+        assertTrue(page.getHasNext());
+        assertFalse(page.getHasPrevious());
+        assertEquals(new PageCursor(BASE.plusMinutes(5), 5L, true), PageCursor.decode(page.getNextCursor()));
+
+        ArgumentCaptor<LambdaQueryWrapper<Task>> wrapper = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        verify(taskMapper).selectList(wrapper.capture());
+        assertTrue(wrapper.getValue().getSqlSegment().contains("ORDER BY created_at ASC,id ASC"));
+    }
+
+    @Test
+    void shouldCountOnlyWhenRequested() {
+        when(taskMapper.selectList(any())).thenReturn(tasks(3));
+        when(taskMapper.countCapped(eq("tb_task"), any(), eq(KeysetPager.MAX_COUNT))).thenReturn(3L);
+        String cursor = new PageCursor(BASE.plusMinutes(4), 4L, true).encode();
+
+        PageResult<Task> page = KeysetPager.page(taskMapper, this::filter,
+                Task::getCreateTime, Task::getId, cursor, 20, true);
+
+        assertEquals(3L, page.getTotal());
+        assertFalse(page.getHasNext());
+        assertTrue(page.getHasPrevious());
+        assertNotNull(page.getPrevCursor());
+
+        // 在数据库中计数，自定义 SQL 需自带逻辑删除条件
+        ArgumentCaptor<LambdaQueryWrapper<Task>> wrapper = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        verify(taskMapper).countCapped(eq("tb_task"), wrapper.capture(), eq(KeysetPager.MAX_COUNT));
+        String sql = wrapper.getValue().getCustomSqlSegment();
+        assertTrue(sql.contains("project_id ="), sql);
+        assertTrue(sql.contains("deleted_at"), sql);
+        verify(taskMapper, never()).selectObjs(any());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(BusinessException.class, () -> PageCursor.decode("not-a-cursor"));
+        assertNull(PageCursor.decode(" "));
+    }
+
+    private LambdaQueryWrapper<Task> filter() {
+        return new LambdaQueryWrapper<Task>().eq(Task::getProjectId, 1L);
+    }
+
+    private static List<Task> tasks(long... ids) {
+        List<Task> tasks = new ArrayList<>();
+        for (long id : ids) {
+            Task task = new Task();
+            task.setId(id);
+            task.setCreateTime(BASE.plusMinutes(id));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static List<Long> ids(PageResult<Task> page) {
+        return page.getList().stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.promanage.service.rank;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FractionalRankTest {
+
+    @Test
+    void shouldGenerateKeyStrictlyBetweenNeighbours() {
+        assertBetween(null, null);
+        assertBetween(null, "0001");
+        assertBetween("a", "b");
+        assertBetween("az", "b");
+        assertBetween("3f", "4");
+        assertBetween("zzz", null);
+        assertBetween("000001", "000003");
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between("a", "a"));
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between("a0", null));
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between("A", null));
+    }
+
+    @Test
+    void shouldAppendWithoutGrowingKeys() {
+        String rank = FractionalRank.evenlySpaced(1000).get(999);
+        for (int i = 0; i < 10_000; i++) {
+            String next = FractionalRank.between(rank, null);
+            assertTrue(next.compareTo(rank) > 0);
+            assertEquals(FractionalRank.WIDTH, next.length());
+            rank = next;
+        }
+    }
+
+    @Test
+    void shouldGrowSlowlyWhenRepeatedlyInsertingAtSamePosition() {
+        List<String> keys = FractionalRank.evenlySpaced(2);
+        String lower = keys.get(0);
+        String upper = keys.get(1);
+        int inserts = 0;
+        while (!FractionalRank.needsRebalance(upper)) {
+            String middle = FractionalRank.between(lower, upper);
+            assertTrue(lower.compareTo(middle) < 0 && middle.compareTo(upper) < 0);
+            upper = middle;
+            inserts++;
+        }
+        assertTrue(inserts > 40, "inserts=" + inserts);
+    }
+
+    @Test
+    void shouldSpaceKeysEvenlyInIncreasingOrder() {
+        List<String> keys = FractionalRank.evenlySpaced(5000);
+        List<String> sorted = new ArrayList<>(keys);
+        sorted.sort(null);
+        assertEquals(sorted, keys);
+        assertEquals(5000, keys.stream().distinct().count());
+        keys.forEach(key -> {
+            assertEquals(FractionalRank.WIDTH, key.length());
+            assertNotEquals('0', key.charAt(key.length() - 1));
+        });
+    }
+
+    private static void assertBetween(String before, String after) {
+        String rank = FractionalRank.between(before, after);
+        if (before != null) {
+            assertTrue(rank.compareTo(before) > 0, before + " < " + rank);
+        }
+        if (after != null) {
+            assertTrue(rank.compareTo(after) < 0, rank + " < " + after);
+        }
+        assertNotEquals('0', rank.charAt(rank.length() - 1));
+    }
+}
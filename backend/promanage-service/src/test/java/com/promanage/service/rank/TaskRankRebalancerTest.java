@@ -0,0 +1,115 @@
+package com.promanage.service.rank;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.promanage.service.entity.Task;
+import com.promanage.service.event.TaskChangedEvent;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.service.IKanbanBoardService;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskRankRebalancerTest {
+
+    private static final Long PROJECT_ID = 1L;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private IKanbanBoardService boardService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskRankRebalancer rebalancer;
+
+    /**
+     * 模拟事务：回调执行期间登记的提交后操作，在回调返回后才执行
+     */
+    private final List<String> steps = new ArrayList<>();
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Task.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        rebalancer = new TaskRankRebalancer(taskMapper, transactionTemplate, boardService, eventPublisher);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                Object result = invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+                steps.add("commit");
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                return result;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        doAnswer(invocation -> steps.add("invalidate")).when(boardService).invalidate(PROJECT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldInvalidateBoardAndTaskDetailsAfterCommit() {
+        when(taskMapper.selectList(any())).thenReturn(List.of(task(10L, "a0zzzzzzzz"), task(11L, "a0zzzzzzzzV")));
+
+        int updated = rebalancer.rebalance(PROJECT_ID);
+
+        assertEquals(2, updated);
+        verify(taskMapper).updateSortRanks(any());
+        assertEquals(List.of("commit", "invalidate"), steps);
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(10L, 11L), event.getValue().taskIds());
+    }
+
+    @Test
+    void shouldNotInvalidateWhenRanksAreAlreadyEvenlySpaced() {
+        List<String> keys = FractionalRank.evenlySpaced(2);
+        when(taskMapper.selectList(any())).thenReturn(List.of(task(10L, keys.get(0)), task(11L, keys.get(1))));
+
+        assertEquals(0, rebalancer.rebalance(PROJECT_ID));
+
+        verify(taskMapper, never()).updateSortRanks(any());
+        verify(boardService, never()).invalidate(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private static Task task(Long id, String sortRank) {
+        Task task = new Task();
+        task.setId(id);
+        task.setSortRank(sortRank);
+        return task;
+    }
+}
@@ -0,0 +1,90 @@
+package com.promanage.service.strategy;
+
+import com.promanage.service.notification.NotificationRecipientCache;
+import com.promanage.service.strategy.impl.ProjectNotificationStrategy;
+import com.promanage.service.strategy.impl.TaskNotificationStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationStrategyFactoryTest {
+
+    @Mock
+    private ProjectNotificationStrategy projectNotificationStrategy;
+
+    @Mock
+    private TaskNotificationStrategy taskNotificationStrategy;
+
+    private NotificationRecipientCache recipientCache;
+
+    private NotificationStrategyFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        recipientCache = new NotificationRecipientCache();
+        factory = new NotificationStrategyFactory(projectNotificationStrategy, taskNotificationStrategy, recipientCache);
+    }
+
+    @Test
+    void shouldResolveBatchWithSingleStrategyCallPerType() {
+        when(projectNotificationStrategy.resolveRecipients(anyCollection(), eq("PROJECT_UPDATED")))
+            .thenReturn(Map.of(1L, RecipientSet.of(10L, 11L), 2L, RecipientSet.of(20L)));
+
+        NotificationEvent first = new NotificationEvent(1L, "PROJECT_UPDATED", 10L);
+        NotificationEvent second = new NotificationEvent(2L, "PROJECT_UPDATED", 99L);
+        Map<NotificationEvent, List<Long>> result = factory.resolveRecipients(List.of(first, second));
+
+        assertEquals(List.of(11L), result.get(first));
+        assertEquals(List.of(20L), result.get(second));
+        verify(projectNotificationStrategy, times(1)).resolveRecipients(anyCollection(), eq("PROJECT_UPDATED"));
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCacheUntilInvalidated() {
+        when(projectNotificationStrategy.resolveRecipients(anyCollection(), eq("PROJECT_UPDATED")))
+            .thenReturn(Map.of(1L, RecipientSet.of(10L, 11L)));
+
+        factory.resolveRecipients(1L, "PROJECT_UPDATED", 10L);
+        factory.resolveRecipients(1L, "PROJECT_UPDATED", 11L);
+        verify(projectNotificationStrategy, times(1)).resolveRecipients(anyCollection(), anyString());
+
+        recipientCache.invalidateProject(1L);
+        factory.resolveRecipients(1L, "PROJECT_UPDATED", 10L);
+        verify(projectNotificationStrategy, times(2)).resolveRecipients(anyCollection(), anyString());
+    }
+
+    @Test
+    void shouldInvalidateOnlyMatchingTask() {
+        when(taskNotificationStrategy.resolveRecipients(anyCollection(), eq("TASK_UPDATED")))
+            .thenReturn(Map.of(5L, RecipientSet.of(1L), 6L, RecipientSet.of(2L)));
+        factory.resolveRecipients(List.of(new NotificationEvent(5L, "TASK_UPDATED", null),
+            new NotificationEvent(6L, "TASK_UPDATED", null)));
+
+        recipientCache.invalidateTask(5L);
+        when(taskNotificationStrategy.resolveRecipients(List.of(5L), "TASK_UPDATED"))
+            .thenReturn(Map.of(5L, RecipientSet.of(3L)));
+
+        assertEquals(List.of(3L), factory.resolveRecipients(5L, "TASK_UPDATED", null));
+        assertEquals(List.of(2L), factory.resolveRecipients(6L, "TASK_UPDATED", null));
+    }
+
+    @Test
+    void recipientSetShouldBeImmutableAndDeduplicated() {
+        RecipientSet set = RecipientSet.of(3L, null, 1L, 3L);
+        long[] copy = set.toArray();
+        copy[0] = 42L;
+
+        assertArrayEquals(new long[]{1L, 3L}, set.toArray());
+        assertTrue(set.contains(3L));
+        assertEquals(List.of(1L), set.without(3L));
+    }
+}
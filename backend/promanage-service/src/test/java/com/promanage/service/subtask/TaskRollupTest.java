@@ -0,0 +1,81 @@
+package com.promanage.service.subtask;
+
+import com.promanage.service.entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRollupTest {
+
+    @Test
+    void shouldUseOwnValuesForLeaf() {
+        TaskRollup rollup = TaskRollup.of(task(1, 0, 8.0, 2.0, 25), List.of());
+
+        assertEquals(new TaskRollup(8.0, 2.0, 25.0), rollup);
+    }
+
+    @Test
+    void shouldSumHoursAndWeightProgressByChildEstimates() {
+        Task parent = task(1, 1, 4.0, 1.0, 0);
+        Task big = task(2, 1, 30.0, 10.0, 50);
+        Task small = task(3, 0, 10.0, 0.0, 10);
+
+        TaskRollup rollup = TaskRollup.of(parent, List.of(big, small));
+
+        assertEquals(44.0, rollup.estimatedHours());
+        assertEquals(11.0, rollup.actualHours());
+        assertEquals(40.0, rollup.progress());
+    }
+
+    @Test
+    void shouldUseStoredChildRollupsAndSkipCancelledChildrenInProgress() {
+        Task parent = task(1, 1, null, null, 0);
+        Task child = task(2, 1, 2.0, 0.0, 0);
+        child.setRollupEstimatedHours(20.0);
+        child.setRollupActualHours(5.0);
+        child.setRollupProgress(60.0);
+        Task cancelled = task(3, 4, 10.0, 3.0, 0);
+
+        TaskRollup rollup = TaskRollup.of(parent, List.of(child, cancelled));
+
+        assertEquals(30.0, rollup.estimatedHours());
+        assertEquals(8.0, rollup.actualHours());
+        assertEquals(60.0, rollup.progress());
+    }
+
+    @Test
+    void shouldAverageWhenChildrenHaveNoEstimatesAndReportDoneAsComplete() {
+        Task parent = task(1, 1, null, null, 0);
+        List<Task> children = List.of(task(2, 0, null, null, 10), task(3, 0, null, null, 20),
+                task(4, 3, null, null, 0));
+
+        assertEquals(43.33, TaskRollup.of(parent, children).progress());
+
+        parent.setStatus(3);
+        assertEquals(100.0, TaskRollup.of(parent, children).progress());
+    }
+
+    @Test
+    void shouldMatchStoredValues() {
+        Task task = task(1, 0, 8.0, 2.0, 25);
+        TaskRollup rollup = TaskRollup.of(task, List.of());
+        assertFalse(rollup.matches(task));
+
+        task.setRollupEstimatedHours(8.0);
+        task.setRollupActualHours(2.0);
+        task.setRollupProgress(25.0);
+        assertTrue(rollup.matches(task));
+    }
+
+    private static Task task(long id, int status, Double estimated, Double actual, int progress) {
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(status);
+        task.setEstimatedHours(estimated);
+        task.setActualHours(actual);
+        task.setProgressPercentage(progress);
+        return task;
+    }
+}
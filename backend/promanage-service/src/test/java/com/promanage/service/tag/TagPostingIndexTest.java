@@ -0,0 +1,75 @@
+package com.promanage.service.tag;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagPostingIndexTest {
+
+    private static final long COMMON = 1L;
+    private static final long API = 2L;
+    private static final long AUTH = 3L;
+
+    private TagPostingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Map<Long, long[]> documentTags = new HashMap<>();
+        documentTags.put(10L, new long[]{AUTH, COMMON, API, API});
+        documentTags.put(11L, new long[]{COMMON, API});
+        documentTags.put(12L, new long[]{COMMON, AUTH});
+        documentTags.put(13L, new long[]{COMMON});
+        documentTags.put(14L, new long[]{COMMON});
+        index = TagPostingIndex.of(System.currentTimeMillis(), documentTags);
+    }
+
+    @Test
+    void shouldBuildSortedDistinctPostings() {
+        assertArrayEquals(new long[]{10L, 11L, 12L, 13L, 14L}, index.documentsOf(COMMON));
+        assertArrayEquals(new long[]{10L, 11L}, index.documentsOf(API));
+        assertArrayEquals(new long[]{COMMON, API, AUTH}, index.tagsOf(10L));
+        assertEquals(5, index.documentCount());
+    }
+
+    @Test
+    void shouldRankRareSharedTagsAboveCommonOnes() {
+        List<TagPostingIndex.Related> related = index.related(10L, 10, 100);
+
+        assertEquals(List.of(12L, 11L, 14L, 13L), related.stream().map(TagPostingIndex.Related::documentId).toList());
+        assertEquals(2, related.get(0).sharedTags());
+        assertEquals(1, related.get(3).sharedTags());
+        assertTrue(related.get(1).score() > related.get(2).score());
+        assertEquals(2, index.related(10L, 2, 100).size());
+        assertTrue(index.related(99L, 10, 100).isEmpty());
+    }
+
+    @Test
+    void shouldProbeLongPostingsOnlyForExistingCandidates() {
+        // COMMON 超过扫描上限，只为 API/AUTH 找到的候选加分，不引入只共享 COMMON 的文档
+        List<TagPostingIndex.Related> related = index.related(10L, 10, 2);
+
+        assertEquals(List.of(12L, 11L), related.stream().map(TagPostingIndex.Related::documentId).toList());
+        assertEquals(2, related.get(0).sharedTags());
+    }
+
+    @Test
+    void shouldUpdatePostingsIncrementally() {
+        index.setDocumentTags(13L, new long[]{API, AUTH});
+        assertArrayEquals(new long[]{10L, 11L, 13L}, index.documentsOf(API));
+        assertArrayEquals(new long[]{10L, 11L, 12L, 14L}, index.documentsOf(COMMON));
+
+        index.removeDocument(12L);
+        assertArrayEquals(new long[]{10L, 13L}, index.documentsOf(AUTH));
+        assertEquals(0, index.tagsOf(12L).length);
+        assertEquals(4, index.documentCount());
+
+        index.setDocumentTags(14L, new long[0]);
+        assertArrayEquals(new long[]{10L, 11L}, index.documentsOf(COMMON));
+        assertEquals(13L, index.related(10L, 1, 100).get(0).documentId());
+    }
+}
@@ -0,0 +1,116 @@
+package com.promanage.service.tag;
+
+import com.promanage.service.entity.Tag;
+import com.promanage.service.mapper.DocumentTagMapper;
+import com.promanage.service.mapper.TagMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TagSyncServiceTest {
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @Mock
+    private DocumentTagMapper documentTagMapper;
+
+    @Mock
+    private TagUsageLeaderboard leaderboard;
+
+    private TagSyncService tagSyncService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        tagSyncService = new TagSyncService(tagMapper, documentTagMapper, leaderboard);
+    }
+
+    @Test
+    void shouldResolveExistingAndCreateMissingTagsInBulk() {
+        when(tagMapper.selectByNames(anyCollection())).thenReturn(List.of(tag(1L, "backend")));
+        when(tagMapper.insertMissing(anyCollection(), eq(9L), eq(5L)))
+                .thenReturn(List.of(tag(2L, "api"), tag(3L, "auth")));
+
+        List<Tag> tags = tagSyncService.resolveTags(Arrays.asList(" api ", "backend", null, "auth", "api", " "), 9L, 5L);
+
+        assertEquals(List.of("api", "backend", "auth"), tags.stream().map(Tag::getName).toList());
+        verify(tagMapper).selectByNames(argThat(names -> names.size() == 3
+                && names.containsAll(List.of("api", "backend", "auth"))));
+        verify(tagMapper).insertMissing(eq(List.of("api", "auth")), eq(9L), eq(5L));
+        verifyNoMoreInteractions(tagMapper);
+    }
+
+    @Test
+    void shouldRequeryTagsCreatedConcurrently() {
+        when(tagMapper.selectByNames(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(tag(4L, "ops")));
+        when(tagMapper.insertMissing(anyCollection(), any(), any())).thenReturn(List.of(tag(3L, "auth")));
+
+        List<Tag> tags = tagSyncService.resolveTags(List.of("auth", "ops"), null, null);
+
+        assertEquals(List.of(3L, 4L), tags.stream().map(Tag::getId).toList());
+        verify(tagMapper, times(2)).selectByNames(anyCollection());
+        verify(tagMapper).selectByNames(List.of("ops"));
+    }
+
+    @Test
+    void shouldNotQueryForBlankNames() {
+        assertTrue(tagSyncService.resolveTags(Arrays.asList(" ", null), null, null).isEmpty());
+        verifyNoInteractions(tagMapper);
+    }
+
+    @Test
+    void shouldApplyDocumentTagDiffAsOneInsertAndOneDelete() {
+        when(documentTagMapper.findTagIdsByDocumentId(7L)).thenReturn(List.of(1L, 2L, 3L));
+
+        TagSyncService.TagDiff diff = tagSyncService.replaceDocumentTags(7L, Arrays.asList(3L, 4L, 5L, 4L, null), 6L);
+
+        assertEquals(Set.of(4L, 5L), diff.added());
+        assertEquals(Set.of(1L, 2L), diff.removed());
+        verify(documentTagMapper).insertIgnoreExisting(7L, Set.of(4L, 5L), 6L);
+        verify(documentTagMapper).deleteByDocumentIdAndTagIds(7L, Set.of(1L, 2L));
+        verify(leaderboard).recordChange(7L, diff);
+    }
+
+    @Test
+    void shouldOnlyCountTagsActuallyAddedOrRemoved() {
+        when(documentTagMapper.findTagIdsByDocumentId(7L)).thenReturn(List.of(1L, 2L));
+
+        assertEquals(1, tagSyncService.addDocumentTags(7L, List.of(2L, 3L), 6L));
+        assertEquals(1, tagSyncService.removeDocumentTags(7L, List.of(2L, 9L)));
+
+        verify(documentTagMapper).insertIgnoreExisting(7L, Set.of(3L), 6L);
+        verify(documentTagMapper).deleteByDocumentIdAndTagIds(7L, Set.of(2L));
+        verify(leaderboard).recordChange(7L, new TagSyncService.TagDiff(Set.of(3L), Set.of()));
+        verify(leaderboard).recordChange(7L, new TagSyncService.TagDiff(Set.of(), Set.of(2L)));
+    }
+
+    @Test
+    void shouldSkipWritesWhenDocumentTagsUnchanged() {
+        when(documentTagMapper.findTagIdsByDocumentId(7L)).thenReturn(List.of(1L, 2L));
+
+        TagSyncService.TagDiff diff = tagSyncService.replaceDocumentTags(7L, List.of(2L, 1L), null);
+
+        assertTrue(diff.isEmpty());
+        verify(documentTagMapper, never()).insertIgnoreExisting(any(), anyCollection(), any());
+        verify(documentTagMapper, never()).deleteByDocumentIdAndTagIds(any(), anyCollection());
+    }
+
+    private static Tag tag(Long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+}
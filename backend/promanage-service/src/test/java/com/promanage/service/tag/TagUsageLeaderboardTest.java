@@ -0,0 +1,110 @@
+package com.promanage.service.tag;
+
+import com.promanage.service.dto.TagUsageCount;
+import com.promanage.service.mapper.DocumentMapper;
+import com.promanage.service.mapper.TagMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TagUsageLeaderboardTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @Mock
+    private DocumentMapper documentMapper;
+
+    private TagUsageLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        leaderboard = new TagUsageLeaderboard(redisTemplate, tagMapper, documentMapper, new TagLeaderboardProperties());
+    }
+
+    @Test
+    void shouldReconcileFromDatabaseWhenKeyMissing() {
+        String key = TagUsageLeaderboard.keyOf(9L);
+        when(redisTemplate.hasKey(key)).thenReturn(false);
+        when(tagMapper.countUsage(9L)).thenReturn(List.of(count(1L, 2L), count(2L, 5L), count(3L, 0L)));
+
+        List<TagUsageLeaderboard.TagUsage> top = leaderboard.top(9L, 1);
+
+        assertEquals(List.of(new TagUsageLeaderboard.TagUsage(2L, 5L)), top);
+        verify(zSetOperations).add(startsWith(key + ":staging:"), argThat(tuples -> tuples.size() == 2));
+        verify(redisTemplate).rename(startsWith(key + ":staging:"), eq(key));
+        verify(setOperations).add(TagUsageLeaderboard.TRACKED_KEY, "9");
+    }
+
+    @Test
+    void shouldServeTopTagsFromSortedSet() {
+        String key = TagUsageLeaderboard.keyOf(null);
+        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>();
+        tuples.add(new DefaultTypedTuple<>("4", 8.0));
+        tuples.add(new DefaultTypedTuple<>("7", 3.0));
+        when(redisTemplate.hasKey(key)).thenReturn(true);
+        when(zSetOperations.reverseRangeWithScores(key, 0, 9)).thenReturn(tuples);
+
+        List<TagUsageLeaderboard.TagUsage> top = leaderboard.top(null, 10);
+
+        assertEquals(List.of(new TagUsageLeaderboard.TagUsage(4L, 8L), new TagUsageLeaderboard.TagUsage(7L, 3L)), top);
+        verifyNoInteractions(tagMapper);
+    }
+
+    @Test
+    void shouldIncrementLoadedBoardsAndSkipMissingOnes() {
+        when(documentMapper.selectProjectId(5L)).thenReturn(9L);
+        when(redisTemplate.hasKey(TagUsageLeaderboard.keyOf(null))).thenReturn(false);
+        when(redisTemplate.hasKey(TagUsageLeaderboard.keyOf(9L))).thenReturn(true);
+
+        leaderboard.recordChange(5L, new TagSyncService.TagDiff(Set.of(1L), Set.of(2L)));
+
+        String key = TagUsageLeaderboard.keyOf(9L);
+        verify(zSetOperations).incrementScore(key, "1", 1);
+        verify(zSetOperations).incrementScore(key, "2", -1);
+        verify(zSetOperations).removeRangeByScore(key, Double.NEGATIVE_INFINITY, 0);
+        verify(zSetOperations, never()).incrementScore(eq(TagUsageLeaderboard.keyOf(null)), anyString(), anyDouble());
+    }
+
+    @Test
+    void shouldFallBackToDatabaseWhenRedisFails() {
+        when(redisTemplate.hasKey(anyString())).thenThrow(new IllegalStateException("redis down"));
+        when(tagMapper.countUsage(null)).thenReturn(List.of(count(1L, 1L), count(2L, 3L)));
+
+        List<TagUsageLeaderboard.TagUsage> top = leaderboard.top(null, 5);
+
+        assertEquals(List.of(2L, 1L), top.stream().map(TagUsageLeaderboard.TagUsage::tagId).toList());
+    }
+
+    private static TagUsageCount count(Long tagId, Long usageCount) {
+        TagUsageCount count = new TagUsageCount();
+        count.setTagId(tagId);
+        count.setUsageCount(usageCount);
+        return count;
+    }
+}
@@ -0,0 +1,52 @@
+package com.promanage.service.testcase;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DelimitedRecordReaderTest {
+
+    @Test
+    void shouldParseQuotedMultilineFields() throws IOException {
+        String csv = "﻿ID,标题,描述\r\n"
+                + "1,\"登录, 正常\",\"第一行\n第二行 \"\"引用\"\"\"\r\n"
+                + "2,注销,a\"b\n"
+                + "3,,\n";
+        DelimitedRecordReader reader = new DelimitedRecordReader(new StringReader(csv), ',');
+
+        assertArrayEquals(new String[]{"ID", "标题", "描述"}, reader.next());
+        assertArrayEquals(new String[]{"1", "登录, 正常", "第一行\n第二行 \"引用\""}, reader.next());
+        assertEquals(2, reader.getRecordLineNumber());
+        assertArrayEquals(new String[]{"2", "注销", "a\"b"}, reader.next());
+        assertEquals(4, reader.getRecordLineNumber());
+        assertArrayEquals(new String[]{"3", "", ""}, reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void shouldParseTabSeparatedWithoutTrailingNewline() throws IOException {
+        DelimitedRecordReader reader = new DelimitedRecordReader(new StringReader("a\tb\rc\t"), '\t');
+
+        List<String[]> records = new ArrayList<>();
+        String[] record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+
+        assertEquals(2, records.size());
+        assertArrayEquals(new String[]{"a", "b"}, records.get(0));
+        assertArrayEquals(new String[]{"c", ""}, records.get(1));
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuote() {
+        DelimitedRecordReader reader = new DelimitedRecordReader(new StringReader("1,\"abc\n2,def\n"), ',');
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
@@ -0,0 +1,95 @@
+package com.promanage.service.testcase;
+
+import com.promanage.service.entity.TestCase;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCaseExporterTest {
+
+    @Test
+    void shouldWriteCsvReadableByImporter() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = TestCaseExporter.write(List.of(testCase(1L, "登录, \"正常\"", "第一行\n第二行"), testCase(2L, "注销", null)),
+                TestCaseExportFormat.CSV, false, out);
+
+        assertEquals(2, rows);
+        DelimitedRecordReader reader = new DelimitedRecordReader(
+                new InputStreamReader(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8), ',');
+        List<String[]> records = new ArrayList<>();
+        String[] record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        assertEquals(3, records.size());
+        assertArrayEquals(TestCaseExporter.HEADERS, records.get(0));
+        assertEquals("登录, \"正常\"", records.get(1)[1]);
+        assertEquals("第一行\n第二行", records.get(1)[2]);
+        assertEquals("", records.get(2)[2]);
+        assertEquals("", records.get(2)[8]);
+    }
+
+    @Test
+    void shouldGzipTabSeparatedOutputWithoutClosingStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                fail("导出不应关闭调用方的输出流");
+            }
+        };
+
+        TestCaseExporter.write(List.of(testCase(1L, "a\tb", "c\nd")), TestCaseExportFormat.EXCEL, true, out);
+
+        String text;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = text.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("1\ta b\tc d\t"));
+    }
+
+    @Test
+    void shouldWriteXlsxWorkbook() throws IOException {
+        List<TestCase> testCases = new ArrayList<>();
+        for (long i = 1; i <= TestCaseExporter.XLSX_WINDOW_SIZE * 3; i++) {
+            testCases.add(testCase(i, "用例" + i, null));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = TestCaseExporter.write(testCases, TestCaseExportFormat.XLSX, false, out);
+
+        assertEquals(testCases.size(), rows);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(testCases.size(), sheet.getLastRowNum());
+            assertEquals("标题", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals("用例300", sheet.getRow(300).getCell(1).getStringCellValue());
+        }
+    }
+
+    private static TestCase testCase(Long id, String title, String description) {
+        TestCase testCase = new TestCase();
+        testCase.setId(id);
+        testCase.setTitle(title);
+        testCase.setDescription(description);
+        testCase.setType("FUNCTIONAL");
+        testCase.setStatus(1);
+        testCase.setPriority(2);
+        testCase.setProjectId(10L);
+        testCase.setCreatorId(5L);
+        return testCase;
+    }
+}
@@ -0,0 +1,94 @@
+package com.promanage.service.testcase;
+
+import com.promanage.service.entity.TestCase;
+import com.promanage.service.mapper.TestCaseMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TestCaseImporterTest {
+
+    @Mock
+    private TestCaseMapper testCaseMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TestCaseImporter importer;
+    private final List<String> inserted = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(testCaseMapper.batchInsert(anyList())).thenAnswer(invocation -> {
+            List<TestCase> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(testCase -> testCase.getTitle().equals("外键错误"))) {
+                throw new IllegalStateException("violates foreign key constraint");
+            }
+            batch.forEach(testCase -> inserted.add(testCase.getTitle()));
+            return batch.size();
+        });
+
+        TestCaseImportProperties properties = new TestCaseImportProperties();
+        properties.setChunkSize(2);
+        properties.setMaxErrors(10);
+        importer = new TestCaseImporter(testCaseMapper, transactionTemplate, properties);
+    }
+
+    @Test
+    void shouldInsertInChunksAndReportRowErrors() throws Exception {
+        String csv = "ID,标题,描述,类型,状态,优先级,模块,创建人ID,指派人ID\n"
+                + "1,登录,\"多行\n描述\",FUNCTIONAL,1,3,账户,,\n"
+                + "2,,缺少标题,FUNCTIONAL,,,,,\n"
+                + "3,注册,,FUNCTIONAL,,,,,\n"
+                + "\n"
+                + "4,外键错误,,FUNCTIONAL,,,,,999\n"
+                + "5,注销,,UI,9,,,,\n"
+                + "6,找回密码,,SECURITY,,,,,\n";
+        TestCaseImportJob job = new TestCaseImportJob(100L, 1L, csv.length(), 10);
+
+        importer.importDelimited(job, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ',');
+
+        assertEquals(List.of("登录", "注册", "找回密码"), inserted);
+        assertEquals(6, job.getProcessedCount());
+        assertEquals(3, job.getSuccessCount());
+        assertEquals(3, job.getFailureCount());
+        List<String> errors = job.getErrorMessages();
+        assertTrue(errors.contains("第4行: 标题不能为空"));
+        assertTrue(errors.contains("第8行: 状态取值应为0-6"));
+        assertTrue(errors.stream().anyMatch(error -> error.startsWith("第7行: ") && error.contains("foreign key")));
+        // 三批：每批两行，含外键错误的一批逐行重试；多行描述占两行，之后的行号顺延
+        verify(testCaseMapper, times(5)).batchInsert(anyList());
+    }
+
+    @Test
+    void shouldApplyDefaultsWhenValidating() {
+        TestCaseImporter.ValidatedRow row = TestCaseImporter.validate(
+                new TestCaseImporter.ImportRow(2, new String[]{"", " 标题 ", "描述", "UI"}), 100L, 1L, null);
+
+        assertNull(row.error());
+        assertEquals("标题", row.testCase().getTitle());
+        assertEquals(0, row.testCase().getStatus());
+        assertEquals(2, row.testCase().getPriority());
+        assertNull(row.testCase().getAssigneeId());
+        assertEquals(100L, row.testCase().getProjectId());
+    }
+}
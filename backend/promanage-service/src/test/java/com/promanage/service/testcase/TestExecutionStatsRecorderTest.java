@@ -0,0 +1,107 @@
+package com.promanage.service.testcase;
+
+import com.promanage.service.dto.TestExecutionCounts;
+import com.promanage.service.entity.TestExecution;
+import com.promanage.service.mapper.TestExecutionStatsMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TestExecutionStatsRecorderTest {
+
+    @Mock
+    private TestExecutionStatsMapper statsMapper;
+
+    private TestExecutionStatsRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        recorder = new TestExecutionStatsRecorder(statsMapper);
+    }
+
+    @Test
+    void shouldLockStatsAndCountFlipAgainstLastVerdict() {
+        TestExecutionCounts current = new TestExecutionCounts();
+        current.setLastVerdict(0);
+        current.setLastResult(2);
+        when(statsMapper.lockByTestCaseId(7L)).thenReturn(current);
+
+        LocalDateTime executedAt = LocalDateTime.of(2025, 10, 20, 9, 30);
+        recorder.record(execution(7L, 1, executedAt), 3L);
+
+        InOrder inOrder = inOrder(statsMapper);
+        inOrder.verify(statsMapper).ensureRow(7L, 3L);
+        inOrder.verify(statsMapper).lockByTestCaseId(7L);
+        inOrder.verify(statsMapper).applyExecution(7L, 1, 15, true, executedAt, 5L);
+        inOrder.verify(statsMapper).addDaily(7L, 3L, LocalDate.of(2025, 10, 20), 1, true);
+    }
+
+    @Test
+    void shouldNotCountFlipForFirstVerdictOrBlockedRuns() {
+        assertFalse(TestExecutionStatsRecorder.isFlip(null, 1));
+        assertFalse(TestExecutionStatsRecorder.isFlip(0, 0));
+        assertFalse(TestExecutionStatsRecorder.isFlip(0, 2));
+        assertFalse(TestExecutionStatsRecorder.isFlip(1, 3));
+        assertTrue(TestExecutionStatsRecorder.isFlip(1, 0));
+
+        recorder.record(execution(8L, 0, LocalDateTime.now()), 3L);
+        verify(statsMapper).applyExecution(eq(8L), eq(0), eq(15), eq(false), any(), eq(5L));
+    }
+
+    @Test
+    void shouldComputeFlakinessFromAdjacentVerdictPairs() {
+        TestExecutionCounts single = new TestExecutionCounts();
+        single.setTotalCount(5);
+        single.setPassCount(3);
+        single.setFailCount(2);
+        single.setTransitionCount(2);
+        single.setVerdictCaseCount(1);
+        assertEquals(0.5, single.flakinessScore(), 1e-9);
+        assertEquals(60.0, single.passRate(), 1e-9);
+
+        // 两个用例共 6 次通过/失败，相邻结果对为 6 - 2 = 4
+        TestExecutionCounts project = new TestExecutionCounts();
+        project.setPassCount(4);
+        project.setFailCount(2);
+        project.setTransitionCount(1);
+        project.setVerdictCaseCount(2);
+        assertEquals(0.25, project.flakinessScore(), 1e-9);
+
+        // 窗口内第一次结果与窗口前结果翻转时不超过 1
+        TestExecutionCounts window = new TestExecutionCounts();
+        window.setPassCount(1);
+        window.setFailCount(1);
+        window.setTransitionCount(2);
+        window.setVerdictCaseCount(1);
+        assertEquals(1.0, window.flakinessScore(), 1e-9);
+
+        assertEquals(0.0, new TestExecutionCounts().flakinessScore());
+        assertEquals(0.0, new TestExecutionCounts().passRate());
+    }
+
+    @Test
+    void shouldStartWindowIncludingToday() {
+        assertEquals(LocalDate.now().minusDays(6), TestExecutionStatsRecorder.windowStart(7));
+        assertEquals(LocalDate.now(), TestExecutionStatsRecorder.windowStart(0));
+    }
+
+    private static TestExecution execution(Long testCaseId, int result, LocalDateTime executedAt) {
+        TestExecution execution = new TestExecution();
+        execution.setTestCaseId(testCaseId);
+        execution.setResult(result);
+        execution.setExecutionTime(15);
+        execution.setExecutorId(5L);
+        execution.setCreateTime(executedAt);
+        return execution;
+    }
+}
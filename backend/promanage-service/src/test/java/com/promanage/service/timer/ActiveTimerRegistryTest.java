@@ -0,0 +1,129 @@
+package com.promanage.service.timer;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.promanage.service.IWebSocketMessageService;
+import com.promanage.service.dto.response.ActiveTimerDTO;
+import com.promanage.service.entity.ProjectMember;
+import com.promanage.service.entity.Task;
+import com.promanage.service.entity.TaskTimeTracking;
+import com.promanage.service.mapper.ProjectMemberMapper;
+import com.promanage.service.mapper.TaskMapper;
+import com.promanage.service.mapper.TaskTimeTrackingMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ActiveTimerRegistryTest {
+
+    @Mock
+    private TaskTimeTrackingMapper timeTrackingMapper;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private ProjectMemberMapper projectMemberMapper;
+
+    @Mock
+    private IWebSocketMessageService webSocketMessageService;
+
+    @InjectMocks
+    private ActiveTimerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), TaskTimeTracking.class);
+        Task task = new Task();
+        task.setId(10L);
+        task.setProjectId(100L);
+        when(taskMapper.selectById(10L)).thenReturn(task);
+        when(taskMapper.selectByIds(anyCollection())).thenReturn(List.of(task));
+    }
+
+    @Test
+    void shouldExcludePausedTimeFromElapsed() {
+        LocalDateTime now = LocalDateTime.of(2025, 10, 20, 12, 0);
+        TaskTimeTracking running = record(1L, 1);
+        running.setStartTime(now.minusHours(3));
+        running.setResumedAt(now.minusMinutes(30));
+        running.setElapsedSeconds(3600L);
+        assertEquals(3600 + 1800, ActiveTimer.elapsedSeconds(running, now));
+
+        running.setStatus(3);
+        assertEquals(3600, ActiveTimer.elapsedSeconds(running, now));
+
+        // 早于计时段持久化的记录以开始时间计算
+        TaskTimeTracking legacy = record(2L, 1);
+        legacy.setStartTime(now.minusMinutes(10));
+        assertEquals(600, ActiveTimer.elapsedSeconds(legacy, now));
+    }
+
+    @Test
+    void shouldPushTransitionsToProjectMembers() {
+        ProjectMember member = new ProjectMember();
+        member.setUserId(2L);
+        when(projectMemberMapper.findByProjectId(100L)).thenReturn(List.of(member));
+        TaskTimeTracking record = record(1L, 1);
+        record.setResumedAt(LocalDateTime.now());
+
+        registry.apply(record, "start");
+
+        List<ActiveTimerDTO> team = registry.listByProject(100L);
+        assertEquals(1, team.size());
+        assertTrue(team.get(0).getRunning());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> recipients = ArgumentCaptor.forClass(Collection.class);
+        verify(webSocketMessageService).sendMessageToUsers(recipients.capture(), eq(ActiveTimerRegistry.MESSAGE_TYPE),
+                any(ActiveTimerDTO.class));
+        assertEquals(List.of(1L, 2L), List.copyOf(recipients.getValue()));
+
+        record.setStatus(2);
+        registry.apply(record, "end");
+        assertTrue(registry.listByUser(1L).isEmpty());
+        verify(webSocketMessageService, times(2)).sendMessageToUsers(anyCollection(), anyString(), any());
+    }
+
+    @Test
+    void shouldRebuildFromPersistedState() {
+        TaskTimeTracking running = record(1L, 1);
+        running.setResumedAt(LocalDateTime.now().minusMinutes(5));
+        TaskTimeTracking paused = record(2L, 3);
+        paused.setElapsedSeconds(120L);
+        when(timeTrackingMapper.selectList(any())).thenReturn(List.of(running, paused));
+
+        assertEquals(2, registry.reload());
+
+        List<ActiveTimerDTO> timers = registry.listByUser(1L);
+        assertEquals(List.of(1L, 2L), timers.stream().map(ActiveTimerDTO::getRecordId).toList());
+        assertTrue(timers.get(0).getElapsedSeconds() >= 300);
+        assertEquals(120L, timers.get(1).getElapsedSeconds());
+        assertEquals(100L, timers.get(1).getProjectId());
+
+        registry.tick();
+        verify(webSocketMessageService).sendMessageToUser(eq(1L), eq(ActiveTimerRegistry.MESSAGE_TYPE), anyList());
+    }
+
+    private static TaskTimeTracking record(Long id, int status) {
+        TaskTimeTracking record = new TaskTimeTracking();
+        record.setId(id);
+        record.setTaskId(10L);
+        record.setUserId(1L);
+        record.setStatus(status);
+        record.setStartTime(LocalDateTime.of(2025, 10, 20, 9, 0).plusMinutes(id));
+        return record;
+    }
+}
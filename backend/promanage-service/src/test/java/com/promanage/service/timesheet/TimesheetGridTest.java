@@ -0,0 +1,68 @@
+package com.promanage.service.timesheet;
+
+import com.promanage.service.dto.TimesheetCell;
+import com.promanage.service.dto.response.TimesheetDTO;
+import com.promanage.service.dto.response.TimesheetRowDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimesheetGridTest {
+
+    @Test
+    void shouldAlignPeriodsWithDateTrunc() {
+        // 2025-10-01 是周三
+        LocalDate start = LocalDate.of(2025, 10, 1);
+        LocalDate end = LocalDate.of(2025, 10, 20);
+
+        assertEquals(20, TimesheetGrid.periods(TimeBucket.DAY, start, end).size());
+        assertEquals(List.of(LocalDate.of(2025, 9, 29), LocalDate.of(2025, 10, 6),
+                        LocalDate.of(2025, 10, 13), LocalDate.of(2025, 10, 20)),
+                TimesheetGrid.periods(TimeBucket.WEEK, start, end));
+        assertEquals(List.of(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 10, 1)),
+                TimesheetGrid.periods(TimeBucket.MONTH, LocalDate.of(2025, 9, 30), end));
+    }
+
+    @Test
+    void shouldBuildGridWithZeroFilledPeriods() {
+        LocalDate start = LocalDate.of(2025, 10, 6);
+        List<TimesheetCell> cells = List.of(
+                cell(1L, 10L, LocalDate.of(2025, 10, 6), 2.0),
+                cell(1L, 10L, LocalDate.of(2025, 10, 20), 3.0),
+                cell(1L, 11L, LocalDate.of(2025, 10, 13), 1.5));
+
+        TimesheetDTO grid = TimesheetGrid.build(cells, TimeBucket.WEEK, start, LocalDate.of(2025, 10, 26));
+
+        assertEquals("week", grid.getBucket());
+        assertEquals(3, grid.getPeriods().size());
+        assertEquals(2, grid.getRows().size());
+        TimesheetRowDTO first = grid.getRows().get(0);
+        assertEquals(10L, first.getTaskId());
+        assertEquals(List.of(2.0, 0.0, 3.0), first.getHours());
+        assertEquals(5.0, first.getTotalHours());
+        assertEquals(List.of(2.0, 1.5, 3.0), grid.getPeriodTotals());
+        assertEquals(6.5, grid.getTotalHours());
+    }
+
+    @Test
+    void shouldRejectInvalidRange() {
+        LocalDate start = LocalDate.of(2025, 10, 6);
+        assertThrows(IllegalArgumentException.class,
+                () -> TimesheetGrid.periods(TimeBucket.DAY, start, start.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> TimesheetGrid.periods(TimeBucket.DAY, start, start.plusYears(2)));
+    }
+
+    private static TimesheetCell cell(Long userId, Long taskId, LocalDate periodStart, double hours) {
+        TimesheetCell cell = new TimesheetCell();
+        cell.setUserId(userId);
+        cell.setTaskId(taskId);
+        cell.setProjectId(100L);
+        cell.setPeriodStart(periodStart);
+        cell.setHours(hours);
+        return cell;
+    }
+}